@@ -0,0 +1,364 @@
+package com.hobbylink.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * compact-v1 바이너리 페이로드 코덱
+ *
+ * JSON 트리를 태그 + 가변 길이 정수 기반의 바이너리로 변환한다. 자주 쓰이는 필드명과
+ * type/status 값은 고정 사전의 인덱스(1바이트)로, ISO 날짜시간 문자열은 epoch 초/나노초로
+ * 줄인다. 사전은 추가만 가능하며 순서를 바꾸면 프로토콜 버전을 올려야 한다.
+ *
+ * compact-v1+deflate 는 compact-v1 바이트를 고정 사전(대표 프레임들의 compact-v1 인코딩)을
+ * 미리 채운 raw deflate 로 한 번 더 압축한 것이다. 프레임마다 독립적이므로 방송 한 번에
+ * 한 번만 압축하면 모든 구독자에게 그대로 보낼 수 있다.
+ *
+ * 형식: [버전 0xC1] 값
+ * 값: 0x00 null | 0x01 false | 0x02 true | 0x03 정수(zigzag varint) | 0x04 실수(8바이트)
+ *     | 0x05 문자열(varint 길이 + UTF-8) | 0x06 사전 문자열(varint 인덱스)
+ *     | 0x07 날짜시간(zigzag varint 초 + varint 나노초) | 0x08 배열(varint 개수 + 값들)
+ *     | 0x09 객체(varint 개수 + (키 문자열/사전 문자열, 값) 쌍)
+ */
+public final class CompactPayloadCodec {
+
+    public static final String FORMAT = "compact-v1";
+    public static final String FORMAT_DEFLATE = "compact-v1+deflate";
+
+    private static final int VERSION = 0xC1;
+
+    private static final int TAG_NULL = 0x00;
+    private static final int TAG_FALSE = 0x01;
+    private static final int TAG_TRUE = 0x02;
+    private static final int TAG_INT = 0x03;
+    private static final int TAG_DOUBLE = 0x04;
+    private static final int TAG_STRING = 0x05;
+    private static final int TAG_DICTIONARY = 0x06;
+    private static final int TAG_DATE_TIME = 0x07;
+    private static final int TAG_ARRAY = 0x08;
+    private static final int TAG_OBJECT = 0x09;
+
+    private static final String[] DICTIONARY = {
+        // 필드명
+        "id", "type", "timestamp", "meetupId", "messageId", "clientMessageId", "senderId", "senderName",
+        "content", "formattedContent", "status", "sentAt", "deliveredAt", "readAt", "mediaUrl",
+        "userId", "username", "nickname", "profileImageUrl", "unreadCount", "unreadCounts", "totalUnread",
+        "typingUsers", "message", "senderOnline", "messageIds", "updatedCount", "online", "users",
+        "onlineCount", "sessionId", "errorCode",
+        // type 값
+        "NEW_MESSAGE", "TYPING", "USER_STATUS", "UNREAD_COUNT", "CONNECTION_STATUS",
+        // status 값
+        "TEXT", "SENDING", "SENT", "DELIVERED", "READ", "FAILED", "ONLINE", "OFFLINE", "JOINED", "LEFT"
+    };
+
+    private static final Map<String, Integer> DICTIONARY_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICTIONARY.length; i++) {
+            DICTIONARY_INDEX.put(DICTIONARY[i], i);
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 대표 프레임 (사전 생성용, 순서/내용을 바꾸면 FORMAT_DEFLATE 버전을 올려야 한다)
+    private static final String[] DICTIONARY_SAMPLES = {
+        "{\"messageId\":1,\"clientMessageId\":\"\",\"meetupId\":1,\"senderName\":\"\",\"content\":\"\","
+            + "\"timestamp\":\"2024-01-01T00:00:00\",\"senderOnline\":true,\"type\":\"NEW_MESSAGE\"}",
+        "{\"id\":1,\"content\":\"\",\"formattedContent\":\"\",\"type\":\"TEXT\",\"status\":\"DELIVERED\","
+            + "\"mediaUrl\":null,\"clientMessageId\":\"\",\"sentAt\":\"2024-01-01T00:00:00\","
+            + "\"deliveredAt\":\"2024-01-01T00:00:00\",\"readAt\":null,\"meetupId\":1,\"senderId\":1,\"senderName\":\"\"}",
+        "{\"meetupId\":1,\"typingUsers\":[],\"message\":\"\",\"timestamp\":0,\"type\":\"TYPING\"}",
+        "{\"meetupId\":1,\"unreadCount\":0,\"timestamp\":0,\"type\":\"UNREAD_COUNT\"}",
+        "{\"meetupId\":1,\"userId\":1,\"username\":\"\",\"status\":\"ONLINE\",\"timestamp\":0,\"type\":\"USER_STATUS\"}"
+    };
+
+    private static final byte[] PRESET_DICTIONARY = buildPresetDictionary();
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+
+    private CompactPayloadCodec() {
+    }
+
+    /**
+     * JSON 바이트를 compact-v1 로 변환
+     * @param json UTF-8 JSON
+     * @return 변환된 바이트
+     * @throws IOException JSON 파싱 실패
+     */
+    public static byte[] encode(byte[] json) throws IOException {
+        JsonNode root = objectMapper.readTree(json);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, json.length / 2));
+        out.write(VERSION);
+        writeValue(root, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * compact-v1 바이트를 Map/List/String/Long/Double/Boolean 트리로 복원
+     * (날짜시간은 ISO 문자열로 복원)
+     */
+    public static Object decode(byte[] data) {
+        if (data.length == 0 || (data[0] & 0xFF) != VERSION) {
+            throw new IllegalArgumentException("Not a " + FORMAT + " payload");
+        }
+        Reader reader = new Reader(data, 1);
+        return reader.readValue();
+    }
+
+    /**
+     * compact-v1 바이트를 사전 기반 raw deflate 로 압축
+     * @param compact compact-v1 바이트
+     * @return 압축된 바이트
+     */
+    public static byte[] deflate(byte[] compact) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(PRESET_DICTIONARY);
+        deflater.setInput(compact);
+        deflater.finish();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, compact.length / 2));
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * compact-v1+deflate 바이트를 compact-v1 로 복원
+     */
+    public static byte[] inflate(byte[] deflated) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(PRESET_DICTIONARY);
+            inflater.setInput(deflated);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] buildPresetDictionary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String sample : DICTIONARY_SAMPLES) {
+            try {
+                byte[] encoded = encode(sample.getBytes(StandardCharsets.UTF_8));
+                out.write(encoded, 0, encoded.length);
+            } catch (IOException e) {
+                throw new IllegalStateException("Invalid dictionary sample: " + sample, e);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(JsonNode node, ByteArrayOutputStream out) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            out.write(TAG_NULL);
+        } else if (node.isBoolean()) {
+            out.write(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+        } else if (node.isIntegralNumber() && node.canConvertToLong()) {
+            out.write(TAG_INT);
+            writeVarLong(zigzag(node.longValue()), out);
+        } else if (node.isNumber()) {
+            out.write(TAG_DOUBLE);
+            long bits = Double.doubleToLongBits(node.doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift) & 0xFF);
+            }
+        } else if (node.isTextual()) {
+            writeString(node.textValue(), out, true);
+        } else if (node.isArray()) {
+            out.write(TAG_ARRAY);
+            writeVarLong(node.size(), out);
+            for (JsonNode element : node) {
+                writeValue(element, out);
+            }
+        } else if (node.isObject()) {
+            out.write(TAG_OBJECT);
+            writeVarLong(node.size(), out);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                writeString(field.getKey(), out, false);
+                writeValue(field.getValue(), out);
+            }
+        } else {
+            // 바이너리 등 기타 노드는 문자열 표현으로 보낸다
+            writeString(node.asText(), out, false);
+        }
+    }
+
+    private static void writeString(String value, ByteArrayOutputStream out, boolean allowDateTime) {
+        Integer index = DICTIONARY_INDEX.get(value);
+        if (index != null) {
+            out.write(TAG_DICTIONARY);
+            writeVarLong(index, out);
+            return;
+        }
+
+        if (allowDateTime && looksLikeDateTime(value)) {
+            LocalDateTime dateTime = parseDateTime(value);
+            if (dateTime != null) {
+                out.write(TAG_DATE_TIME);
+                writeVarLong(zigzag(dateTime.toEpochSecond(ZoneOffset.UTC)), out);
+                writeVarLong(dateTime.getNano(), out);
+                return;
+            }
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(TAG_STRING);
+        writeVarLong(bytes.length, out);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static boolean looksLikeDateTime(String value) {
+        // yyyy-MM-ddTHH:mm 이상의 길이와 구분자 위치로 빠르게 거른다
+        return value.length() >= 16 && value.length() <= 29
+                && value.charAt(4) == '-' && value.charAt(10) == 'T' && value.charAt(13) == ':';
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            LocalDateTime dateTime = LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            // 복원 시 같은 문자열이 되는 경우에만 변환 (무손실 보장)
+            return dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME).equals(value) ? dateTime : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarLong(long value, ByteArrayOutputStream out) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * 복원용 판독기
+     */
+    private static class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        Object readValue() {
+            int tag = data[position++] & 0xFF;
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_INT:
+                    return unzigzag(readVarLong());
+                case TAG_DOUBLE:
+                    long bits = 0;
+                    for (int i = 0; i < 8; i++) {
+                        bits = (bits << 8) | (data[position++] & 0xFF);
+                    }
+                    return Double.longBitsToDouble(bits);
+                case TAG_STRING:
+                case TAG_DICTIONARY:
+                case TAG_DATE_TIME:
+                    position--;
+                    return readString();
+                case TAG_ARRAY:
+                    int length = (int) readVarLong();
+                    List<Object> list = new ArrayList<>(length);
+                    for (int i = 0; i < length; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                case TAG_OBJECT:
+                    int size = (int) readVarLong();
+                    Map<String, Object> map = new LinkedHashMap<>(size * 2);
+                    for (int i = 0; i < size; i++) {
+                        String key = readString();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                default:
+                    throw new IllegalArgumentException("Unknown " + FORMAT + " tag: " + tag);
+            }
+        }
+
+        String readString() {
+            int tag = data[position++] & 0xFF;
+            switch (tag) {
+                case TAG_DICTIONARY:
+                    return DICTIONARY[(int) readVarLong()];
+                case TAG_DATE_TIME:
+                    long seconds = unzigzag(readVarLong());
+                    int nanos = (int) readVarLong();
+                    return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)
+                            .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                case TAG_STRING:
+                    int length = (int) readVarLong();
+                    String value = new String(data, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                    return value;
+                default:
+                    throw new IllegalArgumentException("Expected string tag but found: " + tag);
+            }
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                int b = data[position++] & 0xFF;
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
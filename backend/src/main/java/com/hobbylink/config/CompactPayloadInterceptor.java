@@ -0,0 +1,222 @@
+package com.hobbylink.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 세션별 바이너리 페이로드 협상 인터셉터 (아웃바운드)
+ *
+ * CONNECT 의 accept-payload 헤더에 compact-v1 이 있고 네이티브 WebSocket 엔드포인트
+ * (/ws-native)로 접속한 세션에만 고빈도 목적지의 JSON 페이로드를 compact-v1 로 바꿔
+ * 바이너리 프레임으로 보낸다. SockJS 는 바이너리 프레임을 보낼 수 없으므로 항상 JSON 이다.
+ * 브로커는 구독자마다 같은 페이로드 배열을 공유하므로 배열 동일성 기준으로 변환 결과를
+ * 캐시해 방 크기와 무관하게 한 번만 변환한다.
+ * compact-v1+deflate 도 받는 세션에는 임계 크기 이상인 페이로드를 사전 기반 deflate 로
+ * 한 번 더 압축해 보낸다 (작은 프레임은 압축 이득보다 CPU 비용이 크다).
+ */
+@Component
+public class CompactPayloadInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactPayloadInterceptor.class);
+
+    public static final String ACCEPT_PAYLOAD_HEADER = "accept-payload";
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+
+    /**
+     * 네이티브 WebSocket 엔드포인트로 접속했음을 표시하는 세션 속성
+     */
+    public static final String NATIVE_TRANSPORT_ATTRIBUTE = "nativeTransport";
+
+    private static final String[] COMPACT_SUFFIXES = {
+        "/messages", "/typing", "/typing-notifications", "/user-status", "/bulk-status",
+        "/queue/notifications", "/queue/unread-count", "/queue/message-status"
+    };
+
+    private static final int CACHE_SIZE = 64;
+
+    @Value("${app.websocket.compression.payload-deflate-min-size:256}")
+    private int deflateMinSize;
+
+    // compact-v1 을 협상한 세션 → compact-v1+deflate 수용 여부
+    private final Map<String, Boolean> compactSessions = new ConcurrentHashMap<>();
+
+    // 원본 페이로드 → 변환 결과 (동일성 기준, 충돌 시 덮어씀)
+    private final AtomicReferenceArray<EncodedPayload> encodeCache = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final Counter encodedCounter;
+    private final Counter bytesSavedCounter;
+
+    public CompactPayloadInterceptor(MeterRegistry meterRegistry) {
+        this.encodedCounter = Counter.builder("websocket.outbound.compact.frames")
+                .description("Outbound frames sent as compact-v1 binary")
+                .register(meterRegistry);
+        this.bytesSavedCounter = Counter.builder("websocket.outbound.compact.bytes-saved")
+                .description("Bytes saved by compact-v1 encoding compared to JSON")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void handleConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        boolean nativeTransport = sessionAttributes != null
+                && Boolean.TRUE.equals(sessionAttributes.get(NATIVE_TRANSPORT_ATTRIBUTE));
+        if (!nativeTransport) {
+            return;
+        }
+
+        List<String> accepted = accessor.getNativeHeader(ACCEPT_PAYLOAD_HEADER);
+        if (accepts(accepted, CompactPayloadCodec.FORMAT)) {
+            boolean deflate = accepts(accepted, CompactPayloadCodec.FORMAT_DEFLATE);
+            compactSessions.put(accessor.getSessionId(), deflate);
+            logger.debug("Session {} negotiated {} payloads", accessor.getSessionId(),
+                        deflate ? CompactPayloadCodec.FORMAT_DEFLATE : CompactPayloadCodec.FORMAT);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        compactSessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (compactSessions.isEmpty() || !(message.getPayload() instanceof byte[] payload) || payload.length == 0) {
+            return message;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Boolean deflate = sessionId != null ? compactSessions.get(sessionId) : null;
+        if (deflate == null) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || !isCompactDestination(accessor.getDestination())
+                || !isJson(accessor.getContentType())) {
+            return message;
+        }
+
+        EncodedPayload encodedPayload = encode(payload);
+        if (encodedPayload.encoded == null) {
+            return message;
+        }
+
+        byte[] encoded = encodedPayload.encoded;
+        String format = CompactPayloadCodec.FORMAT;
+        if (deflate && encodedPayload.deflated != null) {
+            encoded = encodedPayload.deflated;
+            format = CompactPayloadCodec.FORMAT_DEFLATE;
+        }
+
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PAYLOAD_FORMAT_HEADER, format);
+        encodedCounter.increment();
+        bytesSavedCounter.increment(payload.length - encoded.length);
+        return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+    }
+
+    /**
+     * 세션이 compact-v1 을 사용하는지 확인
+     */
+    public boolean isCompactSession(String sessionId) {
+        return sessionId != null && compactSessions.containsKey(sessionId);
+    }
+
+    private EncodedPayload encode(byte[] payload) {
+        int slot = System.identityHashCode(payload) & (CACHE_SIZE - 1);
+        EncodedPayload cached = encodeCache.get(slot);
+        if (cached != null && cached.source == payload) {
+            return cached;
+        }
+
+        byte[] encoded = null;
+        byte[] deflated = null;
+        try {
+            encoded = CompactPayloadCodec.encode(payload);
+            if (encoded.length >= payload.length) {
+                // 이득이 없으면 JSON 그대로 보낸다
+                encoded = null;
+            } else if (encoded.length >= deflateMinSize) {
+                deflated = CompactPayloadCodec.deflate(encoded);
+                if (deflated.length >= encoded.length) {
+                    deflated = null;
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Falling back to JSON, payload could not be encoded: {}", e.getMessage());
+            encoded = null;
+        }
+        EncodedPayload result = new EncodedPayload(payload, encoded, deflated);
+        encodeCache.set(slot, result);
+        return result;
+    }
+
+    private static boolean accepts(List<String> values, String expected) {
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String format : value.split(",")) {
+                if (expected.equalsIgnoreCase(format.trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCompactDestination(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String suffix : COMPACT_SUFFIXES) {
+            if (destination.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJson(MimeType contentType) {
+        return contentType != null && "json".equals(contentType.getSubtype());
+    }
+
+    /**
+     * 변환 결과 캐시 항목 (변환 불가/이득 없음이면 encoded, deflated 는 null)
+     */
+    private static class EncodedPayload {
+        private final byte[] source;
+        private final byte[] encoded;
+        private final byte[] deflated;
+
+        EncodedPayload(byte[] source, byte[] encoded, byte[] deflated) {
+            this.source = source;
+            this.encoded = encoded;
+            this.deflated = deflated;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hobbylink.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.Extension;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.standard.ServerEndpointRegistration;
+import org.springframework.web.socket.server.standard.StandardWebSocketUpgradeStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * permessage-deflate 협상을 제어하는 업그레이드 전략
+ *
+ * 컨테이너는 핸드셰이크 요청 헤더를 보고 직접 확장을 협상하므로 Spring 단계의 필터로는
+ * 압축을 끌 수 없다. 엔드포인트 설정의 getNegotiatedExtensions 를 재정의해
+ * 압축 허용 여부와 서버 측 압축 컨텍스트 유지(context takeover)를 결정한다.
+ * 컨텍스트를 유지하면 반복적인 채팅 JSON 이 이전 프레임을 참조해 크게 줄어들지만
+ * 세션마다 압축 창(약 32KB 이상)을 메모리에 둔다.
+ */
+public class CompressionUpgradeStrategy extends StandardWebSocketUpgradeStrategy {
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+
+    private final boolean compressionEnabled;
+    private final boolean contextTakeover;
+
+    public CompressionUpgradeStrategy(boolean compressionEnabled, boolean contextTakeover) {
+        this.compressionEnabled = compressionEnabled;
+        this.contextTakeover = contextTakeover;
+    }
+
+    @Override
+    protected void upgradeInternal(ServerHttpRequest request, ServerHttpResponse response,
+                                   String selectedProtocol, List<Extension> selectedExtensions,
+                                   Endpoint endpoint) throws HandshakeFailureException {
+        HttpServletRequest servletRequest = getHttpServletRequest(request);
+        HttpServletResponse servletResponse = getHttpServletResponse(response);
+
+        ServerEndpointRegistration endpointConfig =
+                new ServerEndpointRegistration(servletRequest.getRequestURI(), endpoint) {
+                    @Override
+                    public List<Extension> getNegotiatedExtensions(List<Extension> installed, List<Extension> requested) {
+                        return filterExtensions(super.getNegotiatedExtensions(installed, requested));
+                    }
+                };
+        endpointConfig.setSubprotocols(Collections.singletonList(selectedProtocol));
+        endpointConfig.setExtensions(selectedExtensions);
+
+        try {
+            upgradeHttpToWebSocket(servletRequest, servletResponse, endpointConfig, Collections.emptyMap());
+        } catch (Exception ex) {
+            throw new HandshakeFailureException(
+                    "Servlet request failed to upgrade to WebSocket: " + servletRequest.getRequestURL(), ex);
+        }
+    }
+
+    List<Extension> filterExtensions(List<Extension> negotiated) {
+        List<Extension> result = new ArrayList<>(negotiated.size());
+        for (Extension extension : negotiated) {
+            if (!PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName())) {
+                result.add(extension);
+            } else if (compressionEnabled) {
+                result.add(contextTakeover ? extension : withoutServerContextTakeover(extension));
+            }
+        }
+        return result;
+    }
+
+    private static Extension withoutServerContextTakeover(Extension extension) {
+        for (Extension.Parameter parameter : extension.getParameters()) {
+            if (SERVER_NO_CONTEXT_TAKEOVER.equalsIgnoreCase(parameter.getName())) {
+                return extension;
+            }
+        }
+
+        List<Extension.Parameter> parameters = new ArrayList<>(extension.getParameters());
+        parameters.add(new Extension.Parameter() {
+            @Override
+            public String getName() {
+                return SERVER_NO_CONTEXT_TAKEOVER;
+            }
+
+            @Override
+            public String getValue() {
+                return null;
+            }
+        });
+        return new Extension() {
+            @Override
+            public String getName() {
+                return extension.getName();
+            }
+
+            @Override
+            public List<Parameter> getParameters() {
+                return parameters;
+            }
+        };
+    }
+}
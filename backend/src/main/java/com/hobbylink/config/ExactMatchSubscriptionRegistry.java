@@ -0,0 +1,211 @@
+package com.hobbylink.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 정확히 일치하는 목적지 위주의 구독 레지스트리
+ *
+ * 기본 DefaultSubscriptionRegistry 는 모든 구독을 패턴으로 취급하고 작은 목적지
+ * 캐시에 의존하므로 미팅 토픽이 수천 개가 되면 캐시가 계속 교체된다. 우리 목적지는
+ * 대부분 정확한 문자열이므로 목적지 → 구독자 배열을 해시 인덱스로 두고,
+ * 와일드카드 구독('*', '?', '{')이 있을 때만 패턴 매칭을 수행한다.
+ * 구독자 집합은 세션 ID/구독 ID 병렬 배열로 보관하며 변경 시 복사한다(copy-on-write).
+ */
+public class ExactMatchSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // 목적지 → 구독자
+    private final Map<String, DestinationSubscribers> exactIndex = new ConcurrentHashMap<>();
+
+    // 와일드카드 구독 (드물게 사용)
+    private final List<PatternSubscription> patternSubscriptions = new CopyOnWriteArrayList<>();
+
+    // 세션 ID → (구독 ID → 목적지)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        String previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            removeFromIndex(sessionId, subscriptionId, previous);
+        }
+
+        if (isPattern(destination)) {
+            patternSubscriptions.add(new PatternSubscription(sessionId, subscriptionId, destination));
+        } else {
+            exactIndex.compute(destination, (key, subscribers) -> {
+                DestinationSubscribers target = subscribers != null ? subscribers : new DestinationSubscribers();
+                target.add(sessionId, subscriptionId);
+                return target;
+            });
+        }
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeFromIndex(sessionId, subscriptionId, destination);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.forEach((subscriptionId, destination) -> removeFromIndex(sessionId, subscriptionId, destination));
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        DestinationSubscribers subscribers = exactIndex.get(destination);
+        MultiValueMap<String, String> exact = subscribers != null ? subscribers.asMultiValueMap() : null;
+
+        if (patternSubscriptions.isEmpty()) {
+            return exact != null ? exact : new LinkedMultiValueMap<>();
+        }
+
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        if (exact != null) {
+            exact.forEach((sessionId, subscriptionIds) -> result.addAll(sessionId, subscriptionIds));
+        }
+        for (PatternSubscription subscription : patternSubscriptions) {
+            if (pathMatcher.match(subscription.pattern, destination)) {
+                result.add(subscription.sessionId, subscription.subscriptionId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 현재 인덱싱된 정확 일치 목적지 수 (모니터링용)
+     */
+    public int getDestinationCount() {
+        return exactIndex.size();
+    }
+
+    private void removeFromIndex(String sessionId, String subscriptionId, String destination) {
+        if (isPattern(destination)) {
+            patternSubscriptions.removeIf(subscription ->
+                    subscription.sessionId.equals(sessionId) && subscription.subscriptionId.equals(subscriptionId));
+            return;
+        }
+        exactIndex.computeIfPresent(destination, (key, subscribers) ->
+                subscribers.remove(sessionId, subscriptionId) ? null : subscribers);
+    }
+
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
+
+    /**
+     * 한 목적지의 구독자 배열
+     *
+     * 변경은 ConcurrentHashMap.compute 안에서만 일어나므로 목적지 단위로 직렬화된다.
+     * 읽기는 불변 스냅샷 하나만 참조하므로 잠금이 필요 없다.
+     */
+    private static class DestinationSubscribers {
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+        void add(String sessionId, String subscriptionId) {
+            Snapshot current = snapshot;
+            int size = current.sessionIds.length;
+            String[] sessionIds = Arrays.copyOf(current.sessionIds, size + 1);
+            String[] subscriptionIds = Arrays.copyOf(current.subscriptionIds, size + 1);
+            sessionIds[size] = sessionId;
+            subscriptionIds[size] = subscriptionId;
+            snapshot = new Snapshot(sessionIds, subscriptionIds);
+        }
+
+        /**
+         * @return 제거 후 비어 있으면 true
+         */
+        boolean remove(String sessionId, String subscriptionId) {
+            Snapshot current = snapshot;
+            for (int i = 0; i < current.sessionIds.length; i++) {
+                if (current.sessionIds[i].equals(sessionId) && current.subscriptionIds[i].equals(subscriptionId)) {
+                    int last = current.sessionIds.length - 1;
+                    String[] sessionIds = Arrays.copyOf(current.sessionIds, last);
+                    String[] subscriptionIds = Arrays.copyOf(current.subscriptionIds, last);
+                    if (i < last) {
+                        // 순서는 중요하지 않으므로 마지막 원소로 빈자리를 채운다
+                        sessionIds[i] = current.sessionIds[last];
+                        subscriptionIds[i] = current.subscriptionIds[last];
+                    }
+                    snapshot = new Snapshot(sessionIds, subscriptionIds);
+                    break;
+                }
+            }
+            return snapshot.sessionIds.length == 0;
+        }
+
+        MultiValueMap<String, String> asMultiValueMap() {
+            return snapshot.asMultiValueMap();
+        }
+    }
+
+    /**
+     * 구독자 배열의 불변 스냅샷 (조회 결과 맵을 지연 생성해 재사용)
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new String[0]);
+
+        private final String[] sessionIds;
+        private final String[] subscriptionIds;
+        private volatile MultiValueMap<String, String> cached;
+
+        Snapshot(String[] sessionIds, String[] subscriptionIds) {
+            this.sessionIds = sessionIds;
+            this.subscriptionIds = subscriptionIds;
+        }
+
+        MultiValueMap<String, String> asMultiValueMap() {
+            MultiValueMap<String, String> result = cached;
+            if (result == null) {
+                MultiValueMap<String, String> built = new LinkedMultiValueMap<>(sessionIds.length);
+                for (int i = 0; i < sessionIds.length; i++) {
+                    built.add(sessionIds[i], subscriptionIds[i]);
+                }
+                result = CollectionUtils.unmodifiableMultiValueMap(built);
+                cached = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 와일드카드 구독 정보
+     */
+    private static class PatternSubscription {
+        private final String sessionId;
+        private final String subscriptionId;
+        private final String pattern;
+
+        PatternSubscription(String sessionId, String subscriptionId, String pattern) {
+            this.sessionId = sessionId;
+            this.subscriptionId = subscriptionId;
+            this.pattern = pattern;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.hobbylink.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인바운드 STOMP SEND 프레임 유량 제어
+ *
+ * 세션별, 사용자별 토큰 버킷을 목적지 등급(메시지/타이핑/포맷팅/기타)마다 두고
+ * 예산을 넘는 프레임은 인바운드 실행기에 들어가기 전에 버린다. 버킷은 GCRA
+ * (이론적 도착 시각 하나를 CAS 로 갱신) 방식이라 잠금과 타이머가 필요 없다.
+ * 짧은 시간에 거부가 반복되면 세션을 일정 시간 음소거하고, 다시 반복되면
+ * 음소거 시간을 두 배로 늘린다. 음소거가 끝난 뒤 조용한 시간만큼 단계를 되돌린다.
+ */
+@Component
+public class InboundFloodControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundFloodControl.class);
+
+    /**
+     * 목적지 등급
+     */
+    public enum DestinationClass {
+        MESSAGE, TYPING, FORMATTING, OTHER;
+
+        static DestinationClass of(String destination) {
+            if (destination == null) {
+                return OTHER;
+            }
+            if (destination.endsWith("/message") || destination.endsWith("/retry")) {
+                return MESSAGE;
+            }
+            if (destination.endsWith("/typing")) {
+                return TYPING;
+            }
+            if (destination.endsWith("/preview-formatting") || destination.endsWith("/validate-message")) {
+                return FORMATTING;
+            }
+            return OTHER;
+        }
+    }
+
+    @Value("${app.websocket.inbound.message.rate-per-sec:5}")
+    private double messageRate;
+
+    @Value("${app.websocket.inbound.message.burst:10}")
+    private int messageBurst;
+
+    @Value("${app.websocket.inbound.typing.rate-per-sec:2}")
+    private double typingRate;
+
+    @Value("${app.websocket.inbound.typing.burst:5}")
+    private int typingBurst;
+
+    @Value("${app.websocket.inbound.formatting.rate-per-sec:2}")
+    private double formattingRate;
+
+    @Value("${app.websocket.inbound.formatting.burst:4}")
+    private int formattingBurst;
+
+    @Value("${app.websocket.inbound.other.rate-per-sec:20}")
+    private double otherRate;
+
+    @Value("${app.websocket.inbound.other.burst:40}")
+    private int otherBurst;
+
+    // 사용자 예산 = 세션 예산 × 배수 (여러 기기로 접속한 경우)
+    @Value("${app.websocket.inbound.user-multiplier:2}")
+    private int userMultiplier;
+
+    @Value("${app.websocket.inbound.mute.threshold:30}")
+    private int muteThreshold;
+
+    @Value("${app.websocket.inbound.mute.window-ms:10000}")
+    private long muteWindowMs;
+
+    @Value("${app.websocket.inbound.mute.base-ms:5000}")
+    private long muteBaseMs;
+
+    @Value("${app.websocket.inbound.mute.max-ms:300000}")
+    private long muteMaxMs;
+
+    // 음소거가 끝난 뒤 이 시간 동안 조용할 때마다 음소거 단계를 하나씩 낮춘다
+    @Value("${app.websocket.inbound.mute.decay-ms:60000}")
+    private long muteDecayMs;
+
+    // 세션 ID → 세션 상태
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    // 사용자 ID → 사용자 버킷
+    private final Map<Long, Bucket[]> userBuckets = new ConcurrentHashMap<>();
+
+    private final Counter[] rejectedCounters;
+    private final Counter mutedDropCounter;
+    private final Counter muteCounter;
+
+    public InboundFloodControl(MeterRegistry meterRegistry) {
+        DestinationClass[] classes = DestinationClass.values();
+        this.rejectedCounters = new Counter[classes.length];
+        for (DestinationClass destinationClass : classes) {
+            rejectedCounters[destinationClass.ordinal()] = Counter.builder("websocket.inbound.rejected")
+                    .description("Inbound frames rejected for exceeding the session or user budget")
+                    .tag("class", destinationClass.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        this.mutedDropCounter = Counter.builder("websocket.inbound.muted-drops")
+                .description("Inbound frames dropped because the session was muted")
+                .register(meterRegistry);
+        this.muteCounter = Counter.builder("websocket.inbound.mutes")
+                .description("Sessions temporarily muted for repeated flooding")
+                .register(meterRegistry);
+    }
+
+    /**
+     * SEND 프레임 허용 여부
+     * @param sessionId 세션 ID
+     * @param userId 사용자 ID (인증 전이면 null)
+     * @param destination 목적지
+     * @return 허용이면 true
+     */
+    public boolean tryAcquire(String sessionId, Long userId, String destination) {
+        if (sessionId == null) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        SessionState state = sessions.computeIfAbsent(sessionId, key -> new SessionState(newBuckets(1), now));
+
+        if (state.mutedUntil - now > 0) {
+            mutedDropCounter.increment();
+            return false;
+        }
+
+        DestinationClass destinationClass = DestinationClass.of(destination);
+        int index = destinationClass.ordinal();
+
+        boolean allowed = state.buckets[index].tryAcquire(now);
+        if (allowed && userId != null) {
+            Bucket[] buckets = userBuckets.computeIfAbsent(userId, key -> newBuckets(userMultiplier));
+            allowed = buckets[index].tryAcquire(now);
+            if (!allowed) {
+                // 사용자 예산에서 거부된 프레임은 세션 예산도 쓰지 않은 것으로 되돌린다
+                state.buckets[index].release();
+            }
+        }
+
+        if (!allowed) {
+            rejectedCounters[index].increment();
+            recordRejection(sessionId, userId, state, now);
+        }
+        return allowed;
+    }
+
+    /**
+     * 세션 종료 시 상태 제거
+     */
+    public void removeSession(String sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * 세션이 음소거 상태인지 확인
+     */
+    public boolean isMuted(String sessionId) {
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        return state != null && state.mutedUntil - System.nanoTime() > 0;
+    }
+
+    /**
+     * 유휴 사용자 버킷 정리 (버킷이 가득 찬 상태면 새로 만든 것과 같다)
+     */
+    @Scheduled(fixedRate = 60000) // 1분
+    public void purgeIdleUserBuckets() {
+        long now = System.nanoTime();
+        userBuckets.entrySet().removeIf(entry -> {
+            for (Bucket bucket : entry.getValue()) {
+                if (!bucket.isIdle(now)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private void recordRejection(String sessionId, Long userId, SessionState state, long now) {
+        long windowStart = state.windowStart.get();
+        if (now - windowStart > TimeUnit.MILLISECONDS.toNanos(muteWindowMs)
+                && state.windowStart.compareAndSet(windowStart, now)) {
+            state.rejections.set(0);
+        }
+
+        int rejections = state.rejections.incrementAndGet();
+        // 동시에 임계치를 넘은 스레드 중 카운터를 되돌린 하나만 음소거를 건다
+        if (rejections < muteThreshold || !state.rejections.compareAndSet(rejections, 0)) {
+            return;
+        }
+
+        // 임계치 도달: 음소거 (반복될수록 두 배, 최대값 제한)
+        // 지난 음소거가 끝난 뒤 조용했던 만큼 단계를 낮춘 다음 적용한다
+        long quietMs = TimeUnit.NANOSECONDS.toMillis(Math.max(now - state.mutedUntil, 0));
+        int decay = (int) Math.min(quietMs / Math.max(muteDecayMs, 1), Integer.MAX_VALUE);
+        int level = Math.min(state.muteLevel.updateAndGet(previous -> Math.max(previous - decay, 0) + 1) - 1, 16);
+        long muteMs = Math.min(muteBaseMs << level, muteMaxMs);
+        state.mutedUntil = now + TimeUnit.MILLISECONDS.toNanos(muteMs);
+        muteCounter.increment();
+
+        logger.warn("Muting session {} (user {}) for {} ms after repeated flooding", sessionId, userId, muteMs);
+    }
+
+    private Bucket[] newBuckets(int multiplier) {
+        Bucket[] buckets = new Bucket[DestinationClass.values().length];
+        buckets[DestinationClass.MESSAGE.ordinal()] = new Bucket(messageRate * multiplier, messageBurst * multiplier);
+        buckets[DestinationClass.TYPING.ordinal()] = new Bucket(typingRate * multiplier, typingBurst * multiplier);
+        buckets[DestinationClass.FORMATTING.ordinal()] = new Bucket(formattingRate * multiplier, formattingBurst * multiplier);
+        buckets[DestinationClass.OTHER.ordinal()] = new Bucket(otherRate * multiplier, otherBurst * multiplier);
+        return buckets;
+    }
+
+    /**
+     * GCRA 토큰 버킷
+     *
+     * 토큰 수 대신 이론적 도착 시각(TAT)을 저장한다. 요청 하나는 TAT 를 방출 간격만큼
+     * 밀어내고, TAT 가 현재 시각보다 허용 폭(버스트 × 간격) 이상 앞서면 거부한다.
+     */
+    private static class Bucket {
+        private final long emissionIntervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(double ratePerSecond, int burst) {
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(ratePerSecond, 0.001));
+            this.toleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+                if (base - now > toleranceNanos) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 방금 얻은 토큰 하나 반납 (TAT 를 방출 간격만큼 되돌림)
+         */
+        void release() {
+            theoreticalArrival.addAndGet(-emissionIntervalNanos);
+        }
+
+        boolean isIdle(long now) {
+            long tat = theoreticalArrival.get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        }
+    }
+
+    /**
+     * 세션 상태
+     */
+    private static class SessionState {
+        private final Bucket[] buckets;
+        private final AtomicInteger rejections = new AtomicInteger();
+        private final AtomicLong windowStart;
+        private final AtomicInteger muteLevel = new AtomicInteger();
+        private volatile long mutedUntil;
+
+        // 호출자의 현재 시각으로 시작해야 새 세션의 첫 프레임이 음소거로 보이지 않는다
+        SessionState(Bucket[] buckets, long now) {
+            this.buckets = buckets;
+            this.windowStart = new AtomicLong(now);
+            this.mutedUntil = now;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.hobbylink.config;
+
+import com.hobbylink.service.ChatMessagePipeline;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 채널 포화도 기반 적응형 부하 차단 인터셉터
+ *
+ * 인바운드/아웃바운드 실행기의 큐 점유율, 인바운드 처리 지연(EWMA), DB 커넥션 풀
+ * 대기 스레드 수, 채팅 파이프라인 버퍼 점유율로 압력을 계산하고 단계별로 가치가 낮은 작업부터 버린다.
+ * 처리 지연 EWMA 는 처리된 메시지가 없으면 반감기에 따라 줄어든다 (CONNECT 를 거부해 메시지가 끊겨도 회복됨).
+ * - ELEVATED: 타이핑 프레임 차단
+ * - HIGH: 포맷팅 미리보기/검증 차단, 읽지 않은 수 브로드캐스트 지연
+ * - CRITICAL: 새 CONNECT 를 retry-after 와 함께 거부
+ * 채팅 메시지 전송은 어떤 단계에서도 차단하지 않는다 (파이프라인 입구가 가득 찬 경우만 거부됨).
+ */
+@Component
+public class LoadSheddingInterceptor implements ExecutorChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingInterceptor.class);
+
+    /**
+     * 부하 단계
+     */
+    public enum PressureLevel {
+        NORMAL, ELEVATED, HIGH, CRITICAL
+    }
+
+    @Value("${app.websocket.shedding.elevated-threshold:0.5}")
+    private double elevatedThreshold;
+
+    @Value("${app.websocket.shedding.high-threshold:0.75}")
+    private double highThreshold;
+
+    @Value("${app.websocket.shedding.critical-threshold:0.9}")
+    private double criticalThreshold;
+
+    // 단계를 내릴 때 적용하는 여유폭 (단계가 빠르게 오르내리는 것을 방지)
+    @Value("${app.websocket.shedding.hysteresis:0.1}")
+    private double hysteresis;
+
+    @Value("${app.websocket.shedding.latency-target-ms:200}")
+    private double latencyTargetMs;
+
+    // 처리된 메시지가 없을 때 지연 EWMA 가 절반으로 줄어드는 시간
+    @Value("${app.websocket.shedding.latency-half-life-ms:2000}")
+    private double latencyHalfLifeMs;
+
+    @Value("${app.websocket.shedding.connect-retry-after-ms:5000}")
+    private long connectRetryAfterMs;
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientInboundChannelExecutor")
+    private ThreadPoolTaskExecutor inboundExecutor;
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientOutboundChannelExecutor")
+    private ThreadPoolTaskExecutor outboundExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Lazy
+    private ChatMessagePipeline chatMessagePipeline;
+
+    private volatile PressureLevel level = PressureLevel.NORMAL;
+    private volatile double pressure;
+
+    // 인바운드 메시지 처리 시간 EWMA (ms) 와 마지막 표본 시각 (nanoTime)
+    private volatile double handleLatencyMs;
+    private volatile long lastLatencySampleNanos = System.nanoTime();
+
+    private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+
+    private final Counter typingShedCounter;
+    private final Counter formattingShedCounter;
+    private final Counter connectShedCounter;
+
+    public LoadSheddingInterceptor(MeterRegistry meterRegistry) {
+        this.typingShedCounter = shedCounter(meterRegistry, "typing");
+        this.formattingShedCounter = shedCounter(meterRegistry, "formatting");
+        this.connectShedCounter = shedCounter(meterRegistry, "connect");
+        Gauge.builder("websocket.shedding.level", this, interceptor -> interceptor.level.ordinal())
+                .description("Current load shedding level (0=normal, 3=critical)")
+                .register(meterRegistry);
+        Gauge.builder("websocket.shedding.pressure", this, interceptor -> interceptor.pressure)
+                .description("Highest saturation ratio across channel executors, latency, DB pool and chat pipeline")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        PressureLevel current = level;
+        if (current == PressureLevel.NORMAL) {
+            return message;
+        }
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.SEND) {
+            String destination = accessor.getDestination();
+            if (destination == null) {
+                return message;
+            }
+            if (destination.endsWith("/typing")) {
+                typingShedCounter.increment();
+                return null;
+            }
+            if (current.compareTo(PressureLevel.HIGH) >= 0
+                    && (destination.endsWith("/preview-formatting") || destination.endsWith("/validate-message"))) {
+                formattingShedCounter.increment();
+                return null;
+            }
+        } else if ((command == StompCommand.CONNECT || command == StompCommand.STOMP)
+                && current == PressureLevel.CRITICAL) {
+            connectShedCounter.increment();
+            // 재접속이 한꺼번에 몰리지 않도록 지터 추가
+            long retryAfter = connectRetryAfterMs + ThreadLocalRandom.current().nextLong(connectRetryAfterMs / 2 + 1);
+            throw new ServerOverloadedException(message, retryAfter);
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        handleStart.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long start = handleStart.get();
+        if (start == null) {
+            return;
+        }
+        handleStart.remove();
+        long now = System.nanoTime();
+        recordHandleLatency((now - start) / 1_000_000.0, now);
+    }
+
+    /**
+     * 처리 시간 표본 반영 (쉬었던 만큼 줄인 뒤 EWMA 갱신)
+     */
+    void recordHandleLatency(double elapsedMs, long nowNanos) {
+        // 경합 시 일부 표본이 누락될 수 있으나 추세 추정에는 영향이 없다
+        handleLatencyMs = decayedLatency(nowNanos) * 0.9 + elapsedMs * 0.1;
+        lastLatencySampleNanos = nowNanos;
+    }
+
+    /**
+     * 압력 표본 수집 및 단계 갱신
+     */
+    @Scheduled(fixedRate = 500)
+    public void samplePressure() {
+        samplePressure(System.nanoTime());
+    }
+
+    void samplePressure(long nowNanos) {
+        try {
+            double sample = Math.max(queueSaturation(inboundExecutor), queueSaturation(outboundExecutor));
+            sample = Math.max(sample, decayedLatency(nowNanos) / latencyTargetMs);
+            sample = Math.max(sample, dbPoolSaturation());
+            sample = Math.max(sample, chatMessagePipeline.getSaturation());
+            pressure = sample;
+
+            PressureLevel target = levelFor(sample);
+            PressureLevel current = level;
+            PressureLevel next = current;
+            if (target.compareTo(current) > 0) {
+                next = target;
+            } else if (target.compareTo(current) < 0 && levelFor(sample + hysteresis).compareTo(current) < 0) {
+                // 한 번에 한 단계씩만 내린다
+                next = PressureLevel.values()[current.ordinal() - 1];
+            }
+
+            if (next != current) {
+                level = next;
+                logger.warn("Load shedding level changed {} -> {} (pressure {})",
+                           current, next, String.format("%.2f", sample));
+            }
+        } catch (Exception e) {
+            logger.error("Error sampling channel pressure: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 부하 단계
+     */
+    public PressureLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * 현재 압력 (0 이상, 1 이상이면 포화)
+     */
+    public double getPressure() {
+        return pressure;
+    }
+
+    /**
+     * 읽지 않은 수 브로드캐스트를 미뤄야 하는지 확인
+     */
+    public boolean shouldDeferUnreadBroadcasts() {
+        return level.compareTo(PressureLevel.HIGH) >= 0;
+    }
+
+    /**
+     * 마지막 표본 이후 지난 시간만큼 반감한 처리 지연 EWMA
+     */
+    private double decayedLatency(long nowNanos) {
+        double idleMs = Math.max(0, (nowNanos - lastLatencySampleNanos) / 1_000_000.0);
+        return handleLatencyMs * Math.pow(0.5, idleMs / latencyHalfLifeMs);
+    }
+
+    private PressureLevel levelFor(double value) {
+        if (value >= criticalThreshold) {
+            return PressureLevel.CRITICAL;
+        }
+        if (value >= highThreshold) {
+            return PressureLevel.HIGH;
+        }
+        if (value >= elevatedThreshold) {
+            return PressureLevel.ELEVATED;
+        }
+        return PressureLevel.NORMAL;
+    }
+
+    private static double queueSaturation(ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        BlockingQueue<Runnable> queue = pool.getQueue();
+        int depth = queue.size();
+        int capacity = depth + queue.remainingCapacity();
+        return capacity > 0 ? (double) depth / capacity : 0;
+    }
+
+    private double dbPoolSaturation() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return 0;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        // 모든 커넥션이 사용 중이고 대기자가 풀 크기만큼 쌓이면 1.0
+        int maxPoolSize = Math.max(hikari.getMaximumPoolSize(), 1);
+        return (double) pool.getThreadsAwaitingConnection() / maxPoolSize;
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("websocket.shedding.shed")
+                .description("Inbound work shed because of channel saturation")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
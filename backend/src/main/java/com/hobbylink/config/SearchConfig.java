@@ -0,0 +1,31 @@
+package com.hobbylink.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SearchConfig {
+
+    @Value("${app.search.federated.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.search.federated.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * 통합 검색의 소스별 병렬 조회용 제한 풀
+     * 큐가 가득 차면 작업을 거부하고, 호출자는 해당 소스를 시간 초과로 처리한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-");
+        executor.initialize();
+        return executor;
+    }
+}
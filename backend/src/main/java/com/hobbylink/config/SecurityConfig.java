@@ -28,7 +28,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/health").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 // WebSocket 핸드셰이크 및 SockJS 엔드포인트 허용
-                .requestMatchers("/ws/**").permitAll()
+                .requestMatchers("/ws/**", "/ws-native").permitAll()
                 // CORS preflight 허용
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // 개발 중 모든 API 엔드포인트 허용 (추후 JWT 인증 적용 예정)
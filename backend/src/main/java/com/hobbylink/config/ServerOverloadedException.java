@@ -0,0 +1,25 @@
+package com.hobbylink.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+/**
+ * 서버 과부하로 새 연결을 거부할 때 사용하는 예외
+ *
+ * WebSocketErrorHandler 가 retry-after 헤더를 담은 ERROR 프레임으로 변환한다.
+ */
+public class ServerOverloadedException extends MessagingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMs;
+
+    public ServerOverloadedException(Message<?> message, long retryAfterMs) {
+        super(message, "SERVER_OVERLOADED");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,548 @@
+package com.hobbylink.config;
+
+import com.hobbylink.service.ChatSessionContextService;
+import com.hobbylink.service.ConnectionManagerService;
+import com.hobbylink.service.MessageSyncService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션 재개(resume) 관리자 (브로커 채널 인터셉터)
+ *
+ * CONNECT 에 resume-token 헤더를 보낸 세션이 비정상 종료되면 grace 기간 동안 세션을
+ * 보관(park)하고, 그 세션이 구독하던 목적지로 브로커에 들어오는 프레임을 세션별 버퍼에 쌓는다
+ * (/user/{사용자}/queue/* 개인 목적지 포함).
+ * 같은 사용자가 같은 토큰으로 다시 CONNECT 하면 접속 기록(presence)을 새 세션으로 옮기고 입장했던 미팅의
+ * 멤버십을 DB 로 다시 확인한다. 수집은 목적지별로 새 세션의 재구독이 브로커에 등록될 때까지 계속하고,
+ * 등록 직후 버퍼의 프레임을 메모리에서 바로 재전송한다 (DB 동기화, 입장 재처리 없음).
+ * 그래서 CONNECT 와 재구독 사이에 발행된 프레임도 빠지지 않는다 (전환 순간 발행 중인 프레임은 두 번 갈 수 있음).
+ * 버퍼가 넘치면 재개하지 않고 일반 재접속(DB 동기화)으로 처리한다.
+ */
+@Component
+public class SessionResumptionManager implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionResumptionManager.class);
+
+    public static final String RESUME_TOKEN_HEADER = "resume-token";
+
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+    private static final String MEETUP_TOPIC_PREFIX = "/topic/meetup/";
+
+    private static final int MIN_TOKEN_LENGTH = 16;
+
+    @Value("${app.websocket.resume.grace-seconds:30}")
+    private long graceSeconds;
+
+    @Value("${app.websocket.resume.max-frames:200}")
+    private int maxFrames;
+
+    @Value("${app.websocket.resume.max-bytes:262144}")
+    private int maxBytes;
+
+    @Autowired
+    private ConnectionManagerService connectionManagerService;
+
+    @Autowired
+    private ChatSessionContextService chatSessionContextService;
+
+    @Autowired
+    @Lazy
+    private MessageSyncService messageSyncService;
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientOutboundChannel")
+    private MessageChannel clientOutboundChannel;
+
+    // 재개 가능한 활성 세션 (세션 ID → 토큰, 사용자, 구독 목록)
+    private final Map<String, ResumableSession> activeSessions = new ConcurrentHashMap<>();
+
+    // 보관 중인 세션 (토큰 → 세션)
+    private final Map<String, ResumableSession> parkedSessions = new ConcurrentHashMap<>();
+
+    // 목적지 → 해당 목적지를 구독하던 보관 세션 (브로커 프레임 수집용 인덱스)
+    private final Map<String, Set<ResumableSession>> captureIndex = new ConcurrentHashMap<>();
+
+    // 재개된 새 세션 ID → 재구독 시 재전송할 버퍼 (재구독 전까지 captureIndex 에서 계속 수집)
+    private final Map<String, ResumableSession> pendingReplays = new ConcurrentHashMap<>();
+
+    private final ExecutorChannelInterceptor subscriptionInterceptor = new SubscriptionRegisteredInterceptor();
+
+    private final Counter resumedCounter;
+    private final Counter expiredCounter;
+    private final Counter overflowCounter;
+    private final Counter replayedFramesCounter;
+
+    public SessionResumptionManager(MeterRegistry meterRegistry) {
+        this.resumedCounter = Counter.builder("websocket.resume.resumed")
+                .description("Sessions resumed from the replay buffer")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("websocket.resume.expired")
+                .description("Parked sessions that were not resumed within the grace period")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("websocket.resume.overflow")
+                .description("Resume attempts rejected because the replay buffer overflowed")
+                .register(meterRegistry);
+        this.replayedFramesCounter = Counter.builder("websocket.resume.replayed-frames")
+                .description("Frames replayed from memory to resumed sessions")
+                .register(meterRegistry);
+        Gauge.builder("websocket.resume.parked", parkedSessions, Map::size)
+                .description("Sessions currently parked awaiting resumption")
+                .register(meterRegistry);
+    }
+
+    /**
+     * CONNECT 처리 (WebSocketChannelInterceptor 에서 사용자 확인 후 호출)
+     * 보관된 세션을 재개했으면 true 를 반환한다.
+     */
+    public boolean handleConnect(String sessionId, Long userId, String resumeToken, Map<String, Object> sessionAttributes) {
+        if (resumeToken == null || resumeToken.length() < MIN_TOKEN_LENGTH || userId == null) {
+            return false;
+        }
+
+        ResumableSession parked = parkedSessions.remove(resumeToken);
+        boolean resumed = false;
+        if (parked != null) {
+            if (!parked.userId.equals(userId) || parked.isExpired()) {
+                // 다른 사용자의 토큰이거나 만료된 세션은 재개하지 않는다
+                unindex(parked);
+                expire(parked);
+            } else if (parked.buffer.isOverflowed()) {
+                unindex(parked);
+                overflowCounter.increment();
+                expire(parked);
+            } else {
+                connectionManagerService.transferUserSession(parked.sessionId, sessionId);
+                restoreJoinedMeetups(parked, userId, sessionAttributes);
+                // 수집은 멈추지 않고 목적지별 재구독이 등록될 때 재전송 후 멈춘다
+                pendingReplays.put(sessionId, parked);
+                resumedCounter.increment();
+                resumed = true;
+                logger.info("Session {} resumed as {} for user {} ({} buffered frames)",
+                           parked.sessionId, sessionId, userId, parked.buffer.size());
+            }
+        }
+
+        activeSessions.put(sessionId, new ResumableSession(sessionId, userId, resumeToken));
+        return resumed;
+    }
+
+    /**
+     * 연결 종료 처리
+     * 재개 가능한 세션이 비정상 종료되면 보관하고 true 를 반환한다 (접속 기록 정리는 만료 시점으로 미룸).
+     */
+    public boolean park(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        ResumableSession pending = pendingReplays.remove(sessionId);
+        if (pending != null) {
+            unindex(pending);
+        }
+        ResumableSession session = activeSessions.remove(sessionId);
+        if (session == null || CloseStatus.NORMAL.equalsCode(event.getCloseStatus())) {
+            // 클라이언트가 정상 종료(DISCONNECT)하면 재개하지 않는다
+            return false;
+        }
+
+        Map<String, Object> sessionAttributes = StompHeaderAccessor.wrap(event.getMessage()).getSessionAttributes();
+        if (sessionAttributes != null && sessionAttributes.get(WebSocketEventListener.JOINED_MEETUPS_ATTRIBUTE) instanceof Set<?> joined) {
+            for (Object meetupId : joined) {
+                session.joinedMeetups.add((Long) meetupId);
+            }
+        }
+
+        session.parkedUntil = System.currentTimeMillis() + graceSeconds * 1000;
+        session.buffer = new ReplayBuffer(maxFrames, maxBytes);
+        ResumableSession previous = parkedSessions.put(session.resumeToken, session);
+        if (previous != null) {
+            unindex(previous);
+            expire(previous);
+        }
+        for (String destination : session.subscriptions.values()) {
+            captureIndex.computeIfAbsent(captureKey(destination, session.userId), key -> ConcurrentHashMap.newKeySet()).add(session);
+        }
+        logger.debug("Parked session {} for user {} ({})", sessionId, session.userId, event.getCloseStatus());
+        return true;
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String destination = accessor.getDestination();
+        ResumableSession session = sessionId != null ? activeSessions.get(sessionId) : null;
+        if (session == null || destination == null) {
+            return;
+        }
+        session.subscriptions.put(accessor.getSubscriptionId(), destination);
+    }
+
+    /**
+     * 클라이언트 인바운드 채널용 인터셉터 (재구독이 브로커에 등록된 직후 재전송)
+     */
+    public ExecutorChannelInterceptor subscriptionInterceptor() {
+        return subscriptionInterceptor;
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        ResumableSession session = accessor.getSessionId() != null ? activeSessions.get(accessor.getSessionId()) : null;
+        if (session != null && accessor.getSubscriptionId() != null) {
+            session.subscriptions.remove(accessor.getSubscriptionId());
+        }
+    }
+
+    /**
+     * 브로커 채널로 들어오는 프레임 중 보관 세션이 구독하던 목적지의 프레임을 버퍼에 저장
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (captureIndex.isEmpty() || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Set<ResumableSession> sessions = destination != null ? captureIndex.get(destination) : null;
+        // convertAndSendToUser 프레임은 /user/{사용자}/queue/* 형태로 들어오므로 그대로 수집 키와 같다
+        if (sessions == null || sessions.isEmpty()) {
+            return message;
+        }
+
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        ReplayFrame frame = new ReplayFrame(destination, payload, contentType);
+        for (ResumableSession session : sessions) {
+            session.buffer.add(frame);
+        }
+        return message;
+    }
+
+    /**
+     * 만료된 보관 세션 정리 (접속 기록을 이때 제거)
+     */
+    @Scheduled(fixedRate = 5000)
+    public void expireParkedSessions() {
+        long now = System.currentTimeMillis();
+        Iterator<ResumableSession> iterator = parkedSessions.values().iterator();
+        while (iterator.hasNext()) {
+            ResumableSession session = iterator.next();
+            if (session.parkedUntil <= now) {
+                iterator.remove();
+                unindex(session);
+                expire(session);
+                expiredCounter.increment();
+            }
+        }
+        // 재개 후 재구독하지 않은 목적지는 grace 기간이 지나면 수집을 멈추고 버퍼를 버린다
+        pendingReplays.values().removeIf(session -> {
+            if (session.parkedUntil > now) {
+                return false;
+            }
+            unindex(session);
+            return true;
+        });
+    }
+
+    /**
+     * 재구독이 등록된 목적지의 수집을 멈추고 그때까지 쌓인 프레임 재전송
+     */
+    private void switchOver(String sessionId, String subscriptionId, String destination, String lastSeenMessageId,
+                            ResumableSession pending) {
+        String key = captureKey(destination, pending.userId);
+        boolean captured = pending.subscriptions.values().stream()
+                .anyMatch(subscribed -> captureKey(subscribed, pending.userId).equals(key));
+        if (!captured) {
+            return;
+        }
+        // 수집을 먼저 멈춰야 재전송 이후 프레임이 버퍼에 남지 않는다 (이후 프레임은 새 구독으로 바로 전달)
+        unindex(pending, key);
+        List<ReplayFrame> frames = pending.buffer.drain(key);
+        Long meetupId = meetupIdOf(destination);
+        if (meetupId != null && pending.revokedMeetups.contains(meetupId)) {
+            // 재확인에서 멤버가 아니게 된 미팅의 프레임은 버린다
+            frames = List.of();
+        }
+        if (pending.subscriptions.isEmpty() || pending.buffer.isOverflowed()) {
+            pendingReplays.remove(sessionId, pending);
+        }
+        if (pending.buffer.isOverflowed()) {
+            // 재개 이후 버퍼가 넘쳤으면 일부만 보내지 않고 DB 에서 놓친 메시지를 동기화한다
+            unindex(pending);
+            overflowCounter.increment();
+            if (meetupId != null && destination.endsWith("/messages") && !pending.revokedMeetups.contains(meetupId)) {
+                syncAfterOverflow(meetupId, pending.userId, sessionId, lastSeenMessageId);
+            }
+            return;
+        }
+        for (ReplayFrame frame : frames) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            if (frame.contentType != null) {
+                accessor.setHeader(MessageHeaders.CONTENT_TYPE, frame.contentType);
+            }
+            accessor.setLeaveMutable(true);
+            clientOutboundChannel.send(MessageBuilder.createMessage(frame.payload, accessor.getMessageHeaders()));
+        }
+        if (!frames.isEmpty()) {
+            replayedFramesCounter.increment(frames.size());
+            logger.debug("Replayed {} frames to session {} for {}", frames.size(), sessionId, destination);
+        }
+    }
+
+    private void syncAfterOverflow(Long meetupId, Long userId, String sessionId, String lastSeenMessageId) {
+        LocalDateTime fallbackSince = LocalDateTime.now().minusSeconds(graceSeconds * 2);
+        try {
+            if (lastSeenMessageId != null && !lastSeenMessageId.isBlank()) {
+                messageSyncService.syncAfterMessage(meetupId, userId, sessionId, null,
+                        Long.valueOf(lastSeenMessageId.trim()), fallbackSince);
+            } else {
+                messageSyncService.syncMissedMessages(meetupId, userId, sessionId, null, fallbackSince);
+            }
+        } catch (Exception e) {
+            logger.warn("Fallback sync after replay overflow failed for user {} in meetup {}: {}",
+                       userId, meetupId, e.getMessage());
+        }
+    }
+
+    private void unindex(ResumableSession session) {
+        for (String destination : new ArrayList<>(session.subscriptions.values())) {
+            unindex(session, captureKey(destination, session.userId));
+        }
+    }
+
+    private void unindex(ResumableSession session, String key) {
+        session.subscriptions.values().removeIf(destination -> captureKey(destination, session.userId).equals(key));
+        captureIndex.computeIfPresent(key, (ignored, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * 보관 세션이 입장했던 미팅 중 지금도 멤버인 미팅만 새 세션의 입장 기록으로 이어받음
+     */
+    private void restoreJoinedMeetups(ResumableSession parked, Long userId, Map<String, Object> sessionAttributes) {
+        if (sessionAttributes == null || parked.joinedMeetups.isEmpty()) {
+            return;
+        }
+        Set<Long> joined = ConcurrentHashMap.newKeySet();
+        for (Long meetupId : parked.joinedMeetups) {
+            ChatSessionContextService.ChatSessionContext context;
+            try {
+                context = chatSessionContextService.resolve(sessionAttributes, meetupId, userId);
+            } catch (Exception e) {
+                logger.warn("Membership re-check failed for user {} in meetup {}: {}", userId, meetupId, e.getMessage());
+                context = null;
+            }
+            if (context != null && context.isMember()) {
+                joined.add(meetupId);
+            } else {
+                parked.revokedMeetups.add(meetupId);
+            }
+        }
+        sessionAttributes.put(WebSocketEventListener.JOINED_MEETUPS_ATTRIBUTE, joined);
+    }
+
+    /**
+     * 수집 인덱스 키 (개인 목적지는 /user/{사용자}/... 로 맞춤)
+     * 클라이언트는 /user/queue/x 나 /user/{사용자}/queue/x 로 구독하고, 서버는 /user/{사용자}/queue/x 로 보낸다.
+     */
+    static String captureKey(String destination, Long userId) {
+        if (!destination.startsWith(USER_DESTINATION_PREFIX)) {
+            return destination;
+        }
+        String rest = destination.substring(USER_DESTINATION_PREFIX.length() - 1);
+        if (rest.startsWith("/queue/") || rest.startsWith("/topic/")) {
+            return USER_DESTINATION_PREFIX + userId + rest;
+        }
+        return destination;
+    }
+
+    private static Long meetupIdOf(String destination) {
+        if (!destination.startsWith(MEETUP_TOPIC_PREFIX)) {
+            return null;
+        }
+        int end = destination.indexOf('/', MEETUP_TOPIC_PREFIX.length());
+        try {
+            return Long.valueOf(destination.substring(MEETUP_TOPIC_PREFIX.length(), end < 0 ? destination.length() : end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void expire(ResumableSession session) {
+        try {
+            connectionManagerService.removeUserSession(session.sessionId);
+        } catch (Exception e) {
+            logger.warn("Failed to remove parked session {}: {}", session.sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * SUBSCRIBE 를 처리한 핸들러가 브로커 구독을 등록한 뒤 재전송
+     * 일반 목적지는 브로커 핸들러가, 개인 목적지는 사용자 목적지 핸들러가 (브로커 채널로 동기 전달해) 등록한다.
+     */
+    private class SubscriptionRegisteredInterceptor implements ExecutorChannelInterceptor {
+
+        @Override
+        public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+            if (pendingReplays.isEmpty() || ex != null
+                    || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+                return;
+            }
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+            ResumableSession pending = sessionId != null ? pendingReplays.get(sessionId) : null;
+            if (pending == null || destination == null || subscriptionId == null) {
+                return;
+            }
+            boolean registered = destination.startsWith(USER_DESTINATION_PREFIX)
+                    ? handler instanceof UserDestinationMessageHandler
+                    : handler instanceof AbstractBrokerMessageHandler;
+            if (registered) {
+                String lastSeenMessageId = StompHeaderAccessor.wrap(message)
+                        .getFirstNativeHeader(WebSocketEventListener.LAST_SEEN_MESSAGE_ID_HEADER);
+                switchOver(sessionId, subscriptionId, destination, lastSeenMessageId, pending);
+            }
+        }
+    }
+
+    /**
+     * 재개 가능한 세션 정보
+     */
+    private static class ResumableSession {
+        private final String sessionId;
+        private final Long userId;
+        private final String resumeToken;
+        // 구독 ID → 목적지
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+        private final Set<Long> joinedMeetups = ConcurrentHashMap.newKeySet();
+        // 재개 시 멤버십 재확인에서 빠진 미팅
+        private final Set<Long> revokedMeetups = ConcurrentHashMap.newKeySet();
+        private volatile long parkedUntil;
+        private volatile ReplayBuffer buffer;
+
+        ResumableSession(String sessionId, Long userId, String resumeToken) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.resumeToken = resumeToken;
+        }
+
+        boolean isExpired() {
+            return parkedUntil <= System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 프레임 수와 바이트 수로 제한되는 재전송 버퍼
+     */
+    private static class ReplayBuffer {
+        private final int maxFrames;
+        private final int maxBytes;
+        private final Deque<ReplayFrame> frames = new ArrayDeque<>();
+        private int bytes;
+        private boolean overflowed;
+
+        ReplayBuffer(int maxFrames, int maxBytes) {
+            this.maxFrames = maxFrames;
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized void add(ReplayFrame frame) {
+            if (overflowed) {
+                return;
+            }
+            if (frames.size() >= maxFrames || bytes + frame.payload.length > maxBytes) {
+                // 일부만 재전송하면 빈틈이 생기므로 넘치는 순간 버퍼 전체를 포기한다
+                overflowed = true;
+                frames.clear();
+                bytes = 0;
+                return;
+            }
+            frames.addLast(frame);
+            bytes += frame.payload.length;
+        }
+
+        synchronized List<ReplayFrame> drain(String key) {
+            List<ReplayFrame> drained = new ArrayList<>();
+            Iterator<ReplayFrame> iterator = frames.iterator();
+            while (iterator.hasNext()) {
+                ReplayFrame frame = iterator.next();
+                if (frame.destination.equals(key)) {
+                    drained.add(frame);
+                    bytes -= frame.payload.length;
+                    iterator.remove();
+                }
+            }
+            return drained;
+        }
+
+        synchronized boolean isOverflowed() {
+            return overflowed;
+        }
+
+        synchronized boolean isEmpty() {
+            return frames.isEmpty();
+        }
+
+        synchronized int size() {
+            return frames.size();
+        }
+    }
+
+    /**
+     * 버퍼에 저장된 프레임 (브로커가 구독자에게 공유하는 페이로드 배열을 그대로 보관)
+     */
+    private static class ReplayFrame {
+        private final String destination;
+        private final byte[] payload;
+        // MimeType 또는 문자열
+        private final Object contentType;
+
+        ReplayFrame(String destination, byte[] payload, Object contentType) {
+            this.destination = destination;
+            this.payload = payload;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hobbylink.config;
+
+import java.security.Principal;
+
+/**
+ * STOMP 세션에 연결된 사용자 Principal
+ *
+ * 이름은 사용자 ID 문자열이므로 convertAndSendToUser(userId.toString(), ...) 가
+ * 그대로 해당 사용자의 모든 세션으로 해석된다.
+ */
+public class StompPrincipal implements Principal {
+    
+    private final long userId;
+    private final String name;
+    
+    public StompPrincipal(long userId) {
+        this.userId = userId;
+        this.name = Long.toString(userId);
+    }
+    
+    public long getUserId() {
+        return userId;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StompPrincipal)) return false;
+        return userId == ((StompPrincipal) o).userId;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(userId);
+    }
+    
+    @Override
+    public String toString() {
+        return "StompPrincipal[" + name + "]";
+    }
+}
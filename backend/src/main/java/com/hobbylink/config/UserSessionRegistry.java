@@ -0,0 +1,329 @@
+package com.hobbylink.config;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpSubscriptionMatcher;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 ID 기반 STOMP 사용자 레지스트리
+ *
+ * 기본 DefaultSimpUserRegistry 를 대신해 사용자 ID(long) → 세션 목록을 관리한다.
+ * 한 사용자가 여러 기기로 접속하면 세션이 모두 등록되므로 /user/{userId}/queue/...
+ * 전송은 맵 조회 한 번으로 모든 활성 세션에 전달된다.
+ */
+@Component
+@Primary
+public class UserSessionRegistry implements SimpUserRegistry, SmartApplicationListener {
+
+    // 사용자 ID → 사용자
+    private final Map<Long, LocalUser> users = new ConcurrentHashMap<>();
+
+    // 세션 ID → 세션
+    private final Map<String, LocalSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * /user/{userId}/queue/... 전송을 한 세션으로만 보내는 헤더
+     * 같은 사용자의 다른 탭/기기에는 전달되지 않는다.
+     * @param sessionId 받을 세션 ID
+     * @return convertAndSendToUser 에 넘길 헤더
+     */
+    public static MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return AbstractSubProtocolEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        AbstractSubProtocolEvent subProtocolEvent = (AbstractSubProtocolEvent) event;
+        MessageHeaders headers = subProtocolEvent.getMessage().getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (sessionId == null) {
+            return;
+        }
+
+        if (event instanceof SessionSubscribeEvent) {
+            LocalSession session = sessions.get(sessionId);
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+            String destination = SimpMessageHeaderAccessor.getDestination(headers);
+            if (session != null && subscriptionId != null && destination != null) {
+                session.addSubscription(subscriptionId, destination);
+            }
+        } else if (event instanceof SessionConnectedEvent) {
+            Principal principal = subProtocolEvent.getUser();
+            if (principal instanceof StompPrincipal stompPrincipal) {
+                registerSession(sessionId, stompPrincipal);
+            }
+        } else if (event instanceof SessionDisconnectEvent) {
+            unregisterSession(sessionId);
+        } else if (event instanceof SessionUnsubscribeEvent) {
+            LocalSession session = sessions.get(sessionId);
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+            if (session != null && subscriptionId != null) {
+                session.removeSubscription(subscriptionId);
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public SimpUser getUser(String userName) {
+        long userId = parseUserId(userName);
+        return userId >= 0 ? users.get(userId) : null;
+    }
+
+    @Override
+    public Set<SimpUser> getUsers() {
+        return new HashSet<>(users.values());
+    }
+
+    @Override
+    public int getUserCount() {
+        return users.size();
+    }
+
+    @Override
+    public Set<SimpSubscription> findSubscriptions(SimpSubscriptionMatcher matcher) {
+        Set<SimpSubscription> result = new HashSet<>();
+        for (LocalSession session : sessions.values()) {
+            for (SimpSubscription subscription : session.subscriptions.values()) {
+                if (matcher.match(subscription)) {
+                    result.add(subscription);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자의 활성 세션 ID 목록
+     * @param userId 사용자 ID
+     * @return 세션 ID 목록 (없으면 빈 집합)
+     */
+    public Set<String> getSessionIds(long userId) {
+        LocalUser user = users.get(userId);
+        return user != null ? user.sessionIds : Collections.emptySet();
+    }
+
+    /**
+     * 사용자가 하나 이상의 세션으로 접속 중인지 확인
+     */
+    public boolean isOnline(long userId) {
+        return users.containsKey(userId);
+    }
+
+    /**
+     * 세션의 사용자 ID 조회
+     * @return 사용자 ID (등록되지 않은 세션이면 null)
+     */
+    public Long getUserId(String sessionId) {
+        LocalSession session = sessions.get(sessionId);
+        return session != null ? session.user.userId : null;
+    }
+
+    private void registerSession(String sessionId, StompPrincipal principal) {
+        users.compute(principal.getUserId(), (key, user) -> {
+            LocalUser target = user != null ? user : new LocalUser(principal);
+            LocalSession session = new LocalSession(sessionId, target);
+            sessions.put(sessionId, session);
+            target.addSession(session);
+            return target;
+        });
+    }
+
+    private void unregisterSession(String sessionId) {
+        LocalSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        users.computeIfPresent(session.user.userId, (key, user) -> {
+            user.removeSession(sessionId);
+            return user.hasSessions() ? user : null;
+        });
+    }
+
+    private static long parseUserId(String userName) {
+        if (userName == null || userName.isEmpty() || userName.length() > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < userName.length(); i++) {
+            char c = userName.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 사용자 (세션 집합은 변경 시 복사해 두어 조회 시 할당이 없다)
+     */
+    private static class LocalUser implements SimpUser {
+        private final long userId;
+        private final StompPrincipal principal;
+        private final Map<String, LocalSession> sessionMap = new ConcurrentHashMap<>();
+        private volatile Set<SimpSession> sessionSnapshot = Collections.emptySet();
+        private volatile Set<String> sessionIds = Collections.emptySet();
+
+        LocalUser(StompPrincipal principal) {
+            this.userId = principal.getUserId();
+            this.principal = principal;
+        }
+
+        void addSession(LocalSession session) {
+            sessionMap.put(session.id, session);
+            refreshSnapshot();
+        }
+
+        void removeSession(String sessionId) {
+            sessionMap.remove(sessionId);
+            refreshSnapshot();
+        }
+
+        private void refreshSnapshot() {
+            sessionSnapshot = Collections.unmodifiableSet(new HashSet<>(sessionMap.values()));
+            sessionIds = Collections.unmodifiableSet(new HashSet<>(sessionMap.keySet()));
+        }
+
+        @Override
+        public String getName() {
+            return principal.getName();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public boolean hasSessions() {
+            return !sessionMap.isEmpty();
+        }
+
+        @Override
+        public SimpSession getSession(String sessionId) {
+            return sessionId != null ? sessionMap.get(sessionId) : null;
+        }
+
+        @Override
+        public Set<SimpSession> getSessions() {
+            return sessionSnapshot;
+        }
+
+        @Override
+        public String toString() {
+            return "LocalUser[userId=" + userId + ", sessions=" + sessionMap.size() + "]";
+        }
+    }
+
+    /**
+     * 사용자 세션
+     */
+    private static class LocalSession implements SimpSession {
+        private final String id;
+        private final LocalUser user;
+        private final Map<String, SimpSubscription> subscriptions = new ConcurrentHashMap<>();
+
+        LocalSession(String id, LocalUser user) {
+            this.id = id;
+            this.user = user;
+        }
+
+        void addSubscription(String subscriptionId, String destination) {
+            subscriptions.put(subscriptionId, new LocalSubscription(subscriptionId, destination, this));
+        }
+
+        void removeSubscription(String subscriptionId) {
+            subscriptions.remove(subscriptionId);
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public SimpUser getUser() {
+            return user;
+        }
+
+        @Override
+        public Set<SimpSubscription> getSubscriptions() {
+            return new HashSet<>(subscriptions.values());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof SimpSession && id.equals(((SimpSession) o).getId()));
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
+    /**
+     * 세션 구독
+     */
+    private static class LocalSubscription implements SimpSubscription {
+        private final String id;
+        private final String destination;
+        private final LocalSession session;
+
+        LocalSubscription(String id, String destination, LocalSession session) {
+            this.id = id;
+            this.destination = destination;
+            this.session = session;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public SimpSession getSession() {
+            return session;
+        }
+
+        @Override
+        public String getDestination() {
+            return destination;
+        }
+    }
+}
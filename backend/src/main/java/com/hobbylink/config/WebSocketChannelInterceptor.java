@@ -1,7 +1,9 @@
 package com.hobbylink.config;
 
+import com.hobbylink.service.ConnectionManagerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -22,6 +24,15 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
     // 연결 상태 추적을 위한 맵
     private final Map<String, ConnectionInfo> connectionMap = new ConcurrentHashMap<>();
     
+    @Autowired
+    private InboundFloodControl inboundFloodControl;
+    
+    @Autowired
+    private SessionResumptionManager sessionResumptionManager;
+    
+    @Autowired
+    private ConnectionManagerService connectionManagerService;
+    
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -30,6 +41,19 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
             String sessionId = accessor.getSessionId();
             StompCommand command = accessor.getCommand();
             
+            // 전송 하트비트 프레임 (명령 없음): 접속 상태 판단에 활동으로만 기록
+            if (command == null) {
+                if (accessor.isHeartbeat()) {
+                    updateConnectionInfo(sessionId);
+                }
+                return message;
+            }
+            
+            // 유량 제어: 예산 초과 SEND 프레임은 실행기에 넘기기 전에 버린다
+            if (command == StompCommand.SEND && !allowSend(accessor)) {
+                return null;
+            }
+            
             try {
                 switch (command) {
                     case CONNECT:
@@ -100,9 +124,16 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
                 if (sessionAttributes != null) {
                     sessionAttributes.put("userId", userId);
                     
+                    // Principal 설정 → UserSessionRegistry 가 사용자별 세션을 추적
+                    accessor.setUser(new StompPrincipal(userId));
+                    
                     // 연결 정보 저장
                     connectionMap.put(sessionId, new ConnectionInfo(userId, System.currentTimeMillis()));
                     
+                    // 재개 토큰이 있으면 보관된 이전 세션을 이어받음
+                    sessionResumptionManager.handleConnect(sessionId, userId,
+                            accessor.getFirstNativeHeader(SessionResumptionManager.RESUME_TOKEN_HEADER), sessionAttributes);
+                    
                     logger.info("User {} connected with session {}", userId, sessionId);
                 }
             } catch (NumberFormatException e) {
@@ -117,6 +148,7 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
     private void handleDisconnect(StompHeaderAccessor accessor) {
         String sessionId = accessor.getSessionId();
         ConnectionInfo connectionInfo = connectionMap.remove(sessionId);
+        inboundFloodControl.removeSession(sessionId);
         
         if (connectionInfo != null) {
             logger.info("User {} disconnected from session {}", connectionInfo.getUserId(), sessionId);
@@ -138,6 +170,18 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
         }
     }
     
+    private boolean allowSend(StompHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        Long userId = sessionAttributes != null && sessionAttributes.get("userId") instanceof Long id ? id : null;
+        
+        boolean allowed = inboundFloodControl.tryAcquire(accessor.getSessionId(), userId, accessor.getDestination());
+        if (!allowed) {
+            logger.debug("Rejected frame to {} from session {} (over budget)",
+                        accessor.getDestination(), accessor.getSessionId());
+        }
+        return allowed;
+    }
+    
     private void handleSubscribe(StompHeaderAccessor accessor) {
         String sessionId = accessor.getSessionId();
         String destination = accessor.getDestination();
@@ -164,6 +208,8 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
         if (connectionInfo != null) {
             connectionInfo.updateLastActivity();
         }
+        // 하트비트를 포함한 모든 프레임이 접속자(presence) 활동 시간으로 이어진다
+        connectionManagerService.recordActivity(sessionId);
     }
     
     /**
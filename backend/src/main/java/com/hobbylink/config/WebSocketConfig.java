@@ -1,15 +1,30 @@
 package com.hobbylink.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * WebSocket 설정
@@ -21,31 +36,111 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private WebSocketChannelInterceptor webSocketChannelInterceptor;
     
+    @Autowired
+    private WebSocketOutboundBackpressureInterceptor outboundBackpressureInterceptor;
+    
+    @Autowired
+    private LoadSheddingInterceptor loadSheddingInterceptor;
+    
+    @Autowired
+    private CompactPayloadInterceptor compactPayloadInterceptor;
+    
+    @Autowired
+    private SessionResumptionManager sessionResumptionManager;
+    
+    @Autowired
+    @Lazy
+    private WebSocketErrorHandler webSocketErrorHandler;
+    
+    // 브로커 하트비트 전송/수신 확인용 (하트비트 값만 있고 스케줄러가 없으면 브로커가 시작되지 않음)
+    @Autowired
+    @Lazy
+    @Qualifier("messageBrokerTaskScheduler")
+    private TaskScheduler messageBrokerTaskScheduler;
+    
+    @Value("${app.websocket.compression.enabled:true}")
+    private boolean compressionEnabled;
+    
+    @Value("${app.websocket.compression.context-takeover:true}")
+    private boolean compressionContextTakeover;
+    
+    @Value("${app.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+    
+    @Value("${app.websocket.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+    
     @Bean
     public WebSocketErrorHandler webSocketErrorHandler(SimpMessagingTemplate messagingTemplate) {
         return new WebSocketErrorHandler(messagingTemplate);
     }
     
+    /**
+     * 단순 브로커의 구독 레지스트리를 정확 일치 인덱스로 교체
+     */
+    @Bean
+    public static BeanPostProcessor subscriptionRegistryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleBrokerMessageHandler brokerMessageHandler) {
+                    brokerMessageHandler.setSubscriptionRegistry(new ExactMatchSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
+    }
+    
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 메시지 브로커 설정
+        // 메시지 브로커 설정 (STOMP 하트비트가 유일한 연결 유지/접속 확인 수단)
         config.enableSimpleBroker("/topic", "/queue")
-              .setHeartbeatValue(new long[]{10000, 10000}); // 10초 간격 하트비트
+              .setHeartbeatValue(new long[]{10000, 10000}) // 10초 간격 하트비트
+              .setTaskScheduler(messageBrokerTaskScheduler);
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        
+        // 보관된(재개 대기) 세션이 구독하던 목적지의 프레임 수집
+        config.configureBrokerChannel().interceptors(sessionResumptionManager);
     }
     
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // permessage-deflate 협상 (SockJS 의 WebSocket 전송에도 적용)
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler(
+                new CompressionUpgradeStrategy(compressionEnabled, compressionContextTakeover));
+        
         // STOMP 엔드포인트 등록
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("http://localhost:3000")
+                .setHandshakeHandler(handshakeHandler)
                 .withSockJS()
                 .setHeartbeatTime(25000) // 25초 하트비트
                 .setDisconnectDelay(5000) // 5초 연결 해제 지연
                 .setStreamBytesLimit(128 * 1024) // 128KB 스트림 제한
                 .setHttpMessageCacheSize(1000) // HTTP 메시지 캐시 크기
                 .setSessionCookieNeeded(false); // 세션 쿠키 불필요
+        
+        // 네이티브 WebSocket 엔드포인트 (바이너리 프레임 지원 → compact-v1 협상 가능)
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("http://localhost:3000")
+                .setHandshakeHandler(handshakeHandler)
+                .addInterceptors(new HandshakeInterceptor() {
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        attributes.put(CompactPayloadInterceptor.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+                        return true;
+                    }
+                    
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                               WebSocketHandler wsHandler, Exception exception) {
+                    }
+                });
+        
+        // 처리 오류를 ERROR 프레임으로 변환 (과부하 시 retry-after 포함)
+        registry.setErrorHandler(webSocketErrorHandler);
     }
     
     @Override
@@ -54,25 +149,39 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setMessageSizeLimit(64 * 1024) // 64KB 메시지 크기 제한
                 .setSendBufferSizeLimit(512 * 1024) // 512KB 전송 버퍼 제한
                 .setSendTimeLimit(20 * 1000) // 20초 전송 시간 제한
-                .setTimeToFirstMessage(30 * 1000); // 첫 메시지까지 30초 제한
+                .setTimeToFirstMessage(30 * 1000) // 첫 메시지까지 30초 제한
+                .addDecoratorFactory(outboundBackpressureInterceptor); // 세션별 아웃바운드 예산 추적
     }
     
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        // 클라이언트 인바운드 채널 설정
-        registration.interceptors(webSocketChannelInterceptor)
-                   .taskExecutor()
+        // 클라이언트 인바운드 채널 설정 (부하 차단을 가장 먼저 적용, 재구독 등록 후 재개 버퍼 재전송)
+        registration.interceptors(loadSheddingInterceptor, webSocketChannelInterceptor,
+                                  sessionResumptionManager.subscriptionInterceptor())
+                   .taskExecutor(channelExecutor())
                    .corePoolSize(4)
                    .maxPoolSize(8)
-                   .queueCapacity(1000);
+                   .queueCapacity(inboundQueueCapacity);
     }
     
     @Override
     public void configureClientOutboundChannel(ChannelRegistration registration) {
-        // 클라이언트 아웃바운드 채널 설정
-        registration.taskExecutor()
+        // 클라이언트 아웃바운드 채널 설정 (페이로드 변환 후 느린 세션 격리)
+        registration.interceptors(compactPayloadInterceptor, outboundBackpressureInterceptor)
+                   .taskExecutor(channelExecutor())
                    .corePoolSize(4)
                    .maxPoolSize(8)
-                   .queueCapacity(1000);
+                   .queueCapacity(outboundQueueCapacity);
+    }
+    
+    /**
+     * 채널 실행기 (큐가 차면 보내는 쪽 스레드에서 직접 처리)
+     * 실행 큐는 모든 세션이 공유하므로, 한 방의 팬아웃으로 큐가 차더라도 다른 세션의
+     * 필수 프레임을 거부해 잃지 않고 생산자를 늦춘다. 느린 세션의 적체는 세션별 예산이 맡는다.
+     */
+    private static ThreadPoolTaskExecutor channelExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
     }
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
@@ -30,6 +32,13 @@ public class WebSocketErrorHandler extends StompSubProtocolErrorHandler {
     
     @Override
     public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        ServerOverloadedException overloaded = findOverloadedCause(ex);
+        if (overloaded != null) {
+            // 과부하로 거부된 연결: 재시도 시점을 알려주고 스택 추적은 남기지 않는다
+            logger.warn("Rejected connection while overloaded, retry after {} ms", overloaded.getRetryAfterMs());
+            return createOverloadedError(overloaded.getRetryAfterMs());
+        }
+        
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(clientMessage, StompHeaderAccessor.class);
         
         if (accessor != null) {
@@ -47,10 +56,10 @@ public class WebSocketErrorHandler extends StompSubProtocolErrorHandler {
                     System.currentTimeMillis()
                 );
                 // 세션 기준이 아닌 userId 기반 경로로 전달 (클라이언트 구독과 일치)
-                messagingTemplate.convertAndSend(
-                    "/user/" + sessionId + "/queue/errors",
-                    errorResponse
-                );
+                Principal user = accessor.getUser();
+                if (user != null) {
+                    messagingTemplate.convertAndSendToUser(user.getName(), "/queue/errors", errorResponse);
+                }
             } catch (Exception e) {
                 logger.error("Failed to send error message to client: {}", e.getMessage());
             }
@@ -71,6 +80,23 @@ public class WebSocketErrorHandler extends StompSubProtocolErrorHandler {
         return super.handleErrorMessageToClient(errorMessage);
     }
     
+    private ServerOverloadedException findOverloadedCause(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServerOverloadedException overloaded) {
+                return overloaded;
+            }
+        }
+        return null;
+    }
+    
+    private Message<byte[]> createOverloadedError(long retryAfterMs) {
+        StompHeaderAccessor errorAccessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        errorAccessor.setMessage("SERVER_OVERLOADED");
+        errorAccessor.setNativeHeader("retry-after", String.valueOf(retryAfterMs));
+        errorAccessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], errorAccessor.getMessageHeaders());
+    }
+    
     /**
      * 메시지 전송 실패 처리
      */
@@ -1,5 +1,6 @@
 package com.hobbylink.config;
 
+import com.hobbylink.service.ChatSessionContextService;
 import com.hobbylink.service.ConnectionManagerService;
 import com.hobbylink.service.MessageSyncService;
 import com.hobbylink.service.TypingIndicatorService;
@@ -15,10 +16,24 @@ import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class WebSocketEventListener {
     
+    // 재연결 시 클라이언트가 메시지 구독 헤더로 보내는 동기화 기준
+    public static final String LAST_SEEN_CURSOR_HEADER = "last-seen-cursor";
+    public static final String LAST_SEEN_MESSAGE_ID_HEADER = "last-seen-message-id";
+    public static final String SYNC_REQUEST_ID_HEADER = "sync-request-id";
+    
+    // 세션이 입장한 미팅 ID 집합 (세션 재개 시 새 세션으로 이어짐)
+    public static final String JOINED_MEETUPS_ATTRIBUTE = "joinedMeetups";
+    
+    // 메시지 구독 ID → 미팅 ID (구독 해제 시 입장 기록 정리용)
+    private static final String MEETUP_SUBSCRIPTIONS_ATTRIBUTE = "meetupSubscriptions";
+    private static final long FALLBACK_SYNC_MINUTES = 5;
+    
     @Autowired
     private ConnectionManagerService connectionManagerService;
     
@@ -28,6 +43,12 @@ public class WebSocketEventListener {
     @Autowired
     private MessageSyncService messageSyncService;
     
+    @Autowired
+    private ChatSessionContextService chatSessionContextService;
+    
+    @Autowired
+    private SessionResumptionManager sessionResumptionManager;
+    
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -43,6 +64,11 @@ public class WebSocketEventListener {
         
         System.out.println("WebSocket connection closed: " + sessionId);
         
+        // 재개 가능한 세션은 보관하고 접속 기록 정리를 grace 기간 이후로 미룸
+        if (sessionResumptionManager.park(event)) {
+            return;
+        }
+        
         // Clean up user session
         connectionManagerService.removeUserSession(sessionId);
     }
@@ -53,8 +79,8 @@ public class WebSocketEventListener {
         String sessionId = headerAccessor.getSessionId();
         String destination = headerAccessor.getDestination();
         
-        // Extract meetup ID from destination if it's a meetup-specific subscription
-        if (destination != null && destination.contains("/topic/meetup/")) {
+        // 미팅 메시지 구독을 입장으로 간주 (typing, users 등 부가 구독은 입장 처리하지 않음)
+        if (destination != null && destination.startsWith("/topic/meetup/") && destination.endsWith("/messages")) {
             try {
                 String[] parts = destination.split("/");
                 if (parts.length >= 4) {
@@ -65,14 +91,30 @@ public class WebSocketEventListener {
                     if (sessionAttributes != null && sessionAttributes.containsKey("userId")) {
                         Long userId = (Long) sessionAttributes.get("userId");
                         
+                        // 채팅 컨텍스트를 구독 시점에 미리 준비 (전송 경로에서 조회 생략)
+                        // 참여자가 아니면 입장 등록과 지난 메시지 동기화를 하지 않는다
+                        ChatSessionContextService.ChatSessionContext context =
+                            chatSessionContextService.getContext(sessionAttributes, meetupId, userId);
+                        if (context == null || !context.isMember()) {
+                            System.err.println("Ignoring chat subscription of non-member " + userId + " to meetup " + meetupId);
+                            return;
+                        }
+                        
+                        if (headerAccessor.getSubscriptionId() != null) {
+                            meetupSubscriptions(sessionAttributes).put(headerAccessor.getSubscriptionId(), meetupId);
+                        }
+                        
+                        // 세션당 미팅별로 한 번만 입장 처리 (중복 구독 시 재등록/재동기화 방지)
+                        if (!markJoined(sessionAttributes, meetupId)) {
+                            return;
+                        }
+                        
                         // Add user session
                         connectionManagerService.addUserSession(sessionId, userId, meetupId);
                         
-                        // 재연결 시 메시지 동기화 (5분 이내 메시지)
-                        LocalDateTime fiveMinutesAgo = LocalDateTime.now().minusMinutes(5);
-                        messageSyncService.syncMissedMessages(meetupId, userId, fiveMinutesAgo);
+                        syncOnJoin(headerAccessor, meetupId, userId);
                         
-                        System.out.println("User " + userId + " subscribed to meetup " + meetupId + 
+                        System.out.println("User " + userId + " joined meetup " + meetupId + 
                                          " with session " + sessionId);
                     }
                 }
@@ -82,6 +124,70 @@ public class WebSocketEventListener {
         }
     }
     
+    /**
+     * 입장 시 놓친 메시지 동기화
+     * 클라이언트가 보낸 마지막 커서/메시지 ID 이후부터 동기화하고,
+     * 둘 다 없으면 (첫 입장) 최근 5분 이내 메시지만 보낸다.
+     */
+    private void syncOnJoin(StompHeaderAccessor headerAccessor, Long meetupId, Long userId) {
+        LocalDateTime fallbackSince = LocalDateTime.now().minusMinutes(FALLBACK_SYNC_MINUTES);
+        String sessionId = headerAccessor.getSessionId();
+        String requestId = headerAccessor.getFirstNativeHeader(SYNC_REQUEST_ID_HEADER);
+        
+        String cursor = headerAccessor.getFirstNativeHeader(LAST_SEEN_CURSOR_HEADER);
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                messageSyncService.syncNextChunk(meetupId, userId, sessionId, requestId, cursor);
+                return;
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring invalid sync cursor: " + e.getMessage());
+            }
+        }
+        
+        String lastSeenMessageId = headerAccessor.getFirstNativeHeader(LAST_SEEN_MESSAGE_ID_HEADER);
+        if (lastSeenMessageId != null && !lastSeenMessageId.isBlank()) {
+            try {
+                messageSyncService.syncAfterMessage(meetupId, userId, sessionId, requestId,
+                        Long.valueOf(lastSeenMessageId.trim()), fallbackSince);
+                return;
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid last seen message id: " + lastSeenMessageId);
+            }
+        }
+        
+        messageSyncService.syncMissedMessages(meetupId, userId, sessionId, requestId, fallbackSince);
+    }
+    
+    /**
+     * 세션이 미팅에 처음 입장하는 경우에만 true 반환
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean markJoined(Map<String, Object> sessionAttributes, Long meetupId) {
+        Set<Long> joined = (Set<Long>) sessionAttributes.computeIfAbsent(
+                JOINED_MEETUPS_ATTRIBUTE, key -> ConcurrentHashMap.newKeySet());
+        return joined.add(meetupId);
+    }
+    
+    /**
+     * 세션의 미팅 입장 기록 제거 (퇴장 후 다시 구독하면 새 입장으로 처리)
+     */
+    @SuppressWarnings("unchecked")
+    public static void clearJoined(Map<String, Object> sessionAttributes, Long meetupId) {
+        if (sessionAttributes == null) {
+            return;
+        }
+        Set<Long> joined = (Set<Long>) sessionAttributes.get(JOINED_MEETUPS_ATTRIBUTE);
+        if (joined != null) {
+            joined.remove(meetupId);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> meetupSubscriptions(Map<String, Object> sessionAttributes) {
+        return (Map<String, Long>) sessionAttributes.computeIfAbsent(
+                MEETUP_SUBSCRIPTIONS_ATTRIBUTE, key -> new ConcurrentHashMap<String, Long>());
+    }
+    
     @EventListener
     public void handleUnsubscriptionEvent(SessionUnsubscribeEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -89,7 +195,17 @@ public class WebSocketEventListener {
         
         System.out.println("User unsubscribed with session: " + sessionId);
         
+        // 미팅 메시지 구독을 해제하면 입장 기록도 지워 세션 재개 시 떠난 방을 다시 요청하지 않게 한다
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        if (sessionAttributes != null && headerAccessor.getSubscriptionId() != null) {
+            Map<String, Long> subscriptions = meetupSubscriptions(sessionAttributes);
+            Long meetupId = subscriptions.remove(headerAccessor.getSubscriptionId());
+            if (meetupId != null && !subscriptions.containsValue(meetupId)) {
+                clearJoined(sessionAttributes, meetupId);
+            }
+        }
+        
         // Update user activity
-        connectionManagerService.updateUserActivity(sessionId);
+        connectionManagerService.recordActivity(sessionId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.hobbylink.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션별 아웃바운드 백프레셔 인터셉터
+ *
+ * 느린 클라이언트의 프레임은 실행 큐를 지나 세션 전송 버퍼
+ * (ConcurrentWebSocketSessionDecorator)에 쌓인다. 세션별로 채널에 들어온 뒤
+ * 소켓에 실제로 쓰이기 전까지의 프레임 수를 추적하고 메시지 등급에 따라 다르게 처리한다.
+ * 전송 버퍼는 핸들러 데코레이터에서 꺼낼 수 없으므로, 그 아래에 쓰기 추적 세션을
+ * 끼워 실제 소켓 쓰기가 끝날 때 예산을 돌려받는다.
+ * - ESSENTIAL: 채팅 메시지, 사용자 큐, 연결 상태 등. 절대 버리지 않는다.
+ * - DROPPABLE: 타이핑, 하트비트, 사용자 상태. 같은 목적지에 대해 최신 값만
+ *   전달하고(collapse), 예산 초과 시에는 버린다(drop).
+ * 하드 한도를 유예 시간 이상 초과한 세션은 재동기화 힌트와 함께 연결을 끊는다.
+ */
+@Component
+public class WebSocketOutboundBackpressureInterceptor implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketOutboundBackpressureInterceptor.class);
+
+    /**
+     * 클라이언트가 재연결 후 전체 동기화를 수행해야 함을 알리는 종료 상태
+     */
+    public static final CloseStatus RESYNC_REQUIRED = CloseStatus.SESSION_NOT_RELIABLE.withReason("RESYNC_REQUIRED");
+
+    private static final String[] DROPPABLE_SUFFIXES = {
+        "/typing", "/typing-notifications", "/user-status"
+    };
+
+    @Value("${app.websocket.outbound.soft-limit:64}")
+    private int softLimit;
+
+    @Value("${app.websocket.outbound.hard-limit:512}")
+    private int hardLimit;
+
+    @Value("${app.websocket.outbound.over-budget-grace-ms:10000}")
+    private long overBudgetGraceMs;
+
+    private final Map<String, SessionBudget> budgets = new ConcurrentHashMap<>();
+
+    private final Counter droppedCounter;
+    private final Counter collapsedCounter;
+    private final Counter disconnectedCounter;
+
+    public WebSocketOutboundBackpressureInterceptor(MeterRegistry meterRegistry) {
+        this.droppedCounter = Counter.builder("websocket.outbound.dropped")
+                .description("Droppable frames discarded because the session was over budget")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("websocket.outbound.collapsed")
+                .description("Droppable frames superseded by a newer frame for the same destination")
+                .register(meterRegistry);
+        this.disconnectedCounter = Counter.builder("websocket.outbound.slow-consumer-disconnects")
+                .description("Sessions closed for staying over the outbound hard limit")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.pending", budgets,
+                        map -> map.values().stream().mapToInt(budget -> budget.pending.get()).sum())
+                .description("Frames accepted for delivery but not yet written to a session")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String sessionId = accessor.getSessionId();
+        if (sessionId == null) {
+            return message;
+        }
+
+        SessionBudget budget = budgets.get(sessionId);
+        if (budget == null) {
+            // 연결 수립 전/후의 제어 프레임 (CONNECT_ACK, DISCONNECT_ACK 등)
+            return message;
+        }
+
+        int pending = budget.pending.get();
+        checkHardLimit(budget, pending);
+
+        String destination = accessor.getDestination();
+        if (isDroppable(accessor.getMessageType(), destination)) {
+            if (pending >= softLimit) {
+                droppedCounter.increment();
+                return null;
+            }
+            budget.latestDroppable.put(destination, message.getHeaders().getId());
+        }
+
+        budget.pending.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            // 실행기가 작업을 거부한 경우 beforeHandle 이 호출되지 않는다
+            release(message);
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        SessionBudget budget = budgetOf(message);
+        if (budget == null) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        UUID latest = destination != null ? budget.latestDroppable.get(destination) : null;
+        if (latest != null && !latest.equals(message.getHeaders().getId())) {
+            // 같은 목적지로 더 최신 프레임이 대기 중이므로 이 프레임은 건너뛴다
+            // (거부한 인터셉터의 afterMessageHandled 는 호출되지 않으므로 여기서 반환)
+            collapsedCounter.increment();
+            budget.written();
+            return null;
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (ex != null) {
+            // 전송 버퍼에 들어가지 못했으므로 소켓 쓰기로 돌려받을 수 없다
+            release(message);
+            return;
+        }
+        // 세션 전송 버퍼로 넘어간 프레임은 소켓에 쓰일 때(WriteTrackingSession) 예산을 돌려받는다
+        SessionBudget budget = budgetOf(message);
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (budget != null && destination != null) {
+            budget.latestDroppable.remove(destination, message.getHeaders().getId());
+        }
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionBudget budget = new SessionBudget(session);
+                budgets.put(session.getId(), budget);
+                // 전송 버퍼 데코레이터가 이 세션을 감싸므로 버퍼에서 소켓으로 나가는 쓰기를 볼 수 있다
+                super.afterConnectionEstablished(new WriteTrackingSession(session, budget));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                budgets.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 현재 세션에서 아직 소켓에 쓰이지 않은 프레임 수 (실행 큐 + 전송 버퍼, 모니터링용)
+     */
+    public int getPendingCount(String sessionId) {
+        SessionBudget budget = budgets.get(sessionId);
+        return budget != null ? budget.pending.get() : 0;
+    }
+
+    private void release(Message<?> message) {
+        SessionBudget budget = budgetOf(message);
+        if (budget == null) {
+            return;
+        }
+
+        budget.pending.updateAndGet(value -> Math.max(0, value - 1));
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null) {
+            budget.latestDroppable.remove(destination, message.getHeaders().getId());
+        }
+    }
+
+    private void checkHardLimit(SessionBudget budget, int pending) {
+        if (pending < hardLimit) {
+            budget.overBudgetSince = 0;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (budget.overBudgetSince == 0) {
+            budget.overBudgetSince = now;
+            return;
+        }
+
+        if (now - budget.overBudgetSince > overBudgetGraceMs && budgets.remove(budget.session.getId()) != null) {
+            disconnectedCounter.increment();
+            logger.warn("Closing slow consumer session {} with {} pending frames", budget.session.getId(), pending);
+            try {
+                budget.session.close(RESYNC_REQUIRED);
+            } catch (IOException e) {
+                logger.error("Failed to close slow consumer session {}: {}", budget.session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private SessionBudget budgetOf(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? budgets.get(sessionId) : null;
+    }
+
+    private boolean isDroppable(SimpMessageType messageType, String destination) {
+        if (messageType != SimpMessageType.MESSAGE || destination == null) {
+            return false;
+        }
+        for (String suffix : DROPPABLE_SUFFIXES) {
+            if (destination.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 세션별 전송 예산
+     */
+    private class SessionBudget {
+        private final WebSocketSession session;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Map<String, UUID> latestDroppable = new ConcurrentHashMap<>();
+        private volatile long overBudgetSince;
+
+        SessionBudget(WebSocketSession session) {
+            this.session = session;
+        }
+
+        /**
+         * 프레임 하나가 소켓에 쓰였거나 더 이상 쓰이지 않게 됨
+         * (채널을 거치지 않는 ERROR 프레임 쓰기도 있으므로 0 아래로 내려가지 않게 함)
+         */
+        void written() {
+            if (pending.updateAndGet(value -> Math.max(0, value - 1)) < hardLimit) {
+                overBudgetSince = 0;
+            }
+        }
+    }
+
+    /**
+     * 실제 세션 바로 위에서 소켓 쓰기 완료를 예산에 반영하는 세션
+     * 전송 버퍼 데코레이터가 버퍼를 비울 때 이 세션의 sendMessage 를 호출한다.
+     */
+    private static class WriteTrackingSession extends WebSocketSessionDecorator {
+        private final SessionBudget budget;
+
+        WriteTrackingSession(WebSocketSession delegate, SessionBudget budget) {
+            super(delegate);
+            this.budget = budget;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                budget.written();
+            }
+        }
+    }
+}
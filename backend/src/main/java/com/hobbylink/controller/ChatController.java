@@ -2,6 +2,7 @@ package com.hobbylink.controller;
 
 import com.hobbylink.model.ChatMessage;
 import com.hobbylink.model.User;
+import com.hobbylink.service.ChatSearchService;
 import com.hobbylink.service.ChatService;
 import com.hobbylink.service.ConnectionManagerService;
 import com.hobbylink.service.MeetupService;
@@ -35,6 +36,9 @@ public class ChatController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ChatSearchService chatSearchService;
+    
     /**
      * 특정 미팅의 메시지 목록 조회
      * @param meetupId 미팅 ID
@@ -70,6 +74,51 @@ public class ChatController {
         }
     }
     
+    /**
+     * 특정 미팅의 채팅 검색 (최신 메시지부터, 결과마다 방 안 순번 포함)
+     * @param meetupId 미팅 ID
+     * @param q 검색어
+     * @param before 다음 페이지 커서 (이전 응답의 nextBefore, 메시지 ID)
+     * @param size 페이지 크기
+     * @return 검색 결과
+     */
+    @GetMapping("/{meetupId}/messages/search")
+    public ResponseEntity<ChatSearchService.ChatSearchResult> searchMessages(
+            @PathVariable Long meetupId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            int pageSize = Math.min(Math.max(size, 1), 100);
+            return ResponseEntity.ok(chatSearchService.search(meetupId, q, before, pageSize));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 메시지 주변 문맥 조회 (검색 결과로 이동)
+     * @param meetupId 미팅 ID
+     * @param messageId 기준 메시지 ID
+     * @param window 앞뒤로 가져올 메시지 수
+     * @return 시간순 메시지 목록
+     */
+    @GetMapping("/{meetupId}/messages/{messageId}/context")
+    public ResponseEntity<List<ChatMessage>> getMessageContext(
+            @PathVariable Long meetupId,
+            @PathVariable Long messageId,
+            @RequestParam(defaultValue = "20") int window) {
+        try {
+            List<ChatMessage> messages = chatService.getMessageContext(meetupId, messageId, Math.min(Math.max(window, 1), 100));
+            if (messages.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(messages);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * 특정 미팅의 온라인 사용자 목록 조회
      * @param meetupId 미팅 ID
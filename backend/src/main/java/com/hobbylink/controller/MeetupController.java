@@ -1,6 +1,8 @@
 package com.hobbylink.controller;
 
 import com.hobbylink.model.Meetup;
+import com.hobbylink.service.GeoIndexService;
+import com.hobbylink.service.MapClusterService;
 import com.hobbylink.service.MeetupService;
 import com.hobbylink.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,12 @@ public class MeetupController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private MapClusterService mapClusterService;
+    
+    @Autowired
+    private GeoIndexService geoIndexService;
+    
     @GetMapping
     public List<Meetup> getAllMeetups() {
         return meetupService.getAllMeetups();
@@ -67,6 +75,25 @@ public class MeetupController {
         return meetupService.getNearbyMeetups(latitude, longitude, radius, category);
     }
     
+    // 지도 화면 영역의 미팅 클러스터 (개수, 무게중심, 대표 카테고리)
+    @GetMapping("/clusters")
+    public ResponseEntity<MapClusterService.MapClusters> getMeetupClusters(
+            @RequestParam double north,
+            @RequestParam double south,
+            @RequestParam double east,
+            @RequestParam double west,
+            @RequestParam int zoom,
+            @RequestParam(required = false) String category) {
+        if (!geoIndexService.isReady()) {
+            return ResponseEntity.status(503).build();
+        }
+        try {
+            return ResponseEntity.ok(mapClusterService.clusters(north, south, east, west, zoom, category));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/recommended/{userId}")
     public ResponseEntity<List<Meetup>> getRecommendedMeetups(@PathVariable Long userId) {
         return userService.getUserById(userId)
@@ -0,0 +1,70 @@
+package com.hobbylink.controller;
+
+import com.hobbylink.search.GeoIndex;
+import com.hobbylink.service.GeoIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/nearby")
+@CrossOrigin(origins = "http://localhost:3000")
+public class NearbyController {
+    
+    @Autowired
+    private GeoIndexService geoIndexService;
+    
+    // 반경 안의 미팅/모임 (type: meetups, groups)
+    // 사용자 위치는 거리를 바꿔 가며 질의하면 삼변측량으로 역산되므로 공개 API 로 제공하지 않는다
+    @GetMapping("/{type}")
+    public ResponseEntity<List<GeoIndexService.NearbyItem>> getNearby(
+            @PathVariable String type,
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10.0") Double radius,
+            @RequestParam(required = false) String category) {
+        GeoIndexService.GeoType geoType = geoType(type);
+        if (geoType == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!geoIndexService.isReady()) {
+            return ResponseEntity.status(503).build();
+        }
+        List<GeoIndex.GeoHit> hits = geoIndexService.withinRadius(geoType, latitude, longitude, radius,
+                category, geoType == GeoIndexService.GeoType.MEETUP);
+        return ResponseEntity.ok(geoIndexService.describe(geoType, hits));
+    }
+    
+    // 가장 가까운 k 개
+    @GetMapping("/{type}/nearest")
+    public ResponseEntity<List<GeoIndexService.NearbyItem>> getNearest(
+            @PathVariable String type,
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String category) {
+        GeoIndexService.GeoType geoType = geoType(type);
+        if (geoType == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!geoIndexService.isReady()) {
+            return ResponseEntity.status(503).build();
+        }
+        List<GeoIndex.GeoHit> hits = geoIndexService.nearest(geoType, latitude, longitude, k,
+                category, geoType == GeoIndexService.GeoType.MEETUP);
+        return ResponseEntity.ok(geoIndexService.describe(geoType, hits));
+    }
+    
+    private static GeoIndexService.GeoType geoType(String type) {
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "meetups":
+                return GeoIndexService.GeoType.MEETUP;
+            case "groups":
+                return GeoIndexService.GeoType.HOBBY_GROUP;
+            default:
+                return null;
+        }
+    }
+}
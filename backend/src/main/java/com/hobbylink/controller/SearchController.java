@@ -16,8 +16,11 @@ public class SearchController {
     private SearchService searchService;
     
     @GetMapping
-    public ResponseEntity<Map<String, Object>> globalSearch(@RequestParam String q) {
-        Map<String, Object> results = searchService.globalSearch(q);
+    public ResponseEntity<Map<String, Object>> globalSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Map<String, Object> results = searchService.globalSearch(q, page, size);
         return ResponseEntity.ok(results);
     }
     
@@ -26,9 +29,14 @@ public class SearchController {
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String location) {
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) String meetupType,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
-        Map<String, Object> results = searchService.advancedSearch(q, type, category, location);
+        Map<String, Object> results = searchService.advancedSearch(q, type, category, location, tag, meetupType, status, page, size);
         return ResponseEntity.ok(results);
     }
     
@@ -1,31 +1,34 @@
 package com.hobbylink.controller;
 
+import com.hobbylink.config.StompPrincipal;
+import com.hobbylink.config.UserSessionRegistry;
+import com.hobbylink.config.WebSocketEventListener;
 import com.hobbylink.model.ChatMessage;
 import com.hobbylink.model.MessageStatus;
 import com.hobbylink.model.TypingRequest;
-import com.hobbylink.model.User;
-import com.hobbylink.model.Meetup;
+import com.hobbylink.service.ChatMessagePipeline;
 import com.hobbylink.service.ChatService;
+import com.hobbylink.service.ChatSessionContextService;
 import com.hobbylink.service.ConnectionManagerService;
-import com.hobbylink.service.MeetupService;
+import com.hobbylink.service.HotRoomService;
 import com.hobbylink.service.MessageStatusService;
 import com.hobbylink.service.MessageRetryService;
 import com.hobbylink.service.MessageSyncService;
 import com.hobbylink.service.NotificationBroadcastService;
+import com.hobbylink.service.PresenceService;
 import com.hobbylink.service.UnreadMessageTrackingService;
 import com.hobbylink.service.MessageFormattingService;
 import com.hobbylink.service.TypingIndicatorService;
-import com.hobbylink.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 import java.util.List;
 import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.Optional;
 
 @Controller
 public class WebSocketChatController {
@@ -34,10 +37,7 @@ public class WebSocketChatController {
     private ChatService chatService;
     
     @Autowired
-    private MeetupService meetupService;
-    
-    @Autowired
-    private UserService userService;
+    private ChatSessionContextService chatSessionContextService;
     
     @Autowired
     private TypingIndicatorService typingIndicatorService;
@@ -63,55 +63,53 @@ public class WebSocketChatController {
     @Autowired
     private UnreadMessageTrackingService unreadMessageTrackingService;
     
+    @Autowired
+    private PresenceService presenceService;
+    
+    @Autowired
+    private HotRoomService hotRoomService;
+    
+    @Autowired
+    private ChatMessagePipeline chatMessagePipeline;
+    
     @MessageMapping("/chat/{meetupId}/message")
-    @SendTo("/topic/meetup/{meetupId}/messages")
-    public ChatMessage sendMessage(@DestinationVariable Long meetupId, Map<String, Object> message) {
+    public void sendMessage(@DestinationVariable Long meetupId, Map<String, Object> message,
+                            SimpMessageHeaderAccessor headerAccessor) {
+        String clientMessageId = (String) message.get("clientMessageId");
+        Long senderId = null;
         try {
             String content = (String) message.get("content");
-            Long senderId = Long.valueOf(message.get("senderId").toString());
-            String clientMessageId = (String) message.get("clientMessageId");
             
-            Optional<Meetup> meetupOpt = meetupService.getMeetupById(meetupId);
-            Optional<User> senderOpt = userService.getUserById(senderId);
+            // 인증된 세션의 사용자 ID 우선 사용
+            Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+            senderId = sessionAttributes != null && sessionAttributes.get("userId") instanceof Long sessionUserId
+                    ? sessionUserId
+                    : Long.valueOf(message.get("senderId").toString());
             
-            if (!meetupOpt.isPresent()) {
-                throw new RuntimeException("Meetup not found");
+            // 세션 컨텍스트 (구독 시점에 준비되어 있으면 조회 없음)
+            ChatSessionContextService.ChatSessionContext context =
+                chatSessionContextService.getContext(sessionAttributes, meetupId, senderId);
+            
+            if (context == null) {
+                throw new RuntimeException("Meetup or user not found");
             }
-            if (!senderOpt.isPresent()) {
-                throw new RuntimeException("User not found");
+            if (!context.isOpen()) {
+                throw new RuntimeException("Meetup chat is closed");
             }
-            
-            Meetup meetup = meetupOpt.get();
-            User sender = senderOpt.get();
-            
-            // Save message to database
-            ChatMessage chatMessage = chatService.sendMessage(content, meetup, sender);
-            
-            // Set client message ID if provided
-            if (clientMessageId != null && !clientMessageId.isEmpty()) {
-                chatMessage.setClientMessageId(clientMessageId);
-                chatMessage = chatService.updateMessage(chatMessage);
+            if (!context.isMember()) {
+                throw new RuntimeException("User is not a participant of this meetup");
             }
             
-            // Mark message as delivered
-            messageStatusService.markAsDelivered(chatMessage.getId());
-            
-            // Stop typing indicator for sender
-            typingIndicatorService.stopTyping(meetupId, senderId);
-            
-            // Send notification to other participants
-            notificationBroadcastService.broadcastNewMessageNotification(chatMessage);
-            
-            // Update unread message counts
-            unreadMessageTrackingService.handleNewMessage(chatMessage);
-            
-            return chatMessage;
+            // 검증/저장/방송/카운터 갱신은 파이프라인 단계에서 비동기로 처리
+            if (!chatMessagePipeline.submit(content, context, clientMessageId)) {
+                chatMessagePipeline.notifyFailed(senderId, clientMessageId, "Server is busy, please retry");
+            }
         } catch (Exception e) {
-            // Return error message
-            ChatMessage errorMessage = new ChatMessage();
-            errorMessage.setContent("Error sending message: " + e.getMessage());
-            errorMessage.setStatus(MessageStatus.FAILED);
-            return errorMessage;
+            if (senderId != null) {
+                chatMessagePipeline.notifyFailed(senderId, clientMessageId, "Error sending message: " + e.getMessage());
+            } else {
+                System.err.println("Error sending message: " + e.getMessage());
+            }
         }
     }
     
@@ -120,6 +118,12 @@ public class WebSocketChatController {
     public TypingIndicatorService.TypingIndicatorResponse handleTyping(
             @DestinationVariable Long meetupId, TypingRequest request) {
         try {
+            // hot room: 메모리에만 기록하고 샘플링한 인원 수를 주기적으로 방송
+            if (hotRoomService.isHot(meetupId)) {
+                hotRoomService.recordTyping(meetupId, request.getUserId(), request.isTyping());
+                return null;
+            }
+            
             if (request.isTyping()) {
                 typingIndicatorService.startTyping(meetupId, request.getUserId());
             } else {
@@ -164,7 +168,7 @@ public class WebSocketChatController {
             if (updatedMessage != null) {
                 // Send status update to message sender by userId-based destination
                 messagingTemplate.convertAndSend(
-                    "/user/" + updatedMessage.getSender().getId() + "/queue/message-status",
+                    "/user/" + updatedMessage.getSenderId() + "/queue/message-status",
                     new MessageStatusResponse(updatedMessage.getId(), updatedMessage.getStatus(),
                                               updatedMessage.getClientMessageId())
                 );
@@ -199,61 +203,68 @@ public class WebSocketChatController {
     }
     
     @MessageMapping("/chat/{meetupId}/join")
-    @SendTo("/topic/meetup/{meetupId}/users")
-    public ConnectionManagerService.OnlineUsersResponse handleUserJoin(
-            @DestinationVariable Long meetupId, Map<String, Object> request) {
+    public void handleUserJoin(
+            @DestinationVariable Long meetupId, Map<String, Object> request,
+            SimpMessageHeaderAccessor headerAccessor) {
         try {
             Long userId = Long.valueOf(request.get("userId").toString());
-            String sessionId = (String) request.get("sessionId");
             
-            // Add user session
-            connectionManagerService.addUserSession(sessionId, userId, meetupId);
+            // 입장 시 채팅 컨텍스트 준비
+            chatSessionContextService.getContext(headerAccessor.getSessionAttributes(), meetupId, userId);
+            
+            // 접속자 등록은 메시지 구독(SUBSCRIBE) 시점에 서버 세션 ID 로 이미 처리됨
             
             // Handle user entering chat (mark messages as read)
             unreadMessageTrackingService.handleUserEnterChat(userId, meetupId);
             
-            // Return updated online users list
-            return connectionManagerService.getOnlineUsersResponse(meetupId);
+            // 접속자 변경은 PresenceService 가 모아서 /presence 델타로 방송
         } catch (Exception e) {
             System.err.println("Error handling user join: " + e.getMessage());
-            return new ConnectionManagerService.OnlineUsersResponse(meetupId, List.of(), 0);
         }
     }
     
     @MessageMapping("/chat/{meetupId}/leave")
-    @SendTo("/topic/meetup/{meetupId}/users")
-    public ConnectionManagerService.OnlineUsersResponse handleUserLeave(
-            @DestinationVariable Long meetupId, Map<String, Object> request) {
+    public void handleUserLeave(
+            @DestinationVariable Long meetupId, Map<String, Object> request,
+            SimpMessageHeaderAccessor headerAccessor) {
         try {
             Long userId = Long.valueOf(request.get("userId").toString());
-            String sessionId = (String) request.get("sessionId");
             
-            // Remove user session
-            connectionManagerService.removeUserSession(sessionId);
+            // 클라이언트가 보낸 값이 아닌 서버 세션 ID 로 접속 기록 제거
+            connectionManagerService.removeUserSession(headerAccessor.getSessionId());
+            
+            // 다시 구독하면 새 입장으로 처리되도록 입장 기록 제거
+            WebSocketEventListener.clearJoined(headerAccessor.getSessionAttributes(), meetupId);
             
             // Clean up typing status
             typingIndicatorService.cleanupUserTypingStatus(meetupId, userId);
             
             // Handle user leaving chat
             unreadMessageTrackingService.handleUserLeaveChat(userId, meetupId);
-            
-            // Return updated online users list
-            return connectionManagerService.getOnlineUsersResponse(meetupId);
         } catch (Exception e) {
             System.err.println("Error handling user leave: " + e.getMessage());
-            return new ConnectionManagerService.OnlineUsersResponse(meetupId, List.of(), 0);
         }
     }
     
-    @MessageMapping("/chat/{meetupId}/heartbeat")
-    public void handleHeartbeat(@DestinationVariable Long meetupId, Map<String, Object> request) {
+    @MessageMapping("/chat/{meetupId}/presence-snapshot")
+    public void requestPresenceSnapshot(@DestinationVariable Long meetupId, SimpMessageHeaderAccessor headerAccessor) {
         try {
-            String sessionId = (String) request.get("sessionId");
+            Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+            Long userId = sessionAttributes != null ? (Long) sessionAttributes.get("userId") : null;
+            if (userId == null) {
+                return;
+            }
             
-            // Update user activity
-            connectionManagerService.updateUserActivity(sessionId);
+            // 처음 입장하거나 델타 버전이 건너뛴 클라이언트에만 전체 목록 전송
+            // (요청한 세션에만 보내 다른 방을 보고 있는 같은 사용자의 탭에는 가지 않게 함)
+            messagingTemplate.convertAndSendToUser(
+                userId.toString(),
+                "/queue/presence-snapshot",
+                presenceService.getSnapshot(meetupId),
+                UserSessionRegistry.sessionHeaders(headerAccessor.getSessionId())
+            );
         } catch (Exception e) {
-            System.err.println("Error handling heartbeat: " + e.getMessage());
+            System.err.println("Error sending presence snapshot: " + e.getMessage());
         }
     }
     
@@ -286,7 +297,8 @@ public class WebSocketChatController {
     }
     
     @MessageMapping("/chat/{meetupId}/sync")
-    public void syncMessages(@DestinationVariable Long meetupId, Map<String, Object> request) {
+    public void syncMessages(@DestinationVariable Long meetupId, Map<String, Object> request,
+                             SimpMessageHeaderAccessor headerAccessor) {
         try {
             Long userId = Long.valueOf(request.get("userId").toString());
             String lastSyncTimeStr = (String) request.get("lastSyncTime");
@@ -294,7 +306,8 @@ public class WebSocketChatController {
             if (lastSyncTimeStr != null && !lastSyncTimeStr.isEmpty()) {
                 // 특정 시간 이후 메시지 동기화
                 LocalDateTime lastSyncTime = LocalDateTime.parse(lastSyncTimeStr);
-                messageSyncService.syncMissedMessages(meetupId, userId, lastSyncTime);
+                messageSyncService.syncMissedMessages(meetupId, userId, headerAccessor.getSessionId(),
+                    (String) request.get("requestId"), lastSyncTime);
             } else {
                 // 전체 채팅 히스토리 동기화
                 messageSyncService.syncFullChatHistory(meetupId, userId, 50);
@@ -305,6 +318,42 @@ public class WebSocketChatController {
         }
     }
     
+    @MessageMapping("/chat/{meetupId}/sync-next")
+    public void syncNextChunk(@DestinationVariable Long meetupId, Map<String, Object> request,
+                              SimpMessageHeaderAccessor headerAccessor) {
+        try {
+            // 본문의 userId 가 아닌 세션에 인증된 사용자로만 동기화 (다른 사용자의 커서 조회 방지)
+            Long userId = sessionUserId(headerAccessor);
+            if (userId == null) {
+                return;
+            }
+            ChatSessionContextService.ChatSessionContext context =
+                chatSessionContextService.getContext(headerAccessor.getSessionAttributes(), meetupId, userId);
+            if (context == null || !context.isMember()) {
+                return;
+            }
+            String cursor = (String) request.get("cursor");
+            
+            // 클라이언트가 이전 청크를 처리한 뒤 다음 청크 요청 (응답은 이 세션에만)
+            messageSyncService.syncNextChunk(meetupId, userId, headerAccessor.getSessionId(),
+                (String) request.get("requestId"), cursor);
+            
+        } catch (Exception e) {
+            System.err.println("Error handling message sync continuation: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 세션에 인증된 사용자 ID (CONNECT 시 등록된 Principal, 없으면 세션 속성)
+     */
+    private static Long sessionUserId(SimpMessageHeaderAccessor headerAccessor) {
+        if (headerAccessor.getUser() instanceof StompPrincipal principal) {
+            return principal.getUserId();
+        }
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        return sessionAttributes != null && sessionAttributes.get("userId") instanceof Long userId ? userId : null;
+    }
+    
     @MessageMapping("/chat/{meetupId}/sync-status")
     public void syncMessageStatuses(@DestinationVariable Long meetupId, Map<String, Object> request) {
         try {
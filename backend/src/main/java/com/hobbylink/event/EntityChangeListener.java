@@ -0,0 +1,36 @@
+package com.hobbylink.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA 엔티티 리스너 - 저장/삭제를 EntityChangedEvent 로 발행
+ *
+ * Hibernate 가 Spring 빈 컨테이너를 통해 생성하므로 의존성 주입이 가능하다.
+ * 사용하려는 엔티티에 @EntityListeners(EntityChangeListener.class) 를 선언한다.
+ */
+public class EntityChangeListener {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.SAVED);
+    }
+    
+    @PostRemove
+    public void onDeleted(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.DELETED);
+    }
+    
+    private void publish(Object entity, EntityChangedEvent.ChangeType changeType) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new EntityChangedEvent(entity, changeType));
+        }
+    }
+}
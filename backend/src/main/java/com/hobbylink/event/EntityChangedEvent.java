@@ -0,0 +1,40 @@
+package com.hobbylink.event;
+
+/**
+ * 엔티티 저장/삭제 이벤트
+ *
+ * EntityChangeListener 가 JPA 라이프사이클 콜백에서 발행한다. 캐시나 인메모리
+ * 인덱스는 @TransactionalEventListener 로 구독해 커밋 이후에 반영한다.
+ */
+public class EntityChangedEvent {
+    
+    public enum ChangeType {
+        SAVED,
+        DELETED
+    }
+    
+    private final Object entity;
+    private final ChangeType changeType;
+    
+    public EntityChangedEvent(Object entity, ChangeType changeType) {
+        this.entity = entity;
+        this.changeType = changeType;
+    }
+    
+    public Object getEntity() {
+        return entity;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public boolean isDeleted() {
+        return changeType == ChangeType.DELETED;
+    }
+    
+    @Override
+    public String toString() {
+        return "EntityChangedEvent[" + entity.getClass().getSimpleName() + ", " + changeType + "]";
+    }
+}
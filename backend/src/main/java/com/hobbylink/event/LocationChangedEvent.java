@@ -0,0 +1,43 @@
+package com.hobbylink.event;
+
+/**
+ * 공간 색인 위치 변경 이벤트
+ *
+ * GeoIndexService 가 EntityChangedEvent 를 색인에 반영한 직후 발행한다. 지도 타일 캐시처럼
+ * 옛 위치까지 알아야 하는 구독자를 위해 바뀌기 전/후 좌표를 함께 담는다 (없으면 null).
+ */
+public class LocationChangedEvent {
+    
+    private final String type;
+    private final long id;
+    private final double[] previous;
+    private final double[] current;
+    
+    public LocationChangedEvent(String type, long id, double[] previous, double[] current) {
+        this.type = type;
+        this.id = id;
+        this.previous = previous;
+        this.current = current;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public double[] getPrevious() {
+        return previous;
+    }
+    
+    public double[] getCurrent() {
+        return current;
+    }
+    
+    @Override
+    public String toString() {
+        return "LocationChangedEvent[" + type + ", " + id + "]";
+    }
+}
@@ -1,5 +1,6 @@
 package com.hobbylink.model;
 
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "chat_messages")
+@EntityListeners(EntityChangeListener.class)
 public class ChatMessage {
     
     @Id
@@ -56,6 +58,10 @@ public class ChatMessage {
     @JoinColumn(name = "sender_id", insertable = false, updatable = false)
     private User sender;
     
+    // 세션 컨텍스트에서 채운 발신자 이름 (sender 엔티티 없이 전송할 때 사용)
+    @Transient
+    private String senderName;
+    
     // 기본 생성자
     public ChatMessage() {
         this.sentAt = LocalDateTime.now();
@@ -71,6 +77,15 @@ public class ChatMessage {
         this.sentAt = LocalDateTime.now();
     }
     
+    // 생성자 (엔티티 조회 없이 ID만으로 생성)
+    public ChatMessage(String content, Long meetupId, Long senderId, String senderName) {
+        this.content = content;
+        this.meetupId = meetupId;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.sentAt = LocalDateTime.now();
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -221,7 +236,7 @@ public class ChatMessage {
      */
     @Transient
     public String getSenderName() {
-        return sender != null ? sender.getUsername() : null;
+        return sender != null ? sender.getUsername() : senderName;
     }
     
     /**
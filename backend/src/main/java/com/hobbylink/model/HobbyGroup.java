@@ -1,5 +1,6 @@
 package com.hobbylink.model;
 
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -7,6 +8,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "hobby_group")
+@EntityListeners(EntityChangeListener.class)
 public class HobbyGroup {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
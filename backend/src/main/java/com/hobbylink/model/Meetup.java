@@ -1,6 +1,7 @@
 package com.hobbylink.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hobbylink.event.EntityChangeListener;
 import com.hobbylink.model.enums.MeetupStatus;
 import com.hobbylink.model.enums.MeetupType;
 import jakarta.persistence.*;
@@ -11,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "meetups")
+@EntityListeners(EntityChangeListener.class)
 public class Meetup {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,11 +1,13 @@
 package com.hobbylink.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "meetup_participations")
+@EntityListeners(EntityChangeListener.class)
 public class MeetupParticipation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,12 +1,14 @@
 package com.hobbylink.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "projects")
+@EntityListeners(EntityChangeListener.class)
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,6 +1,7 @@
 package com.hobbylink.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -8,6 +9,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "studios")
+@EntityListeners(EntityChangeListener.class)
 public class Studio {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package com.hobbylink.model;
 
+import com.hobbylink.event.EntityChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -8,6 +9,7 @@ import com.hobbylink.model.enums.Gender;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(EntityChangeListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
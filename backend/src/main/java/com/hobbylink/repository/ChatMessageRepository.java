@@ -117,6 +117,38 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     List<ChatMessage> findByMeetupIdAndSentAtBetweenOrderBySentAtAsc(Long meetupId, LocalDateTime startTime, LocalDateTime endTime);
     
+    /**
+     * 특정 미팅에서 커서(전송 시간, ID) 이후의 메시지를 순서대로 조회 (키셋 페이지네이션)
+     * @param meetupId 미팅 ID
+     * @param sentAt 커서 전송 시간
+     * @param id 커서 메시지 ID (같은 시간의 메시지 구분용)
+     * @param pageable 조회 개수
+     * @return 메시지 목록
+     */
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.meetupId = :meetupId " +
+           "AND (cm.sentAt > :sentAt OR (cm.sentAt = :sentAt AND cm.id > :id)) " +
+           "ORDER BY cm.sentAt ASC, cm.id ASC")
+    List<ChatMessage> findSyncChunk(@Param("meetupId") Long meetupId,
+                                    @Param("sentAt") LocalDateTime sentAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+    
+    /**
+     * 특정 미팅에서 커서(전송 시간, ID) 이전의 메시지를 최신순으로 조회 (검색 결과 주변 문맥용)
+     * @param meetupId 미팅 ID
+     * @param sentAt 커서 전송 시간
+     * @param id 커서 메시지 ID (같은 시간의 메시지 구분용)
+     * @param pageable 조회 개수
+     * @return 메시지 목록
+     */
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.meetupId = :meetupId " +
+           "AND (cm.sentAt < :sentAt OR (cm.sentAt = :sentAt AND cm.id < :id)) " +
+           "ORDER BY cm.sentAt DESC, cm.id DESC")
+    List<ChatMessage> findChunkBefore(@Param("meetupId") Long meetupId,
+                                      @Param("sentAt") LocalDateTime sentAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
     /**
      * 특정 미팅에서 특정 사용자가 보내지 않은 모든 메시지를 읽음으로 표시
      * @param meetupId 미팅 ID
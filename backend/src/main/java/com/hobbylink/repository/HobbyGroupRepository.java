@@ -0,0 +1,14 @@
+package com.hobbylink.repository;
+
+import com.hobbylink.model.HobbyGroup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface HobbyGroupRepository extends JpaRepository<HobbyGroup, Long> {
+    
+    // 공간 색인 재구축용 키셋 페이지 조회
+    List<HobbyGroup> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -50,4 +50,13 @@ public interface MeetupParticipationRepository extends JpaRepository<MeetupParti
      */
     @Query("SELECT mp.meetup.id FROM MeetupParticipation mp WHERE mp.user.id = :userId")
     List<Long> findMeetupIdsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 특정 사용자의 미팅 참여 여부 확인
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @return 참여 여부
+     */
+    @Query("SELECT COUNT(mp) > 0 FROM MeetupParticipation mp WHERE mp.meetup.id = :meetupId AND mp.user.id = :userId")
+    boolean existsByMeetupIdAndUserId(@Param("meetupId") Long meetupId, @Param("userId") Long userId);
 }
\ No newline at end of file
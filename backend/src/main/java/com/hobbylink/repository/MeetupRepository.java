@@ -2,6 +2,7 @@ package com.hobbylink.repository;
 
 import com.hobbylink.model.Meetup;
 import com.hobbylink.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -35,4 +36,7 @@ public interface MeetupRepository extends JpaRepository<Meetup, Long> {
                                    @Param("longitude") Double longitude,
                                    @Param("radius") Double radius,
                                    @Param("category") String category);
-}
\ No newline at end of file
+    
+    // 검색 색인 재구축용 키셋 페이지 조회
+    List<Meetup> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
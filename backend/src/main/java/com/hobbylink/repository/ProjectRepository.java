@@ -3,6 +3,7 @@ package com.hobbylink.repository;
 import com.hobbylink.model.Project;
 import com.hobbylink.model.Studio;
 import com.hobbylink.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -16,4 +17,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String title, String description);
     List<Project> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrTagsContainingIgnoreCase(
         String title, String description, String tags);
-}
\ No newline at end of file
+    
+    // 검색 색인 재구축용 키셋 페이지 조회
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -2,6 +2,7 @@ package com.hobbylink.repository;
 
 import com.hobbylink.model.Studio;
 import com.hobbylink.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -14,4 +15,7 @@ public interface StudioRepository extends JpaRepository<Studio, Long> {
     List<Studio> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description);
     List<Studio> findByCategoryAndNameContainingIgnoreCaseOrCategoryAndDescriptionContainingIgnoreCase(
         String category1, String name, String category2, String description);
-}
\ No newline at end of file
+    
+    // 검색 색인 재구축용 키셋 페이지 조회
+    List<Studio> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.hobbylink.repository;
 
 import com.hobbylink.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -15,4 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
         String username, String firstName, String lastName);
     List<User> findByLocationContainingIgnoreCaseAndUsernameContainingIgnoreCase(String location, String username);
     List<User> findByLocationContainingIgnoreCase(String location);
-}
\ No newline at end of file
+    
+    // 검색 색인 재구축용 키셋 페이지 조회
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -3,9 +3,13 @@ package com.hobbylink.repository;
 import com.hobbylink.model.UserSession;
 import com.hobbylink.model.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -67,4 +71,14 @@ public interface UserSessionRepository extends JpaRepository<UserSession, String
      * @return 온라인 사용자 수
      */
     long countByMeetupIdAndStatusAndLastActivityAfter(Long meetupId, UserStatus status, LocalDateTime lastActivity);
+    
+    /**
+     * 세션들의 마지막 활동 시간 일괄 갱신 (이미 삭제된 세션은 갱신되지 않는다)
+     * @param sessionIds 세션 ID 목록
+     * @param lastActivity 마지막 활동 시간
+     * @return 갱신된 세션 수
+     */
+    @Modifying
+    @Query("UPDATE UserSession s SET s.lastActivity = :lastActivity WHERE s.sessionId IN :sessionIds")
+    int updateLastActivity(@Param("sessionIds") Collection<String> sessionIds, @Param("lastActivity") LocalDateTime lastActivity);
 }
\ No newline at end of file
@@ -0,0 +1,296 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 비트맵 기반 패싯 색인
+ *
+ * 문서 ID 를 조밀한 순번(ordinal)으로 바꾸고, 패싯 그룹(예: category)의 값마다 순번 집합을 보관한다.
+ * 집합은 원소가 적으면 정렬된 int 배열, 많아지면 BitSet 으로 바꿔 저장한다 (Roaring 의 배열/비트맵 컨테이너와 같은 방식).
+ * 필터는 그룹 안에서는 OR, 그룹 사이에서는 AND 로 결합한다. 패싯 개수는 자기 그룹을 뺀
+ * 나머지 필터의 교집합 기준으로 센다 (다중 선택 UI 에서 다른 값을 골랐을 때의 개수).
+ */
+public class FacetIndex {
+
+    // 배열 컨테이너의 최대 크기 (이보다 커지면 BitSet 으로 전환)
+    private static final int ARRAY_LIMIT = 4096;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<Map<String, List<String>>> documentValues = new ArrayList<>();
+    private final BitSet live = new BitSet();
+
+    // 그룹 → 값 → 순번 집합
+    private final Map<String, Map<String, Bitmap>> groups = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 문서 추가 또는 교체
+     * @param id 문서 ID
+     * @param values 그룹 → 값 목록
+     */
+    public void put(long id, Map<String, List<String>> values) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(id, ordinal);
+                ids.add(id);
+                documentValues.add(Map.of());
+            } else {
+                unlink(ordinal);
+            }
+            for (Map.Entry<String, List<String>> group : values.entrySet()) {
+                Map<String, Bitmap> bitmaps = groups.computeIfAbsent(group.getKey(), key -> new HashMap<>());
+                for (String value : group.getValue()) {
+                    bitmaps.computeIfAbsent(value, key -> new Bitmap()).add(ordinal);
+                }
+            }
+            documentValues.set(ordinal, values);
+            live.set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제 (순번은 재사용하지 않음)
+     * @param id 문서 ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && live.get(ordinal)) {
+                unlink(ordinal);
+                documentValues.set(ordinal, Map.of());
+                live.clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 필터 적용 + 패싯 개수 계산
+     * @param filters 그룹 → 허용 값 목록 (빈 그룹은 무시)
+     * @param scope 이 ID 들로 범위를 제한 (예: 검색어 일치 집합, 없으면 null).
+     *              순번 맵으로 바로 비트를 세우므로 비용은 색인 크기가 아니라 scope 크기에 비례한다.
+     * @param maxValuesPerGroup 그룹마다 반환할 최대 값 수 (개수 내림차순)
+     * @return 일치한 ID (순번 오름차순) 와 그룹별 값 개수
+     */
+    public FacetResult query(Map<String, ? extends Collection<String>> filters, Collection<Long> scope,
+                             int maxValuesPerGroup) {
+        lock.readLock().lock();
+        try {
+            // 그룹별 OR 결과
+            Map<String, BitSet> groupMatches = new HashMap<>();
+            for (Map.Entry<String, ? extends Collection<String>> filter : filters.entrySet()) {
+                if (filter.getValue() == null || filter.getValue().isEmpty()) {
+                    continue;
+                }
+                BitSet union = new BitSet();
+                Map<String, Bitmap> bitmaps = groups.getOrDefault(filter.getKey(), Map.of());
+                for (String value : filter.getValue()) {
+                    Bitmap bitmap = bitmaps.get(value);
+                    if (bitmap != null) {
+                        bitmap.orInto(union);
+                    }
+                }
+                groupMatches.put(filter.getKey(), union);
+            }
+
+            BitSet base;
+            if (scope == null) {
+                base = (BitSet) live.clone();
+            } else {
+                base = new BitSet(ids.size());
+                for (Long id : scope) {
+                    Integer ordinal = ordinals.get(id);
+                    if (ordinal != null && live.get(ordinal)) {
+                        base.set(ordinal);
+                    }
+                }
+            }
+
+            // 그룹마다 새 BitSet 을 만들지 않도록 작업용 집합 두 개를 재사용한다
+            BitSet others = new BitSet(ids.size());
+            BitSet scratch = new BitSet(ids.size());
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, Bitmap>> group : groups.entrySet()) {
+                // 자기 그룹 필터를 뺀 나머지 조건
+                others.clear();
+                others.or(base);
+                for (Map.Entry<String, BitSet> match : groupMatches.entrySet()) {
+                    if (!match.getKey().equals(group.getKey())) {
+                        others.and(match.getValue());
+                    }
+                }
+                counts.put(group.getKey(), topCounts(group.getValue(), others, scratch, maxValuesPerGroup));
+            }
+
+            // 개수 계산이 끝났으므로 base 를 그대로 일치 집합으로 좁힌다
+            BitSet matched = base;
+            groupMatches.values().forEach(matched::and);
+
+            List<Long> matchedIds = new ArrayList<>(matched.cardinality());
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                matchedIds.add(ids.get(ordinal));
+            }
+            return new FacetResult(matchedIds, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 그룹의 모든 값 (필터 입력을 값으로 풀 때 사용)
+     */
+    public List<String> values(String group) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(groups.getOrDefault(group, Map.of()).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(int ordinal) {
+        for (Map.Entry<String, List<String>> group : documentValues.get(ordinal).entrySet()) {
+            Map<String, Bitmap> bitmaps = groups.get(group.getKey());
+            if (bitmaps == null) {
+                continue;
+            }
+            for (String value : group.getValue()) {
+                Bitmap bitmap = bitmaps.get(value);
+                if (bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> topCounts(Map<String, Bitmap> bitmaps, BitSet scope, BitSet scratch, int limit) {
+        List<Map.Entry<String, Integer>> counted = new ArrayList<>(bitmaps.size());
+        for (Map.Entry<String, Bitmap> entry : bitmaps.entrySet()) {
+            int count = entry.getValue().countIn(scope, scratch);
+            if (count > 0) {
+                counted.add(Map.entry(entry.getKey(), count));
+            }
+        }
+        counted.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < counted.size() && i < limit; i++) {
+            result.put(counted.get(i).getKey(), counted.get(i).getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 배열/비트맵 혼합 순번 집합
+     */
+    private static class Bitmap {
+        private int[] array = new int[4];
+        private int size;
+        private BitSet bits;
+
+        void add(int ordinal) {
+            if (bits != null) {
+                bits.set(ordinal);
+                return;
+            }
+            int position = Arrays.binarySearch(array, 0, size, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            if (size == ARRAY_LIMIT) {
+                bits = new BitSet();
+                for (int i = 0; i < size; i++) {
+                    bits.set(array[i]);
+                }
+                bits.set(ordinal);
+                array = null;
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, Math.min(array.length * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(array, insertAt, array, insertAt + 1, size - insertAt);
+            array[insertAt] = ordinal;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            if (bits != null) {
+                boolean present = bits.get(ordinal);
+                bits.clear(ordinal);
+                return present;
+            }
+            int position = Arrays.binarySearch(array, 0, size, ordinal);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(array, position + 1, array, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return bits != null ? bits.isEmpty() : size == 0;
+        }
+
+        void orInto(BitSet target) {
+            if (bits != null) {
+                target.or(bits);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                target.set(array[i]);
+            }
+        }
+
+        int countIn(BitSet scope, BitSet scratch) {
+            if (bits != null) {
+                scratch.clear();
+                scratch.or(bits);
+                scratch.and(scope);
+                return scratch.cardinality();
+            }
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (scope.get(array[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 패싯 조회 결과
+     */
+    public static class FacetResult {
+        private final List<Long> ids;
+        private final Map<String, Map<String, Integer>> counts;
+
+        public FacetResult(List<Long> ids, Map<String, Map<String, Integer>> counts) {
+            this.ids = ids;
+            this.counts = counts;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public Map<String, Map<String, Integer>> getCounts() { return counts; }
+    }
+}
@@ -0,0 +1,465 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 격자 기반 인메모리 공간 색인
+ *
+ * 위도/경도를 고정 크기(도 단위) 격자 셀로 나누고 셀마다 슬롯 번호 목록을 둔다.
+ * 좌표, ID, 카테고리, 시각은 슬롯 번호로 접근하는 기본형 배열에 보관한다.
+ * - 반경 검색: 반경을 덮는 셀만 훑고, 경계 상자를 통과한 후보에만 하버사인 거리를 계산
+ * - k 최근접: 가운데 셀부터 고리 모양으로 넓혀 가다 다음 고리까지의 최소 거리가 k 번째 거리보다 멀어지면 멈춤
+ * - 영역 순회: 위도/경도 사각형 안의 위치를 하나씩 넘김 (지도 클러스터 집계용)
+ * 갱신은 슬롯을 새로 받고 옛 슬롯은 비워 두며, 비운 슬롯은 다음 추가 때 다시 쓴다.
+ */
+public class GeoIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double cellDegrees;
+
+    // 슬롯 → 좌표/ID/카테고리/시각
+    private double[] lats = new double[64];
+    private double[] lngs = new double[64];
+    private long[] ids = new long[64];
+    private long[] times = new long[64];
+    private String[] categories = new String[64];
+    private long[] cells = new long[64];
+    private int slots;
+    private final BitSet free = new BitSet();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntList> cellSlots = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param cellDegrees 격자 셀 크기 (도, 예: 0.05 ≈ 5.5km)
+     */
+    public GeoIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * 위치 추가 또는 교체
+     * @param id 문서 ID
+     * @param lat 위도
+     * @param lng 경도
+     * @param category 카테고리 (없으면 null)
+     * @param time 필터용 시각 (예: 미팅 일시의 epoch 밀리초, 없으면 Long.MAX_VALUE)
+     */
+    public void put(long id, double lat, double lng, String category, long time) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+            int slot = free.nextSetBit(0);
+            if (slot >= 0) {
+                free.clear(slot);
+            } else {
+                slot = slots++;
+                ensureCapacity(slots);
+            }
+            long cell = cellOf(lat, lng);
+            lats[slot] = lat;
+            lngs[slot] = lng;
+            ids[slot] = id;
+            times[slot] = time;
+            categories[slot] = category;
+            cells[slot] = cell;
+            slotById.put(id, slot);
+            cellSlots.computeIfAbsent(cell, key -> new IntList()).add(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 위치 삭제
+     * @param id 문서 ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 저장된 좌표
+     * @param id 문서 ID
+     * @return {위도, 경도} (없으면 null)
+     */
+    public double[] location(long id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            return slot != null ? new double[] { lats[slot], lngs[slot] } : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 위도/경도 사각형 안의 위치 순회 (남/서쪽 경계 포함, 북/동쪽 경계 제외)
+     * 읽기 잠금을 쥔 채 호출하므로 visitor 는 가볍게 유지해야 한다.
+     * @param minLat 남쪽 위도
+     * @param maxLat 북쪽 위도
+     * @param minLng 서쪽 경도 (-180 이상)
+     * @param maxLng 동쪽 경도 (180 이하, minLng 보다 커야 함)
+     * @param filter 카테고리/시각 조건 (없으면 null)
+     * @param visitor 위치를 받을 콜백
+     */
+    public void forEachInBox(double minLat, double maxLat, double minLng, double maxLng, Filter filter,
+                             LocationVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            IntPredicate accepts = accepts(filter);
+            forEachCell(minLat, maxLat, minLng, maxLng, slot -> {
+                if (lats[slot] >= minLat && lats[slot] < maxLat && lngs[slot] >= minLng && lngs[slot] < maxLng
+                        && accepts.test(slot)) {
+                    visitor.visit(ids[slot], lats[slot], lngs[slot], categories[slot]);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 반경 검색
+     * @param lat 중심 위도
+     * @param lng 중심 경도
+     * @param radiusKm 반경 (km)
+     * @param filter 카테고리/시각 조건 (없으면 null)
+     * @param limit 최대 결과 수
+     * @return 가까운 순 결과
+     */
+    public List<GeoHit> withinRadius(double lat, double lng, double radiusKm, Filter filter, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lngDelta = lngDegrees(radiusKm, lat);
+
+        lock.readLock().lock();
+        try {
+            List<GeoHit> hits = new ArrayList<>();
+            IntPredicate accepts = accepts(filter);
+            forEachCell(lat - latDelta, lat + latDelta, lng - lngDelta, lng + lngDelta, slot -> {
+                // 경계 상자로 거른 뒤에만 정확한 거리를 계산한다
+                if (Math.abs(lats[slot] - lat) > latDelta || lngDistance(lngs[slot], lng) > lngDelta
+                        || !accepts.test(slot)) {
+                    return;
+                }
+                double distance = haversineKm(lat, lng, lats[slot], lngs[slot]);
+                if (distance <= radiusKm) {
+                    hits.add(new GeoHit(ids[slot], distance));
+                }
+            });
+            hits.sort(Comparator.comparingDouble(GeoHit::getDistanceKm));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * k 최근접 검색
+     * @param lat 중심 위도
+     * @param lng 중심 경도
+     * @param k 결과 수
+     * @param maxRadiusKm 이보다 먼 위치는 제외
+     * @param filter 카테고리/시각 조건 (없으면 null)
+     * @return 가까운 순 결과
+     */
+    public List<GeoHit> nearest(double lat, double lng, int k, double maxRadiusKm, Filter filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // 가장 먼 후보가 머리에 오는 최대 힙
+        PriorityQueue<GeoHit> best = new PriorityQueue<>(Comparator.comparingDouble(GeoHit::getDistanceKm).reversed());
+        long centerLat = latCell(lat);
+        long centerLng = lngCell(lng);
+        long lngCells = Math.round(360 / cellDegrees);
+        // 경도 방향은 한 바퀴를 넘지 않도록 [-lngBelow, lngAbove] 만 본다 (짝수면 반대편 열을 한 번만)
+        long lngBelow = (lngCells - 1) / 2;
+        long lngAbove = lngCells / 2;
+        long maxRing = Math.max(latCell(90), lngAbove);
+
+        lock.readLock().lock();
+        try {
+            IntPredicate accepts = accepts(filter);
+            IntConsumer consider = slot -> {
+                if (!accepts.test(slot)) {
+                    return;
+                }
+                double distance = haversineKm(lat, lng, lats[slot], lngs[slot]);
+                if (distance > maxRadiusKm) {
+                    return;
+                }
+                if (best.size() < k) {
+                    best.add(new GeoHit(ids[slot], distance));
+                } else if (distance < best.peek().getDistanceKm()) {
+                    best.poll();
+                    best.add(new GeoHit(ids[slot], distance));
+                }
+            };
+            long maxLatCell = latCell(90);
+            for (long ring = 0; ring <= maxRing; ring++) {
+                double ringKm = ringDistanceKm(lat, ring);
+                if (ringKm > maxRadiusKm || (best.size() == k && ringKm > best.peek().getDistanceKm())) {
+                    break;
+                }
+                for (long dLat = -ring; dLat <= ring; dLat++) {
+                    long latIndex = centerLat + dLat;
+                    if (latIndex < 0 || latIndex > maxLatCell) {
+                        continue;
+                    }
+                    if (Math.abs(dLat) == ring) {
+                        // 고리의 위/아래 변은 한 줄 전체
+                        for (long dLng = -Math.min(ring, lngBelow); dLng <= Math.min(ring, lngAbove); dLng++) {
+                            visitCell(latIndex, centerLng + dLng, lngCells, consider);
+                        }
+                        continue;
+                    }
+                    // 나머지 줄은 좌/우 끝 칸만 (경도 한 바퀴를 넘은 고리에는 없음)
+                    if (ring <= lngBelow) {
+                        visitCell(latIndex, centerLng - ring, lngCells, consider);
+                    }
+                    if (ring <= lngAbove) {
+                        visitCell(latIndex, centerLng + ring, lngCells, consider);
+                    }
+                }
+            }
+            List<GeoHit> hits = new ArrayList<>(best);
+            hits.sort(Comparator.comparingDouble(GeoHit::getDistanceKm));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 위치 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리 (km)
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void forEachCell(double minLat, double maxLat, double minLng, double maxLng, IntConsumer action) {
+        long lngCells = Math.round(360 / cellDegrees);
+        long fromLat = latCell(Math.max(minLat, -90));
+        long toLat = latCell(Math.min(maxLat, 90));
+        long fromLng = (long) Math.floor((minLng + 180) / cellDegrees);
+        long toLng = (long) Math.floor((maxLng + 180) / cellDegrees);
+        if (toLng - fromLng + 1 >= lngCells) {
+            fromLng = 0;
+            toLng = lngCells - 1;
+        }
+        if ((toLat - fromLat + 1) * (toLng - fromLng + 1) > cellSlots.size()) {
+            // 범위가 채워진 셀 수보다 넓으면 (축소된 지도 등) 채워진 셀만 훑는다
+            for (Map.Entry<Long, IntList> cell : cellSlots.entrySet()) {
+                long latIndex = cell.getKey() >>> 32;
+                long lngIndex = cell.getKey() & 0xFFFFFFFFL;
+                if (latIndex < fromLat || latIndex > toLat || !inLngRange(lngIndex, fromLng, toLng, lngCells)) {
+                    continue;
+                }
+                IntList slotsInCell = cell.getValue();
+                for (int i = 0; i < slotsInCell.size; i++) {
+                    action.accept(slotsInCell.values[i]);
+                }
+            }
+            return;
+        }
+        for (long latIndex = fromLat; latIndex <= toLat; latIndex++) {
+            for (long lngIndex = fromLng; lngIndex <= toLng; lngIndex++) {
+                // 날짜 변경선을 넘는 범위는 반대편 셀로 감는다
+                visitCell(latIndex, lngIndex, lngCells, action);
+            }
+        }
+    }
+
+    private void visitCell(long latIndex, long lngIndex, long lngCells, IntConsumer action) {
+        IntList slotsInCell = cellSlots.get(cellKey(latIndex, Math.floorMod(lngIndex, lngCells)));
+        if (slotsInCell == null) {
+            return;
+        }
+        for (int i = 0; i < slotsInCell.size; i++) {
+            action.accept(slotsInCell.values[i]);
+        }
+    }
+
+    private static boolean inLngRange(long lngIndex, long fromLng, long toLng, long lngCells) {
+        // fromLng/toLng 는 감기 전 값이라 음수이거나 한 바퀴를 넘을 수 있다
+        return Math.floorMod(lngIndex - fromLng, lngCells) <= toLng - fromLng;
+    }
+
+    private IntPredicate accepts(Filter filter) {
+        if (filter == null) {
+            return slot -> true;
+        }
+        return slot -> (filter.category == null || filter.category.equals(categories[slot]))
+                && times[slot] > filter.after;
+    }
+
+    private void removeSlot(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        IntList slotsInCell = cellSlots.get(cells[slot]);
+        if (slotsInCell != null) {
+            slotsInCell.remove(slot);
+            if (slotsInCell.size == 0) {
+                cellSlots.remove(cells[slot]);
+            }
+        }
+        categories[slot] = null;
+        free.set(slot);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= lats.length) {
+            return;
+        }
+        int length = Math.max(capacity, lats.length * 2);
+        lats = Arrays.copyOf(lats, length);
+        lngs = Arrays.copyOf(lngs, length);
+        ids = Arrays.copyOf(ids, length);
+        times = Arrays.copyOf(times, length);
+        categories = Arrays.copyOf(categories, length);
+        cells = Arrays.copyOf(cells, length);
+    }
+
+    private long cellOf(double lat, double lng) {
+        return cellKey(latCell(lat), lngCell(lng));
+    }
+
+    private long latCell(double lat) {
+        return (long) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / cellDegrees);
+    }
+
+    private long lngCell(double lng) {
+        return Math.floorMod((long) Math.floor((lng + 180) / cellDegrees), Math.round(360 / cellDegrees));
+    }
+
+    private static long cellKey(long latIndex, long lngIndex) {
+        return (latIndex << 32) | lngIndex;
+    }
+
+    /**
+     * 중심에서 고리 ring 의 셀에 있는 위치까지의 최소 거리 (km)
+     * 고리 ring 의 위치는 중심과 위도 또는 경도가 (ring - 1) 칸 이상 차이 난다.
+     * 경도 차이가 Δ 인 자오선까지의 대원 거리는 asin(cos(위도) · sin Δ) 이고, Δ 가 90도를 넘으면 극까지의 거리다.
+     */
+    private double ringDistanceKm(double lat, long ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double degrees = (ring - 1) * cellDegrees;
+        double latKm = degrees * KM_PER_DEGREE;
+        double lngRadians = Math.toRadians(Math.min(degrees, 90));
+        double lngKm = EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.cos(Math.toRadians(lat)) * Math.sin(lngRadians)));
+        return Math.min(latKm, lngKm);
+    }
+
+    /**
+     * 반경 원을 덮는 경도 폭 (도, 원이 극을 덮으면 180)
+     */
+    private static double lngDegrees(double km, double lat) {
+        double angular = km / EARTH_RADIUS_KM;
+        if (Math.abs(lat) + Math.toDegrees(angular) >= 90) {
+            return 180;
+        }
+        return Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(Math.toRadians(lat))));
+    }
+
+    private static double lngDistance(double a, double b) {
+        double diff = Math.abs(a - b) % 360;
+        return diff > 180 ? 360 - diff : diff;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 영역 순회 콜백
+     */
+    @FunctionalInterface
+    public interface LocationVisitor {
+        void visit(long id, double lat, double lng, String category);
+    }
+
+    /**
+     * 검색 조건 (카테고리 일치, 시각이 after 이후)
+     */
+    public static class Filter {
+        private final String category;
+        private final long after;
+
+        public Filter(String category, long after) {
+            this.category = category;
+            this.after = after;
+        }
+    }
+
+    /**
+     * 검색 결과 위치
+     */
+    public static class GeoHit {
+        private final long id;
+        private final double distanceKm;
+
+        public GeoHit(long id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() { return id; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
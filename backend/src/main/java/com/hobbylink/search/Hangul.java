@@ -0,0 +1,131 @@
+package com.hobbylink.search;
+
+import java.text.Normalizer;
+
+/**
+ * 한글 음절/자모 유틸리티
+ *
+ * 음절은 (초성 × 21 + 중성) × 28 + 종성 + 0xAC00 으로 계산되는 완성형 코드로 다루고,
+ * 자모는 키보드 입력과 같은 호환용 자모(ㄱ, ㅏ ...)로 다룬다.
+ */
+public final class Hangul {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    private static final String INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String MEDIALS = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    // 0 번은 받침 없음
+    private static final String FINALS = "\0ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private Hangul() {
+    }
+
+    /**
+     * 완성형 한글 음절 여부
+     */
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    /**
+     * 호환용 자모 여부 (ㄱ ~ ㅣ)
+     */
+    public static boolean isJamo(char c) {
+        return c >= 'ㄱ' && c <= 'ㅣ';
+    }
+
+    /**
+     * 초성으로 쓸 수 있는 자음 여부
+     */
+    public static boolean isInitial(char c) {
+        return INITIALS.indexOf(c) >= 0;
+    }
+
+    /**
+     * 한글 토큰을 이루는 문자 여부 (음절 또는 자모)
+     */
+    public static boolean isHangul(char c) {
+        return isSyllable(c) || isJamo(c);
+    }
+
+    /**
+     * 음절의 초성 (음절이 아니면 그대로)
+     */
+    public static char initialOf(char c) {
+        if (!isSyllable(c)) {
+            return c;
+        }
+        return INITIALS.charAt((c - SYLLABLE_BASE) / (MEDIAL_COUNT * FINAL_COUNT));
+    }
+
+    /**
+     * 초성 문자열 (예: 독서 → ㄷㅅ)
+     */
+    public static String initials(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            builder.append(initialOf(text.charAt(i)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 자모 분해 (예: 독서 → ㄷㅗㄱㅅㅓ, 음절이 아닌 문자는 그대로)
+     */
+    public static String decompose(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isSyllable(c)) {
+                builder.append(c);
+                continue;
+            }
+            int offset = c - SYLLABLE_BASE;
+            builder.append(INITIALS.charAt(offset / (MEDIAL_COUNT * FINAL_COUNT)));
+            builder.append(MEDIALS.charAt(offset % (MEDIAL_COUNT * FINAL_COUNT) / FINAL_COUNT));
+            int fin = offset % FINAL_COUNT;
+            if (fin != 0) {
+                builder.append(FINALS.charAt(fin));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 입력 정규화: NFD 조합형을 완성형으로 합치고, 낱자로 풀어 쓴 자모(ㄷㅗㄱㅅㅓ)를 음절로 조립한다.
+     * 조립할 수 없는 자모(초성만 입력한 경우 등)는 그대로 남긴다.
+     */
+    public static String normalize(String text) {
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder builder = new StringBuilder(composed.length());
+        int i = 0;
+        while (i < composed.length()) {
+            char c = composed.charAt(i);
+            int initial = INITIALS.indexOf(c);
+            int medial = i + 1 < composed.length() ? MEDIALS.indexOf(composed.charAt(i + 1)) : -1;
+            if (initial < 0 || medial < 0) {
+                builder.append(c);
+                i++;
+                continue;
+            }
+
+            int fin = 0;
+            int consumed = 2;
+            if (i + 2 < composed.length()) {
+                int candidate = FINALS.indexOf(composed.charAt(i + 2));
+                boolean nextIsMedial = i + 3 < composed.length() && MEDIALS.indexOf(composed.charAt(i + 3)) >= 0;
+                // 다음 글자가 모음이면 그 자음은 다음 음절의 초성
+                if (candidate > 0 && !nextIsMedial) {
+                    fin = candidate;
+                    consumed = 3;
+                }
+            }
+            builder.append((char) (SYLLABLE_BASE + (initial * MEDIAL_COUNT + medial) * FINAL_COUNT + fin));
+            i += consumed;
+        }
+        return builder.toString();
+    }
+}
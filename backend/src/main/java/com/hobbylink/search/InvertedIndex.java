@@ -0,0 +1,295 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * BM25 랭킹 인메모리 역색인
+ *
+ * 문서는 여러 필드(예: 제목, 태그, 설명)로 구성되고 필드마다 가중치를 둔다.
+ * 용어 빈도와 문서 길이는 필드 가중치를 곱해 합산한다 (BM25F 단순화).
+ * 검색은 질의 용어의 포스팅만 훑고 상위 k 개만 힙으로 골라내므로
+ * 전체 문서 수가 아니라 일치한 포스팅 수에 비례한다.
+ * 읽기는 동시에, 쓰기는 배타적으로 수행한다.
+ */
+public class InvertedIndex {
+
+    private final SearchTokenizer tokenizer;
+    private final float[] fieldBoosts;
+    private final double k1;
+    private final double b;
+
+    // 용어 → (문서 ID → 가중 용어 빈도)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+
+    // 문서 ID → 색인된 용어/길이 (삭제와 갱신 시 포스팅 정리용)
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+
+    private double totalLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param tokenizer 토크나이저
+     * @param fieldBoosts 필드별 가중치 (put 의 필드 순서와 동일)
+     * @param k1 용어 빈도 포화 계수
+     * @param b 문서 길이 정규화 계수
+     */
+    public InvertedIndex(SearchTokenizer tokenizer, float[] fieldBoosts, double k1, double b) {
+        this.tokenizer = tokenizer;
+        this.fieldBoosts = fieldBoosts.clone();
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * 문서 추가 또는 교체
+     * @param id 문서 ID
+     * @param fields 필드 값 (생성자에서 지정한 가중치 순서)
+     */
+    public void put(long id, String... fields) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (int i = 0; i < fields.length && i < fieldBoosts.length; i++) {
+            for (String term : tokenizer.tokenize(fields[i])) {
+                frequencies.merge(term, fieldBoosts[i], Float::sum);
+                length += fieldBoosts[i];
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new IndexedDocument(frequencies.keySet().toArray(new String[0]), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제
+     * @param id 문서 ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 상위 k 검색
+     * @param query 질의
+     * @param offset 건너뛸 결과 수
+     * @param limit 반환할 최대 결과 수
+     * @return 점수 내림차순 결과와 전체 일치 수
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        return search(query, offset, limit, null);
+    }
+
+    /**
+     * 조건을 만족하는 문서만 대상으로 BM25 상위 k 검색
+     * @param query 질의
+     * @param offset 건너뛸 결과 수
+     * @param limit 반환할 최대 결과 수
+     * @param filter 문서 ID 조건 (null 이면 전체)
+     * @return 점수 내림차순 결과와 전체 일치 수
+     */
+    public SearchHits search(String query, int offset, int limit, Predicate<Long> filter) {
+        if (limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+        Map<Long, Double> scores = score(query);
+        if (filter != null) {
+            scores.keySet().removeIf(id -> !filter.test(id));
+        }
+        return scores.isEmpty() ? SearchHits.EMPTY : topK(scores, offset, limit);
+    }
+
+    /**
+     * 질의와 일치하는 모든 문서의 BM25 점수
+     * 일치 집합으로 다른 조건을 거른 뒤 rank 로 순위를 매기면 질의를 한 번만 계산한다.
+     * @param query 질의
+     * @return 문서 ID → 점수
+     */
+    public Map<Long, Double> scoreAll(String query) {
+        return score(query);
+    }
+
+    /**
+     * scoreAll 결과 중 조건을 만족하는 문서만 점수순으로 자른다 (scores 는 바꾸지 않음)
+     * @param scores 문서 ID → 점수
+     * @param offset 건너뛸 결과 수
+     * @param limit 반환할 최대 결과 수
+     * @param filter 문서 ID 조건 (null 이면 전체)
+     * @return 점수 내림차순 결과와 전체 일치 수
+     */
+    public static SearchHits rank(Map<Long, Double> scores, int offset, int limit, Predicate<Long> filter) {
+        if (limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+        Map<Long, Double> candidates = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (filter == null || filter.test(entry.getKey())) {
+                candidates.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return candidates.isEmpty() ? SearchHits.EMPTY : topK(candidates, offset, limit);
+    }
+
+    private Map<Long, Double> score(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenizer.tokenizeQuery(query));
+        Map<Long, Double> scores = new HashMap<>();
+        if (terms.isEmpty()) {
+            return scores;
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return scores;
+            }
+            double averageLength = totalLength / documentCount;
+
+            for (String term : terms) {
+                Map<Long, Float> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int df = termPostings.size();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                    float tf = posting.getValue();
+                    double norm = k1 * (1 - b + b * documents.get(posting.getKey()).length / averageLength);
+                    scores.merge(posting.getKey(), idf * tf * (k1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    /**
+     * 색인된 문서 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long id) {
+        IndexedDocument previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static SearchHits topK(Map<Long, Double> scores, int offset, int limit) {
+        int k = Math.max(offset, 0) + limit;
+        // 최소 힙에 k 개만 유지 (동점이면 ID 가 작은 쪽 우선)
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(k, Math.max(scores.size(), 1)) + 1,
+                (left, right) -> left.score != right.score
+                        ? Double.compare(left.score, right.score)
+                        : Long.compare(right.id, left.id));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(new Hit(entry.getKey(), entry.getValue()));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+        Collections.reverse(ranked);
+        List<Hit> page = offset < ranked.size() ? ranked.subList(Math.max(offset, 0), ranked.size()) : List.of();
+        return new SearchHits(new ArrayList<>(page), scores.size());
+    }
+
+    private static class IndexedDocument {
+        private final String[] terms;
+        private final float length;
+
+        IndexedDocument(String[] terms, float length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 검색 결과 항목
+     */
+    public static class Hit {
+        private final long id;
+        private final double score;
+
+        public Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+        public double getScore() { return score; }
+    }
+
+    /**
+     * 검색 결과 페이지
+     */
+    public static class SearchHits {
+        public static final SearchHits EMPTY = new SearchHits(List.of(), 0);
+
+        private final List<Hit> hits;
+        private final int total;
+
+        public SearchHits(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<Hit> getHits() { return hits; }
+        public int getTotal() { return total; }
+
+        public List<Long> getIds() {
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.id);
+            }
+            return ids;
+        }
+    }
+}
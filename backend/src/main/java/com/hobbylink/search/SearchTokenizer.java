@@ -0,0 +1,164 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 한글 인식 검색 토크나이저
+ *
+ * 라틴 문자/숫자 단어는 소문자 단어 그대로, 한글 단어는 부분 입력을 색인 조회만으로
+ * 찾을 수 있도록 여러 형태로 색인한다 (예: 독서모임).
+ * - 단어 전체: 독서모임
+ * - 음절 1-gram/2-gram: 독, 서, 모, 임, 독서, 서모, 모임
+ * - 음절 + 다음 음절 초성 (입력 중인 음절): 독ㅅ, 서ㅁ, 모ㅇ
+ * - 초성 2-gram 과 초성 전체: ㄷㅅ, ㅅㅁ, ㅁㅇ, ㄷㅅㅁㅇ
+ * 질의는 입력 형태에 맞는 용어만 만든다. 완성된 음절은 음절 용어로, 초성만 입력하면 초성 용어로,
+ * 끝에 자음만 덧붙이면 음절 + 초성 용어로 바꾼다. 그래서 "독서" 가 초성이 같은 "등산" 과 섞이지 않는다.
+ * 풀어 쓴 자모나 NFD 조합형 입력은 먼저 완성형으로 조립한다.
+ */
+public class SearchTokenizer {
+
+    /**
+     * 색인용 용어 목록 (중복 포함, 등장 순서 유지)
+     * @param text 원문
+     * @return 용어 목록
+     */
+    public List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String word : words(text)) {
+            if (Hangul.isHangul(word.charAt(0))) {
+                addHangulIndexTerms(word, tokens);
+            } else {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 질의용 용어 목록
+     * @param text 질의
+     * @return 용어 목록
+     */
+    public List<String> tokenizeQuery(String text) {
+        return queryTerms(text, true);
+    }
+
+    /**
+     * 모든 용어가 일치해야 하는(AND) 검색용 질의 용어
+     * 세 음절 이상의 한글 단어는 단어 자체 대신 바이그램만 요구해 "강남역" 이 "강남역에서" 와도 일치하게 한다.
+     * @param text 질의
+     * @return 용어 목록
+     */
+    public List<String> tokenizeRequired(String text) {
+        return queryTerms(text, false);
+    }
+
+    private List<String> queryTerms(String text, boolean includeWholeWords) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String word : words(text)) {
+            if (Hangul.isHangul(word.charAt(0))) {
+                addHangulQueryTerms(word, tokens, includeWholeWords);
+            } else {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 정규화 후 단어 단위로 분리 (한글과 그 외 문자가 바뀌는 지점도 경계로 본다)
+     */
+    List<String> words(String text) {
+        String normalized = Hangul.normalize(text);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        boolean hangulRun = false;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            boolean hangul = Hangul.isHangul(c);
+            boolean wordChar = hangul || Character.isLetterOrDigit(c);
+            if (start >= 0 && (!wordChar || hangul != hangulRun)) {
+                words.add(normalized.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+                hangulRun = hangul;
+            }
+        }
+        return words;
+    }
+
+    private static void addHangulIndexTerms(String word, List<String> tokens) {
+        tokens.add(word);
+        int length = word.length();
+        if (length == 1) {
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char current = word.charAt(i);
+            tokens.add(String.valueOf(current));
+            if (i + 1 < length) {
+                char next = word.charAt(i + 1);
+                tokens.add(word.substring(i, i + 2));
+                if (Hangul.isSyllable(current) && Hangul.isSyllable(next)) {
+                    tokens.add(current + String.valueOf(Hangul.initialOf(next)));
+                }
+            }
+        }
+
+        String initials = Hangul.initials(word);
+        if (!initials.equals(word)) {
+            for (int i = 0; i + 1 < length; i++) {
+                tokens.add(initials.substring(i, i + 2));
+            }
+            if (length > 2) {
+                tokens.add(initials);
+            }
+        }
+    }
+
+    private static void addHangulQueryTerms(String word, List<String> tokens, boolean includeWholeWord) {
+        // 완성된 음절 부분과 끝에 남은 자모 부분으로 나눈다
+        int syllableEnd = 0;
+        while (syllableEnd < word.length() && Hangul.isSyllable(word.charAt(syllableEnd))) {
+            syllableEnd++;
+        }
+        String syllables = word.substring(0, syllableEnd);
+        String trailing = word.substring(syllableEnd);
+
+        if (syllables.isEmpty()) {
+            // 초성 검색 (ㄷㅅ → 독서)
+            if (trailing.length() == 1) {
+                tokens.add(trailing);
+            }
+            for (int i = 0; i + 1 < trailing.length(); i++) {
+                tokens.add(trailing.substring(i, i + 2));
+            }
+            return;
+        }
+
+        if (includeWholeWord || syllables.length() <= 2) {
+            tokens.add(syllables);
+        }
+        if (syllables.length() > 2) {
+            for (int i = 0; i + 1 < syllables.length(); i++) {
+                tokens.add(syllables.substring(i, i + 2));
+            }
+        }
+
+        // 입력 중인 다음 음절의 초성 (독ㅅ → 독서)
+        if (!trailing.isEmpty() && Hangul.isInitial(trailing.charAt(0))) {
+            tokens.add(syllables.charAt(syllables.length() - 1) + trailing.substring(0, 1));
+        }
+    }
+}
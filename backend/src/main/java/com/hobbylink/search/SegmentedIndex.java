@@ -0,0 +1,425 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 추가 전용 세그먼트 역색인 (채팅 기록처럼 뒤에만 붙는 문서용)
+ *
+ * 문서는 들어온 순서대로 순번(position)을 받고, 순번은 삭제 후에도 바뀌지 않는다.
+ * 새 문서는 변경 가능한 버퍼에 쌓이다가 일정 개수가 되면 불변 세그먼트(정렬된 용어 + 순번 배열)로 봉인된다.
+ * 작은 세그먼트는 merge() 에서 같은 크기 단계끼리 묶어 합치며(로그 병합), 이때 삭제된 문서를 걷어낸다.
+ * 병합은 잠금 밖에서 새 세그먼트를 만든 뒤 교체만 잠금 안에서 하므로 추가/검색을 오래 막지 않는다.
+ * 검색은 질의의 모든 용어를 포함한 문서를 최신 순으로 돌려준다.
+ */
+public class SegmentedIndex {
+
+    private final SearchTokenizer tokenizer;
+    private final int flushDocs;
+    private final int mergeFactor;
+
+    // 순번 → 문서 ID
+    private long[] ids = new long[64];
+    private int size;
+    private final BitSet deleted = new BitSet();
+    // 문서 ID → 순번 (같은 ID 가 다시 들어오면 마지막 순번)
+    private final Map<Long, Integer> positionById = new HashMap<>();
+
+    // 봉인된 세그먼트 (오래된 순)
+    private final List<Segment> segments = new ArrayList<>();
+
+    // 아직 봉인되지 않은 문서의 용어 → 순번 목록
+    private Map<String, IntList> buffer = new HashMap<>();
+    private int bufferStart;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object mergeLock = new Object();
+
+    /**
+     * @param tokenizer 문서/질의 토크나이저
+     * @param flushDocs 버퍼를 세그먼트로 봉인할 문서 수
+     * @param mergeFactor 한 번에 합칠 같은 단계의 세그먼트 수
+     */
+    public SegmentedIndex(SearchTokenizer tokenizer, int flushDocs, int mergeFactor) {
+        this.tokenizer = tokenizer;
+        this.flushDocs = Math.max(flushDocs, 1);
+        this.mergeFactor = Math.max(mergeFactor, 2);
+    }
+
+    /**
+     * 문서 추가
+     * @param id 문서 ID
+     * @param text 본문
+     * @return 부여된 순번
+     */
+    public int append(long id, String text) {
+        Set<String> terms = new LinkedHashSet<>(tokenizer.tokenize(text != null ? text : ""));
+        lock.writeLock().lock();
+        try {
+            int position = size;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+            positionById.put(id, position);
+            for (String term : terms) {
+                buffer.computeIfAbsent(term, key -> new IntList()).add(position);
+            }
+            if (size - bufferStart >= flushDocs) {
+                sealBuffer();
+            }
+            return position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제 (순번은 비워 둔다)
+     * @param id 문서 ID
+     * @return 삭제 여부
+     */
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positionById.get(id);
+            if (position == null || deleted.get(position)) {
+                return false;
+            }
+            deleted.set(position);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서의 순번 (삭제된 문서 포함)
+     * @param id 문서 ID
+     * @return 순번 (없으면 -1)
+     */
+    public int positionOf(long id) {
+        lock.readLock().lock();
+        try {
+            Integer position = positionById.get(id);
+            return position != null ? position : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의의 모든 용어를 포함한 문서를 최신 순으로 검색
+     * @param query 검색어
+     * @param before 이 순번보다 앞선 문서만 (처음이면 Integer.MAX_VALUE)
+     * @param limit 최대 결과 수
+     * @return 일치한 문서 (순번 내림차순) 와 before 이전의 전체 일치 수
+     */
+    public SegmentHits search(String query, int before, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenizer.tokenizeRequired(query)));
+        if (terms.isEmpty()) {
+            return SegmentHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SegmentHit> hits = new ArrayList<>();
+            int total = 0;
+
+            // 버퍼 → 최신 세그먼트 → 오래된 세그먼트 순으로 훑는다
+            total += collect(intersect(terms, buffer), before, limit, hits);
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Segment segment = segments.get(i);
+                if (segment.firstPosition >= before) {
+                    continue;
+                }
+                total += collect(segment.intersect(terms), before, limit, hits);
+            }
+            return new SegmentHits(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 버퍼를 세그먼트로 봉인 (주기 작업에서 호출)
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            sealBuffer();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 같은 크기 단계의 세그먼트가 mergeFactor 개 모이면 하나로 합친다
+     * @return 수행한 병합 수
+     */
+    public int merge() {
+        synchronized (mergeLock) {
+            int merges = 0;
+            while (true) {
+                List<Segment> candidates;
+                BitSet deletedSnapshot;
+                lock.readLock().lock();
+                try {
+                    candidates = mergeCandidates();
+                    deletedSnapshot = candidates != null ? (BitSet) deleted.clone() : null;
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (candidates == null) {
+                    return merges;
+                }
+
+                Segment merged = Segment.merge(candidates, deletedSnapshot);
+
+                lock.writeLock().lock();
+                try {
+                    // 병합 중에는 뒤에 새 세그먼트만 붙으므로 후보의 위치는 그대로다
+                    int start = segments.indexOf(candidates.get(0));
+                    segments.subList(start, start + candidates.size()).clear();
+                    segments.add(start, merged);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                merges++;
+            }
+        }
+    }
+
+    /**
+     * 추가된 문서 수 (삭제 포함)
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 봉인된 세그먼트 수
+     */
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void sealBuffer() {
+        if (size == bufferStart) {
+            return;
+        }
+        segments.add(Segment.of(buffer, bufferStart, size));
+        buffer = new HashMap<>();
+        bufferStart = size;
+    }
+
+    private List<Segment> mergeCandidates() {
+        // 뒤에서부터 같은 단계의 세그먼트가 mergeFactor 개 이어지는 구간을 찾는다
+        int end = segments.size();
+        while (end >= mergeFactor) {
+            int level = level(segments.get(end - 1));
+            int start = end - 1;
+            while (start > 0 && level(segments.get(start - 1)) == level && end - start < mergeFactor) {
+                start--;
+            }
+            if (end - start == mergeFactor) {
+                return new ArrayList<>(segments.subList(start, end));
+            }
+            end = start;
+        }
+        return null;
+    }
+
+    private int level(Segment segment) {
+        int level = 0;
+        long capacity = flushDocs;
+        while (segment.docCount() > capacity) {
+            capacity *= mergeFactor;
+            level++;
+        }
+        return level;
+    }
+
+    private int collect(int[] positions, int before, int limit, List<SegmentHit> hits) {
+        int total = 0;
+        for (int i = positions.length - 1; i >= 0; i--) {
+            int position = positions[i];
+            if (position >= before || deleted.get(position)) {
+                continue;
+            }
+            total++;
+            if (hits.size() < limit) {
+                hits.add(new SegmentHit(position, ids[position]));
+            }
+        }
+        return total;
+    }
+
+    private static int[] intersect(List<String> terms, Map<String, IntList> postings) {
+        int[] result = null;
+        for (String term : terms) {
+            IntList list = postings.get(term);
+            if (list == null) {
+                return new int[0];
+            }
+            result = result == null ? list.toArray() : intersect(result, list.values, list.size);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, int[] right, int rightSize) {
+        int[] result = new int[Math.min(left.length, rightSize)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < rightSize) {
+            if (left[i] == right[j]) {
+                result[count++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 불변 세그먼트 (정렬된 용어 + 용어별 오름차순 순번)
+     */
+    private static final class Segment {
+        private final String[] terms;
+        private final int[][] postings;
+        private final int firstPosition;
+        private final int documents;
+
+        private Segment(String[] terms, int[][] postings, int firstPosition, int documents) {
+            this.terms = terms;
+            this.postings = postings;
+            this.firstPosition = firstPosition;
+            this.documents = documents;
+        }
+
+        static Segment of(Map<String, IntList> buffer, int firstPosition, int endPosition) {
+            String[] terms = buffer.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            int[][] postings = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                postings[i] = buffer.get(terms[i]).toArray();
+            }
+            return new Segment(terms, postings, firstPosition, endPosition - firstPosition);
+        }
+
+        static Segment merge(List<Segment> parts, BitSet deleted) {
+            Map<String, IntList> merged = new HashMap<>();
+            for (Segment part : parts) {
+                for (int t = 0; t < part.terms.length; t++) {
+                    IntList list = null;
+                    for (int position : part.postings[t]) {
+                        if (deleted.get(position)) {
+                            continue;
+                        }
+                        if (list == null) {
+                            list = merged.computeIfAbsent(part.terms[t], key -> new IntList());
+                        }
+                        list.add(position);
+                    }
+                }
+            }
+            Segment first = parts.get(0);
+            Segment last = parts.get(parts.size() - 1);
+            int live = 0;
+            for (int position = first.firstPosition; position < last.firstPosition + last.documents; position++) {
+                if (!deleted.get(position)) {
+                    live++;
+                }
+            }
+            return of(merged, first.firstPosition, first.firstPosition + live);
+        }
+
+        int docCount() {
+            return documents;
+        }
+
+        int[] intersect(List<String> queryTerms) {
+            int[] result = null;
+            for (String term : queryTerms) {
+                int index = Arrays.binarySearch(terms, term);
+                if (index < 0) {
+                    return new int[0];
+                }
+                result = result == null ? postings[index] : SegmentedIndex.intersect(result, postings[index], postings[index].length);
+            }
+            return result;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * 검색 결과 문서 (순번 + ID)
+     */
+    public static class SegmentHit {
+        private final int position;
+        private final long id;
+
+        public SegmentHit(int position, long id) {
+            this.position = position;
+            this.id = id;
+        }
+
+        public int getPosition() { return position; }
+        public long getId() { return id; }
+    }
+
+    /**
+     * 검색 결과
+     */
+    public static class SegmentHits {
+        public static final SegmentHits EMPTY = new SegmentHits(List.of(), 0);
+
+        private final List<SegmentHit> hits;
+        private final int total;
+
+        public SegmentHits(List<SegmentHit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<SegmentHit> getHits() { return hits; }
+        public int getTotal() { return total; }
+    }
+}
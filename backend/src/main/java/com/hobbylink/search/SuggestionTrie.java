@@ -0,0 +1,274 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 자동완성용 불변 접두사 트라이
+ *
+ * 키는 자모 단위로 분해한 소문자 문자열이라 음절을 입력하는 도중(독ㅅ → ㄷㅗㄱㅅ)에도 접두사가 맞는다.
+ * 한글 후보는 초성 키(ㄷㅅ)로도 넣고, 여러 단어로 된 후보는 각 단어 시작 위치부터의 키도 넣는다.
+ * 노드마다 가중치 상위 k 개 후보를 미리 계산해 두므로 조회는 접두사 길이만큼 내려간 뒤
+ * 저장된 목록을 그대로 돌려준다. 자식이 하나뿐이고 거기서 끝나는 키가 없는 노드는 아래 노드와 후보가
+ * 같으므로 간선 하나로 합친다(기수 트라이). 노드 정보는 너비 우선 번호로 원시 배열에 보관해
+ * 자식 번호와 개수를 따로 저장하지 않는다.
+ * 빌더로 만든 뒤에는 변경하지 않으므로 잠금 없이 여러 스레드가 읽는다.
+ */
+public class SuggestionTrie {
+
+    private static final int MAX_KEY_WORDS = 4;
+
+    private final String[] suggestions;
+
+    // 노드 i 로 들어오는 간선 라벨은 edges[edgeStart[i] .. edgeStart[i + 1])
+    private final char[] edges;
+    private final int[] edgeStart;
+
+    // 노드 i 의 자식은 노드 firstChild[i] .. firstChild[i + 1] - 1 (간선 첫 글자 오름차순)
+    private final int[] firstChild;
+
+    // 노드 i 의 상위 후보는 top[topStart[i] .. topStart[i + 1]) (가중치 내림차순)
+    private final int[] topStart;
+    private final int[] top;
+
+    private SuggestionTrie(String[] suggestions, char[] edges, int[] edgeStart, int[] firstChild,
+                           int[] topStart, int[] top) {
+        this.suggestions = suggestions;
+        this.edges = edges;
+        this.edgeStart = edgeStart;
+        this.firstChild = firstChild;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    /**
+     * 접두사로 시작하는 후보를 가중치 순으로 조회
+     * @param prefix 입력 중인 문자열
+     * @param limit 최대 개수 (빌드 시 지정한 k 이하)
+     * @return 후보 목록
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = key(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int node = 0;
+        int matched = 0;
+        while (matched < key.length()) {
+            node = child(node, key.charAt(matched));
+            if (node < 0) {
+                return List.of();
+            }
+            // 접두사가 간선 중간에서 끝나도 그 아래 노드와 후보가 같다
+            int start = edgeStart[node];
+            int length = Math.min(edgeStart[node + 1] - start, key.length() - matched);
+            for (int i = 1; i < length; i++) {
+                if (edges[start + i] != key.charAt(matched + i)) {
+                    return List.of();
+                }
+            }
+            matched += length;
+        }
+
+        int from = topStart[node];
+        int count = Math.min(topStart[node + 1] - from, limit);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(suggestions[top[from + i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 후보 수
+     */
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * 노드 수
+     */
+    public int nodeCount() {
+        return firstChild.length - 1;
+    }
+
+    /**
+     * 대략적인 메모리 사용량 (후보 문자열 포함, 바이트)
+     */
+    public long estimatedBytes() {
+        long bytes = (long) edges.length * 2
+                + ((long) edgeStart.length + firstChild.length + topStart.length + top.length) * 4;
+        for (String suggestion : suggestions) {
+            bytes += 40 + suggestion.length() * 2L;
+        }
+        return bytes;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = firstChild[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midLabel = edges[edgeStart[mid]];
+            if (midLabel < label) {
+                low = mid + 1;
+            } else if (midLabel > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static String key(String text) {
+        return Hangul.decompose(Hangul.normalize(text.strip()).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 트라이 빌더 (같은 후보를 여러 번 넣으면 가중치를 더한다)
+     */
+    public static class Builder {
+        private final int k;
+        private final Map<String, Double> weights = new HashMap<>();
+        private final Map<String, String> displays = new HashMap<>();
+
+        /**
+         * @param k 노드마다 보관할 상위 후보 수
+         */
+        public Builder(int k) {
+            this.k = Math.min(Math.max(k, 1), Byte.MAX_VALUE);
+        }
+
+        public Builder add(String suggestion, double weight) {
+            if (suggestion == null || suggestion.isBlank() || weight <= 0) {
+                return this;
+            }
+            String display = suggestion.strip().replaceAll("\\s+", " ");
+            String normalized = key(display);
+            weights.merge(normalized, weight, Double::sum);
+            displays.putIfAbsent(normalized, display);
+            return this;
+        }
+
+        public SuggestionTrie build() {
+            // 가중치 내림차순으로 넣으면 각 노드에 먼저 도착한 k 개가 곧 상위 k 개
+            List<Map.Entry<String, Double>> entries = new ArrayList<>(weights.entrySet());
+            entries.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+            String[] suggestions = new String[entries.size()];
+            BuildNode root = new BuildNode('\0');
+            for (int i = 0; i < entries.size(); i++) {
+                String normalized = entries.get(i).getKey();
+                suggestions[i] = displays.get(normalized);
+                for (String key : keys(normalized, suggestions[i])) {
+                    insert(root, key, i);
+                }
+            }
+            return freeze(root, suggestions);
+        }
+
+        private void insert(BuildNode root, String key, int entry) {
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                char label = key.charAt(i);
+                BuildNode next = node.children.get(label);
+                if (next == null) {
+                    next = new BuildNode(label);
+                    node.children.put(label, next);
+                }
+                node = next;
+                // 같은 후보가 다른 키로 같은 노드를 지나가면 한 번만 센다
+                int size = node.top.size();
+                if (size < k && (size == 0 || node.top.get(size - 1) != entry)) {
+                    node.top.add(entry);
+                }
+            }
+            node.terminal = true;
+        }
+
+        private static List<String> keys(String normalized, String display) {
+            List<String> keys = new ArrayList<>();
+            int words = 0;
+            for (int i = 0; i < normalized.length() && words < MAX_KEY_WORDS; i++) {
+                if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                    keys.add(normalized.substring(i));
+                    words++;
+                }
+            }
+
+            // 초성 키 (원문이 한글을 포함할 때만)
+            String composed = Hangul.normalize(display).replace(" ", "");
+            String initials = Hangul.initials(composed);
+            if (!initials.equals(composed)) {
+                keys.add(initials.toLowerCase(Locale.ROOT));
+            }
+            return keys;
+        }
+
+        private static SuggestionTrie freeze(BuildNode root, String[] suggestions) {
+            StringBuilder edges = new StringBuilder();
+            List<Integer> edgeStart = new ArrayList<>();
+            List<Integer> firstChild = new ArrayList<>();
+            List<Integer> topStart = new ArrayList<>();
+            List<Integer> top = new ArrayList<>();
+
+            // 너비 우선으로 번호를 매겨 자식 번호가 연속되게 하고, 합칠 수 있는 사슬은 간선 하나로 만든다
+            List<BuildNode> queue = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            queue.add(root);
+            labels.add("");
+            for (int index = 0; index < queue.size(); index++) {
+                BuildNode node = queue.get(index);
+                edgeStart.add(edges.length());
+                edges.append(labels.get(index));
+                topStart.add(top.size());
+                top.addAll(node.top);
+
+                firstChild.add(queue.size());
+                for (BuildNode child : node.children.values()) {
+                    StringBuilder label = new StringBuilder().append(child.label);
+                    while (child.children.size() == 1 && !child.terminal) {
+                        child = child.children.firstEntry().getValue();
+                        label.append(child.label);
+                    }
+                    queue.add(child);
+                    labels.add(label.toString());
+                }
+            }
+            edgeStart.add(edges.length());
+            firstChild.add(queue.size());
+            topStart.add(top.size());
+
+            char[] edgeArray = new char[edges.length()];
+            edges.getChars(0, edges.length(), edgeArray, 0);
+            return new SuggestionTrie(suggestions, edgeArray, toArray(edgeStart), toArray(firstChild),
+                    toArray(topStart), toArray(top));
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            int[] array = new int[values.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+            return array;
+        }
+    }
+
+    private static class BuildNode {
+        private final char label;
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> top = new ArrayList<>(2);
+        private boolean terminal;
+
+        BuildNode(char label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.hobbylink.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 오타를 허용하는 이름 색인 (트라이그램 유사도 + 짧은 이름의 편집 거리)
+ *
+ * 이름은 소문자로 바꾸고 한글 음절을 자모로 풀어 쓴 뒤 단어마다 앞뒤를 채워 트라이그램으로 쪼갠다
+ * (자모 단위라 "홍길동" → "홍길돈" 같은 한 글자 오타가 트라이그램 몇 개만 바꾼다).
+ * 유사도는 공유 트라이그램 기준 자카드 계수이고, 드문 트라이그램부터 포스팅을 훑는다.
+ * 포스팅이 너무 긴 트라이그램은 건너뛰고 후보 수에 상한을 두어 조회 시간이 전체 이름 수에 비례하지 않는다.
+ * 트라이그램이 몇 개 나오지 않는 짧은 이름은 한 글자를 지운 변형(대칭 삭제)으로 후보를 찾고 편집 거리 1 이내만 남긴다.
+ * 부분 문자열 검색도 같은 포스팅에서 가장 짧은 트라이그램 목록만 확인하므로 전체 이름을 훑지 않는다.
+ * 갱신/삭제된 항목은 표시만 해 두고 포스팅은 다음 전체 재구축 때 정리된다.
+ */
+public class TrigramIndex {
+
+    private final int shortLength;
+    private final int maxPostingsPerGram;
+    private final int maxCandidates;
+
+    // 항목(이름 하나) 순번 → 문서 ID / 정규화된 이름 / 트라이그램 수
+    private final List<Long> entryIds = new ArrayList<>();
+    private final List<String> entryNames = new ArrayList<>();
+    private int[] entryGramCounts = new int[64];
+    private final BitSet live = new BitSet();
+
+    // 문서 ID → 항목 순번
+    private final Map<Long, int[]> entriesById = new HashMap<>();
+
+    // 트라이그램 → 항목 순번, 짧은 이름의 삭제 변형 → 항목 순번
+    private final Map<String, IntList> grams = new HashMap<>();
+    private final Map<String, IntList> deletions = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param shortLength 편집 거리로도 찾을 최대 이름 길이 (자모 기준)
+     * @param maxPostingsPerGram 이보다 흔한 트라이그램은 후보 수집에 쓰지 않음
+     * @param maxCandidates 유사도를 계산할 최대 후보 수
+     */
+    public TrigramIndex(int shortLength, int maxPostingsPerGram, int maxCandidates) {
+        this.shortLength = shortLength;
+        this.maxPostingsPerGram = maxPostingsPerGram;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * 문서 추가 또는 교체
+     * @param id 문서 ID
+     * @param names 이름들 (null/빈 값은 무시)
+     */
+    public void put(long id, String... names) {
+        List<String> normalized = new ArrayList<>(new LinkedHashSet<>(normalizeAll(names)));
+        lock.writeLock().lock();
+        try {
+            int[] existing = entriesById.get(id);
+            if (existing != null) {
+                if (sameNames(existing, normalized)) {
+                    return;
+                }
+                for (int entry : existing) {
+                    live.clear(entry);
+                }
+            }
+            int[] entries = new int[normalized.size()];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = addEntry(id, normalized.get(i));
+            }
+            entriesById.put(id, entries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제
+     * @param id 문서 ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int[] entries = entriesById.remove(id);
+            if (entries != null) {
+                for (int entry : entries) {
+                    live.clear(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 유사한 이름을 가진 문서 검색
+     * @param query 검색어
+     * @param minSimilarity 최소 유사도 (0~1)
+     * @param limit 최대 결과 수
+     * @return 유사도 내림차순 결과 (문서마다 가장 비슷한 이름 기준)
+     */
+    public List<Match> search(String query, double minSimilarity, int limit) {
+        String name = normalize(query);
+        if (name.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryGrams = trigrams(name);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> best = new HashMap<>();
+
+            // 드문 트라이그램부터 공유 개수를 센다
+            List<IntList> postings = new ArrayList<>(queryGrams.size());
+            for (String gram : queryGrams) {
+                IntList list = grams.get(gram);
+                if (list != null && list.size <= maxPostingsPerGram) {
+                    postings.add(list);
+                }
+            }
+            postings.sort(Comparator.comparingInt(list -> list.size));
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (IntList list : postings) {
+                for (int i = 0; i < list.size; i++) {
+                    int entry = list.values[i];
+                    if (!live.get(entry)) {
+                        continue;
+                    }
+                    Integer count = shared.get(entry);
+                    if (count != null) {
+                        shared.put(entry, count + 1);
+                    } else if (shared.size() < maxCandidates) {
+                        shared.put(entry, 1);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                int entry = candidate.getKey();
+                int common = candidate.getValue();
+                double similarity = (double) common / (queryGrams.size() + entryGramCounts[entry] - common);
+                if (similarity >= minSimilarity) {
+                    best.merge(entryIds.get(entry), similarity, Math::max);
+                }
+            }
+
+            // 짧은 이름은 편집 거리 1 이내도 찾는다
+            if (name.length() <= shortLength) {
+                for (String variant : deletionVariants(name)) {
+                    IntList list = deletions.get(variant);
+                    if (list == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < list.size; i++) {
+                        int entry = list.values[i];
+                        String candidate = entryNames.get(entry);
+                        if (!live.get(entry) || !withinOneEdit(name, candidate)) {
+                            continue;
+                        }
+                        double similarity = name.equals(candidate)
+                                ? 1.0 : 1.0 - 1.0 / Math.max(name.length(), candidate.length());
+                        if (similarity >= minSimilarity) {
+                            best.merge(entryIds.get(entry), similarity, Math::max);
+                        }
+                    }
+                }
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble(Match::getSimilarity)
+                    .thenComparing(Comparator.comparingLong(Match::getId).reversed()));
+            for (Map.Entry<Long, Double> match : best.entrySet()) {
+                top.add(new Match(match.getKey(), match.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Match> results = new ArrayList<>(top);
+            results.sort(Comparator.comparingDouble(Match::getSimilarity).reversed()
+                    .thenComparingLong(Match::getId));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 이름에 검색어가 그대로 들어 있는 문서 (대소문자 무시, 한글은 자모 단위로 비교)
+     * 검색어 단어 안의 트라이그램은 일치하는 이름에 모두 있으므로, 포스팅이 가장 짧은 트라이그램의
+     * 항목만 후보로 삼아 포함 여부를 확인한다.
+     * @param query 검색어
+     * @return ID 오름차순 결과, 검색어가 짧아 트라이그램이 없으면 null (색인으로 답할 수 없음)
+     */
+    public List<Long> containing(String query) {
+        String needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            IntList rarest = null;
+            for (String word : needle.split(" ")) {
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    IntList list = grams.get(word.substring(i, i + 3));
+                    if (list == null) {
+                        return List.of();
+                    }
+                    if (rarest == null || list.size < rarest.size) {
+                        rarest = list;
+                    }
+                }
+            }
+            if (rarest == null) {
+                return null;
+            }
+
+            Set<Long> ids = new TreeSet<>();
+            for (int i = 0; i < rarest.size; i++) {
+                int entry = rarest.values[i];
+                if (live.get(entry) && entryNames.get(entry).contains(needle)) {
+                    ids.add(entryIds.get(entry));
+                }
+            }
+            return new ArrayList<>(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 문서 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addEntry(long id, String name) {
+        int entry = entryIds.size();
+        entryIds.add(id);
+        entryNames.add(name);
+        Set<String> entryGrams = trigrams(name);
+        if (entry == entryGramCounts.length) {
+            entryGramCounts = Arrays.copyOf(entryGramCounts, entry * 2);
+        }
+        entryGramCounts[entry] = entryGrams.size();
+        for (String gram : entryGrams) {
+            grams.computeIfAbsent(gram, key -> new IntList()).add(entry);
+        }
+        if (name.length() <= shortLength) {
+            for (String variant : deletionVariants(name)) {
+                deletions.computeIfAbsent(variant, key -> new IntList()).add(entry);
+            }
+        }
+        live.set(entry);
+        return entry;
+    }
+
+    private boolean sameNames(int[] entries, List<String> names) {
+        if (entries.length != names.size()) {
+            return false;
+        }
+        for (int i = 0; i < entries.length; i++) {
+            if (!entryNames.get(entries[i]).equals(names.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> normalizeAll(String[] names) {
+        List<String> normalized = new ArrayList<>();
+        if (names == null) {
+            return normalized;
+        }
+        for (String name : names) {
+            String value = normalize(name);
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * 소문자 + 자모 분해 + 공백 정리
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Hangul.normalize(text).toLowerCase(Locale.ROOT).strip().replaceAll("\\s+", " ");
+        return Hangul.decompose(normalized);
+    }
+
+    /**
+     * 단어별로 앞 두 칸, 뒤 한 칸을 채운 트라이그램 집합
+     */
+    static Set<String> trigrams(String name) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : name.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 원문과 한 글자씩 지운 변형
+     */
+    static Set<String> deletionVariants(String name) {
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(name);
+        for (int i = 0; i < name.length(); i++) {
+            variants.add(name.substring(0, i) + name.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /**
+     * 편집 거리(삽입/삭제/치환/인접 문자 바꿈)가 1 이하인지
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        String longer = lengthDiff >= 0 ? a : b;
+        String shorter = lengthDiff >= 0 ? b : a;
+        int i = 0;
+        while (i < shorter.length() && longer.charAt(i) == shorter.charAt(i)) {
+            i++;
+        }
+        if (i == shorter.length()) {
+            return true;
+        }
+        if (longer.length() != shorter.length()) {
+            // 삽입/삭제면 긴 쪽을 한 칸 건너뛴 나머지가 같아야 한다
+            return longer.substring(i + 1).equals(shorter.substring(i));
+        }
+        if (longer.substring(i + 1).equals(shorter.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < longer.length() && longer.charAt(i) == shorter.charAt(i + 1)
+                && longer.charAt(i + 1) == shorter.charAt(i)
+                && longer.substring(i + 2).equals(shorter.substring(i + 2));
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * 검색 결과 문서
+     */
+    public static class Match {
+        private final long id;
+        private final double similarity;
+
+        public Match(long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public long getId() { return id; }
+        public double getSimilarity() { return similarity; }
+    }
+}
@@ -0,0 +1,410 @@
+package com.hobbylink.service;
+
+import com.hobbylink.model.ChatMessage;
+import com.hobbylink.model.MessageStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 단계별 비동기 채팅 메시지 파이프라인
+ *
+ * 검증/포맷팅 → 순서 부여 → 저장 → 방송 → 카운터 갱신을 각각 독립된 단계로 나누고,
+ * 단계 사이를 미리 할당된 고정 크기 링 버퍼(ArrayBlockingQueue)로 연결한다.
+ * 각 단계는 미팅 ID 로 나눈 레인마다 스레드 하나가 배치 단위로 처리하므로 같은 방의 메시지 순서가
+ * 끝까지 유지되고, 레인 수로 단계별 처리량을 조절한다.
+ * 하류 단계가 느리면 상류 단계가 넣기에서 막히고, 결국 입구 버퍼가 차서 새 메시지를 거부한다
+ * (LoadSheddingInterceptor 는 포화도를 압력에 반영해 덜 중요한 인바운드 작업부터 버린다).
+ */
+@Service
+public class ChatMessagePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessagePipeline.class);
+
+    private static final int MAX_SEQUENCED_ROOMS = 10_000;
+
+    @Value("${app.chat.pipeline.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${app.chat.pipeline.batch-size:32}")
+    private int batchSize;
+
+    @Value("${app.chat.pipeline.validate-lanes:2}")
+    private int validateLanes;
+
+    @Value("${app.chat.pipeline.persist-lanes:2}")
+    private int persistLanes;
+
+    @Value("${app.chat.pipeline.fanout-lanes:2}")
+    private int fanoutLanes;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private TypingIndicatorService typingIndicatorService;
+
+    @Autowired
+    private HotRoomService hotRoomService;
+
+    @Autowired
+    private NotificationBroadcastService notificationBroadcastService;
+
+    @Autowired
+    private UnreadMessageTrackingService unreadMessageTrackingService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+    private final Timer endToEndTimer;
+
+    // 미팅 ID → 마지막으로 부여한 전송 시각 (동기화 커서가 sentAt 순서를 쓰므로 방 안에서 단조 증가)
+    // 순서 단계 스레드 하나만 접근하며, 방이 많아지면 가장 오래 조용했던 방부터 잊는다
+    private final Map<Long, LocalDateTime> lastSentAt = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, LocalDateTime> eldest) {
+            return size() > MAX_SEQUENCED_ROOMS;
+        }
+    };
+
+    private final List<Stage> stages = new ArrayList<>();
+    private Stage ingress;
+
+    private volatile boolean running;
+
+    public ChatMessagePipeline(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("chat.pipeline.rejected")
+                .description("Messages rejected because the pipeline ingress buffer was full")
+                .register(meterRegistry);
+        this.endToEndTimer = Timer.builder("chat.pipeline.latency")
+                .description("Time from submission until the message is broadcast to the room")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        Stage counters = new Stage("counters", 1, null, this::updateCounters);
+        Stage fanout = new Stage("fanout", fanoutLanes, counters, this::fanOut);
+        Stage persist = new Stage("persist", persistLanes, fanout, this::persist);
+        Stage sequence = new Stage("sequence", 1, persist, this::sequence);
+        ingress = new Stage("validate", validateLanes, sequence, this::validate);
+        stages.addAll(List.of(ingress, sequence, persist, fanout, counters));
+
+        running = true;
+        stages.forEach(Stage::start);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        stages.forEach(Stage::stop);
+    }
+
+    /**
+     * 메시지를 파이프라인에 넣는다 (인바운드 스레드에서 호출, 막히지 않음)
+     * @param content 메시지 내용
+     * @param context 세션 채팅 컨텍스트
+     * @param clientMessageId 클라이언트 메시지 ID
+     * @return 입구 버퍼가 가득 차서 거부되면 false
+     */
+    public boolean submit(String content, ChatSessionContextService.ChatSessionContext context, String clientMessageId) {
+        PipelineItem item = new PipelineItem(content, context, clientMessageId);
+        if (!ingress.offer(item)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 가장 많이 찬 단계의 버퍼 점유율 (0~1)
+     */
+    public double getSaturation() {
+        double saturation = 0;
+        for (Stage stage : stages) {
+            saturation = Math.max(saturation, stage.saturation());
+        }
+        return saturation;
+    }
+
+    /**
+     * 발신자에게 전송 실패 알림
+     * @param userId 발신자 ID
+     * @param clientMessageId 클라이언트 메시지 ID
+     * @param reason 실패 사유
+     */
+    public void notifyFailed(Long userId, String clientMessageId, String reason) {
+        try {
+            messagingTemplate.convertAndSend(
+                "/user/" + userId + "/queue/message-status",
+                new FailedMessageStatus(clientMessageId, reason)
+            );
+        } catch (Exception e) {
+            logger.error("Error notifying failed message to user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private List<PipelineItem> validate(List<PipelineItem> batch) {
+        List<PipelineItem> valid = new ArrayList<>(batch.size());
+        for (PipelineItem item : batch) {
+            try {
+                item.message = chatService.prepareMessage(item.content, item.context, item.clientMessageId);
+                valid.add(item);
+            } catch (IllegalArgumentException e) {
+                notifyFailed(item.context.getUserId(), item.clientMessageId, e.getMessage());
+            }
+        }
+        return valid;
+    }
+
+    private List<PipelineItem> sequence(List<PipelineItem> batch) {
+        for (PipelineItem item : batch) {
+            ChatMessage message = item.message;
+            LocalDateTime sentAt = lastSentAt.merge(message.getMeetupId(), message.getSentAt(),
+                    (previous, candidate) -> candidate.isAfter(previous) ? candidate : previous.plus(1, ChronoUnit.MICROS));
+            message.setSentAt(sentAt);
+        }
+        return batch;
+    }
+
+    private List<PipelineItem> persist(List<PipelineItem> batch) {
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        for (PipelineItem item : batch) {
+            messages.add(item.message);
+        }
+
+        try {
+            // 배치 전체를 한 트랜잭션으로 저장
+            List<ChatMessage> saved = chatService.saveMessages(messages);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).message = saved.get(i);
+            }
+            return batch;
+        } catch (Exception e) {
+            logger.warn("Batch persist of {} messages failed, retrying individually: {}", batch.size(), e.getMessage());
+        }
+
+        List<PipelineItem> persisted = new ArrayList<>(batch.size());
+        for (PipelineItem item : batch) {
+            try {
+                item.message = chatService.saveMessages(List.of(item.message)).get(0);
+                persisted.add(item);
+            } catch (Exception e) {
+                logger.error("Error persisting message {}: {}", item.clientMessageId, e.getMessage());
+                notifyFailed(item.context.getUserId(), item.clientMessageId, "Message could not be saved");
+            }
+        }
+        return persisted;
+    }
+
+    private List<PipelineItem> fanOut(List<PipelineItem> batch) {
+        for (PipelineItem item : batch) {
+            ChatMessage message = item.message;
+            Long meetupId = message.getMeetupId();
+            try {
+                messagingTemplate.convertAndSend("/topic/meetup/" + meetupId + "/messages", message);
+                endToEndTimer.record(System.nanoTime() - item.submittedAt, TimeUnit.NANOSECONDS);
+
+                // Stop typing indicator for sender
+                if (hotRoomService.isHot(meetupId)) {
+                    hotRoomService.recordTyping(meetupId, message.getSenderId(), false);
+                } else {
+                    typingIndicatorService.stopTyping(meetupId, message.getSenderId());
+                }
+
+                // Send notification to other participants
+                notificationBroadcastService.broadcastNewMessageNotification(message);
+            } catch (Exception e) {
+                logger.error("Error broadcasting message {}: {}", message.getId(), e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private List<PipelineItem> updateCounters(List<PipelineItem> batch) {
+        for (PipelineItem item : batch) {
+            unreadMessageTrackingService.handleNewMessage(item.message);
+        }
+        return batch;
+    }
+
+    /**
+     * 파이프라인 단계 (레인별 링 버퍼 + 전용 스레드)
+     */
+    private final class Stage {
+        private final String name;
+        private final List<ArrayBlockingQueue<PipelineItem>> lanes;
+        private final Thread[] workers;
+        private final Stage next;
+        private final Function<List<PipelineItem>, List<PipelineItem>> handler;
+        private final Counter processedCounter;
+        private final Timer batchTimer;
+
+        Stage(String name, int laneCount, Stage next, Function<List<PipelineItem>, List<PipelineItem>> handler) {
+            this.name = name;
+            this.next = next;
+            this.handler = handler;
+            int count = Math.max(laneCount, 1);
+            this.lanes = new ArrayList<>(count);
+            this.workers = new Thread[count];
+            for (int i = 0; i < count; i++) {
+                lanes.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+            this.processedCounter = Counter.builder("chat.pipeline.processed")
+                    .description("Messages processed by a chat pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            this.batchTimer = Timer.builder("chat.pipeline.batch")
+                    .description("Time a chat pipeline stage spends on one batch")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            Gauge.builder("chat.pipeline.queue.depth", this, Stage::depth)
+                    .description("Messages waiting in a chat pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        void start() {
+            for (int i = 0; i < lanes.size(); i++) {
+                ArrayBlockingQueue<PipelineItem> lane = lanes.get(i);
+                workers[i] = new Thread(() -> work(lane), "chat-pipeline-" + name + "-" + i);
+                workers[i].setDaemon(true);
+                workers[i].start();
+            }
+        }
+
+        void stop() {
+            for (Thread worker : workers) {
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+        }
+
+        boolean offer(PipelineItem item) {
+            return lane(item).offer(item);
+        }
+
+        void put(PipelineItem item) throws InterruptedException {
+            // 버퍼가 가득 차면 상류 단계 스레드가 기다린다 (백프레셔)
+            lane(item).put(item);
+        }
+
+        double depth() {
+            int depth = 0;
+            for (ArrayBlockingQueue<PipelineItem> lane : lanes) {
+                depth += lane.size();
+            }
+            return depth;
+        }
+
+        double saturation() {
+            return depth() / ((double) queueCapacity * lanes.size());
+        }
+
+        private ArrayBlockingQueue<PipelineItem> lane(PipelineItem item) {
+            return lanes.get(Math.floorMod(item.context.getMeetupId().hashCode(), lanes.size()));
+        }
+
+        private void work(ArrayBlockingQueue<PipelineItem> lane) {
+            List<PipelineItem> batch = new ArrayList<>(batchSize);
+            while (running) {
+                try {
+                    PipelineItem first = lane.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    lane.drainTo(batch, batchSize - 1);
+
+                    long start = System.nanoTime();
+                    List<PipelineItem> output;
+                    try {
+                        output = handler.apply(batch);
+                    } catch (Exception e) {
+                        logger.error("Chat pipeline stage {} failed on a batch of {}: {}", name, batch.size(), e.getMessage(), e);
+                        output = List.of();
+                    }
+                    batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    processedCounter.increment(batch.size());
+
+                    if (next != null) {
+                        for (PipelineItem item : output) {
+                            next.put(item);
+                        }
+                    }
+                    batch.clear();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 파이프라인을 따라 이동하는 메시지 (단계마다 채워짐)
+     */
+    private static class PipelineItem {
+        private final String content;
+        private final ChatSessionContextService.ChatSessionContext context;
+        private final String clientMessageId;
+        private final long submittedAt = System.nanoTime();
+        private ChatMessage message;
+
+        PipelineItem(String content, ChatSessionContextService.ChatSessionContext context, String clientMessageId) {
+            this.content = content;
+            this.context = context;
+            this.clientMessageId = clientMessageId;
+        }
+    }
+
+    /**
+     * 전송 실패 상태 알림
+     */
+    public static class FailedMessageStatus {
+        private Long messageId;
+        private MessageStatus status = MessageStatus.FAILED;
+        private String clientMessageId;
+        private String reason;
+
+        public FailedMessageStatus(String clientMessageId, String reason) {
+            this.clientMessageId = clientMessageId;
+            this.reason = reason;
+        }
+
+        public Long getMessageId() { return messageId; }
+        public void setMessageId(Long messageId) { this.messageId = messageId; }
+
+        public MessageStatus getStatus() { return status; }
+        public void setStatus(MessageStatus status) { this.status = status; }
+
+        public String getClientMessageId() { return clientMessageId; }
+        public void setClientMessageId(String clientMessageId) { this.clientMessageId = clientMessageId; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,288 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.ChatMessage;
+import com.hobbylink.repository.ChatMessageRepository;
+import com.hobbylink.search.SearchTokenizer;
+import com.hobbylink.search.SegmentedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미팅 채팅 기록 검색 서비스
+ *
+ * 방마다 추가 전용 세그먼트 색인(SegmentedIndex)을 두고, 처음 검색할 때 기록을 키셋 페이지로 읽어 만든다.
+ * 이후 새 메시지는 커밋 이후 EntityChangedEvent 로 색인 끝에 붙이고, 주기 작업이 버퍼 봉인과 세그먼트 병합을 한다.
+ * 늦게 도착한 메시지(앞선 전송 시각)는 버리지 않고 색인 끝에 붙인다.
+ * 순번은 색인을 다시 만들면 바뀌므로 다음 페이지 커서는 마지막 결과의 메시지 ID 로 주고받는다.
+ * 최근에 검색한 방만 메모리에 유지한다 (LRU).
+ */
+@Service
+public class ChatSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChatSearchService.class);
+    
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Value("${app.chat.search.max-rooms:500}")
+    private int maxRooms;
+    
+    @Value("${app.chat.search.flush-docs:256}")
+    private int flushDocs;
+    
+    @Value("${app.chat.search.merge-factor:4}")
+    private int mergeFactor;
+    
+    @Value("${app.chat.search.load-batch-size:1000}")
+    private int loadBatchSize;
+    
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    
+    private final SearchTokenizer tokenizer = new SearchTokenizer();
+    
+    private final Map<Long, RoomIndex> rooms = new ConcurrentHashMap<>();
+    
+    public ChatSearchService(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.search.rooms", rooms, Map::size)
+                .description("Meetup chat histories held in the in-memory search index")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 미팅 채팅 검색 (최신 메시지부터)
+     * @param meetupId 미팅 ID
+     * @param query 검색어
+     * @param before 이 메시지보다 앞선 메시지만 (이전 응답의 nextBefore, 처음이면 null)
+     * @param size 최대 결과 수
+     * @return 일치한 메시지와 순번
+     */
+    public ChatSearchResult search(Long meetupId, String query, Long before, int size) {
+        if (query == null || query.isBlank()) {
+            return new ChatSearchResult(List.of(), 0, null);
+        }
+        
+        RoomIndex room = room(meetupId);
+        int beforePosition = Integer.MAX_VALUE;
+        if (before != null) {
+            beforePosition = room.index.positionOf(before);
+            if (beforePosition < 0) {
+                // 커서 메시지가 삭제된 뒤 색인이 다시 만들어진 경우
+                return new ChatSearchResult(List.of(), 0, null);
+            }
+        }
+        SegmentedIndex.SegmentHits hits = room.index.search(query, beforePosition, size);
+        
+        List<Long> ids = new ArrayList<>(hits.getHits().size());
+        hits.getHits().forEach(hit -> ids.add(hit.getId()));
+        Map<Long, ChatMessage> messages = new HashMap<>();
+        chatMessageRepository.findAllById(ids).forEach(message -> messages.put(message.getId(), message));
+        
+        List<ChatSearchHit> results = new ArrayList<>(ids.size());
+        for (SegmentedIndex.SegmentHit hit : hits.getHits()) {
+            ChatMessage message = messages.get(hit.getId());
+            if (message != null) {
+                results.add(new ChatSearchHit(hit.getPosition(), message));
+            }
+        }
+        
+        List<SegmentedIndex.SegmentHit> page = hits.getHits();
+        Long nextBefore = hits.getTotal() > page.size() ? page.get(page.size() - 1).getId() : null;
+        return new ChatSearchResult(results, hits.getTotal(), nextBefore);
+    }
+    
+    /**
+     * 새 메시지 색인 / 삭제 반영 (커밋 이후, 색인이 올라와 있는 방만)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof ChatMessage message) || message.getId() == null) {
+            return;
+        }
+        RoomIndex room = rooms.get(message.getMeetupId());
+        if (room == null) {
+            return;
+        }
+        if (event.isDeleted()) {
+            room.delete(message.getId());
+        } else {
+            room.append(message);
+        }
+    }
+    
+    /**
+     * 버퍼 봉인 + 세그먼트 병합
+     */
+    @Scheduled(fixedDelayString = "${app.chat.search.merge-ms:30000}")
+    public void maintain() {
+        int merges = 0;
+        for (RoomIndex room : rooms.values()) {
+            if (room.loaded) {
+                room.index.flush();
+                merges += room.index.merge();
+            }
+        }
+        if (merges > 0) {
+            logger.debug("Chat search merged {} segment groups across {} rooms", merges, rooms.size());
+        }
+    }
+    
+    private RoomIndex room(Long meetupId) {
+        RoomIndex room = rooms.computeIfAbsent(meetupId, id -> new RoomIndex(new SegmentedIndex(tokenizer, flushDocs, mergeFactor)));
+        room.lastAccess = System.currentTimeMillis();
+        if (rooms.size() > maxRooms) {
+            evictLeastRecentlyUsed(meetupId);
+        }
+        if (!room.loaded) {
+            load(meetupId, room);
+        }
+        return room;
+    }
+    
+    private void evictLeastRecentlyUsed(Long keep) {
+        rooms.entrySet().stream()
+            .filter(entry -> !entry.getKey().equals(keep))
+            .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+            .ifPresent(entry -> rooms.remove(entry.getKey(), entry.getValue()));
+    }
+    
+    private void load(Long meetupId, RoomIndex room) {
+        synchronized (room.loadLock) {
+            if (room.loaded) {
+                return;
+            }
+            LocalDateTime sentAt = HISTORY_START;
+            long lastId = 0L;
+            PageRequest pageRequest = PageRequest.of(0, loadBatchSize);
+            List<ChatMessage> chunk;
+            do {
+                chunk = chatMessageRepository.findSyncChunk(meetupId, sentAt, lastId, pageRequest);
+                synchronized (room) {
+                    chunk.forEach(room::add);
+                }
+                if (!chunk.isEmpty()) {
+                    ChatMessage last = chunk.get(chunk.size() - 1);
+                    sentAt = last.getSentAt();
+                    lastId = last.getId();
+                }
+            } while (chunk.size() == loadBatchSize);
+            room.finishLoading();
+            logger.debug("Chat search index loaded for meetup {}: {} messages", meetupId, room.index.size());
+        }
+    }
+    
+    /**
+     * 방 하나의 색인과 추가 커서
+     */
+    private static final class RoomIndex {
+        private final SegmentedIndex index;
+        private final Object loadLock = new Object();
+        private volatile boolean loaded;
+        private volatile long lastAccess;
+        
+        // 로딩 중 도착한 변경 (this 로 보호)
+        private List<ChatMessage> pendingMessages = new ArrayList<>();
+        private Set<Long> pendingDeletes = new HashSet<>();
+        
+        // 전송 순서대로 색인한 마지막 메시지의 (전송 시각, ID)
+        private LocalDateTime lastSentAt;
+        private long lastId;
+        
+        RoomIndex(SegmentedIndex index) {
+            this.index = index;
+        }
+        
+        synchronized void append(ChatMessage message) {
+            if (!loaded) {
+                pendingMessages.add(message);
+            } else {
+                add(message);
+            }
+        }
+        
+        synchronized void delete(Long messageId) {
+            if (!loaded) {
+                pendingDeletes.add(messageId);
+            } else {
+                index.delete(messageId);
+            }
+        }
+        
+        synchronized void finishLoading() {
+            pendingMessages.sort(Comparator.comparing(ChatMessage::getSentAt).thenComparing(ChatMessage::getId));
+            pendingMessages.forEach(this::add);
+            pendingDeletes.forEach(index::delete);
+            pendingMessages = null;
+            pendingDeletes = null;
+            loaded = true;
+        }
+        
+        void add(ChatMessage message) {
+            if (lastSentAt == null || message.getSentAt().isAfter(lastSentAt)
+                    || (message.getSentAt().isEqual(lastSentAt) && message.getId() > lastId)) {
+                index.append(message.getId(), message.getContent());
+                lastSentAt = message.getSentAt();
+                lastId = message.getId();
+                return;
+            }
+            // 로딩과 이벤트가 겹쳐 같은 메시지가 두 번 오거나 상태 갱신으로 다시 오면 무시하고,
+            // 처음 보는 메시지는 전송 시각이 앞서더라도 끝에 붙인다
+            if (index.positionOf(message.getId()) < 0) {
+                index.append(message.getId(), message.getContent());
+            }
+        }
+    }
+    
+    /**
+     * 검색 결과 메시지 (방 안 순번 포함, 순번은 색인을 다시 만들면 바뀔 수 있음)
+     */
+    public static class ChatSearchHit {
+        private final int position;
+        private final ChatMessage message;
+        
+        public ChatSearchHit(int position, ChatMessage message) {
+            this.position = position;
+            this.message = message;
+        }
+        
+        public int getPosition() { return position; }
+        public ChatMessage getMessage() { return message; }
+    }
+    
+    /**
+     * 채팅 검색 결과 페이지
+     */
+    public static class ChatSearchResult {
+        private final List<ChatSearchHit> hits;
+        private final int total;
+        private final Long nextBefore;
+        
+        public ChatSearchResult(List<ChatSearchHit> hits, int total, Long nextBefore) {
+            this.hits = hits;
+            this.total = total;
+            this.nextBefore = nextBefore;
+        }
+        
+        public List<ChatSearchHit> getHits() { return hits; }
+        public int getTotal() { return total; }
+        public Long getNextBefore() { return nextBefore; }
+    }
+}
@@ -9,9 +9,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,7 +56,56 @@ public class ChatService {
         
         return chatMessageRepository.save(message);
     }
-    
+
+    /**
+     * 세션 컨텍스트 기반 메시지 전송 (미팅/사용자 조회 없이 한 번만 저장)
+     * @param content 메시지 내용
+     * @param context 세션 채팅 컨텍스트
+     * @param clientMessageId 클라이언트 메시지 ID (없으면 null)
+     * @return 저장된 메시지
+     */
+    public ChatMessage sendMessage(String content, ChatSessionContextService.ChatSessionContext context,
+                                   String clientMessageId) {
+        return chatMessageRepository.save(prepareMessage(content, context, clientMessageId));
+    }
+
+    /**
+     * 저장 전 메시지 생성 (검증, 정화, 포맷팅만 수행하고 DB 에 접근하지 않음)
+     * @param content 메시지 내용
+     * @param context 세션 채팅 컨텍스트
+     * @param clientMessageId 클라이언트 메시지 ID (없으면 null)
+     * @return 저장되지 않은 메시지
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ChatMessage prepareMessage(String content, ChatSessionContextService.ChatSessionContext context,
+                                      String clientMessageId) {
+        MessageFormattingService.ValidationResult validation = messageFormattingService.validateMessage(content);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException(validation.getMessage());
+        }
+
+        String sanitizedContent = messageFormattingService.sanitizeMessage(content);
+        String formattedContent = messageFormattingService.formatMessage(sanitizedContent);
+
+        ChatMessage message = new ChatMessage(sanitizedContent, context.getMeetupId(),
+                                              context.getUserId(), context.getUsername());
+        message.setFormattedContent(formattedContent);
+        if (clientMessageId != null && !clientMessageId.isEmpty()) {
+            message.setClientMessageId(clientMessageId);
+        }
+        message.markAsDelivered();
+        return message;
+    }
+
+    /**
+     * 준비된 메시지 일괄 저장 (한 트랜잭션)
+     * @param messages 저장할 메시지
+     * @return 저장된 메시지
+     */
+    public List<ChatMessage> saveMessages(List<ChatMessage> messages) {
+        return chatMessageRepository.saveAll(messages);
+    }
+
     /**
      * 메시지 업데이트
      * @param message 메시지
@@ -84,6 +136,29 @@ public class ChatService {
         return chatMessageRepository.findByMeetupIdOrderBySentAtDesc(meetupId, pageable);
     }
     
+    /**
+     * 메시지 주변 문맥 조회 (검색 결과에서 해당 위치로 이동할 때 사용)
+     * @param meetupId 미팅 ID
+     * @param messageId 기준 메시지 ID
+     * @param window 앞뒤로 가져올 메시지 수
+     * @return 기준 메시지를 포함한 시간순 메시지 목록 (다른 미팅의 메시지면 빈 목록)
+     */
+    public List<ChatMessage> getMessageContext(Long meetupId, Long messageId, int window) {
+        Optional<ChatMessage> anchor = chatMessageRepository.findById(messageId);
+        if (anchor.isEmpty() || !anchor.get().getMeetupId().equals(meetupId)) {
+            return List.of();
+        }
+        ChatMessage message = anchor.get();
+        Pageable pageable = PageRequest.of(0, window);
+        
+        List<ChatMessage> context = new ArrayList<>(chatMessageRepository.findChunkBefore(
+            meetupId, message.getSentAt(), message.getId(), pageable));
+        Collections.reverse(context);
+        context.add(message);
+        context.addAll(chatMessageRepository.findSyncChunk(meetupId, message.getSentAt(), message.getId(), pageable));
+        return context;
+    }
+    
     /**
      * 메시지 ID로 메시지 조회
      * @param messageId 메시지 ID
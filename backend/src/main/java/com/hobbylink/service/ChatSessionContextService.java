@@ -0,0 +1,237 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.model.MeetupParticipation;
+import com.hobbylink.model.User;
+import com.hobbylink.model.enums.MeetupStatus;
+import com.hobbylink.repository.MeetupParticipationRepository;
+import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 범위 채팅 컨텍스트 서비스
+ *
+ * 발신자와 미팅 정보는 세션 동안 바뀌지 않으므로 구독/입장 시점에 한 번 조회하고
+ * 권한을 확인한 뒤 세션 속성에 보관한다. 메시지 전송 경로는 조회 쿼리 없이
+ * 컨텍스트만 사용한다. 프로필/멤버십/미팅 변경 시 epoch 를 올려 무효화한다.
+ * 방 참가자 목록도 처음 필요할 때 한 번 조회해 두고 참가/미팅 변경 시 버린다.
+ */
+@Service
+public class ChatSessionContextService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatSessionContextService.class);
+
+    private static final String ATTRIBUTE_PREFIX = "chatContext.";
+
+    @Autowired
+    private MeetupRepository meetupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetupParticipationRepository participationRepository;
+
+    // resolve 의 트랜잭션은 프록시를 거쳐야 적용되므로 getContext 는 자기 자신의 프록시로 호출한다
+    @Autowired
+    @Lazy
+    private ChatSessionContextService self;
+
+    // 무효화 epoch (사용자 ID/미팅 ID → 마지막 변경 번호)
+    private final AtomicLong epochSequence = new AtomicLong();
+    private final Map<Long, Long> userEpochs = new ConcurrentHashMap<>();
+    private final Map<Long, Long> meetupEpochs = new ConcurrentHashMap<>();
+
+    // 미팅 ID → 참가자 ID 목록
+    private final Map<Long, List<Long>> roomMembers = new ConcurrentHashMap<>();
+
+    /**
+     * 세션의 채팅 컨텍스트 조회 (없거나 무효화되었으면 다시 생성)
+     * @param sessionAttributes 세션 속성
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @return 채팅 컨텍스트 (미팅 또는 사용자가 없으면 null)
+     */
+    public ChatSessionContext getContext(Map<String, Object> sessionAttributes, Long meetupId, Long userId) {
+        if (sessionAttributes != null) {
+            Object cached = sessionAttributes.get(ATTRIBUTE_PREFIX + meetupId);
+            if (cached instanceof ChatSessionContext context
+                    && context.getUserId().equals(userId)
+                    && isCurrent(context)) {
+                return context;
+            }
+        }
+        return self.resolve(sessionAttributes, meetupId, userId);
+    }
+
+    /**
+     * 채팅 컨텍스트 생성 및 세션 속성에 저장
+     * @param sessionAttributes 세션 속성
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @return 채팅 컨텍스트 (미팅 또는 사용자가 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public ChatSessionContext resolve(Map<String, Object> sessionAttributes, Long meetupId, Long userId) {
+        // epoch 를 먼저 읽어야 조회 도중 발생한 변경이 다음 요청에서 반영된다
+        long userEpoch = userEpochs.getOrDefault(userId, 0L);
+        long meetupEpoch = meetupEpochs.getOrDefault(meetupId, 0L);
+
+        Optional<Meetup> meetupOpt = meetupRepository.findById(meetupId);
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (meetupOpt.isEmpty() || userOpt.isEmpty()) {
+            return null;
+        }
+
+        Meetup meetup = meetupOpt.get();
+        User user = userOpt.get();
+
+        boolean creator = meetup.getCreator() != null && userId.equals(meetup.getCreator().getId());
+        boolean member = creator || participationRepository.existsByMeetupIdAndUserId(meetupId, userId);
+
+        ChatSessionContext context = new ChatSessionContext(
+            userId,
+            meetupId,
+            user.getUsername(),
+            user.getNickname() != null && !user.getNickname().isEmpty() ? user.getNickname() : user.getUsername(),
+            user.getProfileImageUrl() != null ? user.getProfileImageUrl() : user.getProfileImage(),
+            member,
+            meetup.getStatus() == MeetupStatus.ACTIVE,
+            userEpoch,
+            meetupEpoch
+        );
+
+        if (sessionAttributes != null) {
+            sessionAttributes.put(ATTRIBUTE_PREFIX + meetupId, context);
+        }
+
+        logger.debug("Resolved chat context for user {} in meetup {} (member={}, open={})",
+                    userId, meetupId, context.isMember(), context.isOpen());
+        return context;
+    }
+
+    /**
+     * 방 참가자 ID 목록 (캐시, 메시지마다 참가자를 다시 조회하지 않는다)
+     * @param meetupId 미팅 ID
+     * @return 참가자 ID 목록 (변경 불가)
+     */
+    public List<Long> getMemberIds(Long meetupId) {
+        // 조회 중에는 같은 키의 무효화가 기다리므로 커밋 전 목록이 무효화 뒤에 남지 않는다
+        return roomMembers.computeIfAbsent(meetupId,
+                id -> List.copyOf(participationRepository.findUserIdsByMeetupId(id)));
+    }
+
+    /**
+     * 세션에서 채팅 컨텍스트 제거
+     */
+    public void removeContext(Map<String, Object> sessionAttributes, Long meetupId) {
+        if (sessionAttributes != null) {
+            sessionAttributes.remove(ATTRIBUTE_PREFIX + meetupId);
+        }
+    }
+
+    /**
+     * 사용자 프로필/멤버십 변경 시 해당 사용자의 컨텍스트 무효화
+     */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            userEpochs.put(userId, epochSequence.incrementAndGet());
+        }
+    }
+
+    /**
+     * 미팅 변경(상태, 삭제) 시 해당 미팅의 컨텍스트 무효화
+     */
+    public void invalidateMeetup(Long meetupId) {
+        if (meetupId != null) {
+            meetupEpochs.put(meetupId, epochSequence.incrementAndGet());
+            roomMembers.remove(meetupId);
+        }
+    }
+
+    /**
+     * 엔티티 변경 이벤트 처리 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User user) {
+            invalidateUser(user.getId());
+        } else if (entity instanceof Meetup meetup) {
+            invalidateMeetup(meetup.getId());
+        } else if (entity instanceof MeetupParticipation participation) {
+            if (participation.getUser() != null) {
+                invalidateUser(participation.getUser().getId());
+            }
+            if (participation.getMeetup() != null) {
+                roomMembers.remove(participation.getMeetup().getId());
+            }
+        }
+    }
+
+    private boolean isCurrent(ChatSessionContext context) {
+        return userEpochs.getOrDefault(context.getUserId(), 0L) == context.getUserEpoch()
+                && meetupEpochs.getOrDefault(context.getMeetupId(), 0L) == context.getMeetupEpoch();
+    }
+
+    /**
+     * 세션 범위 채팅 컨텍스트 (불변)
+     */
+    public static class ChatSessionContext {
+        private final Long userId;
+        private final Long meetupId;
+        private final String username;
+        private final String displayName;
+        private final String avatarUrl;
+        private final boolean member;
+        private final boolean open;
+        private final long userEpoch;
+        private final long meetupEpoch;
+
+        public ChatSessionContext(Long userId, Long meetupId, String username, String displayName,
+                                  String avatarUrl, boolean member, boolean open,
+                                  long userEpoch, long meetupEpoch) {
+            this.userId = userId;
+            this.meetupId = meetupId;
+            this.username = username;
+            this.displayName = displayName;
+            this.avatarUrl = avatarUrl;
+            this.member = member;
+            this.open = open;
+            this.userEpoch = userEpoch;
+            this.meetupEpoch = meetupEpoch;
+        }
+
+        // Getters
+        public Long getUserId() { return userId; }
+        public Long getMeetupId() { return meetupId; }
+        public String getUsername() { return username; }
+        public String getDisplayName() { return displayName; }
+        public String getAvatarUrl() { return avatarUrl; }
+        public boolean isMember() { return member; }
+        public boolean isOpen() { return open; }
+        public long getUserEpoch() { return userEpoch; }
+        public long getMeetupEpoch() { return meetupEpoch; }
+
+        /**
+         * 메시지 전송 가능 여부
+         */
+        public boolean canSend() {
+            return member && open;
+        }
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,7 +22,6 @@ import java.util.stream.Collectors;
  * 사용자 연결 관리 서비스
  */
 @Service
-@Transactional
 public class ConnectionManagerService {
     
     @Autowired
@@ -28,15 +30,25 @@ public class ConnectionManagerService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PresenceService presenceService;
+    
     // 메모리 내 활성 세션 캐시
     private final Map<String, UserSession> activeSessions = new ConcurrentHashMap<>();
     
+    // 활동 시간 일괄 갱신 시 한 번에 넘기는 세션 ID 수
+    private static final int ACTIVITY_FLUSH_CHUNK = 500;
+    
+    // DB 에 아직 반영하지 않은 세션 활동 시간 (epoch ms)
+    private final Map<String, Long> recordedActivity = new ConcurrentHashMap<>();
+    
     /**
      * 사용자 세션 추가
      * @param sessionId 세션 ID
      * @param userId 사용자 ID
      * @param meetupId 미팅 ID
      */
+    @Transactional
     public void addUserSession(String sessionId, Long userId, Long meetupId) {
         // 기존 세션이 있다면 제거
         removeUserSession(sessionId);
@@ -44,15 +56,44 @@ public class ConnectionManagerService {
         UserSession session = new UserSession(sessionId, userId, meetupId);
         userSessionRepository.save(session);
         activeSessions.put(sessionId, session);
+        presenceService.sessionJoined(sessionId, userId, meetupId);
     }
     
     /**
      * 사용자 세션 제거
      * @param sessionId 세션 ID
      */
+    @Transactional
     public void removeUserSession(String sessionId) {
         activeSessions.remove(sessionId);
+        recordedActivity.remove(sessionId);
         userSessionRepository.deleteById(sessionId);
+        presenceService.sessionLeft(sessionId);
+    }
+    
+    /**
+     * 재개된 연결로 사용자 세션 이전 (온라인 상태와 접속 시간 유지)
+     * @param oldSessionId 이전 세션 ID
+     * @param newSessionId 새 세션 ID
+     */
+    @Transactional
+    public void transferUserSession(String oldSessionId, String newSessionId) {
+        UserSession oldSession = activeSessions.remove(oldSessionId);
+        if (oldSession == null) {
+            oldSession = userSessionRepository.findById(oldSessionId).orElse(null);
+        }
+        if (oldSession == null) {
+            return;
+        }
+        userSessionRepository.deleteById(oldSessionId);
+        
+        UserSession session = new UserSession(newSessionId, oldSession.getUserId(), oldSession.getMeetupId());
+        session.setStatus(oldSession.getStatus());
+        session.setConnectedAt(oldSession.getConnectedAt());
+        session.updateActivity();
+        userSessionRepository.save(session);
+        activeSessions.put(newSessionId, session);
+        presenceService.sessionTransferred(oldSessionId, newSessionId);
     }
     
     /**
@@ -60,6 +101,7 @@ public class ConnectionManagerService {
      * @param meetupId 미팅 ID
      * @return 온라인 사용자 목록
      */
+    @Transactional
     public List<User> getOnlineUsers(Long meetupId) {
         // 최근 5분 이내에 활동한 세션만 온라인으로 간주
         LocalDateTime fiveMinutesAgo = LocalDateTime.now().minusMinutes(5);
@@ -78,6 +120,7 @@ public class ConnectionManagerService {
      * 사용자 활동 시간 업데이트
      * @param sessionId 세션 ID
      */
+    @Transactional
     public void updateUserActivity(String sessionId) {
         UserSession session = activeSessions.get(sessionId);
         if (session != null) {
@@ -93,11 +136,69 @@ public class ConnectionManagerService {
         }
     }
     
+    /**
+     * 세션 활동 기록 (메모리에만 기록, flushRecordedActivity 에서 DB 반영)
+     * 전송 하트비트와 모든 STOMP 프레임마다 호출되므로 DB 에 접근하지 않고 트랜잭션도 열지 않는다.
+     * @param sessionId 세션 ID
+     */
+    public void recordActivity(String sessionId) {
+        if (sessionId != null && activeSessions.containsKey(sessionId)) {
+            recordedActivity.put(sessionId, System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * 기록된 세션 활동 시간을 일괄 저장
+     * 엔티티를 다시 저장하면 그 사이 removeUserSession 이 지운 세션이 되살아나므로 UPDATE 문으로만 반영한다.
+     * 묶음마다 가장 이른 기록 시간을 쓰므로 활동 시간은 최대 반영 주기만큼 이르게 저장될 수 있다.
+     * @return 갱신된 세션 수
+     */
+    @Transactional
+    public int flushRecordedActivity() {
+        if (recordedActivity.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> sessionIds = new ArrayList<>();
+        long earliest = Long.MAX_VALUE;
+        int updated = 0;
+        for (String sessionId : new ArrayList<>(recordedActivity.keySet())) {
+            Long timestamp = recordedActivity.remove(sessionId);
+            if (timestamp == null) {
+                continue;
+            }
+            sessionIds.add(sessionId);
+            earliest = Math.min(earliest, timestamp);
+            if (sessionIds.size() == ACTIVITY_FLUSH_CHUNK) {
+                updated += updateLastActivity(sessionIds, earliest);
+                sessionIds.clear();
+                earliest = Long.MAX_VALUE;
+            }
+        }
+        if (!sessionIds.isEmpty()) {
+            updated += updateLastActivity(sessionIds, earliest);
+        }
+        return updated;
+    }
+    
+    private int updateLastActivity(List<String> sessionIds, long timestamp) {
+        LocalDateTime lastActivity = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        // 캐시된 엔티티도 맞춰 두어야 이후 save 가 이전 시간으로 덮어쓰지 않는다
+        for (String sessionId : sessionIds) {
+            UserSession session = activeSessions.get(sessionId);
+            if (session != null) {
+                session.setLastActivity(lastActivity);
+            }
+        }
+        return userSessionRepository.updateLastActivity(sessionIds, lastActivity);
+    }
+    
     /**
      * 사용자 상태 변경
      * @param sessionId 세션 ID
      * @param status 새로운 상태
      */
+    @Transactional
     public void updateUserStatus(String sessionId, UserStatus status) {
         UserSession session = activeSessions.get(sessionId);
         if (session != null) {
@@ -112,6 +213,7 @@ public class ConnectionManagerService {
      * @param meetupId 미팅 ID
      * @return 온라인 사용자 응답
      */
+    @Transactional
     public OnlineUsersResponse getOnlineUsersResponse(Long meetupId) {
         List<User> onlineUsers = getOnlineUsers(meetupId);
         return new OnlineUsersResponse(meetupId, onlineUsers, onlineUsers.size());
@@ -120,6 +222,7 @@ public class ConnectionManagerService {
     /**
      * 비활성 세션 정리 (스케줄러에서 사용)
      */
+    @Transactional
     public void cleanupInactiveSessions() {
         LocalDateTime thirtyMinutesAgo = LocalDateTime.now().minusMinutes(30);
         
@@ -130,6 +233,7 @@ public class ConnectionManagerService {
         for (UserSession session : inactiveSessions) {
             activeSessions.remove(session.getSessionId());
             userSessionRepository.delete(session);
+            presenceService.sessionLeft(session.getSessionId());
         }
     }
     
@@ -137,12 +241,14 @@ public class ConnectionManagerService {
      * 특정 사용자의 모든 세션 제거
      * @param userId 사용자 ID
      */
+    @Transactional
     public void removeAllUserSessions(Long userId) {
         List<UserSession> userSessions = userSessionRepository.findByUserId(userId);
         
         for (UserSession session : userSessions) {
             activeSessions.remove(session.getSessionId());
             userSessionRepository.delete(session);
+            presenceService.sessionLeft(session.getSessionId());
         }
     }
     
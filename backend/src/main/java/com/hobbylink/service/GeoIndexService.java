@@ -0,0 +1,415 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.event.LocationChangedEvent;
+import com.hobbylink.model.HobbyGroup;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.model.User;
+import com.hobbylink.repository.HobbyGroupRepository;
+import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.repository.UserRepository;
+import com.hobbylink.search.GeoIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 주변 검색용 공간 색인 서비스
+ *
+ * 미팅, 취미 모임, 사용자 좌표를 종류별 격자 색인(GeoIndex)에 보관해 반경/k 최근접 질의에 답한다.
+ * 색인은 시작 시(그리고 매일) 키셋 페이지로 구축하고 EntityChangedEvent 로 갱신한다.
+ * 첫 구축이 끝나기 전에는 isReady() 가 false 이며 호출자는 기존 조회로 대체한다.
+ * 사용자 위치는 서버 내부 용도로만 쓰고, 거리를 바꿔 가며 위치를 역산할 수 없도록 describe 로 내보내지 않는다.
+ */
+@Service
+public class GeoIndexService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndexService.class);
+    
+    /**
+     * 공간 색인 대상 종류
+     */
+    public enum GeoType {
+        MEETUP, HOBBY_GROUP, USER
+    }
+    
+    @Value("${app.geo.cell-degrees:0.05}")
+    private double cellDegrees;
+    
+    @Value("${app.geo.max-results:500}")
+    private int maxResults;
+    
+    @Value("${app.geo.max-radius-km:100}")
+    private double maxRadiusKm;
+    
+    @Value("${app.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @Autowired
+    private MeetupRepository meetupRepository;
+    
+    @Autowired
+    private HobbyGroupRepository hobbyGroupRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private final Timer queryTimer;
+    
+    private volatile Map<GeoType, GeoIndex> indexes;
+    
+    // 재구축 중인 색인과 그 사이 이벤트로 반영된 ID (changeLock 으로 보호)
+    private Map<GeoType, GeoIndex> building;
+    private Map<GeoType, Set<Long>> changedDuringRebuild;
+    private final Object changeLock = new Object();
+    
+    public GeoIndexService(MeterRegistry meterRegistry) {
+        this.queryTimer = Timer.builder("geo.query.latency")
+                .description("Time spent on one in-memory proximity query")
+                .register(meterRegistry);
+        for (GeoType type : GeoType.values()) {
+            Gauge.builder("geo.index.locations", this, service -> service.size(type))
+                    .description("Locations held in the in-memory spatial index")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * 첫 구축 완료 여부
+     */
+    public boolean isReady() {
+        return indexes != null;
+    }
+    
+    /**
+     * 반경 검색이 허용하는 최대 반경 (km)
+     */
+    public double getMaxRadiusKm() {
+        return maxRadiusKm;
+    }
+    
+    /**
+     * 반경 안의 위치 (가까운 순)
+     * @param type 대상 종류
+     * @param latitude 중심 위도
+     * @param longitude 중심 경도
+     * @param radiusKm 반경 (km, max-radius-km 로 제한)
+     * @param category 카테고리 조건 (미팅만, 없으면 null)
+     * @param upcomingOnly 앞으로 열릴 미팅만
+     * @return 가까운 순 결과 (최대 max-results 개, 색인 전이면 빈 목록)
+     */
+    public List<GeoIndex.GeoHit> withinRadius(GeoType type, double latitude, double longitude, double radiusKm,
+                                               String category, boolean upcomingOnly) {
+        Map<GeoType, GeoIndex> current = indexes;
+        if (current == null) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<GeoIndex.GeoHit> hits = current.get(type).withinRadius(latitude, longitude,
+                Math.min(radiusKm, maxRadiusKm), filter(category, upcomingOnly), maxResults);
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return hits;
+    }
+    
+    /**
+     * 가장 가까운 k 개 위치
+     * @param type 대상 종류
+     * @param latitude 중심 위도
+     * @param longitude 중심 경도
+     * @param k 결과 수 (max-results 로 제한)
+     * @param category 카테고리 조건 (미팅만, 없으면 null)
+     * @param upcomingOnly 앞으로 열릴 미팅만
+     * @return 가까운 순 결과 (max-radius-km 이내, 색인 전이면 빈 목록)
+     */
+    public List<GeoIndex.GeoHit> nearest(GeoType type, double latitude, double longitude, int k,
+                                         String category, boolean upcomingOnly) {
+        Map<GeoType, GeoIndex> current = indexes;
+        if (current == null) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<GeoIndex.GeoHit> hits = current.get(type).nearest(latitude, longitude, Math.min(k, maxResults),
+                maxRadiusKm, filter(category, upcomingOnly));
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return hits;
+    }
+    
+    /**
+     * 위도/경도 사각형 안의 위치 순회 (색인 전이면 아무것도 넘기지 않음)
+     * @param type 대상 종류
+     * @param category 카테고리 조건 (미팅만, 없으면 null)
+     * @param upcomingOnly 앞으로 열릴 미팅만
+     * @param visitor 위치를 받을 콜백 (색인 읽기 잠금 안에서 호출됨)
+     */
+    public void forEachInBox(GeoType type, double minLat, double maxLat, double minLng, double maxLng,
+                             String category, boolean upcomingOnly, GeoIndex.LocationVisitor visitor) {
+        Map<GeoType, GeoIndex> current = indexes;
+        if (current != null) {
+            current.get(type).forEachInBox(minLat, maxLat, minLng, maxLng, filter(category, upcomingOnly), visitor);
+        }
+    }
+    
+    /**
+     * 결과 위치를 화면용 요약으로 변환
+     * @param type 대상 종류 (미팅, 취미 모임)
+     * @param hits 공간 질의 결과
+     * @return 결과 순서를 유지한 요약 목록
+     * @throws IllegalArgumentException 사용자 위치를 요청한 경우
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyItem> describe(GeoType type, List<GeoIndex.GeoHit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.getId()));
+        
+        Map<Long, NearbyItem> items = new HashMap<>();
+        switch (type) {
+            case MEETUP -> meetupRepository.findAllById(ids).forEach(meetup -> items.put(meetup.getId(),
+                    new NearbyItem(meetup.getId(), meetup.getTitle(), meetup.getCategory(),
+                            meetup.getLatitude(), meetup.getLongitude(), 0)));
+            case HOBBY_GROUP -> hobbyGroupRepository.findAllById(ids).forEach(group -> items.put(group.getId(),
+                    new NearbyItem(group.getId(), group.getName(), null,
+                            group.getLocationLat(), group.getLocationLng(), 0)));
+            case USER -> throw new IllegalArgumentException("User locations are not exposed");
+        }
+        
+        List<NearbyItem> results = new ArrayList<>(hits.size());
+        for (GeoIndex.GeoHit hit : hits) {
+            NearbyItem item = items.get(hit.getId());
+            if (item != null) {
+                results.add(new NearbyItem(item.getId(), item.getName(), item.getCategory(),
+                        item.getLatitude(), item.getLongitude(), hit.getDistanceKm()));
+            }
+        }
+        return results;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::rebuild, "geo-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * 전체 재구축
+     */
+    @Scheduled(cron = "${app.search.index.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        try {
+            synchronized (changeLock) {
+                building = new EnumMap<>(GeoType.class);
+                changedDuringRebuild = new EnumMap<>(GeoType.class);
+                for (GeoType type : GeoType.values()) {
+                    building.put(type, new GeoIndex(cellDegrees));
+                    changedDuringRebuild.put(type, new HashSet<>());
+                }
+            }
+            
+            int meetups = stream(GeoType.MEETUP, meetupRepository::findByIdGreaterThanOrderByIdAsc, Meetup::getId);
+            int groups = stream(GeoType.HOBBY_GROUP, hobbyGroupRepository::findByIdGreaterThanOrderByIdAsc, HobbyGroup::getId);
+            int users = stream(GeoType.USER, userRepository::findByIdGreaterThanOrderByIdAsc, User::getId);
+            
+            synchronized (changeLock) {
+                indexes = building;
+                building = null;
+                changedDuringRebuild = null;
+            }
+            logger.info("Geo index rebuilt: {} meetups, {} hobby groups, {} users scanned", meetups, groups, users);
+        } catch (Exception e) {
+            logger.error("Error rebuilding geo index: {}", e.getMessage(), e);
+            synchronized (changeLock) {
+                building = null;
+                changedDuringRebuild = null;
+            }
+        }
+    }
+    
+    /**
+     * 미팅/모임/사용자 좌표 변경 반영 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        GeoType type = typeOf(entity);
+        Long id = idOf(entity);
+        if (type == null || id == null) {
+            return;
+        }
+        double[] previous = null;
+        double[] updated = null;
+        synchronized (changeLock) {
+            Map<GeoType, GeoIndex> current = indexes;
+            if (current != null) {
+                previous = current.get(type).location(id);
+                write(current.get(type), id, event.isDeleted() ? null : entity);
+                updated = current.get(type).location(id);
+            }
+            if (building != null) {
+                write(building.get(type), id, event.isDeleted() ? null : entity);
+                changedDuringRebuild.get(type).add(id);
+            }
+        }
+        if (previous != null || updated != null) {
+            eventPublisher.publishEvent(new LocationChangedEvent(type.name(), id, previous, updated));
+        }
+    }
+    
+    private static GeoIndex.Filter filter(String category, boolean upcomingOnly) {
+        if (category == null && !upcomingOnly) {
+            return null;
+        }
+        return new GeoIndex.Filter(category, upcomingOnly ? System.currentTimeMillis() : Long.MIN_VALUE);
+    }
+    
+    private static void write(GeoIndex index, long id, Object entity) {
+        Double latitude = entity != null ? latitudeOf(entity) : null;
+        Double longitude = entity != null ? longitudeOf(entity) : null;
+        if (latitude == null || longitude == null) {
+            // 삭제됐거나 좌표가 지워진 경우
+            index.remove(id);
+            return;
+        }
+        String category = entity instanceof Meetup meetup ? meetup.getCategory() : null;
+        index.put(id, latitude, longitude, category, timeOf(entity));
+    }
+    
+    private <T> int stream(GeoType type, BiFunction<Long, PageRequest, List<T>> pageLoader, Function<T, Long> idOf) {
+        int count = 0;
+        long lastId = 0L;
+        PageRequest pageRequest = PageRequest.of(0, rebuildBatchSize);
+        List<T> page;
+        do {
+            page = pageLoader.apply(lastId, pageRequest);
+            synchronized (changeLock) {
+                GeoIndex index = building.get(type);
+                Set<Long> changed = changedDuringRebuild.get(type);
+                for (T entity : page) {
+                    Long id = idOf.apply(entity);
+                    if (!changed.contains(id)) {
+                        write(index, id, entity);
+                    }
+                }
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                lastId = idOf.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == rebuildBatchSize);
+        return count;
+    }
+    
+    private int size(GeoType type) {
+        Map<GeoType, GeoIndex> current = indexes;
+        return current != null ? current.get(type).size() : 0;
+    }
+    
+    private static GeoType typeOf(Object entity) {
+        if (entity instanceof Meetup) {
+            return GeoType.MEETUP;
+        } else if (entity instanceof HobbyGroup) {
+            return GeoType.HOBBY_GROUP;
+        } else if (entity instanceof User) {
+            return GeoType.USER;
+        }
+        return null;
+    }
+    
+    private static Long idOf(Object entity) {
+        if (entity instanceof Meetup meetup) {
+            return meetup.getId();
+        } else if (entity instanceof HobbyGroup group) {
+            return group.getId();
+        } else if (entity instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+    
+    private static Double latitudeOf(Object entity) {
+        if (entity instanceof Meetup meetup) {
+            return meetup.getLatitude();
+        } else if (entity instanceof HobbyGroup group) {
+            return group.getLocationLat();
+        } else if (entity instanceof User user) {
+            return user.getLatitude();
+        }
+        return null;
+    }
+    
+    private static Double longitudeOf(Object entity) {
+        if (entity instanceof Meetup meetup) {
+            return meetup.getLongitude();
+        } else if (entity instanceof HobbyGroup group) {
+            return group.getLocationLng();
+        } else if (entity instanceof User user) {
+            return user.getLongitude();
+        }
+        return null;
+    }
+    
+    private static long timeOf(Object entity) {
+        // 미팅 일시 (다른 종류나 일시가 없으면 항상 통과)
+        if (entity instanceof Meetup meetup && meetup.getMeetupDateTime() != null) {
+            LocalDateTime dateTime = meetup.getMeetupDateTime();
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    /**
+     * 주변 검색 결과 요약
+     */
+    public static class NearbyItem {
+        private final Long id;
+        private final String name;
+        private final String category;
+        private final Double latitude;
+        private final Double longitude;
+        private final double distanceKm;
+        
+        public NearbyItem(Long id, String name, String category, Double latitude, Double longitude, double distanceKm) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+        
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getCategory() { return category; }
+        public Double getLatitude() { return latitude; }
+        public Double getLongitude() { return longitude; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
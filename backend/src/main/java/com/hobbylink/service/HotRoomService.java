@@ -0,0 +1,212 @@
+package com.hobbylink.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대규모 미팅(hot room) 모드 관리 서비스
+ *
+ * 접속자 수가 진입 임계값을 넘은 방은 확장성 위주의 축소 프로필로 전환한다.
+ * - 타이핑: 사용자 목록 대신 주기적으로 샘플링한 인원 수만 방송
+ * - 접속자: ID 델타 대신 인원 수만 방송
+ * - 읽지 않은 수: 메시지마다 보내지 않고 모아서 전송
+ * - 새 메시지: 방 토픽 방송만 하고 참가자별 개인 큐 알림은 생략
+ * 해제 임계값을 진입 임계값보다 낮게 두어 경계에서 모드가 반복 전환되지 않게 한다.
+ */
+@Service
+public class HotRoomService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotRoomService.class);
+
+    @Value("${app.chat.hot-room.enter-size:200}")
+    private int enterSize;
+
+    @Value("${app.chat.hot-room.exit-size:150}")
+    private int exitSize;
+
+    // 타이핑 신호 유효 시간 (클라이언트가 계속 입력하면 갱신)
+    @Value("${app.chat.hot-room.typing-ttl-ms:5000}")
+    private long typingTtlMs;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Set<Long> hotRooms = ConcurrentHashMap.newKeySet();
+
+    // 미팅 ID → (사용자 ID → 타이핑 만료 시각)
+    private final Map<Long, Map<Long, Long>> typingSamples = new ConcurrentHashMap<>();
+
+    // 미팅 ID → 마지막으로 방송한 타이핑 인원 수
+    private final Map<Long, Integer> lastTypingCounts = new ConcurrentHashMap<>();
+
+    public HotRoomService(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.hot-rooms", hotRooms, Set::size)
+                .description("Meetup rooms running in the hot-room (degraded) profile")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 축소 프로필로 동작 중인 방인지 확인
+     * @param meetupId 미팅 ID
+     * @return hot room 여부
+     */
+    public boolean isHot(Long meetupId) {
+        return meetupId != null && hotRooms.contains(meetupId);
+    }
+
+    /**
+     * hot room 의 타이핑 신호 기록 (DB 저장 없이 메모리에만 기록)
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @param typing 입력 중 여부
+     */
+    public void recordTyping(Long meetupId, Long userId, boolean typing) {
+        // 빈 방 정리(broadcastTypingSamples)와 겹쳐도 기록이 버려진 맵에 들어가지 않도록 키 단위로 원자적으로 갱신한다
+        typingSamples.compute(meetupId, (id, typers) -> {
+            if (typers == null) {
+                if (!typing) {
+                    return null;
+                }
+                typers = new ConcurrentHashMap<>();
+            }
+            if (typing) {
+                typers.put(userId, System.currentTimeMillis() + typingTtlMs);
+            } else {
+                typers.remove(userId);
+            }
+            return typers;
+        });
+    }
+
+    /**
+     * 접속자 수를 기준으로 방 모드 전환 (5초마다)
+     */
+    @Scheduled(fixedRate = 5000)
+    public void evaluateRooms() {
+        try {
+            Map<Long, Integer> onlineCounts = presenceService.getOnlineCounts();
+
+            for (Map.Entry<Long, Integer> entry : onlineCounts.entrySet()) {
+                if (entry.getValue() >= enterSize && hotRooms.add(entry.getKey())) {
+                    switchMode(entry.getKey(), true, entry.getValue());
+                }
+            }
+
+            for (Long meetupId : hotRooms) {
+                int count = onlineCounts.getOrDefault(meetupId, 0);
+                if (count <= exitSize && hotRooms.remove(meetupId)) {
+                    switchMode(meetupId, false, count);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error evaluating hot rooms: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * hot room 의 타이핑 인원 수 샘플 방송 (2초마다, 값이 바뀐 경우만)
+     */
+    @Scheduled(fixedRate = 2000)
+    public void broadcastTypingSamples() {
+        if (typingSamples.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Map<Long, Long>> entry : typingSamples.entrySet()) {
+            Long meetupId = entry.getKey();
+            Map<Long, Long> typers = entry.getValue();
+            typers.values().removeIf(expiresAt -> expiresAt <= now);
+
+            int count = typers.size();
+            Integer previous = lastTypingCounts.put(meetupId, count);
+            if (count == 0) {
+                lastTypingCounts.remove(meetupId);
+                // 그 사이 recordTyping 이 추가했으면 남겨 두고 다음 주기에 방송한다
+                typingSamples.computeIfPresent(meetupId, (id, current) -> current.isEmpty() ? null : current);
+            }
+            if (previous != null ? previous == count : count == 0) {
+                continue;
+            }
+
+            try {
+                messagingTemplate.convertAndSend(
+                    "/topic/meetup/" + meetupId + "/typing",
+                    new TypingIndicatorService.TypingIndicatorResponse(meetupId, List.of(), typingMessage(count))
+                );
+            } catch (Exception e) {
+                logger.error("Error broadcasting typing sample for meetup {}: {}", meetupId, e.getMessage());
+            }
+        }
+    }
+
+    private void switchMode(Long meetupId, boolean hot, int onlineCount) {
+        logger.info("Meetup {} {} hot-room mode ({} online)", meetupId, hot ? "entered" : "left", onlineCount);
+        presenceService.setCountOnly(meetupId, hot);
+        if (!hot) {
+            typingSamples.remove(meetupId);
+            lastTypingCounts.remove(meetupId);
+        }
+
+        try {
+            // 클라이언트가 목록 표시를 인원 수 표시로 바꾸거나 되돌릴 수 있도록 알림
+            messagingTemplate.convertAndSend(
+                "/topic/meetup/" + meetupId + "/room-mode",
+                new RoomModeNotification(meetupId, hot, onlineCount)
+            );
+        } catch (Exception e) {
+            logger.error("Error broadcasting room mode for meetup {}: {}", meetupId, e.getMessage());
+        }
+    }
+
+    private static String typingMessage(int count) {
+        if (count == 0) {
+            return "";
+        }
+        return count == 1 ? "누군가 입력 중..." : "여러 명이 입력 중...";
+    }
+
+    /**
+     * 방 모드 변경 알림
+     */
+    public static class RoomModeNotification {
+        private Long meetupId;
+        private boolean hot;
+        private int onlineCount;
+        private long timestamp;
+
+        public RoomModeNotification(Long meetupId, boolean hot, int onlineCount) {
+            this.meetupId = meetupId;
+            this.hot = hot;
+            this.onlineCount = onlineCount;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public Long getMeetupId() { return meetupId; }
+        public void setMeetupId(Long meetupId) { this.meetupId = meetupId; }
+
+        public boolean isHot() { return hot; }
+        public void setHot(boolean hot) { this.hot = hot; }
+
+        public int getOnlineCount() { return onlineCount; }
+        public void setOnlineCount(int onlineCount) { this.onlineCount = onlineCount; }
+
+        public long getTimestamp() { return timestamp; }
+        public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+    }
+}
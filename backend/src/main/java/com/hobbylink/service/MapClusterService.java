@@ -0,0 +1,367 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.LocationChangedEvent;
+import com.hobbylink.search.GeoIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 지도 마커 클러스터 서비스
+ *
+ * 화면 영역을 웹 메르카토르 타일(z/x/y)로 나누고, 타일마다 grid-size × grid-size 칸으로 미팅을 모아
+ * 칸별 개수, 무게중심, 가장 많은 카테고리를 만든다. 미팅은 캐시 무효화와 같은 tileX/tileY 계산으로 정확히 한 타일에만
+ * 속하므로 타일별 결과를 이어 붙이면 된다.
+ * 타일 결과는 (z, x, y, 카테고리) 로 LRU 캐시에 두고, 미팅 위치가 바뀌면 옛/새 위치를 덮는 타일만 지운다.
+ * 집계하는 동안 위치가 바뀌면 세대 번호가 달라지므로 그 결과는 캐시에 넣지 않는다.
+ * 일시가 지나 빠지는 미팅처럼 위치 변경 없이 바뀌는 결과는 TTL 로 정리된다.
+ */
+@Service
+public class MapClusterService {
+    
+    // 메르카토르 투영이 표현하는 위도 한계
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+    
+    // 타일 경계 계산의 부동소수점 오차를 덮는 조회 상자 여유
+    private static final double EDGE_PAD_DEGREES = 1e-9;
+    
+    @Value("${app.geo.cluster.grid-size:8}")
+    private int gridSize;
+    
+    @Value("${app.geo.cluster.max-zoom:18}")
+    private int maxZoom;
+    
+    @Value("${app.geo.cluster.max-tiles:100}")
+    private int maxTiles;
+    
+    @Value("${app.geo.cluster.cache-max-tiles:5000}")
+    private int cacheMaxTiles;
+    
+    @Value("${app.geo.cluster.ttl-ms:60000}")
+    private long ttlMs;
+    
+    @Autowired
+    private GeoIndexService geoIndexService;
+    
+    // 접근 순서 LinkedHashMap (this 로 보호)
+    private final LinkedHashMap<TileKey, TileEntry> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    
+    // 위치 변경으로 타일을 지울 때마다 증가 (this 로 보호)
+    private long generation;
+    
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    
+    public MapClusterService(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("map.cluster.tiles")
+                .description("Cluster tiles served from or missed by the tile cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("map.cluster.tiles")
+                .description("Cluster tiles served from or missed by the tile cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("map.cluster.cache.size", this, MapClusterService::size)
+                .description("Cached cluster tiles")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 화면 영역의 예정된 미팅 클러스터
+     * @param north 북쪽 위도
+     * @param south 남쪽 위도
+     * @param east 동쪽 경도 (날짜 변경선을 넘는 화면이면 west 보다 작음)
+     * @param west 서쪽 경도
+     * @param zoom 지도 확대 단계 (max-zoom 으로 제한)
+     * @param category 카테고리 조건 (없으면 null)
+     * @return 영역을 덮는 타일들의 클러스터 (타일이 화면 밖으로 걸친 부분 포함)
+     * @throws IllegalArgumentException 영역이 max-tiles 개보다 많은 타일을 덮는 경우
+     */
+    public MapClusters clusters(double north, double south, double east, double west, int zoom, String category) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        int n = 1 << z;
+        int minY = tileY(Math.max(north, south), n);
+        int maxY = tileY(Math.min(north, south), n);
+        int minX = tileX(west, n);
+        int maxX = tileX(east, n);
+        // 날짜 변경선을 넘으면 동쪽 끝 타일 번호가 서쪽보다 작다
+        int columns = maxX >= minX ? maxX - minX + 1 : n - minX + maxX + 1;
+        columns = Math.min(columns, n);
+        if ((long) columns * (maxY - minY + 1) > maxTiles) {
+            throw new IllegalArgumentException("Viewport covers too many tiles at zoom " + z);
+        }
+        
+        List<MapCluster> clusters = new ArrayList<>();
+        int total = 0;
+        for (int column = 0; column < columns; column++) {
+            int x = (minX + column) % n;
+            for (int y = minY; y <= maxY; y++) {
+                List<MapCluster> tile = tile(new TileKey(z, x, y, category));
+                for (MapCluster cluster : tile) {
+                    total += cluster.getCount();
+                }
+                clusters.addAll(tile);
+            }
+        }
+        return new MapClusters(z, total, clusters);
+    }
+    
+    /**
+     * 미팅 위치 변경 시 옛/새 위치를 덮는 모든 확대 단계의 타일 제거
+     */
+    @EventListener
+    public void handleLocationChanged(LocationChangedEvent event) {
+        if (!GeoIndexService.GeoType.MEETUP.name().equals(event.getType())) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        for (double[] location : new double[][] { event.getPrevious(), event.getCurrent() }) {
+            if (location == null) {
+                continue;
+            }
+            for (int z = 0; z <= maxZoom; z++) {
+                int n = 1 << z;
+                affected.add(tileId(z, tileX(location[1], n), tileY(location[0], n)));
+            }
+        }
+        synchronized (this) {
+            generation++;
+            tiles.keySet().removeIf(key -> affected.contains(tileId(key.zoom, key.x, key.y)));
+        }
+    }
+    
+    private List<MapCluster> tile(TileKey key) {
+        long startGeneration;
+        synchronized (this) {
+            TileEntry entry = tiles.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hitCounter.increment();
+                return entry.clusters;
+            }
+            startGeneration = generation;
+        }
+        missCounter.increment();
+        List<MapCluster> clusters = aggregate(key);
+        synchronized (this) {
+            if (generation != startGeneration) {
+                // 집계 중에 지워진 타일을 옛 결과로 다시 채우지 않는다
+                return clusters;
+            }
+            tiles.put(key, new TileEntry(clusters, System.currentTimeMillis() + ttlMs));
+            if (tiles.size() > cacheMaxTiles) {
+                tiles.remove(tiles.keySet().iterator().next());
+            }
+        }
+        return clusters;
+    }
+    
+    private List<MapCluster> aggregate(TileKey key) {
+        int n = 1 << key.zoom;
+        double west = tileLng(key.x, n);
+        double east = tileLng(key.x + 1, n);
+        double north = key.y == 0 ? 90 : tileLat(key.y, n);
+        double south = key.y == n - 1 ? -90 : tileLat(key.y + 1, n);
+        
+        // 칸마다 개수, 좌표 합, 카테고리별 개수, 혼자일 때의 ID
+        int cells = gridSize * gridSize;
+        int[] counts = new int[cells];
+        double[] latSums = new double[cells];
+        double[] lngSums = new double[cells];
+        long[] singleIds = new long[cells];
+        List<Map<String, Integer>> categoryCounts = new ArrayList<>(cells);
+        for (int i = 0; i < cells; i++) {
+            categoryCounts.add(null);
+        }
+        
+        GeoIndex.LocationVisitor visitor = (id, lat, lng, category) -> {
+            // 경계 위의 미팅은 tileX/tileY 가 정한 한 타일에서만 센다 (위도 90, 경도 180 포함)
+            if (tileX(lng, n) != key.x || tileY(lat, n) != key.y) {
+                return;
+            }
+            // 타일 안에서의 메르카토르 좌표로 칸을 정한다 (경도 180 은 -180 으로 감아서)
+            double offset = ((lng - west) % 360 + 360) % 360;
+            int column = clampCell((int) (offset / (east - west) * gridSize));
+            int row = clampCell((int) ((mercatorY(lat) * n - key.y) * gridSize));
+            int cell = row * gridSize + column;
+            counts[cell]++;
+            latSums[cell] += lat;
+            lngSums[cell] += west + offset;
+            singleIds[cell] = id;
+            if (category != null) {
+                Map<String, Integer> byCategory = categoryCounts.get(cell);
+                if (byCategory == null) {
+                    byCategory = new HashMap<>();
+                    categoryCounts.set(cell, byCategory);
+                }
+                byCategory.merge(category, 1, Integer::sum);
+            }
+        };
+        geoIndexService.forEachInBox(GeoIndexService.GeoType.MEETUP, south - EDGE_PAD_DEGREES, north + EDGE_PAD_DEGREES,
+                west - EDGE_PAD_DEGREES, east + EDGE_PAD_DEGREES, key.category, true, visitor);
+        if (key.x == 0 && n > 1) {
+            // 경도 180 은 -180 과 같은 첫 열 타일에 속한다
+            geoIndexService.forEachInBox(GeoIndexService.GeoType.MEETUP, south - EDGE_PAD_DEGREES,
+                    north + EDGE_PAD_DEGREES, 180, 180 + EDGE_PAD_DEGREES, key.category, true, visitor);
+        }
+        
+        List<MapCluster> clusters = new ArrayList<>();
+        for (int cell = 0; cell < cells; cell++) {
+            if (counts[cell] == 0) {
+                continue;
+            }
+            clusters.add(new MapCluster(latSums[cell] / counts[cell], lngSums[cell] / counts[cell], counts[cell],
+                    dominant(categoryCounts.get(cell)), counts[cell] == 1 ? singleIds[cell] : null));
+        }
+        return clusters;
+    }
+    
+    private int clampCell(int index) {
+        return Math.max(0, Math.min(gridSize - 1, index));
+    }
+    
+    private static String dominant(Map<String, Integer> byCategory) {
+        if (byCategory == null) {
+            return null;
+        }
+        String best = null;
+        int bestCount = 0;
+        for (Map.Entry<String, Integer> entry : byCategory.entrySet()) {
+            // 개수가 같으면 이름순으로 골라 응답이 매번 같게 한다
+            if (entry.getValue() > bestCount || (entry.getValue() == bestCount && entry.getKey().compareTo(best) < 0)) {
+                best = entry.getKey();
+                bestCount = entry.getValue();
+            }
+        }
+        return best;
+    }
+    
+    private synchronized int size() {
+        return tiles.size();
+    }
+    
+    private static long tileId(int zoom, int x, int y) {
+        return ((long) zoom << 56) | ((long) x << 28) | y;
+    }
+    
+    private static int tileX(double lng, int n) {
+        double wrapped = ((lng + 180) % 360 + 360) % 360;
+        return Math.min(n - 1, (int) (wrapped / 360 * n));
+    }
+    
+    private static int tileY(double lat, int n) {
+        return Math.max(0, Math.min(n - 1, (int) (mercatorY(lat) * n)));
+    }
+    
+    /**
+     * 위도 → 0(북)~1(남) 메르카토르 좌표
+     */
+    private static double mercatorY(double lat) {
+        double radians = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat)));
+        return (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+    }
+    
+    private static double tileLng(int x, int n) {
+        return (double) x / n * 360 - 180;
+    }
+    
+    private static double tileLat(int y, int n) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / n))));
+    }
+    
+    /**
+     * 타일 캐시 키
+     */
+    private static final class TileKey {
+        private final int zoom;
+        private final int x;
+        private final int y;
+        private final String category;
+        
+        TileKey(int zoom, int x, int y, String category) {
+            this.zoom = zoom;
+            this.x = x;
+            this.y = y;
+            this.category = category;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey other = (TileKey) o;
+            return zoom == other.zoom && x == other.x && y == other.y && Objects.equals(category, other.category);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(zoom, x, y, category);
+        }
+    }
+    
+    private static final class TileEntry {
+        private final List<MapCluster> clusters;
+        private final long expiresAt;
+        
+        TileEntry(List<MapCluster> clusters, long expiresAt) {
+            this.clusters = clusters;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * 지도 클러스터 (미팅이 하나뿐이면 meetupId 포함)
+     */
+    public static class MapCluster {
+        private final double latitude;
+        private final double longitude;
+        private final int count;
+        private final String category;
+        private final Long meetupId;
+        
+        public MapCluster(double latitude, double longitude, int count, String category, Long meetupId) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.category = category;
+            this.meetupId = meetupId;
+        }
+        
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public int getCount() { return count; }
+        public String getCategory() { return category; }
+        public Long getMeetupId() { return meetupId; }
+    }
+    
+    /**
+     * 화면 영역의 클러스터 목록
+     */
+    public static class MapClusters {
+        private final int zoom;
+        private final int total;
+        private final List<MapCluster> clusters;
+        
+        public MapClusters(int zoom, int total, List<MapCluster> clusters) {
+            this.zoom = zoom;
+            this.total = total;
+            this.clusters = clusters;
+        }
+        
+        public int getZoom() { return zoom; }
+        public int getTotal() { return total; }
+        public List<MapCluster> getClusters() { return clusters; }
+    }
+}
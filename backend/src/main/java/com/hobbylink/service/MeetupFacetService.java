@@ -0,0 +1,310 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.search.FacetIndex;
+import com.hobbylink.search.Hangul;
+import com.hobbylink.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 미팅 패싯 필터 서비스
+ *
+ * 카테고리, 지역(시/구 단위로 정규화), 미팅 유형, 상태, 태그별 비트맵을 유지한다.
+ * 어떤 필터 조합이든 비트맵 교집합으로 답하고, 응답마다 패싯별 개수를 함께 돌려준다.
+ * 검색어가 있으면 BM25 색인의 일치 집합과 교차한 뒤 같은 점수로 정렬한다.
+ * 검색어가 있는데 BM25 색인이 아직 없으면 isReady(query) 가 false 이며 호출자는 기존 조회로 대체한다.
+ * 색인은 시작 시(그리고 매일) 키셋 페이지로 구축하고 EntityChangedEvent 로 갱신한다.
+ */
+@Service
+public class MeetupFacetService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MeetupFacetService.class);
+    
+    public static final String CATEGORY = "category";
+    public static final String LOCATION = "location";
+    public static final String TYPE = "type";
+    public static final String STATUS = "status";
+    public static final String TAG = "tag";
+    
+    @Value("${app.search.facets.max-values:20}")
+    private int maxValuesPerFacet;
+    
+    @Value("${app.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @Autowired
+    private MeetupRepository meetupRepository;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    private volatile FacetIndex index;
+    
+    // 재구축 중 이벤트로 반영된 ID (changeLock 으로 보호)
+    private FacetIndex building;
+    private Set<Long> changedDuringRebuild;
+    private final Object changeLock = new Object();
+    
+    /**
+     * 첫 구축 완료 여부
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+    
+    /**
+     * 이 검색어로 검색할 수 있는지 (검색어가 있으면 BM25 색인도 준비되어야 함)
+     */
+    public boolean isReady(String query) {
+        return isReady() && (query == null || query.isBlank() || searchIndexService.isReady());
+    }
+    
+    /**
+     * 검색어 + 패싯 필터로 미팅 검색
+     * @param query 검색어 (없으면 필터만 적용)
+     * @param filters 그룹 → 값 목록 (지역은 부분 문자열로 지정 가능)
+     * @param offset 건너뛸 결과 수
+     * @param limit 최대 결과 수
+     * @return 페이지 ID, 전체 일치 수, 패싯 개수
+     */
+    public FacetPage search(String query, Map<String, List<String>> filters, int offset, int limit) {
+        FacetIndex current = index;
+        if (current == null) {
+            return new FacetPage(List.of(), 0, Map.of());
+        }
+        
+        Map<String, List<String>> resolved = new HashMap<>();
+        filters.forEach((group, values) -> {
+            if (values != null && !values.isEmpty()) {
+                resolved.put(group, LOCATION.equals(group) ? resolveLocations(current, values) : normalizeAll(values));
+            }
+        });
+        
+        boolean hasQuery = query != null && !query.isBlank();
+        // 검색어 점수는 한 번만 계산해 일치 집합과 순위에 함께 쓴다
+        Map<Long, Double> scores = hasQuery ? searchIndexService.scoreAll(SearchIndexService.IndexType.MEETUP, query) : null;
+        FacetIndex.FacetResult facets = current.query(resolved, hasQuery ? scores.keySet() : null, maxValuesPerFacet);
+        
+        List<Long> page;
+        if (hasQuery) {
+            Set<Long> allowed = new HashSet<>(facets.getIds());
+            page = InvertedIndex.rank(scores, offset, limit, allowed::contains).getIds();
+        } else {
+            List<Long> ids = facets.getIds();
+            int from = Math.min(offset, ids.size());
+            page = new ArrayList<>(ids.subList(from, Math.min(from + limit, ids.size())));
+        }
+        return new FacetPage(page, facets.getIds().size(), facets.getCounts());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::rebuild, "meetup-facet-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * 전체 재구축
+     */
+    @Scheduled(cron = "${app.search.index.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        try {
+            synchronized (changeLock) {
+                building = new FacetIndex();
+                changedDuringRebuild = new HashSet<>();
+            }
+            
+            int count = 0;
+            long lastId = 0L;
+            PageRequest pageRequest = PageRequest.of(0, rebuildBatchSize);
+            List<Meetup> meetups;
+            do {
+                meetups = meetupRepository.findByIdGreaterThanOrderByIdAsc(lastId, pageRequest);
+                synchronized (changeLock) {
+                    for (Meetup meetup : meetups) {
+                        if (!changedDuringRebuild.contains(meetup.getId())) {
+                            building.put(meetup.getId(), facetValues(meetup));
+                        }
+                    }
+                }
+                count += meetups.size();
+                if (!meetups.isEmpty()) {
+                    lastId = meetups.get(meetups.size() - 1).getId();
+                }
+            } while (meetups.size() == rebuildBatchSize);
+            
+            synchronized (changeLock) {
+                index = building;
+                building = null;
+                changedDuringRebuild = null;
+            }
+            logger.info("Meetup facet index rebuilt: {} meetups", count);
+        } catch (Exception e) {
+            logger.error("Error rebuilding meetup facet index: {}", e.getMessage(), e);
+            synchronized (changeLock) {
+                building = null;
+                changedDuringRebuild = null;
+            }
+        }
+    }
+    
+    /**
+     * 미팅 변경 반영 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof Meetup meetup) || meetup.getId() == null) {
+            return;
+        }
+        synchronized (changeLock) {
+            FacetIndex current = index;
+            if (current != null) {
+                apply(current, meetup, event.isDeleted());
+            }
+            if (building != null) {
+                apply(building, meetup, event.isDeleted());
+                changedDuringRebuild.add(meetup.getId());
+            }
+        }
+    }
+    
+    private void apply(FacetIndex target, Meetup meetup, boolean deleted) {
+        if (deleted) {
+            target.remove(meetup.getId());
+        } else {
+            target.put(meetup.getId(), facetValues(meetup));
+        }
+    }
+    
+    private static Map<String, List<String>> facetValues(Meetup meetup) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (meetup.getCategory() != null && !meetup.getCategory().isBlank()) {
+            values.put(CATEGORY, List.of(normalize(meetup.getCategory())));
+        }
+        List<String> locations = locationValues(meetup.getLocation());
+        if (!locations.isEmpty()) {
+            values.put(LOCATION, locations);
+        }
+        if (meetup.getType() != null) {
+            values.put(TYPE, List.of(normalize(meetup.getType().name())));
+        }
+        if (meetup.getStatus() != null) {
+            values.put(STATUS, List.of(normalize(meetup.getStatus().name())));
+        }
+        List<String> tags = new ArrayList<>();
+        if (meetup.getTags() != null) {
+            for (String tag : meetup.getTags().split("[,#]")) {
+                String normalized = normalize(tag);
+                if (!normalized.isEmpty() && !tags.contains(normalized)) {
+                    tags.add(normalized);
+                }
+            }
+        }
+        if (!tags.isEmpty()) {
+            values.put(TAG, tags);
+        }
+        return values;
+    }
+    
+    /**
+     * 주소를 시/구 단위 값으로 정규화 (예: "서울특별시 강남구 역삼동 1", "서울시 강남구" → [서울, 서울 강남구])
+     * 행정구역 형태가 아니면 전체 문자열 하나를 값으로 쓴다. 지역 필터도 같은 방식으로 정규화한다.
+     */
+    static List<String> locationValues(String location) {
+        String normalized = normalize(location);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] parts = normalized.split("[\\s,]+");
+        String city = parts[0].replaceFirst("(특별자치시|특별자치도|특별시|광역시|시|도)$", "");
+        if (city.isEmpty() || !Hangul.isSyllable(city.charAt(0))) {
+            return List.of(normalized);
+        }
+        
+        List<String> values = new ArrayList<>();
+        values.add(city);
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].matches(".+[시군구]$")) {
+                values.add(city + " " + parts[i]);
+                break;
+            }
+        }
+        return values;
+    }
+    
+    private static List<String> resolveLocations(FacetIndex current, List<String> filters) {
+        // 지역 필터는 기존처럼 부분 일치 (예: "강남" → "서울 강남구")
+        // 저장된 값과 같은 방식으로 정규화해 가장 구체적인 값으로 찾는다 (예: "서울특별시" → "서울")
+        List<String> matched = new ArrayList<>();
+        List<String> known = current.values(LOCATION);
+        for (String filter : filters) {
+            List<String> normalized = locationValues(filter);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            String needle = normalized.get(normalized.size() - 1);
+            for (String value : known) {
+                if (value.contains(needle) && !matched.contains(value)) {
+                    matched.add(value);
+                }
+            }
+        }
+        // 일치하는 값이 없으면 아무것도 고르지 않도록 존재하지 않는 값을 넣는다
+        return matched.isEmpty() ? List.of("\0") : matched;
+    }
+    
+    private static List<String> normalizeAll(List<String> values) {
+        List<String> normalized = new ArrayList<>(values.size());
+        for (String value : values) {
+            normalized.add(normalize(value));
+        }
+        return normalized;
+    }
+    
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Hangul.normalize(value.strip().replaceAll("\\s+", " ")).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 패싯 검색 결과 페이지
+     */
+    public static class FacetPage {
+        private final List<Long> ids;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facets;
+        
+        public FacetPage(List<Long> ids, int total, Map<String, Map<String, Integer>> facets) {
+            this.ids = ids;
+            this.total = total;
+            this.facets = facets;
+        }
+        
+        public List<Long> getIds() { return ids; }
+        public int getTotal() { return total; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    }
+}
@@ -3,10 +3,14 @@ package com.hobbylink.service;
 import com.hobbylink.model.Meetup;
 import com.hobbylink.model.User;
 import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.search.GeoIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,6 +22,9 @@ public class MeetupService {
     @Autowired
     private RecommendationService recommendationService;
     
+    @Autowired
+    private GeoIndexService geoIndexService;
+    
     public List<Meetup> getAllMeetups() {
         return meetupRepository.findAll();
     }
@@ -46,8 +53,30 @@ public class MeetupService {
         return meetupRepository.findByTitleContainingIgnoreCase(title);
     }
     
+    /**
+     * 반경 안의 예정된 미팅 (공간 색인이 준비됐으면 가까운 순, 아니면 기존 쿼리)
+     */
     public List<Meetup> getNearbyMeetups(Double latitude, Double longitude, Double radius, String category) {
-        return meetupRepository.findNearbyMeetups(LocalDateTime.now(), latitude, longitude, radius, category);
+        if (latitude == null || longitude == null || radius == null
+                || !geoIndexService.isReady() || radius > geoIndexService.getMaxRadiusKm()) {
+            return meetupRepository.findNearbyMeetups(LocalDateTime.now(), latitude, longitude, radius, category);
+        }
+        
+        List<GeoIndex.GeoHit> hits = geoIndexService.withinRadius(GeoIndexService.GeoType.MEETUP,
+                latitude, longitude, radius, category, true);
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.getId()));
+        Map<Long, Meetup> meetups = new HashMap<>();
+        meetupRepository.findAllById(ids).forEach(meetup -> meetups.put(meetup.getId(), meetup));
+        
+        List<Meetup> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Meetup meetup = meetups.get(id);
+            if (meetup != null) {
+                results.add(meetup);
+            }
+        }
+        return results;
     }
     
     public List<Meetup> getRecommendedMeetups(User user) {
@@ -1,20 +1,28 @@
 package com.hobbylink.service;
 
+import com.hobbylink.config.UserSessionRegistry;
 import com.hobbylink.model.ChatMessage;
 import com.hobbylink.model.MessageStatus;
 import com.hobbylink.repository.ChatMessageRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -35,50 +43,139 @@ public class MessageSyncService {
     @Autowired
     private MessageStatusService messageStatusService;
     
+    // 메시지 한 건의 JSON 고정 부분 추정치 (필드명, ID, 시간 등)
+    private static final int MESSAGE_OVERHEAD_BYTES = 400;
+    
+    @Value("${app.websocket.sync.chunk-size:50}")
+    private int syncChunkSize;
+    
+    @Value("${app.websocket.sync.chunk-max-bytes:32768}")
+    private int syncChunkMaxBytes;
+    
+    // 청크를 만드는 중인 사용자/미팅 (동시에 한 청크만 메모리에 둔다)
+    private final Set<String> inFlightChunks = ConcurrentHashMap.newKeySet();
+    
     /**
-     * 재연결 시 놓친 메시지 동기화
+     * 재연결 시 놓친 메시지 동기화 (첫 청크 전송, 나머지는 클라이언트가 sync-next 로 요청)
      * @param meetupId 미팅 ID
      * @param userId 사용자 ID
+     * @param sessionId 청크를 받을 세션 ID
+     * @param requestId 클라이언트가 붙인 동기화 요청 ID (응답에 그대로 실어 보냄)
      * @param lastSyncTime 마지막 동기화 시간
+     * @return 첫 청크로 동기화된 메시지 수
+     */
+    public int syncMissedMessages(Long meetupId, Long userId, String sessionId, String requestId,
+                                  LocalDateTime lastSyncTime) {
+        logger.info("Starting message sync for user {} in meetup {} since {}", 
+                   userId, meetupId, lastSyncTime);
+        return sendSyncChunk(meetupId, userId, sessionId, requestId, new SyncCursor(meetupId, lastSyncTime, 0L),
+                           lastSyncTime);
+    }
+    
+    /**
+     * 다음 동기화 청크 전송 (클라이언트가 이전 청크를 처리한 뒤 요청)
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @param sessionId 청크를 받을 세션 ID
+     * @param requestId 클라이언트가 붙인 동기화 요청 ID
+     * @param cursor 이전 청크의 nextCursor
      * @return 동기화된 메시지 수
      */
-    public int syncMissedMessages(Long meetupId, Long userId, LocalDateTime lastSyncTime) {
+    public int syncNextChunk(Long meetupId, Long userId, String sessionId, String requestId, String cursor) {
+        SyncCursor syncCursor = SyncCursor.decode(cursor);
+        if (!syncCursor.getMeetupId().equals(meetupId)) {
+            throw new IllegalArgumentException("Sync cursor does not belong to meetup " + meetupId);
+        }
+        return sendSyncChunk(meetupId, userId, sessionId, requestId, syncCursor, syncCursor.getSentAt());
+    }
+    
+    /**
+     * 클라이언트가 마지막으로 본 메시지 이후부터 동기화
+     * 메시지를 찾을 수 없거나 다른 미팅의 메시지이면 fallbackSince 이후로 동기화한다.
+     * @param meetupId 미팅 ID
+     * @param userId 사용자 ID
+     * @param sessionId 청크를 받을 세션 ID
+     * @param requestId 클라이언트가 붙인 동기화 요청 ID
+     * @param lastSeenMessageId 클라이언트가 마지막으로 본 메시지 ID
+     * @param fallbackSince 기준 메시지가 없을 때 사용할 시작 시간
+     * @return 첫 청크로 동기화된 메시지 수
+     */
+    public int syncAfterMessage(Long meetupId, Long userId, String sessionId, String requestId,
+                                Long lastSeenMessageId, LocalDateTime fallbackSince) {
+        Optional<ChatMessage> lastSeen = chatMessageRepository.findById(lastSeenMessageId)
+                .filter(message -> meetupId.equals(message.getMeetupId()) && message.getSentAt() != null);
+        if (lastSeen.isEmpty()) {
+            return syncMissedMessages(meetupId, userId, sessionId, requestId, fallbackSince);
+        }
+        
+        ChatMessage anchor = lastSeen.get();
+        logger.info("Starting message sync for user {} in meetup {} after message {}",
+                   userId, meetupId, lastSeenMessageId);
+        return sendSyncChunk(meetupId, userId, sessionId, requestId,
+                           new SyncCursor(meetupId, anchor.getSentAt(), anchor.getId()), anchor.getSentAt());
+    }
+    
+    /**
+     * 커서 이후의 메시지를 한 청크(개수/바이트 제한)만큼 조회해 전송
+     * 서버는 청크를 만들어 보내는 동안만 메시지를 보관하고 이후 상태는 커서로만 전달한다.
+     * 응답은 요청한 세션에만 보내 같은 사용자의 다른 탭이 남의 청크를 받지 않게 한다.
+     */
+    private int sendSyncChunk(Long meetupId, Long userId, String sessionId, String requestId,
+                              SyncCursor cursor, LocalDateTime syncStartTime) {
+        String inFlightKey = userId + ":" + meetupId;
+        if (!inFlightChunks.add(inFlightKey)) {
+            // 같은 사용자/미팅의 청크를 이미 만드는 중이면 같은 커서로 다시 요청하도록 알림
+            logger.debug("Sync chunk already in flight for user {} in meetup {}", userId, meetupId);
+            messagingTemplate.convertAndSendToUser(
+                userId.toString(),
+                "/queue/message-sync",
+                SyncResponse.busy(meetupId, cursor.encode(), syncStartTime).withRequestId(requestId),
+                UserSessionRegistry.sessionHeaders(sessionId)
+            );
+            return 0;
+        }
+        
         try {
-            logger.info("Starting message sync for user {} in meetup {} since {}", 
-                       userId, meetupId, lastSyncTime);
+            // 다음 청크 존재 여부 확인을 위해 한 건 더 조회
+            List<ChatMessage> fetched = chatMessageRepository.findSyncChunk(
+                    meetupId, cursor.getSentAt(), cursor.getMessageId(), PageRequest.of(0, syncChunkSize + 1));
             
-            // 마지막 동기화 시간 이후의 메시지 조회
-            List<ChatMessage> missedMessages = chatMessageRepository
-                    .findByMeetupIdAndSentAtAfterOrderBySentAtAsc(meetupId, lastSyncTime);
+            List<ChatMessage> chunk = limitChunk(fetched);
+            boolean hasMore = chunk.size() < fetched.size();
             
-            if (missedMessages.isEmpty()) {
+            if (chunk.isEmpty()) {
                 logger.debug("No missed messages found for user {} in meetup {}", userId, meetupId);
                 return 0;
             }
             
+            ChatMessage last = chunk.get(chunk.size() - 1);
+            String nextCursor = hasMore ? new SyncCursor(meetupId, last.getSentAt(), last.getId()).encode() : null;
+            
             // 중복 메시지 제거 (클라이언트 메시지 ID 기준)
-            List<ChatMessage> uniqueMessages = removeDuplicateMessages(missedMessages);
+            List<ChatMessage> uniqueMessages = removeDuplicateMessages(chunk);
             
-            // 사용자에게 놓친 메시지 전송
             SyncResponse syncResponse = new SyncResponse(
                 meetupId,
                 uniqueMessages,
-                lastSyncTime,
-                LocalDateTime.now(),
-                uniqueMessages.size()
-            );
+                syncStartTime,
+                last.getSentAt(),
+                uniqueMessages.size(),
+                nextCursor,
+                hasMore
+            ).withRequestId(requestId);
             
             messagingTemplate.convertAndSendToUser(
                 userId.toString(),
                 "/queue/message-sync",
-                syncResponse
+                syncResponse,
+                UserSessionRegistry.sessionHeaders(sessionId)
             );
             
             // 읽지 않은 메시지를 읽음으로 표시 (자신이 보낸 메시지 제외)
             markMissedMessagesAsRead(uniqueMessages, userId);
             
-            logger.info("Synced {} missed messages for user {} in meetup {}", 
-                       uniqueMessages.size(), userId, meetupId);
+            logger.info("Synced {} missed messages for user {} in meetup {} (more: {})", 
+                       uniqueMessages.size(), userId, meetupId, hasMore);
             
             return uniqueMessages.size();
             
@@ -86,9 +183,39 @@ public class MessageSyncService {
             logger.error("Error syncing missed messages for user {} in meetup {}: {}", 
                         userId, meetupId, e.getMessage(), e);
             return 0;
+        } finally {
+            inFlightChunks.remove(inFlightKey);
         }
     }
     
+    /**
+     * 청크를 바이트 예산 안으로 자른다 (최소 한 건은 포함)
+     * 조회한 목록이 청크 크기보다 길면 마지막 한 건은 다음 청크 확인용이므로 제외한다.
+     */
+    private List<ChatMessage> limitChunk(List<ChatMessage> fetched) {
+        int limit = Math.min(fetched.size(), syncChunkSize);
+        int estimatedBytes = 0;
+        for (int i = 0; i < limit; i++) {
+            estimatedBytes += estimateSize(fetched.get(i));
+            if (i > 0 && estimatedBytes > syncChunkMaxBytes) {
+                return fetched.subList(0, i);
+            }
+        }
+        return fetched.subList(0, limit);
+    }
+    
+    private static int estimateSize(ChatMessage message) {
+        // UTF-8 한글 3바이트 + 필드명/메타데이터 여유분
+        int size = MESSAGE_OVERHEAD_BYTES;
+        if (message.getContent() != null) {
+            size += message.getContent().length() * 3;
+        }
+        if (message.getFormattedContent() != null) {
+            size += message.getFormattedContent().length() * 3;
+        }
+        return size;
+    }
+    
     /**
      * 특정 시간 범위의 메시지 동기화
      * @param meetupId 미팅 ID
@@ -264,14 +391,43 @@ public class MessageSyncService {
         private LocalDateTime syncStartTime;
         private LocalDateTime syncEndTime;
         private int messageCount;
+        private String nextCursor;
+        private boolean hasMore;
+        private boolean busy;
+        private String requestId;
         
         public SyncResponse(Long meetupId, List<ChatMessage> messages, 
                            LocalDateTime syncStartTime, LocalDateTime syncEndTime, int messageCount) {
+            this(meetupId, messages, syncStartTime, syncEndTime, messageCount, null, false);
+        }
+        
+        public SyncResponse(Long meetupId, List<ChatMessage> messages, 
+                           LocalDateTime syncStartTime, LocalDateTime syncEndTime, int messageCount,
+                           String nextCursor, boolean hasMore) {
             this.meetupId = meetupId;
             this.messages = messages;
             this.syncStartTime = syncStartTime;
             this.syncEndTime = syncEndTime;
             this.messageCount = messageCount;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+        
+        /**
+         * 이미 청크를 만드는 중이라 처리하지 못한 요청의 응답 (nextCursor 로 잠시 후 다시 요청)
+         */
+        public static SyncResponse busy(Long meetupId, String cursor, LocalDateTime syncStartTime) {
+            SyncResponse response = new SyncResponse(meetupId, List.of(), syncStartTime, syncStartTime, 0, cursor, true);
+            response.busy = true;
+            return response;
+        }
+        
+        /**
+         * 클라이언트가 붙인 요청 ID 를 응답에 실음 (이전 동기화의 늦은 응답을 구분하는 용도)
+         */
+        public SyncResponse withRequestId(String requestId) {
+            this.requestId = requestId;
+            return this;
         }
         
         // Getters and Setters
@@ -289,6 +445,61 @@ public class MessageSyncService {
         
         public int getMessageCount() { return messageCount; }
         public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
+        
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+        
+        public boolean isHasMore() { return hasMore; }
+        public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+        
+        public boolean isBusy() { return busy; }
+        public void setBusy(boolean busy) { this.busy = busy; }
+        
+        public String getRequestId() { return requestId; }
+        public void setRequestId(String requestId) { this.requestId = requestId; }
+    }
+    
+    /**
+     * 동기화 커서 (미팅 ID, 마지막 전송 시간, 마지막 메시지 ID)
+     * 클라이언트에는 불투명한 Base64 URL 문자열로 전달한다.
+     */
+    public static class SyncCursor {
+        private final Long meetupId;
+        private final LocalDateTime sentAt;
+        private final Long messageId;
+        
+        public SyncCursor(Long meetupId, LocalDateTime sentAt, Long messageId) {
+            this.meetupId = meetupId;
+            this.sentAt = sentAt;
+            this.messageId = messageId;
+        }
+        
+        public String encode() {
+            String raw = meetupId + ":" + sentAt.toEpochSecond(ZoneOffset.UTC) + ":" + sentAt.getNano() + ":" + messageId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        public static SyncCursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                throw new IllegalArgumentException("Sync cursor is required");
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Malformed sync cursor");
+                }
+                LocalDateTime sentAt = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(parts[1]), Integer.parseInt(parts[2]), ZoneOffset.UTC);
+                return new SyncCursor(Long.valueOf(parts[0]), sentAt, Long.valueOf(parts[3]));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new IllegalArgumentException("Malformed sync cursor", e);
+            }
+        }
+        
+        public Long getMeetupId() { return meetupId; }
+        public LocalDateTime getSentAt() { return sentAt; }
+        public Long getMessageId() { return messageId; }
     }
     
     /**
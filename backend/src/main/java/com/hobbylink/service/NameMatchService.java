@@ -0,0 +1,268 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Studio;
+import com.hobbylink.model.User;
+import com.hobbylink.repository.StudioRepository;
+import com.hobbylink.repository.UserRepository;
+import com.hobbylink.search.TrigramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 오타를 허용하는 사용자/스튜디오 이름 검색 서비스
+ *
+ * 이름 부분 문자열 검색의 후보 생성과, 그 검색이 아무것도 찾지 못했을 때 쓰는 대체 경로를 맡는다.
+ * 사용자는 아이디, 닉네임, 이름(이름 성 / 성이름)을, 스튜디오는 이름을 트라이그램 색인에 보관한다.
+ * 색인은 시작 시(그리고 매일) 키셋 페이지로 구축하고 EntityChangedEvent 로 갱신한다.
+ */
+@Service
+public class NameMatchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NameMatchService.class);
+    
+    @Value("${app.search.fuzzy.min-similarity:0.3}")
+    private double minSimilarity;
+    
+    @Value("${app.search.fuzzy.short-length:6}")
+    private int shortLength;
+    
+    @Value("${app.search.fuzzy.max-postings-per-gram:50000}")
+    private int maxPostingsPerGram;
+    
+    @Value("${app.search.fuzzy.max-candidates:20000}")
+    private int maxCandidates;
+    
+    @Value("${app.search.fuzzy.max-results:50}")
+    private int maxResults;
+    
+    @Value("${app.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudioRepository studioRepository;
+    
+    private final Timer lookupTimer;
+    private final Timer containingTimer;
+    
+    private volatile Map<SearchIndexService.IndexType, TrigramIndex> indexes;
+    
+    // 재구축 중인 색인과 그 사이 이벤트로 반영된 ID (changeLock 으로 보호)
+    private Map<SearchIndexService.IndexType, TrigramIndex> building;
+    private Map<SearchIndexService.IndexType, Set<Long>> changedDuringRebuild;
+    private final Object changeLock = new Object();
+    
+    public NameMatchService(MeterRegistry meterRegistry) {
+        this.lookupTimer = Timer.builder("search.fuzzy.latency")
+                .description("Time spent on one typo-tolerant name lookup")
+                .register(meterRegistry);
+        this.containingTimer = Timer.builder("search.name.containing.latency")
+                .description("Time spent on one name substring lookup")
+                .register(meterRegistry);
+        for (SearchIndexService.IndexType type : List.of(SearchIndexService.IndexType.USER, SearchIndexService.IndexType.STUDIO)) {
+            Gauge.builder("search.fuzzy.documents", this, service -> service.size(type))
+                    .description("Documents in the typo-tolerant name index")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * 첫 구축 완료 여부
+     */
+    public boolean isReady() {
+        return indexes != null;
+    }
+    
+    /**
+     * 이름이 비슷한 사용자/스튜디오 ID (유사도 내림차순)
+     * @param type USER 또는 STUDIO
+     * @param query 검색어
+     * @return 최대 max-results 개의 ID (색인 전이거나 대상이 아니면 빈 목록)
+     */
+    public List<Long> match(SearchIndexService.IndexType type, String query) {
+        Map<SearchIndexService.IndexType, TrigramIndex> current = indexes;
+        if (current == null || !current.containsKey(type) || query == null || query.isBlank()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<Long> ids = new ArrayList<>();
+        for (TrigramIndex.Match match : current.get(type).search(query, minSimilarity, maxResults)) {
+            ids.add(match.getId());
+        }
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return ids;
+    }
+    
+    /**
+     * 이름에 검색어가 들어 있는 사용자/스튜디오 ID (DB 의 %LIKE% 전체 스캔 대신)
+     * @param type USER 또는 STUDIO
+     * @param query 검색어
+     * @return ID 오름차순 목록, 색인 전이거나 검색어가 너무 짧으면 null (호출 측이 DB 로 찾음)
+     */
+    public List<Long> containing(SearchIndexService.IndexType type, String query) {
+        Map<SearchIndexService.IndexType, TrigramIndex> current = indexes;
+        if (current == null || !current.containsKey(type) || query == null || query.isBlank()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        List<Long> ids = current.get(type).containing(query);
+        containingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return ids;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::rebuild, "name-match-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * 전체 재구축 (갱신으로 쌓인 표시만 된 항목도 정리)
+     */
+    @Scheduled(cron = "${app.search.index.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        try {
+            synchronized (changeLock) {
+                building = new EnumMap<>(SearchIndexService.IndexType.class);
+                changedDuringRebuild = new EnumMap<>(SearchIndexService.IndexType.class);
+                for (SearchIndexService.IndexType type : List.of(SearchIndexService.IndexType.USER, SearchIndexService.IndexType.STUDIO)) {
+                    building.put(type, new TrigramIndex(shortLength, maxPostingsPerGram, maxCandidates));
+                    changedDuringRebuild.put(type, new HashSet<>());
+                }
+            }
+            
+            int users = stream(SearchIndexService.IndexType.USER, userRepository::findByIdGreaterThanOrderByIdAsc, User::getId, NameMatchService::names);
+            int studios = stream(SearchIndexService.IndexType.STUDIO, studioRepository::findByIdGreaterThanOrderByIdAsc, Studio::getId, NameMatchService::names);
+            
+            synchronized (changeLock) {
+                indexes = building;
+                building = null;
+                changedDuringRebuild = null;
+            }
+            logger.info("Name match index rebuilt: {} users, {} studios", users, studios);
+        } catch (Exception e) {
+            logger.error("Error rebuilding name match index: {}", e.getMessage(), e);
+            synchronized (changeLock) {
+                building = null;
+                changedDuringRebuild = null;
+            }
+        }
+    }
+    
+    /**
+     * 사용자/스튜디오 변경 반영 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        SearchIndexService.IndexType type;
+        Long id;
+        String[] names;
+        if (entity instanceof User user) {
+            type = SearchIndexService.IndexType.USER;
+            id = user.getId();
+            names = names(user);
+        } else if (entity instanceof Studio studio) {
+            type = SearchIndexService.IndexType.STUDIO;
+            id = studio.getId();
+            names = names(studio);
+        } else {
+            return;
+        }
+        if (id == null) {
+            return;
+        }
+        
+        synchronized (changeLock) {
+            Map<SearchIndexService.IndexType, TrigramIndex> current = indexes;
+            if (current != null) {
+                write(current.get(type), id, event.isDeleted() ? null : names);
+            }
+            if (building != null) {
+                write(building.get(type), id, event.isDeleted() ? null : names);
+                changedDuringRebuild.get(type).add(id);
+            }
+        }
+    }
+    
+    private static void write(TrigramIndex index, long id, String[] names) {
+        if (names == null) {
+            index.remove(id);
+        } else {
+            index.put(id, names);
+        }
+    }
+    
+    private <T> int stream(SearchIndexService.IndexType type, BiFunction<Long, PageRequest, List<T>> pageLoader,
+                           Function<T, Long> idOf, Function<T, String[]> namesOf) {
+        int count = 0;
+        long lastId = 0L;
+        PageRequest pageRequest = PageRequest.of(0, rebuildBatchSize);
+        List<T> page;
+        do {
+            page = pageLoader.apply(lastId, pageRequest);
+            synchronized (changeLock) {
+                TrigramIndex index = building.get(type);
+                Set<Long> changed = changedDuringRebuild.get(type);
+                for (T entity : page) {
+                    Long id = idOf.apply(entity);
+                    if (!changed.contains(id)) {
+                        index.put(id, namesOf.apply(entity));
+                    }
+                }
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                lastId = idOf.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == rebuildBatchSize);
+        return count;
+    }
+    
+    private int size(SearchIndexService.IndexType type) {
+        Map<SearchIndexService.IndexType, TrigramIndex> current = indexes;
+        return current != null ? current.get(type).size() : 0;
+    }
+    
+    private static String[] names(User user) {
+        String firstName = user.getFirstName() != null ? user.getFirstName() : "";
+        String lastName = user.getLastName() != null ? user.getLastName() : "";
+        // 서양식(이름 성)과 한국식(성이름) 표기를 모두 색인
+        return new String[] {
+            user.getUsername(),
+            user.getNickname(),
+            (firstName + " " + lastName).strip(),
+            lastName + firstName
+        };
+    }
+    
+    private static String[] names(Studio studio) {
+        return new String[] { studio.getName() };
+    }
+}
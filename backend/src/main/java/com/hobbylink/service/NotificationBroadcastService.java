@@ -28,12 +28,20 @@ public class NotificationBroadcastService {
     @Autowired
     private MeetupParticipationService meetupParticipationService;
     
+    @Autowired
+    private HotRoomService hotRoomService;
+    
     /**
      * 새 메시지 알림 브로드캐스트
      * @param message 새 메시지
      */
     public void broadcastNewMessageNotification(ChatMessage message) {
         try {
+            // hot room 은 방 토픽 방송만 하고 참가자별 개인 알림은 생략
+            if (hotRoomService.isHot(message.getMeetupId())) {
+                return;
+            }
+            
             // 미팅 참가자 목록 조회
             List<User> participants = meetupParticipationService.getMeetupParticipants(message.getMeetupId());
             
@@ -51,7 +59,7 @@ public class NotificationBroadcastService {
                     message.getId(),
                     message.getClientMessageId(),
                     message.getMeetupId(),
-                    message.getSender().getUsername(),
+                    message.getSenderName(),
                     message.getContent(),
                     message.getSentAt(),
                     isUserOnline(participant, onlineUsers)
@@ -65,7 +73,7 @@ public class NotificationBroadcastService {
                 );
                 
                 logger.debug("Sent notification to user {} for message from {}", 
-                           participant.getId(), message.getSender().getUsername());
+                           participant.getId(), message.getSenderName());
             }
             
         } catch (Exception e) {
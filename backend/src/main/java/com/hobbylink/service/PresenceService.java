@@ -0,0 +1,384 @@
+package com.hobbylink.service;
+
+import com.hobbylink.model.User;
+import com.hobbylink.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미팅 접속자(presence) 변경분 방송 서비스
+ *
+ * 입장/퇴장마다 전체 접속자 목록을 방 전체에 보내는 대신, 짧은 주기 동안 변경분을 모아
+ * 버전이 붙은 델타(joined/left 사용자 ID)로 보낸다. 같은 주기 안의 입장 후 퇴장은 상쇄된다.
+ * 클라이언트는 버전이 건너뛰면 스냅샷을 요청한다.
+ */
+@Service
+public class PresenceService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    // 미팅 ID → 접속 상태
+    private final Map<Long, RoomPresence> rooms = new ConcurrentHashMap<>();
+    
+    // 세션 ID → 접속 정보 (세션이 어느 방의 어느 사용자인지)
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    
+    // 방송할 변경분이 있는 미팅
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+    
+    // 인원 수만 방송하는 미팅 (hot room)
+    private final Set<Long> countOnlyRooms = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 세션 입장 기록 (사용자의 첫 세션이면 joined 로 방송)
+     * @param sessionId 세션 ID
+     * @param userId 사용자 ID
+     * @param meetupId 미팅 ID
+     */
+    public void sessionJoined(String sessionId, Long userId, Long meetupId) {
+        SessionPresence previous = sessions.put(sessionId, new SessionPresence(userId, meetupId));
+        if (previous != null) {
+            leave(previous);
+        }
+        while (true) {
+            RoomPresence room = rooms.computeIfAbsent(meetupId, id -> new RoomPresence());
+            synchronized (room) {
+                if (room.removed) {
+                    // 방송 중 비어서 제거된 방이면 새 방으로 다시 시도
+                    continue;
+                }
+                if (room.join(userId)) {
+                    dirtyRooms.add(meetupId);
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * 세션 퇴장 기록 (사용자의 마지막 세션이면 left 로 방송)
+     * @param sessionId 세션 ID
+     */
+    public void sessionLeft(String sessionId) {
+        SessionPresence presence = sessions.remove(sessionId);
+        if (presence != null) {
+            leave(presence);
+        }
+    }
+    
+    /**
+     * 재개된 연결로 세션 이전 (접속 상태 변화 없음)
+     * @param oldSessionId 이전 세션 ID
+     * @param newSessionId 새 세션 ID
+     */
+    public void sessionTransferred(String oldSessionId, String newSessionId) {
+        SessionPresence presence = sessions.remove(oldSessionId);
+        if (presence != null) {
+            sessions.put(newSessionId, presence);
+        }
+    }
+    
+    /**
+     * 미팅별 현재 접속자 수
+     * @return 미팅 ID → 접속 사용자 수
+     */
+    public Map<Long, Integer> getOnlineCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        rooms.forEach((meetupId, room) -> {
+            synchronized (room) {
+                counts.put(meetupId, room.sessionCounts.size());
+            }
+        });
+        return counts;
+    }
+    
+    /**
+     * 인원 수만 방송하도록 전환 (hot room 모드)
+     * 전환 시 변경분을 한 번 방송해 클라이언트가 새 형식으로 바꾸게 한다.
+     * @param meetupId 미팅 ID
+     * @param countOnly 인원 수만 방송 여부
+     */
+    public void setCountOnly(Long meetupId, boolean countOnly) {
+        boolean changed = countOnly ? countOnlyRooms.add(meetupId) : countOnlyRooms.remove(meetupId);
+        RoomPresence room = rooms.get(meetupId);
+        if (changed && room != null) {
+            synchronized (room) {
+                room.modeChanged = true;
+            }
+            dirtyRooms.add(meetupId);
+        }
+    }
+    
+    /**
+     * 접속자 스냅샷 생성 (클라이언트 요청 또는 버전 불일치 시)
+     * @param meetupId 미팅 ID
+     * @return 마지막으로 방송한 버전과 현재 접속자
+     */
+    public PresenceSnapshot getSnapshot(Long meetupId) {
+        RoomPresence room = rooms.get(meetupId);
+        if (room == null) {
+            return new PresenceSnapshot(meetupId, 0L, List.of(), 0, countOnlyRooms.contains(meetupId));
+        }
+        
+        long version;
+        List<Long> userIds;
+        synchronized (room) {
+            version = room.version;
+            userIds = new ArrayList<>(room.sessionCounts.keySet());
+        }
+        
+        if (countOnlyRooms.contains(meetupId)) {
+            // hot room 은 목록 없이 인원 수만
+            return new PresenceSnapshot(meetupId, version, List.of(), userIds.size(), true);
+        }
+        
+        List<PresenceMember> members = new ArrayList<>(userIds.size());
+        for (User user : userRepository.findAllById(userIds)) {
+            members.add(new PresenceMember(user.getId(), user.getUsername(), user.getNickname(),
+                                           user.getProfileImageUrl()));
+        }
+        return new PresenceSnapshot(meetupId, version, members, members.size(), false);
+    }
+    
+    /**
+     * 모아 둔 변경분을 미팅별 델타로 방송
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.presence.coalesce-ms:250}")
+    public void flushPresenceDeltas() {
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+        
+        for (Long meetupId : new ArrayList<>(dirtyRooms)) {
+            dirtyRooms.remove(meetupId);
+            RoomPresence room = rooms.get(meetupId);
+            if (room == null) {
+                continue;
+            }
+            
+            PresenceDelta delta;
+            synchronized (room) {
+                if (room.pendingJoined.isEmpty() && room.pendingLeft.isEmpty() && !room.modeChanged) {
+                    // 입장 후 퇴장처럼 상쇄된 변경만 있었음
+                    removeIfEmpty(meetupId, room);
+                    continue;
+                }
+                room.version++;
+                if (countOnlyRooms.contains(meetupId)) {
+                    delta = new PresenceDelta(meetupId, room.version, List.of(), List.of(),
+                                              room.sessionCounts.size(), true);
+                } else if (room.modeChanged) {
+                    // 인원 수 모드에서 돌아오면 ID 목록을 다시 맞춰야 하므로 전체 목록을 joined 로 보낸다
+                    delta = new PresenceDelta(meetupId, room.version, new ArrayList<>(room.sessionCounts.keySet()),
+                                              List.of(), room.sessionCounts.size(), false);
+                } else {
+                    delta = new PresenceDelta(meetupId, room.version,
+                                              new ArrayList<>(room.pendingJoined), new ArrayList<>(room.pendingLeft),
+                                              room.sessionCounts.size(), false);
+                }
+                room.pendingJoined.clear();
+                room.pendingLeft.clear();
+                room.modeChanged = false;
+                removeIfEmpty(meetupId, room);
+            }
+            
+            try {
+                messagingTemplate.convertAndSend("/topic/meetup/" + meetupId + "/presence", delta);
+            } catch (Exception e) {
+                logger.error("Error broadcasting presence delta for meetup {}: {}", meetupId, e.getMessage());
+            }
+        }
+    }
+    
+    private void leave(SessionPresence presence) {
+        RoomPresence room = rooms.get(presence.meetupId);
+        if (room == null) {
+            return;
+        }
+        synchronized (room) {
+            if (room.leave(presence.userId)) {
+                dirtyRooms.add(presence.meetupId);
+            }
+        }
+    }
+    
+    private void removeIfEmpty(Long meetupId, RoomPresence room) {
+        if (room.sessionCounts.isEmpty()) {
+            room.removed = true;
+            rooms.remove(meetupId, room);
+        }
+    }
+    
+    /**
+     * 미팅별 접속 상태 (접근 시 방 객체로 동기화)
+     */
+    private static class RoomPresence {
+        // 사용자 ID → 열린 세션 수 (여러 탭/기기)
+        private final Map<Long, Integer> sessionCounts = new HashMap<>();
+        private final Set<Long> pendingJoined = new LinkedHashSet<>();
+        private final Set<Long> pendingLeft = new LinkedHashSet<>();
+        // 방이 비워졌다 다시 생겨도 버전이 줄지 않도록 생성 시각에서 시작 (클라이언트는 건너뜀으로 보고 스냅샷 요청)
+        private long version = System.currentTimeMillis();
+        private boolean removed;
+        private boolean modeChanged;
+        
+        boolean join(Long userId) {
+            int count = sessionCounts.merge(userId, 1, Integer::sum);
+            if (count > 1) {
+                return false;
+            }
+            if (!pendingLeft.remove(userId)) {
+                pendingJoined.add(userId);
+            }
+            return true;
+        }
+        
+        boolean leave(Long userId) {
+            Integer count = sessionCounts.get(userId);
+            if (count == null) {
+                return false;
+            }
+            if (count > 1) {
+                sessionCounts.put(userId, count - 1);
+                return false;
+            }
+            sessionCounts.remove(userId);
+            if (!pendingJoined.remove(userId)) {
+                pendingLeft.add(userId);
+            }
+            return true;
+        }
+    }
+    
+    private static class SessionPresence {
+        private final Long userId;
+        private final Long meetupId;
+        
+        SessionPresence(Long userId, Long meetupId) {
+            this.userId = userId;
+            this.meetupId = meetupId;
+        }
+    }
+    
+    /**
+     * 접속자 변경분
+     */
+    public static class PresenceDelta {
+        private Long meetupId;
+        private long version;
+        private List<Long> joined;
+        private List<Long> left;
+        private int count;
+        private boolean countOnly;
+        
+        public PresenceDelta(Long meetupId, long version, List<Long> joined, List<Long> left, int count,
+                             boolean countOnly) {
+            this.meetupId = meetupId;
+            this.version = version;
+            this.joined = joined;
+            this.left = left;
+            this.count = count;
+            this.countOnly = countOnly;
+        }
+        
+        public Long getMeetupId() { return meetupId; }
+        public void setMeetupId(Long meetupId) { this.meetupId = meetupId; }
+        
+        public long getVersion() { return version; }
+        public void setVersion(long version) { this.version = version; }
+        
+        public List<Long> getJoined() { return joined; }
+        public void setJoined(List<Long> joined) { this.joined = joined; }
+        
+        public List<Long> getLeft() { return left; }
+        public void setLeft(List<Long> left) { this.left = left; }
+        
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+        
+        public boolean isCountOnly() { return countOnly; }
+        public void setCountOnly(boolean countOnly) { this.countOnly = countOnly; }
+    }
+    
+    /**
+     * 접속자 스냅샷
+     */
+    public static class PresenceSnapshot {
+        private Long meetupId;
+        private long version;
+        private List<PresenceMember> members;
+        private int count;
+        private boolean countOnly;
+        
+        public PresenceSnapshot(Long meetupId, long version, List<PresenceMember> members, int count,
+                                boolean countOnly) {
+            this.meetupId = meetupId;
+            this.version = version;
+            this.members = members;
+            this.count = count;
+            this.countOnly = countOnly;
+        }
+        
+        public Long getMeetupId() { return meetupId; }
+        public void setMeetupId(Long meetupId) { this.meetupId = meetupId; }
+        
+        public long getVersion() { return version; }
+        public void setVersion(long version) { this.version = version; }
+        
+        public List<PresenceMember> getMembers() { return members; }
+        public void setMembers(List<PresenceMember> members) { this.members = members; }
+        
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+        
+        public boolean isCountOnly() { return countOnly; }
+        public void setCountOnly(boolean countOnly) { this.countOnly = countOnly; }
+    }
+    
+    /**
+     * 스냅샷에 포함되는 사용자 요약 (엔티티 전체 대신 표시에 필요한 필드만)
+     */
+    public static class PresenceMember {
+        private Long id;
+        private String username;
+        private String nickname;
+        private String profileImageUrl;
+        
+        public PresenceMember(Long id, String username, String nickname, String profileImageUrl) {
+            this.id = id;
+            this.username = username;
+            this.nickname = nickname;
+            this.profileImageUrl = profileImageUrl;
+        }
+        
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        
+        public String getProfileImageUrl() { return profileImageUrl; }
+        public void setProfileImageUrl(String profileImageUrl) { this.profileImageUrl = profileImageUrl; }
+    }
+}
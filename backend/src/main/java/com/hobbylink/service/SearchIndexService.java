@@ -0,0 +1,404 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.model.Project;
+import com.hobbylink.model.Studio;
+import com.hobbylink.model.User;
+import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.repository.ProjectRepository;
+import com.hobbylink.repository.StudioRepository;
+import com.hobbylink.repository.UserRepository;
+import com.hobbylink.search.InvertedIndex;
+import com.hobbylink.search.SearchTokenizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 통합 검색용 인메모리 색인 서비스
+ *
+ * 스튜디오/프로젝트/미팅/사용자를 엔티티 종류별 BM25 역색인에 보관한다.
+ * 각 문서는 제목 > 태그 > 설명 순의 가중치를 가진 세 필드로 색인한다.
+ * - 시작 시(그리고 매일 한 번) 리포지토리를 ID 키셋 페이지로 훑어 새 색인을 만든 뒤 교체
+ * - 그 사이의 저장/삭제는 EntityChangedEvent 로 현재 색인과 구축 중인 색인 모두에 반영
+ * 첫 구축이 끝나기 전에는 isReady() 가 false 이며 호출자는 기존 조회로 대체한다.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    /**
+     * 색인 대상 엔티티 종류
+     */
+    public enum IndexType {
+        STUDIO, PROJECT, MEETUP, USER
+    }
+
+    @Value("${app.search.index.title-boost:3.0}")
+    private float titleBoost;
+
+    @Value("${app.search.index.tags-boost:2.0}")
+    private float tagsBoost;
+
+    @Value("${app.search.index.description-boost:1.0}")
+    private float descriptionBoost;
+
+    @Value("${app.search.index.bm25-k1:1.2}")
+    private double k1;
+
+    @Value("${app.search.index.bm25-b:0.75}")
+    private double b;
+
+    @Value("${app.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    private StudioRepository studioRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MeetupRepository meetupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SearchTokenizer tokenizer = new SearchTokenizer();
+
+    private volatile Map<IndexType, InvertedIndex> indexes;
+
+    // 재구축 중인 색인과 그 사이 이벤트로 반영된 문서 ID (changeLock 으로 보호)
+    private Map<IndexType, InvertedIndex> building;
+    private Map<IndexType, Set<Long>> changedDuringRebuild;
+    private final Object changeLock = new Object();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final Timer rebuildTimer;
+
+    public SearchIndexService(MeterRegistry meterRegistry) {
+        this.rebuildTimer = Timer.builder("search.index.rebuild")
+                .description("Time to stream all searchable entities into a fresh index")
+                .register(meterRegistry);
+        for (IndexType type : IndexType.values()) {
+            Gauge.builder("search.index.documents", this, service -> service.size(type))
+                    .description("Documents in the in-memory search index")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 첫 색인 구축 완료 여부
+     */
+    public boolean isReady() {
+        return indexes != null;
+    }
+
+    /**
+     * 엔티티 종류별 BM25 검색
+     * @param type 엔티티 종류
+     * @param query 질의
+     * @param offset 건너뛸 결과 수
+     * @param limit 최대 결과 수
+     * @return 점수순 ID 목록과 전체 일치 수 (색인 준비 전이면 빈 결과)
+     */
+    public InvertedIndex.SearchHits search(IndexType type, String query, int offset, int limit) {
+        Map<IndexType, InvertedIndex> current = indexes;
+        if (current == null) {
+            return InvertedIndex.SearchHits.EMPTY;
+        }
+        return current.get(type).search(query, offset, limit);
+    }
+
+    /**
+     * 조건을 만족하는 문서만 대상으로 BM25 검색
+     * @param type 엔티티 종류
+     * @param query 질의
+     * @param offset 건너뛸 결과 수
+     * @param limit 최대 결과 수
+     * @param filter 문서 ID 조건
+     * @return 점수순 ID 목록과 전체 일치 수
+     */
+    public InvertedIndex.SearchHits search(IndexType type, String query, int offset, int limit, Predicate<Long> filter) {
+        Map<IndexType, InvertedIndex> current = indexes;
+        if (current == null) {
+            return InvertedIndex.SearchHits.EMPTY;
+        }
+        return current.get(type).search(query, offset, limit, filter);
+    }
+
+    /**
+     * 질의와 일치하는 모든 문서의 BM25 점수 (InvertedIndex.rank 로 순위 계산)
+     * @param type 엔티티 종류
+     * @param query 질의
+     * @return 문서 ID → 점수 (색인 준비 전이면 빈 맵)
+     */
+    public Map<Long, Double> scoreAll(IndexType type, String query) {
+        Map<IndexType, InvertedIndex> current = indexes;
+        if (current == null) {
+            return Map.of();
+        }
+        return current.get(type).scoreAll(query);
+    }
+
+    /**
+     * 애플리케이션 시작 후 백그라운드에서 첫 색인 구축
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::rebuild, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 전체 색인 재구축 (매일, 증분 반영 중 누락분 보정)
+     */
+    @Scheduled(cron = "${app.search.index.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            synchronized (changeLock) {
+                building = newIndexes();
+                changedDuringRebuild = new EnumMap<>(IndexType.class);
+                for (IndexType type : IndexType.values()) {
+                    changedDuringRebuild.put(type, new HashSet<>());
+                }
+            }
+
+            int studios = stream(IndexType.STUDIO, studioRepository::findByIdGreaterThanOrderByIdAsc, Studio::getId, SearchIndexService::fields);
+            int projects = stream(IndexType.PROJECT, projectRepository::findByIdGreaterThanOrderByIdAsc, Project::getId, SearchIndexService::fields);
+            int meetups = stream(IndexType.MEETUP, meetupRepository::findByIdGreaterThanOrderByIdAsc, Meetup::getId, SearchIndexService::fields);
+            int users = stream(IndexType.USER, userRepository::findByIdGreaterThanOrderByIdAsc, User::getId, SearchIndexService::fields);
+
+            synchronized (changeLock) {
+                indexes = building;
+                building = null;
+                changedDuringRebuild = null;
+            }
+            logger.info("Search index rebuilt: {} studios, {} projects, {} meetups, {} users", studios, projects, meetups, users);
+        } catch (Exception e) {
+            logger.error("Error rebuilding search index: {}", e.getMessage(), e);
+            synchronized (changeLock) {
+                building = null;
+                changedDuringRebuild = null;
+            }
+        } finally {
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 엔티티 변경 이벤트 처리 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        IndexType type = typeOf(entity);
+        if (type != null) {
+            apply(type, idOf(entity), event.isDeleted() ? null : fieldsOf(entity));
+        }
+    }
+
+    /**
+     * 색인 대상 엔티티의 종류 (대상이 아니면 null)
+     */
+    public static IndexType typeOf(Object entity) {
+        if (entity instanceof Studio) {
+            return IndexType.STUDIO;
+        } else if (entity instanceof Project) {
+            return IndexType.PROJECT;
+        } else if (entity instanceof Meetup) {
+            return IndexType.MEETUP;
+        } else if (entity instanceof User) {
+            return IndexType.USER;
+        }
+        return null;
+    }
+
+    /**
+     * 색인 대상 엔티티의 ID
+     */
+    public static Long idOf(Object entity) {
+        if (entity instanceof Studio studio) {
+            return studio.getId();
+        } else if (entity instanceof Project project) {
+            return project.getId();
+        } else if (entity instanceof Meetup meetup) {
+            return meetup.getId();
+        } else if (entity instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    /**
+     * findAllById 결과를 ID 목록 순서(색인 점수/유사도 순)로 정렬
+     * 그 사이 삭제되어 조회되지 않은 ID 는 건너뛴다.
+     */
+    public static <T> List<T> inRankOrder(Iterable<T> entities, List<Long> ids, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 색인 필드 {제목, 태그, 설명} (대상이 아니면 null)
+     */
+    public static String[] fieldsOf(Object entity) {
+        if (entity instanceof Studio studio) {
+            return fields(studio);
+        } else if (entity instanceof Project project) {
+            return fields(project);
+        } else if (entity instanceof Meetup meetup) {
+            return fields(meetup);
+        } else if (entity instanceof User user) {
+            return fields(user);
+        }
+        return null;
+    }
+
+    private void apply(IndexType type, Long id, String[] fields) {
+        if (id == null) {
+            return;
+        }
+        synchronized (changeLock) {
+            Map<IndexType, InvertedIndex> current = indexes;
+            if (current != null) {
+                write(current.get(type), id, fields);
+            }
+            if (building != null) {
+                write(building.get(type), id, fields);
+                changedDuringRebuild.get(type).add(id);
+            }
+        }
+    }
+
+    private static void write(InvertedIndex index, long id, String[] fields) {
+        if (fields == null) {
+            index.remove(id);
+        } else {
+            index.put(id, fields);
+        }
+    }
+
+    private <T> int stream(IndexType type, BiFunction<Long, PageRequest, List<T>> pageLoader,
+                           Function<T, Long> idOf, Function<T, String[]> fieldsOf) {
+        int count = 0;
+        long lastId = 0L;
+        PageRequest pageRequest = PageRequest.of(0, rebuildBatchSize);
+        while (true) {
+            List<T> page = pageLoader.apply(lastId, pageRequest);
+            if (page.isEmpty()) {
+                return count;
+            }
+            synchronized (changeLock) {
+                InvertedIndex index = building.get(type);
+                Set<Long> changed = changedDuringRebuild.get(type);
+                for (T entity : page) {
+                    Long id = idOf.apply(entity);
+                    // 이벤트로 이미 반영된 문서는 (더 오래됐을 수 있는) 페이지 값으로 덮어쓰지 않는다
+                    if (!changed.contains(id)) {
+                        index.put(id, fieldsOf.apply(entity));
+                    }
+                }
+            }
+            count += page.size();
+            lastId = idOf.apply(page.get(page.size() - 1));
+            if (page.size() < rebuildBatchSize) {
+                return count;
+            }
+        }
+    }
+
+    private Map<IndexType, InvertedIndex> newIndexes() {
+        float[] boosts = {titleBoost, tagsBoost, descriptionBoost};
+        Map<IndexType, InvertedIndex> created = new EnumMap<>(IndexType.class);
+        for (IndexType type : IndexType.values()) {
+            created.put(type, new InvertedIndex(tokenizer, boosts, k1, b));
+        }
+        return created;
+    }
+
+    private int size(IndexType type) {
+        Map<IndexType, InvertedIndex> current = indexes;
+        return current != null ? current.get(type).size() : 0;
+    }
+
+    // 색인 필드: {제목, 태그, 설명}
+
+    private static String[] fields(Studio studio) {
+        return new String[] {studio.getName(), studio.getCategory(), studio.getDescription()};
+    }
+
+    private static String[] fields(Project project) {
+        return new String[] {project.getTitle(), project.getTags(), project.getDescription()};
+    }
+
+    private static String[] fields(Meetup meetup) {
+        return new String[] {
+            meetup.getTitle(),
+            join(meetup.getCategory(), meetup.getTags()),
+            join(meetup.getDescription(), meetup.getLocation())
+        };
+    }
+
+    private static String[] fields(User user) {
+        return new String[] {
+            join(user.getUsername(), user.getNickname(), user.getFirstName(), user.getLastName()),
+            join(user.getHobbies(), user.getInterests()),
+            join(user.getBio(), user.getLocation())
+        };
+    }
+
+    private static String join(String... values) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                joiner.add(value);
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,328 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.model.Studio;
+import com.hobbylink.model.User;
+import com.hobbylink.search.Hangul;
+import com.hobbylink.search.SearchTokenizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 검색 결과 캐시
+ *
+ * 정규화한 (검색어, 종류, 카테고리, 지역, 페이지, 크기) 로 결과를 LRU 로 보관한다.
+ * 엔티티가 바뀌면 영향을 받을 수 있는 항목만 지운다.
+ * - 결과에 그 엔티티가 들어 있는 항목
+ * - 같은 종류를 검색했고 카테고리/지역 조건과 검색어가 바뀐 엔티티와 맞는 항목
+ * 그래서 새 미팅은 관련 없는 검색어나 다른 카테고리의 캐시를 건드리지 않는다.
+ * 놓친 변경(예: 카테고리를 옮긴 엔티티가 뒤쪽 페이지에 미치는 영향)은 TTL 로 정리된다.
+ * 결과를 계산하는 동안 변경이 있었다면 그 결과는 저장하지 않는다 (세대 번호 비교).
+ * 저장과 조회 모두 수정할 수 없는 사본을 다루므로 호출자가 응답을 바꿔도 캐시는 그대로다.
+ */
+@Service
+public class SearchResultCache {
+
+    @Value("${app.search.cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.search.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final SearchTokenizer tokenizer = new SearchTokenizer();
+
+    // 접근 순서 LinkedHashMap (this 로 보호)
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 엔티티 변경마다 증가 (this 로 보호)
+    private long generation;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    public SearchResultCache(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("search.cache.requests")
+                .description("Search requests served from or missed by the result cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("search.cache.requests")
+                .description("Search requests served from or missed by the result cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("search.cache.invalidations")
+                .description("Cached search results evicted because a matching entity changed")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.size", this, SearchResultCache::size)
+                .description("Cached search results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회
+     * @param key 정규화된 키
+     * @return 캐시된 결과 (없거나 만료되면 null)
+     */
+    public Map<String, Object> get(CacheKey key) {
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hitCounter.increment();
+                return entry.results;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * 현재 세대 번호 (결과 계산 전에 읽어 put 에 넘긴다)
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * 결과 저장 (generation 이후 엔티티 변경이 있었으면 저장하지 않음)
+     * @param key 정규화된 키
+     * @param generation 계산 시작 전에 읽은 세대 번호
+     * @param results 응답 (사본을 저장)
+     * @param types 검색한 엔티티 종류
+     * @param resultIds 결과에 포함된 종류별 엔티티 ID
+     */
+    public void put(CacheKey key, long generation, Map<String, Object> results, Set<SearchIndexService.IndexType> types,
+                    Map<SearchIndexService.IndexType, ? extends Collection<Long>> resultIds) {
+        Map<SearchIndexService.IndexType, Set<Long>> ids = new EnumMap<>(SearchIndexService.IndexType.class);
+        resultIds.forEach((type, values) -> ids.put(type, new HashSet<>(values)));
+        Set<String> queryTerms = key.query.isEmpty() ? Set.of() : new HashSet<>(tokenizer.tokenizeQuery(key.query));
+        CacheEntry entry = new CacheEntry(immutableCopy(results), EnumSet.copyOf(types), ids, queryTerms,
+                System.currentTimeMillis() + ttlMs);
+
+        synchronized (this) {
+            // 계산하는 동안 바뀐 엔티티가 결과에 반영되지 않았을 수 있다
+            if (this.generation != generation) {
+                return;
+            }
+            entries.put(key, entry);
+            Iterator<CacheKey> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 엔티티 변경 시 영향받는 항목만 제거 (커밋 이후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEntityChanged(EntityChangedEvent event) {
+        Object entity = event.getEntity();
+        SearchIndexService.IndexType type = SearchIndexService.typeOf(entity);
+        if (type == null) {
+            return;
+        }
+
+        Long id = SearchIndexService.idOf(entity);
+        String category = normalize(categoryOf(entity));
+        String location = normalize(locationOf(entity));
+        String text = normalize(String.join(" ", nonNull(SearchIndexService.fieldsOf(entity))));
+        Set<String> terms = new HashSet<>(tokenizer.tokenize(text));
+
+        int evicted = 0;
+        synchronized (this) {
+            generation++;
+            Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CacheKey, CacheEntry> cached = iterator.next();
+                if (affects(cached.getKey(), cached.getValue(), type, id, category, location, text, terms)) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+        }
+        invalidationCounter.increment(evicted);
+    }
+
+    private static boolean affects(CacheKey key, CacheEntry entry, SearchIndexService.IndexType type, Long id,
+                                   String category, String location, String text, Set<String> terms) {
+        if (!entry.types.contains(type)) {
+            return false;
+        }
+        Set<Long> ids = entry.resultIds.get(type);
+        if (ids != null && ids.contains(id)) {
+            return true;
+        }
+        // 패싯 개수는 다른 카테고리/지역의 엔티티가 바뀌어도 달라지므로 검색어 조건만 본다
+        if (key.filters != null) {
+            return key.query.isEmpty() || text.contains(key.query) || sharesTerm(entry.queryTerms, terms);
+        }
+        // 카테고리가 없는 종류(프로젝트/사용자)는 카테고리 조건을 적용하지 않는다
+        if (!key.category.isEmpty() && !category.isEmpty() && !key.category.equals(category)) {
+            return false;
+        }
+        if (!key.location.isEmpty() && !location.isEmpty() && !location.contains(key.location)) {
+            return false;
+        }
+        if (key.query.isEmpty()) {
+            return true;
+        }
+        // 부분 문자열 검색(대체 경로)과 색인 용어 검색 모두를 고려
+        return text.contains(key.query) || sharesTerm(entry.queryTerms, terms);
+    }
+
+    private static boolean sharesTerm(Set<String> queryTerms, Set<String> terms) {
+        for (String term : queryTerms) {
+            if (terms.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 응답과 그 안의 맵/목록을 수정할 수 없는 사본으로 변환
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T immutableCopy(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, immutableCopy(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(immutableCopy(item)));
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private static String categoryOf(Object entity) {
+        if (entity instanceof Meetup meetup) {
+            return meetup.getCategory();
+        } else if (entity instanceof Studio studio) {
+            return studio.getCategory();
+        }
+        return null;
+    }
+
+    private static String locationOf(Object entity) {
+        if (entity instanceof Meetup meetup) {
+            return meetup.getLocation();
+        } else if (entity instanceof User user) {
+            return user.getLocation();
+        }
+        return null;
+    }
+
+    private static String[] nonNull(String[] values) {
+        String[] result = new String[values != null ? values.length : 0];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] != null ? values[i] : "";
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Hangul.normalize(value.strip().replaceAll("\\s+", " ")).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 정규화된 캐시 키
+     */
+    public static final class CacheKey {
+        private final String query;
+        private final String type;
+        private final String category;
+        private final String location;
+        // 패싯 검색의 추가 필터 (일반 검색은 null)
+        private final String filters;
+        private final int page;
+        private final int size;
+
+        private CacheKey(String query, String type, String category, String location, String filters, int page, int size) {
+            this.query = query;
+            this.type = type;
+            this.category = category;
+            this.location = location;
+            this.filters = filters;
+            this.page = page;
+            this.size = size;
+        }
+
+        public static CacheKey of(String query, String type, String category, String location, int page, int size) {
+            return new CacheKey(normalize(query), normalize(type), normalize(category), normalize(location), null, page, size);
+        }
+
+        public static CacheKey of(String query, String type, String category, String location, String filters,
+                                  int page, int size) {
+            return new CacheKey(normalize(query), normalize(type), normalize(category), normalize(location),
+                    normalize(filters), page, size);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey other)) {
+                return false;
+            }
+            return page == other.page && size == other.size && query.equals(other.query) && type.equals(other.type)
+                    && category.equals(other.category) && location.equals(other.location)
+                    && Objects.equals(filters, other.filters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, type, category, location, filters, page, size);
+        }
+    }
+
+    private static class CacheEntry {
+        private final Map<String, Object> results;
+        private final Set<SearchIndexService.IndexType> types;
+        private final Map<SearchIndexService.IndexType, Set<Long>> resultIds;
+        private final Set<String> queryTerms;
+        private final long expiresAt;
+
+        CacheEntry(Map<String, Object> results, Set<SearchIndexService.IndexType> types,
+                   Map<SearchIndexService.IndexType, Set<Long>> resultIds, Set<String> queryTerms, long expiresAt) {
+            this.results = results;
+            this.types = types;
+            this.resultIds = resultIds;
+            this.queryTerms = queryTerms;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
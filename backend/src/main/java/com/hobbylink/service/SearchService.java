@@ -8,15 +8,41 @@ import com.hobbylink.repository.MeetupRepository;
 import com.hobbylink.repository.ProjectRepository;
 import com.hobbylink.repository.StudioRepository;
 import com.hobbylink.repository.UserRepository;
+import com.hobbylink.search.InvertedIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 public class SearchService {
     
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private StudioRepository studioRepository;
     
@@ -29,75 +55,323 @@ public class SearchService {
     @Autowired
     private UserRepository userRepository;
     
-    public Map<String, Object> globalSearch(String query) {
-        Map<String, Object> results = new HashMap<>();
-        
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private SuggestionService suggestionService;
+    
+    @Autowired
+    @Qualifier("searchExecutor")
+    private ThreadPoolTaskExecutor searchExecutor;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private SearchResultCache searchResultCache;
+    
+    @Autowired
+    private MeetupFacetService meetupFacetService;
+    
+    @Autowired
+    private NameMatchService nameMatchService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // 소스별 마감 시간과 결과 상한 (지정하지 않으면 공통 값)
+    @Value("${app.search.federated.studios.deadline-ms:${app.search.federated.deadline-ms:300}}")
+    private long studiosDeadlineMs;
+    
+    @Value("${app.search.federated.projects.deadline-ms:${app.search.federated.deadline-ms:300}}")
+    private long projectsDeadlineMs;
+    
+    @Value("${app.search.federated.meetups.deadline-ms:${app.search.federated.deadline-ms:300}}")
+    private long meetupsDeadlineMs;
+    
+    @Value("${app.search.federated.users.deadline-ms:${app.search.federated.deadline-ms:300}}")
+    private long usersDeadlineMs;
+    
+    @Value("${app.search.federated.studios.max-results:${app.search.federated.max-results:50}}")
+    private int studiosMaxResults;
+    
+    @Value("${app.search.federated.projects.max-results:${app.search.federated.max-results:50}}")
+    private int projectsMaxResults;
+    
+    @Value("${app.search.federated.meetups.max-results:${app.search.federated.max-results:50}}")
+    private int meetupsMaxResults;
+    
+    @Value("${app.search.federated.users.max-results:${app.search.federated.max-results:50}}")
+    private int usersMaxResults;
+    
+    public Map<String, Object> globalSearch(String query, int page, int size) {
         if (query == null || query.trim().isEmpty()) {
-            return results;
+            return new HashMap<>();
         }
         
         String searchTerm = query.trim();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageIndex = Math.max(page, 0);
+        int offset = pageIndex * pageSize;
         
-        // Search studios
-        List<Studio> studios = studioRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            searchTerm, searchTerm);
-        results.put("studios", studios);
+        SearchResultCache.CacheKey cacheKey = SearchResultCache.CacheKey.of(searchTerm, "all", null, null, pageIndex, pageSize);
+        Map<String, Object> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = searchResultCache.generation();
+        
+        // 색인 구축 전에는 기존 조회로 대체
+        boolean indexed = searchIndexService.isReady();
         
-        // Search projects
-        List<Project> projects = projectRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            searchTerm, searchTerm);
-        results.put("projects", projects);
+        // 소스별로 병렬 조회하고 도착하는 대로 응답에 병합
+        Map<String, Object> results = new ConcurrentHashMap<>();
+        Map<String, Integer> totals = new ConcurrentHashMap<>();
+        Map<String, Boolean> timedOut = new ConcurrentHashMap<>();
+        Map<SearchIndexService.IndexType, List<Long>> resultIds = new ConcurrentHashMap<>();
         
-        // Search meetups
-        List<Meetup> meetups = meetupRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            searchTerm, searchTerm);
-        results.put("meetups", meetups);
+        CompletableFuture.allOf(
+            searchSource("studios", SearchIndexService.IndexType.STUDIO, studiosDeadlineMs, Math.min(pageSize, studiosMaxResults), limit -> indexed
+                    ? indexedPage(SearchIndexService.IndexType.STUDIO, searchTerm, offset, limit, studioRepository::findAllById, Studio::getId)
+                    : legacyPage(studioRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                        searchTerm, searchTerm), offset, limit),
+                results, totals, timedOut, resultIds),
+            searchSource("projects", SearchIndexService.IndexType.PROJECT, projectsDeadlineMs, Math.min(pageSize, projectsMaxResults), limit -> indexed
+                    ? indexedPage(SearchIndexService.IndexType.PROJECT, searchTerm, offset, limit, projectRepository::findAllById, Project::getId)
+                    : legacyPage(projectRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                        searchTerm, searchTerm), offset, limit),
+                results, totals, timedOut, resultIds),
+            searchSource("meetups", SearchIndexService.IndexType.MEETUP, meetupsDeadlineMs, Math.min(pageSize, meetupsMaxResults), limit -> indexed
+                    ? indexedPage(SearchIndexService.IndexType.MEETUP, searchTerm, offset, limit, meetupRepository::findAllById, Meetup::getId)
+                    : legacyPage(meetupRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+                        searchTerm, searchTerm), offset, limit),
+                results, totals, timedOut, resultIds),
+            searchSource("users", SearchIndexService.IndexType.USER, usersDeadlineMs, Math.min(pageSize, usersMaxResults), limit -> indexed
+                    ? indexedPage(SearchIndexService.IndexType.USER, searchTerm, offset, limit, userRepository::findAllById, User::getId)
+                    : legacyPage(userRepository.findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                        searchTerm, searchTerm, searchTerm), offset, limit),
+                results, totals, timedOut, resultIds)
+        ).join();
         
-        // Search users
-        List<User> users = userRepository.findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-            searchTerm, searchTerm, searchTerm);
-        results.put("users", users);
+        results.put("totals", totals);
+        results.put("timedOut", timedOut);
+        if (totals.values().stream().anyMatch(total -> total > 0)) {
+            suggestionService.recordQuery(searchTerm);
+        }
+        results.put("page", pageIndex);
+        results.put("size", pageSize);
         
+        // 일부 소스가 빠진 결과는 캐시하지 않는다
+        if (!timedOut.containsValue(true)) {
+            searchResultCache.put(cacheKey, generation, results, EnumSet.allOf(SearchIndexService.IndexType.class), resultIds);
+        }
         return results;
     }
     
+    /**
+     * 한 소스를 검색 풀에서 실행 (마감 시각까지 끝나지 않거나 풀이 가득 차면 빈 결과 + timedOut)
+     */
+    private CompletableFuture<Void> searchSource(String source, SearchIndexService.IndexType type, long deadlineMs, int limit,
+                                                 Function<Integer, SourcePage> search,
+                                                 Map<String, Object> results, Map<String, Integer> totals,
+                                                 Map<String, Boolean> timedOut,
+                                                 Map<SearchIndexService.IndexType, List<Long>> resultIds) {
+        long start = System.nanoTime();
+        CompletableFuture<SourcePage> future;
+        try {
+            // 연관 엔티티 지연 로딩이 끝나도록 읽기 전용 트랜잭션 안에서 JSON 트리로 변환
+            future = CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction().execute(status -> search.apply(limit).detached(objectMapper)),
+                searchExecutor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.completedFuture(null);
+        }
+        
+        return future
+            .exceptionally(e -> {
+                logger.warn("Search source {} failed: {}", source, e.getMessage());
+                return null;
+            })
+            .completeOnTimeout(null, deadlineMs, TimeUnit.MILLISECONDS)
+            .thenAccept(sourcePage -> {
+                boolean missing = sourcePage == null;
+                results.put(source, missing ? List.of() : sourcePage.items);
+                totals.put(source, missing ? 0 : sourcePage.total);
+                resultIds.put(type, missing ? List.of() : sourcePage.ids());
+                timedOut.put(source, missing);
+                if (missing) {
+                    meterRegistry.counter("search.source.timeouts", "source", source).increment();
+                }
+                meterRegistry.timer("search.source.latency", "source", source)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+    }
+    
+    private <T> SourcePage indexedPage(SearchIndexService.IndexType type, String searchTerm, int offset, int limit,
+                                       Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        InvertedIndex.SearchHits hits = searchIndexService.search(type, searchTerm, offset, limit);
+        if (hits.getTotal() == 0 && nameMatchService.isReady()) {
+            // 이름 오타는 용어가 하나도 맞지 않으므로 트라이그램 유사도로 다시 찾는다
+            List<Long> similar = nameMatchService.match(type, searchTerm);
+            if (!similar.isEmpty()) {
+                List<Long> ids = similar.subList(Math.min(offset, similar.size()), Math.min(offset + limit, similar.size()));
+                return new SourcePage(SearchIndexService.inRankOrder(loader.apply(ids), ids, idOf), similar.size());
+            }
+        }
+        return new SourcePage(SearchIndexService.inRankOrder(loader.apply(hits.getIds()), hits.getIds(), idOf), hits.getTotal());
+    }
+    
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+    
+    private static SourcePage legacyPage(List<?> matches, int offset, int limit) {
+        int from = Math.min(offset, matches.size());
+        int to = Math.min(from + limit, matches.size());
+        return new SourcePage(new ArrayList<>(matches.subList(from, to)), matches.size());
+    }
+    
     public Map<String, Object> advancedSearch(String query, String type, String category, String location) {
+        return advancedSearch(query, type, category, location, null, null, null, 0, DEFAULT_PAGE_SIZE);
+    }
+    
+    /**
+     * 상세 검색 (미팅은 패싯 색인이 준비되면 태그/유형/상태 필터와 패싯 개수를 함께 반환)
+     */
+    public Map<String, Object> advancedSearch(String query, String type, String category, String location,
+                                              List<String> tags, String meetupType, String status, int page, int size) {
+        String searchType = type != null ? type.toLowerCase() : "all";
+        SearchIndexService.IndexType indexType = switch (searchType) {
+            case "studios" -> SearchIndexService.IndexType.STUDIO;
+            case "projects" -> SearchIndexService.IndexType.PROJECT;
+            case "meetups" -> SearchIndexService.IndexType.MEETUP;
+            case "users" -> SearchIndexService.IndexType.USER;
+            default -> null;
+        };
+        if (indexType == null) {
+            return globalSearch(query, 0, DEFAULT_PAGE_SIZE);
+        }
+        // 검색어가 있는데 BM25 색인이 아직 없으면 패싯 결과가 비므로 기존 조회로 대체
+        if (indexType == SearchIndexService.IndexType.MEETUP && meetupFacetService.isReady(query)) {
+            return facetedMeetupSearch(query, category, location, tags, meetupType, status, page, size);
+        }
+        
+        SearchResultCache.CacheKey cacheKey = SearchResultCache.CacheKey.of(query, searchType, category, location, 0, 0);
+        Map<String, Object> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = searchResultCache.generation();
+        
+        List<?> matches = switch (indexType) {
+            case STUDIO -> searchStudios(query, category);
+            case PROJECT -> searchProjects(query, category);
+            case MEETUP -> searchMeetups(query, category, location);
+            case USER -> searchUsers(query, location);
+        };
+        
         Map<String, Object> results = new HashMap<>();
+        results.put(searchType, objectMapper.valueToTree(matches));
+        searchResultCache.put(cacheKey, generation, results, EnumSet.of(indexType), Map.of(indexType, idsOf(matches)));
+        return results;
+    }
+    
+    private Map<String, Object> facetedMeetupSearch(String query, String category, String location, List<String> tags,
+                                                    String meetupType, String status, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageIndex = Math.max(page, 0);
         
-        switch (type != null ? type.toLowerCase() : "all") {
-            case "studios":
-                results.put("studios", searchStudios(query, category));
-                break;
-            case "projects":
-                results.put("projects", searchProjects(query, category));
-                break;
-            case "meetups":
-                results.put("meetups", searchMeetups(query, category, location));
-                break;
-            case "users":
-                results.put("users", searchUsers(query, location));
-                break;
-            default:
-                return globalSearch(query);
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        putFilter(filters, MeetupFacetService.CATEGORY, category);
+        putFilter(filters, MeetupFacetService.LOCATION, location);
+        putFilter(filters, MeetupFacetService.TYPE, meetupType);
+        putFilter(filters, MeetupFacetService.STATUS, status);
+        if (tags != null) {
+            tags.forEach(tag -> putFilter(filters, MeetupFacetService.TAG, tag));
         }
         
+        SearchResultCache.CacheKey cacheKey = SearchResultCache.CacheKey.of(query, "meetups", category, location,
+            filters.toString(), pageIndex, pageSize);
+        Map<String, Object> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = searchResultCache.generation();
+        
+        MeetupFacetService.FacetPage facetPage = meetupFacetService.search(query, filters, pageIndex * pageSize, pageSize);
+        List<Meetup> meetups = SearchIndexService.inRankOrder(meetupRepository.findAllById(facetPage.getIds()), facetPage.getIds(), Meetup::getId);
+        
+        Map<String, Object> results = new HashMap<>();
+        results.put("meetups", objectMapper.valueToTree(meetups));
+        results.put("facets", facetPage.getFacets());
+        results.put("total", facetPage.getTotal());
+        results.put("page", pageIndex);
+        results.put("size", pageSize);
+        searchResultCache.put(cacheKey, generation, results, EnumSet.of(SearchIndexService.IndexType.MEETUP),
+            Map.of(SearchIndexService.IndexType.MEETUP, facetPage.getIds()));
         return results;
     }
     
+    private static void putFilter(Map<String, List<String>> filters, String group, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.computeIfAbsent(group, key -> new ArrayList<>()).add(value);
+        }
+    }
+    
+    private static List<Long> idsOf(List<?> entities) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            Long id = SearchIndexService.idOf(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
     private List<Studio> searchStudios(String query, String category) {
-        if (category != null && !category.isEmpty()) {
-            if (query != null && !query.isEmpty()) {
-                return studioRepository.findByCategoryAndNameContainingIgnoreCaseOrCategoryAndDescriptionContainingIgnoreCase(
-                    category, query, category, query);
-            } else {
-                return studioRepository.findByCategory(category);
+        boolean hasCategory = category != null && !category.isEmpty();
+        if (query != null && !query.isEmpty()) {
+            List<Long> candidates = studioCandidates(query);
+            if (candidates == null) {
+                return hasCategory
+                    ? studioRepository.findByCategoryAndNameContainingIgnoreCaseOrCategoryAndDescriptionContainingIgnoreCase(
+                        category, query, category, query)
+                    : orSimilarlyNamed(SearchIndexService.IndexType.STUDIO, query,
+                        studioRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query),
+                        studioRepository::findAllById, Studio::getId);
             }
-        } else if (query != null && !query.isEmpty()) {
-            return studioRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query);
+            List<Studio> studios = SearchIndexService.inRankOrder(studioRepository.findAllById(candidates), candidates, Studio::getId);
+            if (hasCategory) {
+                return studios.stream().filter(studio -> category.equals(studio.getCategory())).toList();
+            }
+            return orSimilarlyNamed(SearchIndexService.IndexType.STUDIO, query, studios, studioRepository::findAllById, Studio::getId);
+        } else if (hasCategory) {
+            return studioRepository.findByCategory(category);
         }
         return studioRepository.findAll();
     }
     
+    /**
+     * 이름(트라이그램 부분 문자열) 또는 설명(색인 용어)이 맞는 스튜디오 ID
+     * @return ID 오름차순, 색인 전이거나 검색어가 너무 짧으면 null
+     */
+    private List<Long> studioCandidates(String query) {
+        List<Long> byName = nameMatchService.containing(SearchIndexService.IndexType.STUDIO, query);
+        if (byName == null || !searchIndexService.isReady()) {
+            return null;
+        }
+        Set<Long> ids = new TreeSet<>(byName);
+        ids.addAll(searchIndexService.scoreAll(SearchIndexService.IndexType.STUDIO, query).keySet());
+        return new ArrayList<>(ids);
+    }
+    
     private List<Project> searchProjects(String query, String category) {
         if (query != null && !query.isEmpty()) {
             return projectRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrTagsContainingIgnoreCase(
@@ -133,28 +407,75 @@ public class SearchService {
     }
     
     private List<User> searchUsers(String query, String location) {
-        if (location != null && !location.isEmpty()) {
-            if (query != null && !query.isEmpty()) {
-                return userRepository.findByLocationContainingIgnoreCaseAndUsernameContainingIgnoreCase(location, query);
-            } else {
-                return userRepository.findByLocationContainingIgnoreCase(location);
+        boolean hasLocation = location != null && !location.isEmpty();
+        if (query != null && !query.isEmpty()) {
+            // 이름 트라이그램 색인으로 후보를 찾고, 색인 전이거나 검색어가 너무 짧을 때만 DB 부분 일치 검색
+            List<Long> ids = nameMatchService.containing(SearchIndexService.IndexType.USER, query);
+            if (ids == null) {
+                return hasLocation
+                    ? userRepository.findByLocationContainingIgnoreCaseAndUsernameContainingIgnoreCase(location, query)
+                    : orSimilarlyNamed(SearchIndexService.IndexType.USER, query,
+                        userRepository.findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                            query, query, query),
+                        userRepository::findAllById, User::getId);
             }
-        } else if (query != null && !query.isEmpty()) {
-            return userRepository.findByUsernameContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                query, query, query);
+            List<User> users = SearchIndexService.inRankOrder(userRepository.findAllById(ids), ids, User::getId);
+            if (hasLocation) {
+                String needle = location.toLowerCase(Locale.ROOT);
+                return users.stream()
+                    .filter(user -> user.getLocation() != null && user.getLocation().toLowerCase(Locale.ROOT).contains(needle))
+                    .toList();
+            }
+            return orSimilarlyNamed(SearchIndexService.IndexType.USER, query, users, userRepository::findAllById, User::getId);
+        } else if (hasLocation) {
+            return userRepository.findByLocationContainingIgnoreCase(location);
         }
         return userRepository.findAll();
     }
     
+    /**
+     * 일치하는 결과가 없으면 이름이 비슷한 엔티티 (오타 보정)
+     */
+    private <T> List<T> orSimilarlyNamed(SearchIndexService.IndexType type, String query, List<T> matches,
+                                         Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+        List<Long> ids = nameMatchService.match(type, query);
+        return ids.isEmpty() ? List.of() : SearchIndexService.inRankOrder(loader.apply(ids), ids, idOf);
+    }
+    
     public List<String> getSearchSuggestions(String query) {
-        // This could be enhanced with a proper suggestion engine
-        // For now, return simple suggestions based on existing data
-        return List.of(
-            query + " meetup",
-            query + " project",
-            query + " studio",
-            "popular " + query,
-            query + " in Seoul"
-        );
+        return suggestionService.suggest(query);
+    }
+    
+    /**
+     * 소스 하나의 검색 결과 페이지
+     */
+    private static class SourcePage {
+        private final Object items;
+        private final int total;
+        private final List<Long> ids;
+        
+        SourcePage(List<?> items, int total) {
+            this(items, total, idsOf(items));
+        }
+        
+        private SourcePage(Object items, int total, List<Long> ids) {
+            this.items = items;
+            this.total = total;
+            this.ids = ids;
+        }
+        
+        List<Long> ids() {
+            return ids;
+        }
+        
+        /**
+         * 엔티티 목록을 JSON 트리로 바꾼 사본 (세션 밖에서 직렬화/캐시해도 안전)
+         */
+        SourcePage detached(ObjectMapper objectMapper) {
+            return new SourcePage(objectMapper.valueToTree(items), total, ids);
+        }
     }
 }
\ No newline at end of file
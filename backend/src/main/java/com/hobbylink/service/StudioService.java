@@ -14,6 +14,9 @@ public class StudioService {
     @Autowired
     private StudioRepository studioRepository;
     
+    @Autowired
+    private NameMatchService nameMatchService;
+    
     public List<Studio> getAllStudios() {
         return studioRepository.findAll();
     }
@@ -31,7 +34,17 @@ public class StudioService {
     }
     
     public List<Studio> searchStudiosByName(String name) {
-        return studioRepository.findByNameContainingIgnoreCase(name);
+        // 이름 트라이그램 색인으로 후보를 찾고, 색인 전이거나 검색어가 너무 짧을 때만 DB 부분 일치 검색
+        List<Long> ids = nameMatchService.containing(SearchIndexService.IndexType.STUDIO, name);
+        List<Studio> studios = ids != null
+            ? SearchIndexService.inRankOrder(studioRepository.findAllById(ids), ids, Studio::getId)
+            : studioRepository.findByNameContainingIgnoreCase(name);
+        if (!studios.isEmpty()) {
+            return studios;
+        }
+        // 일치하는 이름이 없으면 오타를 허용해 비슷한 이름으로 찾는다
+        List<Long> similar = nameMatchService.match(SearchIndexService.IndexType.STUDIO, name);
+        return SearchIndexService.inRankOrder(studioRepository.findAllById(similar), similar, Studio::getId);
     }
     
     public Studio createStudio(Studio studio) {
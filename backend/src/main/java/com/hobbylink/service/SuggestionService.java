@@ -0,0 +1,219 @@
+package com.hobbylink.service;
+
+import com.hobbylink.model.Meetup;
+import com.hobbylink.model.Studio;
+import com.hobbylink.model.enums.MeetupStatus;
+import com.hobbylink.repository.MeetupRepository;
+import com.hobbylink.repository.StudioRepository;
+import com.hobbylink.search.SuggestionTrie;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색어 자동완성 서비스
+ *
+ * 미팅 제목, 카테고리, 태그, 스튜디오 이름, 자주 검색된 검색어로 SuggestionTrie 를 만들어
+ * 참조를 통째로 교체한다. 키 입력마다 호출되는 조회는 현재 트라이만 읽고 DB 에 접근하지 않는다.
+ * 재구축은 백그라운드 스케줄러에서 리포지토리를 키셋 페이지로 훑어 수행한다.
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    private static final int MAX_QUERY_LENGTH = 50;
+
+    @Value("${app.search.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${app.search.suggest.query-weight:3.0}")
+    private double queryWeight;
+
+    @Value("${app.search.suggest.category-weight:2.0}")
+    private double categoryWeight;
+
+    @Value("${app.search.suggest.max-tracked-queries:10000}")
+    private int maxTrackedQueries;
+
+    // 한두 번 검색된 검색어(오타, 개인 정보, 장난)가 모든 사용자의 자동완성에 뜨지 않도록
+    @Value("${app.search.suggest.min-query-count:3}")
+    private int minQueryCount;
+
+    @Value("${app.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    private MeetupRepository meetupRepository;
+
+    @Autowired
+    private StudioRepository studioRepository;
+
+    private volatile SuggestionTrie trie;
+
+    // 정규화된 검색어 → 검색 횟수 (재구축 때마다 절반으로 감쇠)
+    private final Map<String, LongAdder> queryCounts = new ConcurrentHashMap<>();
+
+    private final Timer rebuildTimer;
+
+    public SuggestionService(MeterRegistry meterRegistry) {
+        this.rebuildTimer = Timer.builder("search.suggest.rebuild")
+                .description("Time to rebuild the autocomplete trie")
+                .register(meterRegistry);
+        Gauge.builder("search.suggest.entries", this, service -> service.trie != null ? service.trie.size() : 0)
+                .description("Suggestions held in the autocomplete trie")
+                .register(meterRegistry);
+        Gauge.builder("search.suggest.bytes", this, service -> service.trie != null ? service.trie.estimatedBytes() : 0)
+                .description("Estimated memory footprint of the autocomplete trie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 자동완성 후보 조회 (메모리 조회만 수행)
+     * @param prefix 입력 중인 검색어
+     * @return 인기순 후보 목록
+     */
+    public List<String> suggest(String prefix) {
+        SuggestionTrie current = trie;
+        if (current == null || prefix == null) {
+            return List.of();
+        }
+        return current.complete(prefix, topK);
+    }
+
+    /**
+     * 결과가 있었던 검색어 기록
+     * 감쇠 후에도 min-query-count 이상 남은 검색어만 다음 재구축부터 후보에 반영한다.
+     * 한 번만 나온 검색어는 다음 재구축의 감쇠로 지워지므로 추적 자리를 오래 차지하지 않는다.
+     * @param query 검색어
+     */
+    public void recordQuery(String query) {
+        if (query == null) {
+            return;
+        }
+        String normalized = query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH) {
+            return;
+        }
+        LongAdder counter = queryCounts.get(normalized);
+        if (counter == null) {
+            if (queryCounts.size() >= maxTrackedQueries) {
+                return;
+            }
+            counter = queryCounts.computeIfAbsent(normalized, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * 트라이 재구축 (시작 직후, 이후 주기적으로)
+     */
+    @Scheduled(initialDelayString = "${app.search.suggest.initial-delay-ms:10000}",
+               fixedDelayString = "${app.search.suggest.rebuild-ms:300000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            SuggestionTrie.Builder builder = new SuggestionTrie.Builder(topK);
+            Map<String, Integer> categoryCounts = new HashMap<>();
+            Map<String, Integer> tagCounts = new HashMap<>();
+
+            long lastId = 0L;
+            PageRequest pageRequest = PageRequest.of(0, rebuildBatchSize);
+            List<Meetup> meetups;
+            do {
+                meetups = meetupRepository.findByIdGreaterThanOrderByIdAsc(lastId, pageRequest);
+                for (Meetup meetup : meetups) {
+                    lastId = meetup.getId();
+                    if (meetup.getStatus() != MeetupStatus.ACTIVE) {
+                        continue;
+                    }
+                    // 참가자가 많은 미팅일수록 위로
+                    int participants = meetup.getCurrentParticipants() != null ? meetup.getCurrentParticipants() : 0;
+                    builder.add(meetup.getTitle(), 1 + participants);
+                    count(categoryCounts, meetup.getCategory());
+                    for (String tag : splitTags(meetup.getTags())) {
+                        count(tagCounts, tag);
+                    }
+                }
+            } while (meetups.size() == rebuildBatchSize);
+
+            lastId = 0L;
+            List<Studio> studios;
+            do {
+                studios = studioRepository.findByIdGreaterThanOrderByIdAsc(lastId, pageRequest);
+                for (Studio studio : studios) {
+                    lastId = studio.getId();
+                    builder.add(studio.getName(), 1);
+                    count(categoryCounts, studio.getCategory());
+                }
+            } while (studios.size() == rebuildBatchSize);
+
+            categoryCounts.forEach((category, count) -> builder.add(category, count * categoryWeight));
+            tagCounts.forEach(builder::add);
+            addPopularQueries(builder);
+
+            SuggestionTrie built = builder.build();
+            trie = built;
+            logger.debug("Suggestion trie rebuilt: {} suggestions, {} nodes, ~{} KB",
+                    built.size(), built.nodeCount(), built.estimatedBytes() / 1024);
+        } catch (Exception e) {
+            logger.error("Error rebuilding suggestion trie: {}", e.getMessage(), e);
+        } finally {
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void addPopularQueries(SuggestionTrie.Builder builder) {
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : queryCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count >= minQueryCount) {
+                builder.add(entry.getKey(), count * queryWeight);
+            }
+
+            // 오래된 인기 검색어가 자리를 차지하지 않도록 감쇠
+            long decayed = count / 2;
+            if (decayed == 0) {
+                expired.add(entry.getKey());
+            } else {
+                entry.getValue().add(decayed - count);
+            }
+        }
+        expired.forEach(queryCounts::remove);
+    }
+
+    private static void count(Map<String, Integer> counts, String value) {
+        if (value != null && !value.isBlank()) {
+            counts.merge(value.strip(), 1, Integer::sum);
+        }
+    }
+
+    private static List<String> splitTags(String tags) {
+        List<String> result = new ArrayList<>();
+        if (tags == null) {
+            return result;
+        }
+        for (String tag : tags.split("[,#]")) {
+            if (!tag.isBlank()) {
+                result.add(tag.strip());
+            }
+        }
+        return result;
+    }
+}
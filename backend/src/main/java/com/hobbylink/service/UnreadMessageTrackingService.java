@@ -1,5 +1,6 @@
 package com.hobbylink.service;
 
+import com.hobbylink.config.LoadSheddingInterceptor;
 import com.hobbylink.model.ChatMessage;
 import com.hobbylink.model.MessageStatus;
 import com.hobbylink.repository.ChatMessageRepository;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -38,12 +40,24 @@ public class UnreadMessageTrackingService {
     @Autowired
     private MeetupParticipationService meetupParticipationService;
     
+    @Autowired
+    private LoadSheddingInterceptor loadSheddingInterceptor;
+    
+    @Autowired
+    private HotRoomService hotRoomService;
+    
+    @Autowired
+    private ChatSessionContextService chatSessionContextService;
+    
     // 사용자별 읽지 않은 메시지 수 캐시 (userId -> meetupId -> count)
     private final Map<Long, Map<Long, Long>> unreadCountCache = new ConcurrentHashMap<>();
     
     // 사용자별 마지막 읽은 메시지 시간 (userId -> meetupId -> timestamp)
     private final Map<Long, Map<Long, LocalDateTime>> lastReadTimeCache = new ConcurrentHashMap<>();
     
+    // 과부하 중 미뤄 둔 읽지 않은 수 브로드캐스트 (userId -> meetupId 집합)
+    private final Map<Long, Set<Long>> deferredBroadcasts = new ConcurrentHashMap<>();
+    
     /**
      * 특정 미팅에서 사용자의 읽지 않은 메시지 수 조회
      * @param userId 사용자 ID
@@ -110,8 +124,10 @@ public class UnreadMessageTrackingService {
             Long meetupId = message.getMeetupId();
             Long senderId = message.getSenderId();
             
-            // 미팅 참가자들의 읽지 않은 메시지 수 업데이트
-            List<Long> participantIds = meetupParticipationService.getMeetupParticipantIds(meetupId);
+            // 미팅 참가자들의 읽지 않은 메시지 수 업데이트 (캐시된 방 참가자 목록 사용)
+            List<Long> participantIds = chatSessionContextService.getMemberIds(meetupId);
+            // 과부하 중이거나 hot room 이면 메시지마다 보내지 않고 모아서 전송
+            boolean defer = loadSheddingInterceptor.shouldDeferUnreadBroadcasts() || hotRoomService.isHot(meetupId);
             
             for (Long participantId : participantIds) {
                 // 메시지 발신자는 제외
@@ -122,6 +138,12 @@ public class UnreadMessageTrackingService {
                 // 읽지 않은 메시지 수 증가
                 incrementUnreadCount(participantId, meetupId);
                 
+                // 미룬 알림은 나중에 최신 값 한 번만 전송
+                if (defer) {
+                    deferredBroadcasts.computeIfAbsent(participantId, key -> ConcurrentHashMap.newKeySet()).add(meetupId);
+                    continue;
+                }
+                
                 // 알림 전송
                 long newCount = getUnreadMessageCount(participantId, meetupId);
                 notificationBroadcastService.broadcastUnreadCountUpdate(participantId, meetupId, newCount);
@@ -245,6 +267,32 @@ public class UnreadMessageTrackingService {
         return null;
     }
     
+    /**
+     * 미뤄 둔 읽지 않은 수 브로드캐스트 전송 (과부하 해소 후, 2초마다 확인)
+     */
+    @Scheduled(fixedRate = 2000)
+    public void flushDeferredBroadcasts() {
+        if (deferredBroadcasts.isEmpty() || loadSheddingInterceptor.shouldDeferUnreadBroadcasts()) {
+            return;
+        }
+        
+        for (Long userId : deferredBroadcasts.keySet()) {
+            Set<Long> meetupIds = deferredBroadcasts.remove(userId);
+            if (meetupIds == null) {
+                continue;
+            }
+            for (Long meetupId : meetupIds) {
+                try {
+                    long count = getUnreadMessageCount(userId, meetupId);
+                    notificationBroadcastService.broadcastUnreadCountUpdate(userId, meetupId, count);
+                } catch (Exception e) {
+                    logger.error("Error flushing deferred unread count for user {} in meetup {}: {}",
+                                userId, meetupId, e.getMessage());
+                }
+            }
+        }
+    }
+    
     /**
      * 캐시 정리 (1시간마다 실행)
      */
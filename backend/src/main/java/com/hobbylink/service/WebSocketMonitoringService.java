@@ -4,7 +4,6 @@ import com.hobbylink.config.WebSocketChannelInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -25,9 +24,6 @@ public class WebSocketMonitoringService {
     @Autowired
     private TypingIndicatorService typingIndicatorService;
     
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-    
     /**
      * 비활성 연결 정리 (5분마다 실행)
      */
@@ -73,116 +69,17 @@ public class WebSocketMonitoringService {
     }
     
     /**
-     * 하트비트 메시지 전송 (30초마다 실행)
-     */
-    @Scheduled(fixedRate = 30000) // 30초
-    public void sendHeartbeat() {
-        try {
-            // 모든 활성 연결에 하트비트 전송
-            HeartbeatMessage heartbeat = new HeartbeatMessage(System.currentTimeMillis());
-            messagingTemplate.convertAndSend("/topic/heartbeat", heartbeat);
-            
-        } catch (Exception e) {
-            logger.error("Error sending heartbeat: {}", e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * 연결 상태 브로드캐스트 (2분마다 실행)
+     * 전송 하트비트로 기록된 세션 활동 시간을 DB 에 일괄 반영 (1분마다 실행)
+     * 앱 수준 하트비트 메시지와 전역 브로드캐스트(/topic/heartbeat, /topic/connection-status)는
+     * STOMP 전송 하트비트로 대체되었다.
      */
-    @Scheduled(fixedRate = 120000) // 2분
-    public void broadcastConnectionStatus() {
+    @Scheduled(fixedRate = 60000) // 1분
+    public void flushRecordedActivity() {
         try {
-            ConnectionStatusMessage status = new ConnectionStatusMessage(
-                "HEALTHY",
-                "WebSocket 연결이 정상적으로 작동 중입니다.",
-                System.currentTimeMillis()
-            );
-            
-            messagingTemplate.convertAndSend("/topic/connection-status", status);
-            
+            int flushed = connectionManagerService.flushRecordedActivity();
+            logger.debug("Flushed activity for {} sessions", flushed);
         } catch (Exception e) {
-            logger.error("Error broadcasting connection status: {}", e.getMessage(), e);
-            
-            // 오류 발생 시 오류 상태 브로드캐스트
-            try {
-                ConnectionStatusMessage errorStatus = new ConnectionStatusMessage(
-                    "ERROR",
-                    "WebSocket 연결에 문제가 발생했습니다: " + e.getMessage(),
-                    System.currentTimeMillis()
-                );
-                
-                messagingTemplate.convertAndSend("/topic/connection-status", errorStatus);
-            } catch (Exception broadcastError) {
-                logger.error("Failed to broadcast error status: {}", broadcastError.getMessage());
-            }
-        }
-    }
-    
-    /**
-     * 하트비트 메시지 클래스
-     */
-    public static class HeartbeatMessage {
-        private long timestamp;
-        private String type = "HEARTBEAT";
-        
-        public HeartbeatMessage(long timestamp) {
-            this.timestamp = timestamp;
-        }
-        
-        public long getTimestamp() {
-            return timestamp;
-        }
-        
-        public void setTimestamp(long timestamp) {
-            this.timestamp = timestamp;
-        }
-        
-        public String getType() {
-            return type;
-        }
-        
-        public void setType(String type) {
-            this.type = type;
-        }
-    }
-    
-    /**
-     * 연결 상태 메시지 클래스
-     */
-    public static class ConnectionStatusMessage {
-        private String status;
-        private String message;
-        private long timestamp;
-        
-        public ConnectionStatusMessage(String status, String message, long timestamp) {
-            this.status = status;
-            this.message = message;
-            this.timestamp = timestamp;
-        }
-        
-        public String getStatus() {
-            return status;
-        }
-        
-        public void setStatus(String status) {
-            this.status = status;
-        }
-        
-        public String getMessage() {
-            return message;
-        }
-        
-        public void setMessage(String message) {
-            this.message = message;
-        }
-        
-        public long getTimestamp() {
-            return timestamp;
-        }
-        
-        public void setTimestamp(long timestamp) {
-            this.timestamp = timestamp;
+            logger.error("Error flushing session activity: {}", e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
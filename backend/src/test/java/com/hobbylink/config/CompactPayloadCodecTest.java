@@ -0,0 +1,86 @@
+package com.hobbylink.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactPayloadCodecTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String CHAT_MESSAGE = "{\"id\":12345,\"content\":\"오늘 모임 7시에 강남역 11번 출구 👋\","
+            + "\"formattedContent\":\"오늘 모임 7시에 <b>강남역</b> 11번 출구 👋\",\"type\":\"TEXT\",\"status\":\"DELIVERED\","
+            + "\"mediaUrl\":null,\"clientMessageId\":\"c-7f3a9b\",\"sentAt\":\"2024-05-01T19:02:03.123456\","
+            + "\"deliveredAt\":\"2024-05-01T19:02:03.2\",\"readAt\":null,\"meetupId\":42,\"senderId\":7,"
+            + "\"senderName\":\"민지\"}";
+
+    @Test
+    void roundTripsTypicalFrames() throws Exception {
+        assertRoundTrip(CHAT_MESSAGE);
+        assertRoundTrip("{\"meetupId\":42,\"typingUsers\":[\"민지\",\"jun\"],\"message\":\"민지 님이 입력 중...\","
+                + "\"timestamp\":1714557723000,\"type\":\"TYPING\"}");
+        assertRoundTrip("{\"meetupId\":42,\"unreadCounts\":{\"1\":3,\"2\":0},\"totalUnread\":3,\"type\":\"UNREAD_COUNT\"}");
+    }
+
+    @Test
+    void roundTripsEveryValueKind() throws Exception {
+        assertRoundTrip("null");
+        assertRoundTrip("[true,false,null,0,-1,1,63,-64,64,300,-300]");
+        assertRoundTrip("[" + Long.MAX_VALUE + "," + Long.MIN_VALUE + "]");
+        assertRoundTrip("[0.5,-2.25,1.0E300,3.141592653589793]");
+        assertRoundTrip("{\"nested\":{\"list\":[[],{},[{\"a\":\"\"}]]},\"unknownKey\":\"value\",\"status\":\"custom\"}");
+        assertRoundTrip("\"" + "긴 문자열 ".repeat(100) + "\"");
+    }
+
+    @Test
+    void keepsDateTimeStringsExactly() throws Exception {
+        // 날짜시간으로 줄일 수 있는 문자열과, 다시 만들면 달라져서 문자열로 남겨야 하는 값
+        for (String value : List.of("2024-05-01T19:02:03", "2024-05-01T19:02:03.5", "2024-05-01T19:02:03.123456789",
+                "1969-12-31T23:59:59.999", "2024-05-01T19:02", "2024-05-01T19:02:03.000", "2024-05-01T19:02:03Z",
+                "2024-13-01T19:02:03", "abcd-ef-ghTij:kl")) {
+            byte[] json = objectMapper.writeValueAsBytes(Map.of("sentAt", value));
+            Object decoded = CompactPayloadCodec.decode(CompactPayloadCodec.encode(json));
+            assertEquals(Map.of("sentAt", value), decoded, value);
+        }
+    }
+
+    @Test
+    void compactAndDeflatedFramesAreSmallerAndInflateBack() throws Exception {
+        byte[] json = CHAT_MESSAGE.getBytes(StandardCharsets.UTF_8);
+        byte[] compact = CompactPayloadCodec.encode(json);
+        byte[] deflated = CompactPayloadCodec.deflate(compact);
+
+        assertTrue(compact.length < json.length, "compact " + compact.length + " vs json " + json.length);
+        assertTrue(deflated.length < compact.length, "deflated " + deflated.length + " vs compact " + compact.length);
+        assertArrayEquals(compact, CompactPayloadCodec.inflate(deflated));
+
+        // 스레드별 Deflater 를 재사용해도 프레임마다 독립적이다
+        assertArrayEquals(deflated, CompactPayloadCodec.deflate(compact));
+    }
+
+    @Test
+    void rejectsPayloadsWithoutVersionByte() {
+        assertThrows(IllegalArgumentException.class, () -> CompactPayloadCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactPayloadCodec.decode("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertRoundTrip(String json) throws Exception {
+        byte[] encoded = CompactPayloadCodec.encode(json.getBytes(StandardCharsets.UTF_8));
+        JsonNode expected = objectMapper.readTree(json);
+        JsonNode actual = objectMapper.valueToTree(CompactPayloadCodec.decode(encoded));
+        // 정수는 크기와 관계없이 Long 으로 복원되므로 숫자는 값으로 비교한다
+        assertTrue(expected.equals((a, b) -> a.equals(b)
+                || (a.isNumber() && b.isNumber() && a.decimalValue().compareTo(b.decimalValue()) == 0) ? 0 : 1, actual),
+                "expected " + expected + " but was " + actual);
+    }
+}
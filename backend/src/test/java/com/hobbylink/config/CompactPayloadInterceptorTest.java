@@ -0,0 +1,141 @@
+package com.hobbylink.config;
+
+import com.hobbylink.model.User;
+import com.hobbylink.service.NotificationBroadcastService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * compact-v1 협상과 전송 프레임 크기 비교
+ *
+ * 서비스가 실제로 보내는 알림 객체를 Spring Boot 와 같은 설정(날짜는 ISO 문자열)의 JSON 변환기로 만든 메시지와,
+ * 인터셉터가 바꾼 메시지를 각각 STOMP MESSAGE 프레임으로 인코딩해 소켓에 쓰이는 바이트 수를 비교한다.
+ * 바이너리 프레임은 content-type 과 payload-format 헤더가 더 붙으므로 절감률은 페이로드만 볼 때보다 작다.
+ */
+class CompactPayloadInterceptorTest {
+
+    private final MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+    private CompactPayloadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        interceptor = new CompactPayloadInterceptor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interceptor, "deflateMinSize", 256);
+        connect("compact", true, "compact-v1");
+        connect("sockjs", false, "compact-v1");
+    }
+
+    @Test
+    void compactFramesAreSmallerThanJsonFramesOnTheWire() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("minji");
+        user.setNickname("민지");
+        LocalDateTime sentAt = LocalDateTime.of(2024, 5, 1, 19, 2, 3, 123_000_000);
+        long timestamp = 1714557723000L;
+
+        Map<String, Object> frames = new LinkedHashMap<>();
+        frames.put("/topic/meetup/42/messages", new NotificationBroadcastService.MessageNotification(
+                12345L, "c-7f3a9b", 42L, "민지", "오늘 모임 7시에 강남역 11번 출구에서 만나요", sentAt, true));
+        frames.put("/topic/meetup/42/typing", new NotificationBroadcastService.TypingNotification(
+                42L, List.of(user), "민지 님이 입력 중...", timestamp));
+        frames.put("/topic/meetup/42/user-status", new NotificationBroadcastService.UserStatusNotification(
+                42L, 7L, "minji", "ONLINE", timestamp));
+        frames.put("/user/queue/unread-count", new NotificationBroadcastService.UnreadCountNotification(
+                42L, 3, timestamp));
+
+        int jsonTotal = 0;
+        int compactTotal = 0;
+        for (Map.Entry<String, Object> frame : frames.entrySet()) {
+            Message<?> json = jsonMessage("compact", frame.getKey(), frame.getValue());
+            Message<?> compact = interceptor.preSend(json, null);
+            assertNotSame(json, compact, frame.getKey());
+            assertEquals("compact-v1", SimpMessageHeaderAccessor.wrap(compact).getFirstNativeHeader("payload-format"));
+
+            int jsonBytes = wireBytes(json);
+            int compactBytes = wireBytes(compact);
+            System.out.printf("%-28s payload json=%4d compact=%4d | frame json=%4d compact=%4d (%.0f%%)%n",
+                    frame.getKey(), ((byte[]) json.getPayload()).length, ((byte[]) compact.getPayload()).length,
+                    jsonBytes, compactBytes, 100.0 * compactBytes / jsonBytes);
+            assertTrue(compactBytes < jsonBytes, frame.getKey() + ": " + compactBytes + " vs " + jsonBytes);
+            jsonTotal += jsonBytes;
+            compactTotal += compactBytes;
+        }
+        // 헤더까지 포함한 프레임 전체 기준으로 측정값은 약 80% (이보다 커지면 회귀)
+        assertTrue(compactTotal * 100 < jsonTotal * 85, "compact " + compactTotal + " vs json " + jsonTotal);
+    }
+
+    @Test
+    void sessionsWithoutNegotiationKeepJson() {
+        Message<?> json = jsonMessage("sockjs", "/topic/meetup/42/user-status",
+                new NotificationBroadcastService.UserStatusNotification(42L, 7L, "minji", "ONLINE", 0L));
+        assertSame(json, interceptor.preSend(json, null));
+
+        Message<?> other = jsonMessage("compact", "/topic/meetup/42/connection-status",
+                new NotificationBroadcastService.UserStatusNotification(42L, 7L, "minji", "ONLINE", 0L));
+        assertSame(other, interceptor.preSend(other, null));
+    }
+
+    private void connect(String sessionId, boolean nativeTransport, String acceptPayload) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(CompactPayloadInterceptor.NATIVE_TRANSPORT_ATTRIBUTE, nativeTransport);
+        accessor.setSessionAttributes(attributes);
+        accessor.setNativeHeader(CompactPayloadInterceptor.ACCEPT_PAYLOAD_HEADER, acceptPayload);
+        interceptor.handleConnect(new SessionConnectEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private Message<?> jsonMessage(String sessionId, String destination, Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setLeaveMutable(true);
+        return converter.toMessage(payload, accessor.getMessageHeaders());
+    }
+
+    /**
+     * StompSubProtocolHandler 가 MESSAGE 프레임을 만들 때처럼 헤더를 옮겨 인코딩한 바이트 수
+     */
+    private static int wireBytes(Message<?> message) {
+        SimpMessageHeaderAccessor source = SimpMessageHeaderAccessor.wrap(message);
+        StompHeaderAccessor stomp = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        stomp.setDestination(source.getDestination());
+        stomp.setSubscriptionId(source.getSubscriptionId());
+        stomp.setMessageId("d4d5e6f7-0");
+        stomp.setContentType(source.getContentType());
+        String format = source.getFirstNativeHeader(CompactPayloadInterceptor.PAYLOAD_FORMAT_HEADER);
+        if (format != null) {
+            stomp.setNativeHeader(CompactPayloadInterceptor.PAYLOAD_FORMAT_HEADER, format);
+        }
+        byte[] payload = (byte[]) message.getPayload();
+        stomp.setContentLength(payload.length);
+        return new StompEncoder().encode(stomp.getMessageHeaders(), payload).length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hobbylink.config;
+
+import jakarta.websocket.Extension;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionUpgradeStrategyTest {
+
+    @Test
+    void disabledCompressionDropsOnlyPermessageDeflate() {
+        Extension deflate = extension("permessage-deflate", "client_max_window_bits");
+        Extension other = extension("x-custom");
+
+        List<Extension> negotiated = new CompressionUpgradeStrategy(false, true).filterExtensions(List.of(deflate, other));
+
+        assertEquals(1, negotiated.size());
+        assertSame(other, negotiated.get(0));
+    }
+
+    @Test
+    void contextTakeoverKeepsNegotiatedExtensionAsIs() {
+        Extension deflate = extension("permessage-deflate", "client_max_window_bits");
+
+        List<Extension> negotiated = new CompressionUpgradeStrategy(true, true).filterExtensions(List.of(deflate));
+
+        assertEquals(1, negotiated.size());
+        assertSame(deflate, negotiated.get(0));
+    }
+
+    @Test
+    void disablingContextTakeoverAddsServerParameterOnce() {
+        Extension deflate = extension("permessage-deflate", "client_max_window_bits");
+        CompressionUpgradeStrategy strategy = new CompressionUpgradeStrategy(true, false);
+
+        Extension negotiated = strategy.filterExtensions(List.of(deflate)).get(0);
+        assertEquals("permessage-deflate", negotiated.getName());
+        assertEquals(List.of("client_max_window_bits", "server_no_context_takeover"), parameterNames(negotiated));
+        // 원래 확장은 바뀌지 않는다
+        assertEquals(List.of("client_max_window_bits"), parameterNames(deflate));
+
+        // 클라이언트가 이미 요청했으면 그대로 둔다
+        Extension requested = extension("permessage-deflate", "server_no_context_takeover");
+        assertSame(requested, strategy.filterExtensions(List.of(requested)).get(0));
+        assertTrue(strategy.filterExtensions(List.of()).isEmpty());
+    }
+
+    private static List<String> parameterNames(Extension extension) {
+        List<String> names = new ArrayList<>();
+        extension.getParameters().forEach(parameter -> names.add(parameter.getName()));
+        return names;
+    }
+
+    private static Extension extension(String name, String... parameterNames) {
+        List<Extension.Parameter> parameters = new ArrayList<>();
+        for (String parameterName : parameterNames) {
+            parameters.add(new Extension.Parameter() {
+                @Override
+                public String getName() {
+                    return parameterName;
+                }
+
+                @Override
+                public String getValue() {
+                    return null;
+                }
+            });
+        }
+        return new Extension() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public List<Parameter> getParameters() {
+                return parameters;
+            }
+        };
+    }
+}
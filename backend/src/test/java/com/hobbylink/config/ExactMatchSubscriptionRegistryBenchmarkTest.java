@@ -0,0 +1,128 @@
+package com.hobbylink.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 구독 5만 개 / 목적지 1만 개에서 ExactMatchSubscriptionRegistry vs DefaultSubscriptionRegistry
+ *
+ * 세션 1만 개가 각각 한 미팅의 다섯 토픽(messages, typing, typing-notifications, user-status, read-status)을 구독한다.
+ * 미팅 2천 개 x 5 = 목적지 1만 개. 조회는 목적지 전체에 고르게 퍼뜨려 기본 레지스트리의 목적지 캐시(1024개)를 넘기고,
+ * 혼합 부하는 조회 사이에 구독/해지를 섞어 캐시 무효화까지 포함한다. 끝난 뒤 모든 목적지의 조회 결과가 같아야 한다.
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class ExactMatchSubscriptionRegistryBenchmarkTest {
+
+    private static final int MEETUPS = 2_000;
+    private static final int SESSIONS = 10_000;
+    private static final String[] SUFFIXES = { "messages", "typing", "typing-notifications", "user-status", "read-status" };
+    private static final int OPERATIONS = 500_000;
+    // 기본 레지스트리는 캐시에 없는 목적지마다 구독 5만 개를 전부 훑으므로 횟수를 줄인다
+    private static final int DEFAULT_OPERATIONS = 20_000;
+
+    @Test
+    void fiftyThousandSubscriptionsAcrossTenThousandDestinations() {
+        List<String> destinations = new ArrayList<>();
+        for (int meetup = 0; meetup < MEETUPS; meetup++) {
+            for (String suffix : SUFFIXES) {
+                destinations.add("/topic/meetup/" + meetup + "/" + suffix);
+            }
+        }
+        List<Message<byte[]>> subscriptions = new ArrayList<>();
+        for (int session = 0; session < SESSIONS; session++) {
+            int meetup = session % MEETUPS;
+            for (int i = 0; i < SUFFIXES.length; i++) {
+                subscriptions.add(subscribe("s" + session, "sub-" + i, destinations.get(meetup * SUFFIXES.length + i)));
+            }
+        }
+        List<Message<byte[]>> lookups = new ArrayList<>(destinations.size());
+        destinations.forEach(destination -> lookups.add(message(destination)));
+
+        ExactMatchSubscriptionRegistry exact = new ExactMatchSubscriptionRegistry();
+        DefaultSubscriptionRegistry standard = new DefaultSubscriptionRegistry();
+        double exactNanos = run("exact-match", exact, subscriptions, lookups, OPERATIONS);
+        double defaultNanos = run("default", standard, subscriptions, lookups, DEFAULT_OPERATIONS);
+
+        assertEquals(destinations.size(), exact.getDestinationCount());
+        for (Message<byte[]> lookup : lookups) {
+            assertEquals(standard.findSubscriptions(lookup), exact.findSubscriptions(lookup));
+        }
+        assertTrue(exactNanos * 10 < defaultNanos, "exact " + exactNanos + "ns vs default " + defaultNanos + "ns per lookup");
+    }
+
+    /**
+     * @return 조회 한 번의 평균 시간 (ns)
+     */
+    private static double run(String name, SubscriptionRegistry registry, List<Message<byte[]>> subscriptions,
+                              List<Message<byte[]>> lookups, int operations) {
+        long start = System.nanoTime();
+        subscriptions.forEach(registry::registerSubscription);
+        double registerMs = (System.nanoTime() - start) / 1e6;
+
+        // 워밍업 후 조회만 측정
+        Random random = new Random(27);
+        long found = 0;
+        for (int i = 0; i < operations / 10; i++) {
+            registry.findSubscriptions(lookups.get(random.nextInt(lookups.size())));
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            found += registry.findSubscriptions(lookups.get(random.nextInt(lookups.size()))).size();
+        }
+        double lookupNanos = (double) (System.nanoTime() - start) / operations;
+
+        // 조회 9 : 구독 변경 1 (해지 후 같은 목적지로 재구독)
+        random = new Random(28);
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (i % 10 == 0) {
+                Message<byte[]> subscription = subscriptions.get(random.nextInt(subscriptions.size()));
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(subscription);
+                registry.unregisterSubscription(unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId()));
+                registry.registerSubscription(subscription);
+            } else {
+                found += registry.findSubscriptions(lookups.get(random.nextInt(lookups.size()))).size();
+            }
+        }
+        double mixedNanos = (double) (System.nanoTime() - start) / operations;
+
+        System.out.printf("%s: register %d subscriptions=%.1fms lookup=%.0fns mixed=%.0fns/op (found %d)%n",
+                name, subscriptions.size(), registerMs, lookupNanos, mixedNanos, found);
+        return lookupNanos;
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,156 @@
+package com.hobbylink.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExactMatchSubscriptionRegistryTest {
+
+    @Test
+    void findsExactAndPatternSubscribers() {
+        ExactMatchSubscriptionRegistry registry = new ExactMatchSubscriptionRegistry();
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/meetup/1/messages"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/meetup/1/messages"));
+        registry.registerSubscription(subscribe("s2", "sub-2", "/topic/meetup/2/messages"));
+        registry.registerSubscription(subscribe("s3", "sub-9", "/topic/meetup/*/messages"));
+
+        assertEquals(Map.of("s1", Set.of("sub-1"), "s2", Set.of("sub-1"), "s3", Set.of("sub-9")),
+                find(registry, "/topic/meetup/1/messages"));
+        assertEquals(Map.of("s2", Set.of("sub-2"), "s3", Set.of("sub-9")), find(registry, "/topic/meetup/2/messages"));
+        assertEquals(Map.of(), find(registry, "/topic/meetup/1/typing"));
+        assertEquals(2, registry.getDestinationCount());
+    }
+
+    @Test
+    void unsubscribeAndDisconnectRemoveOnlyTheirEntries() {
+        ExactMatchSubscriptionRegistry registry = new ExactMatchSubscriptionRegistry();
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/meetup/1/messages"));
+        registry.registerSubscription(subscribe("s1", "sub-2", "/topic/meetup/1/typing"));
+        registry.registerSubscription(subscribe("s1", "sub-3", "/topic/meetup/**"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/meetup/1/messages"));
+
+        registry.unregisterSubscription(unsubscribe("s1", "sub-1"));
+        assertEquals(Map.of("s1", Set.of("sub-3"), "s2", Set.of("sub-1")), find(registry, "/topic/meetup/1/messages"));
+
+        registry.unregisterAllSubscriptions("s1");
+        assertEquals(Map.of("s2", Set.of("sub-1")), find(registry, "/topic/meetup/1/messages"));
+        assertEquals(Map.of(), find(registry, "/topic/meetup/1/typing"));
+        // 구독자가 없어진 목적지는 색인에서 빠진다
+        assertEquals(1, registry.getDestinationCount());
+
+        registry.unregisterSubscription(unsubscribe("s2", "sub-1"));
+        registry.unregisterSubscription(unsubscribe("unknown", "sub-1"));
+        assertEquals(0, registry.getDestinationCount());
+    }
+
+    @Test
+    void resubscribingWithSameIdMovesTheSubscription() {
+        ExactMatchSubscriptionRegistry registry = new ExactMatchSubscriptionRegistry();
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/meetup/1/messages"));
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/meetup/2/messages"));
+
+        assertEquals(Map.of(), find(registry, "/topic/meetup/1/messages"));
+        assertEquals(Map.of("s1", Set.of("sub-1")), find(registry, "/topic/meetup/2/messages"));
+        assertEquals(1, registry.getDestinationCount());
+    }
+
+    @Test
+    void cachedLookupResultIsReadOnly() {
+        ExactMatchSubscriptionRegistry registry = new ExactMatchSubscriptionRegistry();
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/meetup/1/messages"));
+
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/meetup/1/messages"));
+        assertThrows(UnsupportedOperationException.class, () -> result.add("s2", "sub-2"));
+        assertEquals(Map.of("s1", Set.of("sub-1")), find(registry, "/topic/meetup/1/messages"));
+    }
+
+    @Test
+    void matchesDefaultRegistryUnderRandomOperations() {
+        Random random = new Random(27);
+        ExactMatchSubscriptionRegistry registry = new ExactMatchSubscriptionRegistry();
+        DefaultSubscriptionRegistry reference = new DefaultSubscriptionRegistry();
+        List<String> destinations = new ArrayList<>();
+        for (int meetup = 1; meetup <= 20; meetup++) {
+            destinations.add("/topic/meetup/" + meetup + "/messages");
+            destinations.add("/topic/meetup/" + meetup + "/typing");
+        }
+        List<String> patterns = List.of("/topic/meetup/*/typing", "/topic/meetup/1?/messages", "/topic/**");
+
+        for (int step = 0; step < 5000; step++) {
+            String sessionId = "s" + random.nextInt(30);
+            String subscriptionId = "sub-" + random.nextInt(5);
+            int operation = random.nextInt(20);
+            if (operation < 12) {
+                String destination = random.nextInt(30) == 0
+                        ? patterns.get(random.nextInt(patterns.size()))
+                        : destinations.get(random.nextInt(destinations.size()));
+                apply(registry, reference, subscribe(sessionId, subscriptionId, destination));
+            } else if (operation < 19) {
+                Message<byte[]> unsubscribe = unsubscribe(sessionId, subscriptionId);
+                registry.unregisterSubscription(unsubscribe);
+                reference.unregisterSubscription(unsubscribe);
+            } else {
+                registry.unregisterAllSubscriptions(sessionId);
+                reference.unregisterAllSubscriptions(sessionId);
+            }
+
+            String probe = destinations.get(random.nextInt(destinations.size()));
+            assertEquals(find(reference, probe), find(registry, probe), "step " + step + " " + probe);
+        }
+        assertTrue(registry.getDestinationCount() > 0);
+    }
+
+    private static void apply(SubscriptionRegistry registry, SubscriptionRegistry reference, Message<byte[]> subscribe) {
+        // 같은 구독 ID 로 다시 구독하면 옮겨지는 것이 우리 동작이므로 기준 레지스트리는 먼저 해지한다
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(subscribe);
+        Message<byte[]> unsubscribe = unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        reference.unregisterSubscription(unsubscribe);
+        reference.registerSubscription(subscribe);
+        registry.registerSubscription(subscribe);
+    }
+
+    private static Map<String, Set<String>> find(SubscriptionRegistry registry, String destination) {
+        Map<String, Set<String>> result = new HashMap<>();
+        registry.findSubscriptions(message(destination))
+                .forEach((sessionId, subscriptionIds) -> result.put(sessionId, new HashSet<>(subscriptionIds)));
+        return result;
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
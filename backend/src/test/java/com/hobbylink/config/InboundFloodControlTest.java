@@ -0,0 +1,120 @@
+package com.hobbylink.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InboundFloodControlTest {
+
+    private static final String MESSAGE = "/app/chat/1/message";
+
+    private SimpleMeterRegistry meterRegistry;
+    private InboundFloodControl floodControl;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        floodControl = new InboundFloodControl(meterRegistry);
+        // 테스트 동안에는 버킷이 다시 차지 않도록 매우 느린 속도
+        for (String type : List.of("message", "typing", "formatting", "other")) {
+            ReflectionTestUtils.setField(floodControl, type + "Rate", 0.001);
+            ReflectionTestUtils.setField(floodControl, type + "Burst", 3);
+        }
+        ReflectionTestUtils.setField(floodControl, "userMultiplier", 1);
+        ReflectionTestUtils.setField(floodControl, "muteThreshold", 30);
+        ReflectionTestUtils.setField(floodControl, "muteWindowMs", 60000L);
+        ReflectionTestUtils.setField(floodControl, "muteBaseMs", 60000L);
+        ReflectionTestUtils.setField(floodControl, "muteMaxMs", 300000L);
+        ReflectionTestUtils.setField(floodControl, "muteDecayMs", 60000L);
+    }
+
+    @Test
+    void userRejectionDoesNotSpendSessionBudget() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(floodControl.tryAcquire("s1", 7L, MESSAGE));
+        }
+        // 같은 사용자의 다른 기기는 사용자 예산에서 거부된다
+        for (int i = 0; i < 3; i++) {
+            assertFalse(floodControl.tryAcquire("s2", 7L, MESSAGE));
+        }
+        // 거부된 프레임이 세션 예산을 쓰지 않았으므로 s2 의 세션 버킷은 그대로다
+        for (int i = 0; i < 3; i++) {
+            assertTrue(floodControl.tryAcquire("s2", null, MESSAGE));
+        }
+        assertFalse(floodControl.tryAcquire("s2", null, MESSAGE));
+    }
+
+    @Test
+    void concurrentFloodMutesSessionOnce() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 2000; i++) {
+                    floodControl.tryAcquire("s1", null, MESSAGE);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(floodControl.isMuted("s1"));
+        // 동시에 임계치를 넘어도 음소거는 한 번만 걸린다
+        assertEquals(1.0, meterRegistry.get("websocket.inbound.mutes").counter().count());
+    }
+
+    @Test
+    void muteLevelDecaysAfterQuietPeriod() throws Exception {
+        ReflectionTestUtils.setField(floodControl, "muteThreshold", 3);
+        ReflectionTestUtils.setField(floodControl, "muteBaseMs", 50L);
+        ReflectionTestUtils.setField(floodControl, "muteDecayMs", 200L);
+
+        floodUntilMuted("s1");
+        assertEquals(1, muteLevel("s1"));
+        Thread.sleep(70);
+        // 음소거가 끝나자마자 다시 넘치면 단계가 오른다 (100ms)
+        floodUntilMuted("s1");
+        assertEquals(2, muteLevel("s1"));
+
+        // 음소거가 끝난 뒤 감쇠 주기 두 번 넘게 조용하면 처음 단계로 돌아간다
+        Thread.sleep(100 + 2 * 200 + 50);
+        assertFalse(floodControl.isMuted("s1"));
+        floodUntilMuted("s1");
+        assertEquals(1, muteLevel("s1"));
+        assertEquals(3.0, meterRegistry.get("websocket.inbound.mutes").counter().count());
+    }
+
+    private void floodUntilMuted(String sessionId) {
+        for (int i = 0; i < 100 && !floodControl.isMuted(sessionId); i++) {
+            floodControl.tryAcquire(sessionId, null, MESSAGE);
+        }
+        assertTrue(floodControl.isMuted(sessionId));
+    }
+
+    private int muteLevel(String sessionId) {
+        Map<?, ?> sessions = (Map<?, ?>) ReflectionTestUtils.getField(floodControl, "sessions");
+        return ((AtomicInteger) ReflectionTestUtils.getField(sessions.get(sessionId), "muteLevel")).get();
+    }
+}
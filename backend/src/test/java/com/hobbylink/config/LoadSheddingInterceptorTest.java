@@ -0,0 +1,168 @@
+package com.hobbylink.config;
+
+import com.hobbylink.service.ChatMessagePipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 부하 차단 단계 전환 시뮬레이션
+ *
+ * 실제 실행기 큐와 처리 지연 표본을 흉내 내고 시각을 직접 넘겨 가며 samplePressure 를 호출한다.
+ */
+class LoadSheddingInterceptorTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private LoadSheddingInterceptor interceptor;
+    private ThreadPoolTaskExecutor inboundExecutor;
+    private ThreadPoolTaskExecutor outboundExecutor;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new LoadSheddingInterceptor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interceptor, "elevatedThreshold", 0.5);
+        ReflectionTestUtils.setField(interceptor, "highThreshold", 0.75);
+        ReflectionTestUtils.setField(interceptor, "criticalThreshold", 0.9);
+        ReflectionTestUtils.setField(interceptor, "hysteresis", 0.1);
+        ReflectionTestUtils.setField(interceptor, "latencyTargetMs", 200.0);
+        ReflectionTestUtils.setField(interceptor, "latencyHalfLifeMs", 2000.0);
+        ReflectionTestUtils.setField(interceptor, "connectRetryAfterMs", 5000L);
+
+        inboundExecutor = executor(10);
+        outboundExecutor = executor(10);
+        ReflectionTestUtils.setField(interceptor, "inboundExecutor", inboundExecutor);
+        ReflectionTestUtils.setField(interceptor, "outboundExecutor", outboundExecutor);
+        ReflectionTestUtils.setField(interceptor, "dataSource", new DriverManagerDataSource());
+        // 시작하지 않은 파이프라인은 버퍼 점유율이 0
+        ReflectionTestUtils.setField(interceptor, "chatMessagePipeline", new ChatMessagePipeline(new SimpleMeterRegistry()));
+
+        now = System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inboundExecutor.shutdown();
+        outboundExecutor.shutdown();
+    }
+
+    @Test
+    void slowHandlingEscalatesToCriticalAndRecoversWhenTrafficStops() {
+        // 처리 시간이 목표의 5배인 메시지가 계속 들어온다
+        for (int i = 0; i < 50; i++) {
+            now += TimeUnit.MILLISECONDS.toNanos(10);
+            interceptor.recordHandleLatency(1000, now);
+        }
+        interceptor.samplePressure(now);
+        assertEquals(LoadSheddingInterceptor.PressureLevel.CRITICAL, interceptor.getLevel());
+        assertThrows(ServerOverloadedException.class, () -> interceptor.preSend(connect(), null));
+
+        // CONNECT 가 거부되어 처리되는 메시지가 없어도 지연 추정이 줄어 단계가 한 칸씩 내려가야 한다
+        LoadSheddingInterceptor.PressureLevel previous = interceptor.getLevel();
+        int ticks = 0;
+        while (interceptor.getLevel() != LoadSheddingInterceptor.PressureLevel.NORMAL && ticks < 120) {
+            now += TICK_NANOS;
+            interceptor.samplePressure(now);
+            LoadSheddingInterceptor.PressureLevel level = interceptor.getLevel();
+            assertTrue(previous.ordinal() - level.ordinal() <= 1, "level must step down one at a time");
+            previous = level;
+            ticks++;
+        }
+        assertEquals(LoadSheddingInterceptor.PressureLevel.NORMAL, interceptor.getLevel());
+
+        Message<byte[]> connect = connect();
+        assertSame(connect, interceptor.preSend(connect, null));
+    }
+
+    @Test
+    void fullInboundQueueShedsTypingButNeverChatMessages() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        inboundExecutor.execute(() -> await(release));
+        // 작업자가 막힌 동안 큐 10칸 중 6칸을 채운다 → 압력 0.6 (ELEVATED)
+        for (int i = 0; i < 6; i++) {
+            inboundExecutor.execute(() -> { });
+        }
+        waitForQueueDepth(6);
+        interceptor.samplePressure(now);
+        assertEquals(LoadSheddingInterceptor.PressureLevel.ELEVATED, interceptor.getLevel());
+
+        assertNull(interceptor.preSend(send("/app/chat/1/typing"), null));
+        Message<byte[]> chat = send("/app/chat/1/message");
+        assertSame(chat, interceptor.preSend(chat, null));
+        Message<byte[]> preview = send("/app/chat/1/preview-formatting");
+        assertSame(preview, interceptor.preSend(preview, null));
+
+        // 큐를 더 채우면 HIGH 에서 포맷팅 미리보기도 버린다
+        for (int i = 0; i < 2; i++) {
+            inboundExecutor.execute(() -> { });
+        }
+        waitForQueueDepth(8);
+        interceptor.samplePressure(now);
+        assertEquals(LoadSheddingInterceptor.PressureLevel.HIGH, interceptor.getLevel());
+        assertNull(interceptor.preSend(send("/app/chat/1/preview-formatting"), null));
+        assertSame(chat, interceptor.preSend(chat, null));
+
+        // 큐가 비면 히스테리시스를 두고 한 단계씩 내려온다
+        release.countDown();
+        waitForQueueDepth(0);
+        interceptor.samplePressure(now);
+        assertEquals(LoadSheddingInterceptor.PressureLevel.ELEVATED, interceptor.getLevel());
+        interceptor.samplePressure(now);
+        assertEquals(LoadSheddingInterceptor.PressureLevel.NORMAL, interceptor.getLevel());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inboundExecutor.getThreadPoolExecutor().getQueue().size() != depth
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, inboundExecutor.getThreadPoolExecutor().getQueue().size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    private static Message<byte[]> connect() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> send(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
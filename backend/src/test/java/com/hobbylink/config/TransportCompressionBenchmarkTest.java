@@ -0,0 +1,182 @@
+package com.hobbylink.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 전송 압축 방식별 프레임 크기와 CPU
+ *
+ * 채팅 60%, 입력 중 25%, 안 읽음 10%, 접속 상태 5% 로 섞은 프레임 2만 개를 다섯 방식으로 인코딩한다.
+ * - json: 압축 없음
+ * - json+pmd: permessage-deflate, server_no_context_takeover (프레임마다 새 압축 문맥)
+ * - json+pmd+takeover: permessage-deflate, 문맥 유지 (Tomcat 기본, 연결당 Deflater 하나)
+ * - compact: compact-v1
+ * - compact+deflate: compact-v1 중 payload-deflate-min-size(256) 이상만 사전 deflate
+ * - compact+deflate(all): 크기와 상관없이 모두 사전 deflate
+ * permessage-deflate 는 Tomcat 과 같이 기본 압축 수준 raw deflate + SYNC_FLUSH 로 만들고 끝의 00 00 ff ff 를 뺀다.
+ * CPU 는 한 스레드에서 프레임 하나를 인코딩하는 평균 시간이다 (JSON 직렬화 제외, 세 번 중 가장 빠른 회차).
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class TransportCompressionBenchmarkTest {
+
+    private static final int FRAMES = 20_000;
+    private static final int DEFLATE_MIN_SIZE = 256;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String[] NAMES = { "민지", "서준", "jun", "하윤", "도윤", "sora", "지우", "예준" };
+    private static final String[] PHRASES = {
+        "오늘 모임 몇 시에 시작해요?", "강남역 11번 출구에서 만나요", "저 10분 정도 늦을 것 같아요 ㅠㅠ", "네 알겠습니다!",
+        "사진 공유해 주세요 👍", "다음 주 일정은 투표로 정할게요", "ㅋㅋㅋㅋ", "주차 가능한가요?", "오늘 즐거웠어요~",
+        "장소가 바뀌었어요. 공지 확인 부탁드려요", "좋아요", "혹시 초보도 참여 가능한가요?"
+    };
+
+    @Test
+    void compressedSizeAndCpuPerFrame() throws Exception {
+        List<byte[]> frames = frames(new Random(33));
+        long jsonBytes = frames.stream().mapToLong(frame -> frame.length).sum();
+
+        // 첫 바퀴는 모든 방식의 JIT 워밍업
+        measureAll(frames);
+        Map<String, long[]> results = measureAll(frames);
+
+        System.out.printf("frames=%d json avg=%d bytes%n", FRAMES, jsonBytes / FRAMES);
+        results.forEach((name, result) -> System.out.printf("%-20s avg=%4d bytes (%5.1f%% of json) cpu=%5.2fus/frame%n",
+                name, result[0] / FRAMES, 100.0 * result[0] / jsonBytes, result[1] / 1e3 / FRAMES));
+
+        assertTrue(results.get("json+pmd+takeover")[0] < results.get("json+pmd")[0]);
+        assertTrue(results.get("compact+deflate(all)")[0] < results.get("compact")[0]);
+    }
+
+    private static Map<String, long[]> measureAll(List<byte[]> frames) {
+        Map<String, long[]> results = new LinkedHashMap<>();
+        results.put("json", measure(frames, frame -> frame));
+        results.put("json+pmd", measure(frames, new PerMessageDeflate(false)::compress));
+        results.put("json+pmd+takeover", measure(frames, new PerMessageDeflate(true)::compress));
+        results.put("compact", measure(frames, TransportCompressionBenchmarkTest::compact));
+        results.put("compact+deflate", measure(frames, frame -> {
+            byte[] compact = compact(frame);
+            return compact.length >= DEFLATE_MIN_SIZE ? CompactPayloadCodec.deflate(compact) : compact;
+        }));
+        results.put("compact+deflate(all)", measure(frames, frame -> CompactPayloadCodec.deflate(compact(frame))));
+        return results;
+    }
+
+    /**
+     * 전체 프레임 인코딩을 세 번 반복
+     * @return [총 바이트, 가장 빠른 회차의 총 나노초]
+     */
+    private static long[] measure(List<byte[]> frames, Function<byte[], byte[]> encoder) {
+        long bytes = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            bytes = 0;
+            long start = System.nanoTime();
+            for (byte[] frame : frames) {
+                bytes += encoder.apply(frame).length;
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return new long[] { bytes, best };
+    }
+
+    private static byte[] compact(byte[] json) {
+        try {
+            return CompactPayloadCodec.encode(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<byte[]> frames(Random random) throws Exception {
+        List<byte[]> frames = new ArrayList<>(FRAMES);
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 19, 0);
+        long messageId = 100_000;
+        for (int i = 0; i < FRAMES; i++) {
+            long meetupId = 1 + random.nextInt(20);
+            String name = NAMES[random.nextInt(NAMES.length)];
+            time = time.plusNanos(random.nextInt(2_000_000_000));
+            Map<String, Object> frame = new LinkedHashMap<>();
+            int kind = random.nextInt(100);
+            if (kind < 60) {
+                String content = PHRASES[random.nextInt(PHRASES.length)];
+                frame.put("id", ++messageId);
+                frame.put("content", content);
+                frame.put("formattedContent", content);
+                frame.put("type", "TEXT");
+                frame.put("status", "DELIVERED");
+                frame.put("mediaUrl", null);
+                frame.put("clientMessageId", Long.toHexString(random.nextLong()));
+                frame.put("sentAt", time.toString());
+                frame.put("deliveredAt", time.plusNanos(120_000_000).toString());
+                frame.put("readAt", null);
+                frame.put("meetupId", meetupId);
+                frame.put("senderId", 1 + random.nextInt(500));
+                frame.put("senderName", name);
+            } else if (kind < 85) {
+                frame.put("meetupId", meetupId);
+                frame.put("typingUsers", List.of(name));
+                frame.put("message", name + " 님이 입력 중...");
+                frame.put("timestamp", System.currentTimeMillis());
+                frame.put("type", "TYPING");
+            } else if (kind < 95) {
+                frame.put("meetupId", meetupId);
+                frame.put("unreadCount", random.nextInt(50));
+                frame.put("timestamp", System.currentTimeMillis());
+                frame.put("type", "UNREAD_COUNT");
+            } else {
+                frame.put("meetupId", meetupId);
+                frame.put("userId", 1 + random.nextInt(500));
+                frame.put("username", name);
+                frame.put("status", random.nextBoolean() ? "ONLINE" : "OFFLINE");
+                frame.put("timestamp", System.currentTimeMillis());
+                frame.put("type", "USER_STATUS");
+            }
+            frames.add(objectMapper.writeValueAsBytes(frame));
+        }
+        return frames;
+    }
+
+    /**
+     * RFC 7692 메시지 압축 (한 연결의 송신 측)
+     */
+    private static class PerMessageDeflate {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final boolean contextTakeover;
+        private final byte[] buffer = new byte[8192];
+
+        PerMessageDeflate(boolean contextTakeover) {
+            this.contextTakeover = contextTakeover;
+        }
+
+        byte[] compress(byte[] payload) {
+            if (!contextTakeover) {
+                deflater.reset();
+            }
+            deflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length);
+            int count;
+            do {
+                count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, count);
+            } while (count == buffer.length);
+            // 빈 저장 블록 꼬리(00 00 ff ff)는 보내지 않는다
+            return Arrays.copyOf(out.toByteArray(), out.size() - 4);
+        }
+    }
+}
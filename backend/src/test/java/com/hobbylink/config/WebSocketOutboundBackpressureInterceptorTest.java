@@ -0,0 +1,106 @@
+package com.hobbylink.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 세션 예산이 실행 큐뿐 아니라 전송 버퍼에 남은 프레임까지 세는지 확인
+ *
+ * 전송 버퍼 데코레이터 대신 핸들러가 받은 세션을 잡아 두고, 그 세션에 직접 써서 소켓 쓰기를 흉내 낸다.
+ */
+class WebSocketOutboundBackpressureInterceptorTest {
+
+    private static final String MESSAGES = "/topic/meetup/1/messages";
+    private static final String TYPING = "/topic/meetup/1/typing";
+
+    private WebSocketOutboundBackpressureInterceptor interceptor;
+    private WebSocketSession transportSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interceptor = new WebSocketOutboundBackpressureInterceptor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interceptor, "softLimit", 2);
+        ReflectionTestUtils.setField(interceptor, "hardLimit", 100);
+        ReflectionTestUtils.setField(interceptor, "overBudgetGraceMs", 10000L);
+
+        WebSocketHandler handler = interceptor.decorate(new AbstractWebSocketHandler() {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) {
+                transportSession = session;
+            }
+        });
+        handler.afterConnectionEstablished(session("s1"));
+    }
+
+    @Test
+    void framesWaitingInSendBufferStillCount() throws Exception {
+        // 실행기는 두 프레임을 전송 버퍼로 넘겼지만 소켓에는 아직 쓰이지 않았다
+        handOff(message(MESSAGES));
+        handOff(message(MESSAGES));
+        assertEquals(2, interceptor.getPendingCount("s1"));
+        assertNull(interceptor.preSend(message(TYPING), null));
+
+        transportSession.sendMessage(new TextMessage("MESSAGE"));
+        transportSession.sendMessage(new TextMessage("MESSAGE"));
+        assertEquals(0, interceptor.getPendingCount("s1"));
+        assertNotNull(interceptor.preSend(message(TYPING), null));
+    }
+
+    @Test
+    void connectionStatusIsNeverDropped() {
+        handOff(message(MESSAGES));
+        handOff(message(MESSAGES));
+
+        assertNull(interceptor.preSend(message(TYPING), null));
+        assertNotNull(interceptor.preSend(message("/topic/meetup/1/connection-status"), null));
+    }
+
+    @Test
+    void failedHandOffReleasesBudget() {
+        Message<?> message = message(MESSAGES);
+        interceptor.preSend(message, null);
+        interceptor.beforeHandle(message, null, null);
+        interceptor.afterMessageHandled(message, null, null, new IllegalStateException("encode failed"));
+
+        assertEquals(0, interceptor.getPendingCount("s1"));
+    }
+
+    private void handOff(Message<?> message) {
+        assertNotNull(interceptor.preSend(message, null));
+        assertNotNull(interceptor.beforeHandle(message, null, null));
+        interceptor.afterMessageHandled(message, null, null, null);
+    }
+
+    private static Message<?> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("s1");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.toMessageHeaders());
+    }
+
+    private static WebSocketSession session(String id) {
+        return (WebSocketSession) Proxy.newProxyInstance(WebSocketSession.class.getClassLoader(),
+                new Class<?>[] { WebSocketSession.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> id;
+                    case "isOpen" -> true;
+                    default -> null;
+                });
+    }
+}
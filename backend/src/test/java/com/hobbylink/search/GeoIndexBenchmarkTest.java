@@ -0,0 +1,223 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주변 미팅 반경 검색: GeoIndex vs 기존 SQL (MeetupRepository.findNearbyMeetups)
+ *
+ * 인메모리 H2 에 미팅 20만 건을 넣고 findNearbyMeetups 와 같은 구면 코사인 법칙 조건을 그대로 실행한다.
+ * 실제 스키마처럼 좌표/일시에는 인덱스가 없다. 같은 데이터로 GeoIndex.withinRadius 를 돌려 결과와 시간을 비교한다.
+ * 전체 스캔 비교는 같은 조건을 메모리 배열의 모든 행에 계산한다 (DB 가 행마다 하는 일의 하한).
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class GeoIndexBenchmarkTest {
+
+    private static final int MEETUPS = 200_000;
+    private static final int QUERIES = 100;
+    private static final double RADIUS_KM = 10.0;
+
+    // 서울, 부산, 대구, 인천, 광주, 대전
+    private static final double[][] CITIES = {
+        { 37.5665, 126.9780 }, { 35.1796, 129.0756 }, { 35.8714, 128.6014 },
+        { 37.4563, 126.7052 }, { 35.1595, 126.8526 }, { 36.3504, 127.3845 }
+    };
+    private static final String[] CATEGORIES = { "SPORTS", "BOOK", "GAME", "MUSIC", "STUDY", "TRAVEL" };
+
+    private static final String NEARBY_SQL = "SELECT id FROM meetup WHERE meetup_date_time > ? AND "
+            + "(? IS NULL OR category = ?) AND "
+            + "(6371 * acos(cos(radians(?)) * cos(radians(latitude)) * "
+            + "cos(radians(longitude) - radians(?)) + "
+            + "sin(radians(?)) * sin(radians(latitude)))) <= ?";
+
+    @Test
+    void radiusSearchAgainstFullScan() {
+        Random random = new Random(49);
+        long now = System.currentTimeMillis();
+        GeoIndex index = new GeoIndex(0.05);
+        double[] lats = new double[MEETUPS];
+        double[] lngs = new double[MEETUPS];
+        String[] categories = new String[MEETUPS];
+        long[] times = new long[MEETUPS];
+        for (int id = 0; id < MEETUPS; id++) {
+            double[] point = randomPoint(random);
+            lats[id] = point[0];
+            lngs[id] = point[1];
+            categories[id] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            times[id] = randomTime(random, now);
+            index.put(id, lats[id], lngs[id], categories[id], times[id]);
+        }
+
+        long[] indexNanos = new long[QUERIES];
+        long[] scanNanos = new long[QUERIES];
+        long matched = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            double[] center = randomPoint(random);
+            String category = q % 2 == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+
+            long start = System.nanoTime();
+            List<GeoIndex.GeoHit> hits = index.withinRadius(center[0], center[1], RADIUS_KM,
+                    new GeoIndex.Filter(category, now), Integer.MAX_VALUE);
+            indexNanos[q] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Set<Long> scanIds = new HashSet<>();
+            double centerLat = Math.toRadians(center[0]);
+            double centerLng = Math.toRadians(center[1]);
+            for (int id = 0; id < MEETUPS; id++) {
+                if (times[id] > now && (category == null || category.equals(categories[id]))
+                        && lawOfCosinesKm(centerLat, centerLng, lats[id], lngs[id]) <= RADIUS_KM) {
+                    scanIds.add((long) id);
+                }
+            }
+            scanNanos[q] = System.nanoTime() - start;
+
+            assertSameResults(index, center, scanIds, hits);
+            matched += hits.size();
+        }
+
+        report("full scan", indexNanos, scanNanos, matched);
+    }
+
+    @Test
+    void radiusSearchAgainstSql() throws Exception {
+        Random random = new Random(49);
+        long now = System.currentTimeMillis();
+        GeoIndex index = new GeoIndex(0.05);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:geo-benchmark")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE meetup (id BIGINT PRIMARY KEY, latitude DOUBLE, longitude DOUBLE, "
+                        + "category VARCHAR(32), meetup_date_time TIMESTAMP)");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO meetup VALUES (?, ?, ?, ?, ?)")) {
+                for (long id = 0; id < MEETUPS; id++) {
+                    double[] point = randomPoint(random);
+                    String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                    long time = randomTime(random, now);
+                    insert.setLong(1, id);
+                    insert.setDouble(2, point[0]);
+                    insert.setDouble(3, point[1]);
+                    insert.setString(4, category);
+                    insert.setTimestamp(5, new Timestamp(time));
+                    insert.addBatch();
+                    if (id % 5000 == 4999) {
+                        insert.executeBatch();
+                    }
+                    index.put(id, point[0], point[1], category, time);
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+
+            long[] indexNanos = new long[QUERIES];
+            long[] sqlNanos = new long[QUERIES];
+            long matched = 0;
+            try (PreparedStatement nearby = connection.prepareStatement(NEARBY_SQL)) {
+                for (int q = 0; q < QUERIES; q++) {
+                    double[] center = randomPoint(random);
+                    String category = q % 2 == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+
+                    long start = System.nanoTime();
+                    List<GeoIndex.GeoHit> hits = index.withinRadius(center[0], center[1], RADIUS_KM,
+                            new GeoIndex.Filter(category, now), Integer.MAX_VALUE);
+                    indexNanos[q] = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    nearby.setTimestamp(1, new Timestamp(now));
+                    nearby.setString(2, category);
+                    nearby.setString(3, category);
+                    nearby.setDouble(4, center[0]);
+                    nearby.setDouble(5, center[1]);
+                    nearby.setDouble(6, center[0]);
+                    nearby.setDouble(7, RADIUS_KM);
+                    Set<Long> sqlIds = new HashSet<>();
+                    try (ResultSet rows = nearby.executeQuery()) {
+                        while (rows.next()) {
+                            sqlIds.add(rows.getLong(1));
+                        }
+                    }
+                    sqlNanos[q] = System.nanoTime() - start;
+
+                    assertSameResults(index, center, sqlIds, hits);
+                    matched += hits.size();
+                }
+            }
+
+            report("SQL", indexNanos, sqlNanos, matched);
+        }
+    }
+
+    private static void report(String baseline, long[] indexNanos, long[] baselineNanos, long matched) {
+        double indexMs = percentile(indexNanos, 0.5) / 1e6;
+        double baselineMs = percentile(baselineNanos, 0.5) / 1e6;
+        System.out.printf("meetups=%d radius=%.0fkm avgMatches=%d%n", MEETUPS, RADIUS_KM, matched / QUERIES);
+        System.out.printf("GeoIndex median=%.3fms p99=%.3fms | %s median=%.3fms p99=%.3fms%n",
+                indexMs, percentile(indexNanos, 0.99) / 1e6, baseline, baselineMs, percentile(baselineNanos, 0.99) / 1e6);
+        assertTrue(indexMs * 10 < baselineMs, "index " + indexMs + "ms vs " + baseline + " " + baselineMs + "ms");
+    }
+
+    /**
+     * findNearbyMeetups 의 거리식
+     */
+    private static double lawOfCosinesKm(double centerLat, double centerLng, double lat, double lng) {
+        double latRad = Math.toRadians(lat);
+        return 6371 * Math.acos(Math.cos(centerLat) * Math.cos(latRad) * Math.cos(Math.toRadians(lng) - centerLng)
+                + Math.sin(centerLat) * Math.sin(latRad));
+    }
+
+    /**
+     * 코사인 법칙과 하버사인의 반올림 차이로 경계(반경 ±1m)에 걸친 위치만 다를 수 있다
+     */
+    private static void assertSameResults(GeoIndex index, double[] center, Set<Long> expectedIds, List<GeoIndex.GeoHit> hits) {
+        Set<Long> indexIds = new HashSet<>();
+        hits.forEach(hit -> indexIds.add(hit.getId()));
+
+        Set<Long> differing = new HashSet<>(expectedIds);
+        differing.addAll(indexIds);
+        Set<Long> common = new HashSet<>(expectedIds);
+        common.retainAll(indexIds);
+        differing.removeAll(common);
+        for (long id : differing) {
+            double[] location = index.location(id);
+            double distance = GeoIndex.haversineKm(center[0], center[1], location[0], location[1]);
+            assertTrue(Math.abs(distance - RADIUS_KM) < 0.001, "id " + id + " at " + distance + "km");
+        }
+    }
+
+    private static double[] randomPoint(Random random) {
+        if (random.nextInt(10) < 7) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            return new double[] { city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.15 };
+        }
+        // 나머지는 국내 전역
+        return new double[] { 34.0 + random.nextDouble() * 4.5, 126.0 + random.nextDouble() * 3.5 };
+    }
+
+    private static long randomTime(Random random, long now) {
+        // 절반은 지난 미팅
+        return now + (random.nextInt(180) - 90) * 86_400_000L;
+    }
+
+    private static double percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))];
+    }
+}
@@ -0,0 +1,190 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoIndexTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void radiusSearchMatchesBruteForce() {
+        Random random = new Random(11);
+        List<double[]> points = new ArrayList<>();
+        GeoIndex index = populate(random, points, 5000);
+
+        for (int q = 0; q < 300; q++) {
+            double[] center = randomQueryPoint(random);
+            double radiusKm = 1 + random.nextDouble() * 400;
+            List<GeoIndex.GeoHit> hits = index.withinRadius(center[0], center[1], radiusKm, null, Integer.MAX_VALUE);
+
+            Set<Long> expected = new HashSet<>();
+            for (int id = 0; id < points.size(); id++) {
+                double[] point = points.get(id);
+                if (GeoIndex.haversineKm(center[0], center[1], point[0], point[1]) <= radiusKm) {
+                    expected.add((long) id);
+                }
+            }
+            assertEquals(expected, ids(hits), "center " + center[0] + "," + center[1] + " radius " + radiusKm);
+            assertSortedByDistance(hits);
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(13);
+        List<double[]> points = new ArrayList<>();
+        GeoIndex index = populate(random, points, 5000);
+
+        for (int q = 0; q < 300; q++) {
+            double[] center = randomQueryPoint(random);
+            int k = 1 + random.nextInt(20);
+            double maxRadiusKm = 50 + random.nextDouble() * 2000;
+            List<GeoIndex.GeoHit> hits = index.nearest(center[0], center[1], k, maxRadiusKm, null);
+
+            List<Double> expected = new ArrayList<>();
+            for (double[] point : points) {
+                double distance = GeoIndex.haversineKm(center[0], center[1], point[0], point[1]);
+                if (distance <= maxRadiusKm) {
+                    expected.add(distance);
+                }
+            }
+            expected.sort(Comparator.naturalOrder());
+            expected = expected.subList(0, Math.min(k, expected.size()));
+
+            String message = "center " + center[0] + "," + center[1] + " k " + k;
+            assertEquals(expected.size(), hits.size(), message);
+            for (int i = 0; i < hits.size(); i++) {
+                assertEquals(expected.get(i), hits.get(i).getDistanceKm(), EPSILON, message);
+            }
+        }
+    }
+
+    @Test
+    void radiusSearchWrapsAcrossDateLine() {
+        GeoIndex index = new GeoIndex(0.5);
+        index.put(1, 0, 179.9, null, Long.MAX_VALUE);
+        index.put(2, 0, -179.9, null, Long.MAX_VALUE);
+        index.put(3, 0, 170, null, Long.MAX_VALUE);
+
+        assertEquals(Set.of(1L, 2L), ids(index.withinRadius(0, 179.95, 50, null, 10)));
+        assertEquals(List.of(2L, 1L), idList(index.nearest(0, -179.95, 2, 100, null)));
+    }
+
+    @Test
+    void searchesReachAcrossThePole() {
+        GeoIndex index = new GeoIndex(0.5);
+        index.put(1, 89, 180, null, Long.MAX_VALUE);
+        index.put(2, 89.5, 90, null, Long.MAX_VALUE);
+        index.put(3, 80, 0, null, Long.MAX_VALUE);
+
+        // (89, 0) 에서 극 너머 (89, 180) 까지는 약 222km
+        assertEquals(Set.of(1L, 2L), ids(index.withinRadius(89, 0, 300, null, 10)));
+        assertEquals(List.of(2L, 1L), idList(index.nearest(89, 0, 2, 300, null)));
+        assertEquals(List.of(2L, 1L, 3L), idList(index.nearest(89, 0, 3, 5000, null)));
+    }
+
+    @Test
+    void filtersByCategoryAndTime() {
+        GeoIndex index = new GeoIndex(0.05);
+        index.put(1, 37.50, 127.00, "sports", 1000);
+        index.put(2, 37.50, 127.01, "music", 1000);
+        index.put(3, 37.50, 127.02, "sports", 10);
+
+        assertEquals(Set.of(1L, 3L), ids(index.withinRadius(37.5, 127.0, 10, new GeoIndex.Filter("sports", 0), 10)));
+        assertEquals(Set.of(1L, 2L), ids(index.withinRadius(37.5, 127.0, 10, new GeoIndex.Filter(null, 100), 10)));
+        assertEquals(List.of(1L), idList(index.nearest(37.5, 127.03, 1, 10, new GeoIndex.Filter("sports", 100))));
+        assertEquals(List.of(1L, 2L), idList(index.withinRadius(37.5, 127.0, 10, null, 2)));
+    }
+
+    @Test
+    void updatesMoveAndRemoveLocations() {
+        GeoIndex index = new GeoIndex(0.05);
+        index.put(1, 37.5, 127.0, null, Long.MAX_VALUE);
+        index.put(1, 35.1, 129.0, null, Long.MAX_VALUE);
+        assertEquals(1, index.size());
+        assertTrue(index.withinRadius(37.5, 127.0, 5, null, 10).isEmpty());
+        assertEquals(Set.of(1L), ids(index.withinRadius(35.1, 129.0, 5, null, 10)));
+        assertEquals(35.1, index.location(1)[0], EPSILON);
+
+        index.remove(1);
+        assertEquals(0, index.size());
+        assertNull(index.location(1));
+        assertTrue(index.nearest(35.1, 129.0, 1, 100, null).isEmpty());
+
+        // 비운 슬롯을 다시 써도 다른 위치와 섞이지 않는다
+        index.put(2, 33.5, 126.5, null, Long.MAX_VALUE);
+        assertEquals(Set.of(2L), ids(index.withinRadius(33.5, 126.5, 5, null, 10)));
+    }
+
+    @Test
+    void boxVisitsEachLocationOnceWithHalfOpenEdges() {
+        GeoIndex index = new GeoIndex(0.05);
+        index.put(1, 37.0, 127.0, null, Long.MAX_VALUE);
+        index.put(2, 37.5, 127.5, null, Long.MAX_VALUE);
+        index.put(3, 37.25, 127.25, null, Long.MAX_VALUE);
+
+        // 두 상자가 맞닿은 경계 위의 위치는 남/서쪽 경계를 가진 상자에만 들어간다
+        Set<Long> west = new HashSet<>();
+        Set<Long> east = new HashSet<>();
+        index.forEachInBox(37.0, 37.5, 127.0, 127.25, null, (id, lat, lng, category) -> west.add(id));
+        index.forEachInBox(37.0, 37.5, 127.25, 127.5, null, (id, lat, lng, category) -> east.add(id));
+        assertEquals(Set.of(1L), west);
+        assertEquals(Set.of(3L), east);
+    }
+
+    private static GeoIndex populate(Random random, List<double[]> points, int count) {
+        GeoIndex index = new GeoIndex(0.5);
+        for (int id = 0; id < count; id++) {
+            double[] point;
+            if (id % 2 == 0) {
+                // 절반은 서울 주변에 몰아 넣는다
+                point = new double[] { 37.3 + random.nextDouble() * 0.5, 126.7 + random.nextDouble() * 0.6 };
+            } else {
+                point = new double[] { -89 + random.nextDouble() * 178, -180 + random.nextDouble() * 360 };
+            }
+            points.add(point);
+            index.put(id, point[0], point[1], null, Long.MAX_VALUE);
+        }
+        return index;
+    }
+
+    private static double[] randomQueryPoint(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return new double[] { 37.3 + random.nextDouble() * 0.5, 126.7 + random.nextDouble() * 0.6 };
+            case 1:
+                // 극 근처
+                return new double[] { (random.nextBoolean() ? 1 : -1) * (85 + random.nextDouble() * 4.9),
+                        -180 + random.nextDouble() * 360 };
+            default:
+                return new double[] { -89 + random.nextDouble() * 178, -180 + random.nextDouble() * 360 };
+        }
+    }
+
+    private static void assertSortedByDistance(List<GeoIndex.GeoHit> hits) {
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getDistanceKm() <= hits.get(i).getDistanceKm());
+        }
+    }
+
+    private static Set<Long> ids(List<GeoIndex.GeoHit> hits) {
+        return new HashSet<>(idList(hits));
+    }
+
+    private static List<Long> idList(List<GeoIndex.GeoHit> hits) {
+        List<Long> ids = new ArrayList<>();
+        hits.forEach(hit -> ids.add(hit.getId()));
+        return ids;
+    }
+}
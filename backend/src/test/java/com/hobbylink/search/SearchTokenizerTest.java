@@ -0,0 +1,177 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTokenizerTest {
+
+    // 미팅 제목 말뭉치 (질의 기대값의 인덱스는 이 순서를 따른다)
+    private static final List<String> CORPUS = List.of(
+            "독서모임 함께해요",          // 0
+            "주말 등산모임",              // 1
+            "강남역 보드게임 카페 모임",  // 2
+            "강남 러닝크루",              // 3
+            "홍대 사진 출사",             // 4
+            "Java스터디 초보 환영",       // 5
+            "영어회화 스터디",            // 6
+            "도서관 독서 토론",           // 7
+            "동네 산책 모임",             // 8
+            "한강 자전거 라이딩",         // 9
+            "주말 캠핑 동호회",           // 10
+            "보드게임 번개",              // 11
+            "사진 동호회 정기 출사",      // 12
+            "등산 초보 환영 북한산",      // 13
+            "강남역에서 만나는 독서 클럽" // 14
+    );
+
+    // 사용자가 실제로 치는 부분 입력과 기대 결과
+    private static final Map<String, Set<Integer>> EXPECTED_HITS = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_HITS.put("독서", Set.of(0, 7, 14));
+        EXPECTED_HITS.put("ㄷㅅ", Set.of(0, 1, 7, 13, 14));
+        EXPECTED_HITS.put("독ㅅ", Set.of(0, 7, 14));
+        EXPECTED_HITS.put("등산", Set.of(1, 13));
+        EXPECTED_HITS.put("모임", Set.of(0, 1, 2, 8));
+        EXPECTED_HITS.put("강남역", Set.of(2, 14));
+        EXPECTED_HITS.put("강남", Set.of(2, 3, 14));
+        EXPECTED_HITS.put("보드게임", Set.of(2, 11));
+        EXPECTED_HITS.put("ㅂㄷㄱㅇ", Set.of(2, 11));
+        EXPECTED_HITS.put("사진 출사", Set.of(4, 12));
+        EXPECTED_HITS.put("스터디", Set.of(5, 6));
+        EXPECTED_HITS.put("java", Set.of(5));
+        EXPECTED_HITS.put("초보 환영", Set.of(5, 13));
+        EXPECTED_HITS.put("동호회", Set.of(10, 12));
+        EXPECTED_HITS.put("ㄷㅎㅎ", Set.of(10, 12));
+        EXPECTED_HITS.put("자전ㄱ", Set.of(9));
+        EXPECTED_HITS.put("ㅎㄱ", Set.of(9));
+        EXPECTED_HITS.put("클럽", Set.of(14));
+    }
+
+    private final SearchTokenizer tokenizer = new SearchTokenizer();
+
+    @Test
+    void indexesHangulWordAsSyllableGramsAndInitials() {
+        assertEquals(List.of(
+                "독서모임",
+                "독", "독서", "독ㅅ",
+                "서", "서모", "서ㅁ",
+                "모", "모임", "모ㅇ",
+                "임",
+                "ㄷㅅ", "ㅅㅁ", "ㅁㅇ", "ㄷㅅㅁㅇ"), tokenizer.tokenize("독서모임"));
+    }
+
+    @Test
+    void singleSyllableIsIndexedOnlyAsItself() {
+        assertEquals(List.of("책"), tokenizer.tokenize("책"));
+    }
+
+    @Test
+    void splitsWordsWhereScriptChanges() {
+        assertEquals(List.of("java", "스터디", "2024"), tokenizer.words("Java스터디 2024!"));
+    }
+
+    @Test
+    void buildsQueryTermsFromInputShape() {
+        // 초성만 입력
+        assertEquals(List.of("ㄷㅅ"), tokenizer.tokenizeQuery("ㄷㅅ"));
+        assertEquals(List.of("ㄷ"), tokenizer.tokenizeQuery("ㄷ"));
+        // 입력 중인 다음 음절의 초성
+        assertEquals(List.of("독", "독ㅅ"), tokenizer.tokenizeQuery("독ㅅ"));
+        // 세 음절 이상은 AND 검색에서 단어 대신 바이그램만 요구
+        assertEquals(List.of("강남역", "강남", "남역"), tokenizer.tokenizeQuery("강남역"));
+        assertEquals(List.of("강남", "남역"), tokenizer.tokenizeRequired("강남역"));
+        assertEquals(List.of("running"), tokenizer.tokenizeQuery("Running"));
+    }
+
+    @Test
+    void partialHangulQueriesMatchIndexedWords() {
+        assertTrue(matches("독서모임", "독서"));
+        assertTrue(matches("독서모임", "ㄷㅅ"));
+        assertTrue(matches("독서모임", "독ㅅ"));
+        assertTrue(matches("독서모임", "모임"));
+        assertTrue(matches("강남역에서 만나요", "강남역"));
+        assertTrue(matches("주말 등산모임", "ㄷㅅ"));
+
+        // 초성이 같아도 완성된 음절로 찾으면 섞이지 않는다
+        assertFalse(matches("주말 등산모임", "독서"));
+        assertFalse(matches("주말 등산모임", "독ㅅ"));
+        assertFalse(matches("독서모임", "등산"));
+    }
+
+    @Test
+    void decomposedAndSpelledOutJamoAreAssembled() {
+        String nfd = Normalizer.normalize("독서", Normalizer.Form.NFD);
+        assertEquals(tokenizer.tokenize("독서"), tokenizer.tokenize(nfd));
+        assertEquals(tokenizer.tokenizeQuery("독서"), tokenizer.tokenizeQuery("ㄷㅗㄱㅅㅓ"));
+        assertEquals("독서", Hangul.normalize("ㄷㅗㄱㅅㅓ"));
+        // 다음 글자가 모음이면 앞 자음은 받침이 아니라 다음 음절의 초성
+        assertEquals("도가", Hangul.normalize("ㄷㅗㄱㅏ"));
+    }
+
+    @Test
+    void corpusQueriesHaveFullRecallAndPrecision() {
+        List<Set<String>> indexed = CORPUS.stream()
+                .map(title -> (Set<String>) new HashSet<>(tokenizer.tokenize(title)))
+                .toList();
+
+        int expected = 0;
+        int returned = 0;
+        int correct = 0;
+        for (Map.Entry<String, Set<Integer>> entry : EXPECTED_HITS.entrySet()) {
+            List<String> required = tokenizer.tokenizeRequired(entry.getKey());
+            Set<Integer> hits = new HashSet<>();
+            for (int i = 0; i < indexed.size(); i++) {
+                if (!required.isEmpty() && indexed.get(i).containsAll(required)) {
+                    hits.add(i);
+                }
+            }
+            assertEquals(entry.getValue(), hits, entry.getKey());
+
+            Set<Integer> relevant = new HashSet<>(hits);
+            relevant.retainAll(entry.getValue());
+            expected += entry.getValue().size();
+            returned += hits.size();
+            correct += relevant.size();
+        }
+        assertEquals(1.0, (double) correct / expected, "recall");
+        assertEquals(1.0, (double) correct / returned, "precision");
+    }
+
+    @Test
+    void queryTokenizationKeepsUpWithKeystrokes() {
+        List<String> keystrokes = List.of("ㄷ", "도", "독", "독ㅅ", "독서", "독서ㅁ", "독서모", "독서모ㅇ", "독서모임",
+                "ㄱ", "가", "강", "강ㄴ", "강나", "강남", "강남ㅇ", "강남여", "강남역", "r", "ru", "run", "runn");
+
+        int rounds = 20000;
+        for (int i = 0; i < rounds; i++) {
+            tokenizer.tokenizeRequired(keystrokes.get(i % keystrokes.size()));
+        }
+        long start = System.nanoTime();
+        int terms = 0;
+        for (int i = 0; i < rounds; i++) {
+            terms += tokenizer.tokenizeRequired(keystrokes.get(i % keystrokes.size())).size();
+        }
+        double averageUs = (System.nanoTime() - start) / 1e3 / rounds;
+
+        assertTrue(terms > 0);
+        // 키 입력 한 번당 예산(수십 ms)보다 훨씬 작아야 한다. CI 편차를 고려해 느슨하게 잡는다.
+        assertTrue(averageUs < 100, "average " + averageUs + "us per query");
+    }
+
+    private boolean matches(String document, String query) {
+        Set<String> indexed = new HashSet<>(tokenizer.tokenize(document));
+        List<String> required = tokenizer.tokenizeRequired(query);
+        return !required.isEmpty() && indexed.containsAll(required);
+    }
+}
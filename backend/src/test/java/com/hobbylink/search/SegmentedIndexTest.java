@@ -0,0 +1,116 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentedIndexTest {
+
+    private final SearchTokenizer tokenizer = new SearchTokenizer();
+
+    @Test
+    void mergeDropsDeletedDocumentsButKeepsPositions() {
+        SegmentedIndex index = new SegmentedIndex(tokenizer, 4, 2);
+        for (int i = 0; i < 16; i++) {
+            index.append(1000 + i, "apple " + (i % 2 == 0 ? "red" : "green"));
+        }
+        assertEquals(4, index.segmentCount());
+
+        assertTrue(index.delete(1002));
+        assertTrue(index.delete(1009));
+        assertFalse(index.delete(1009));
+        assertTrue(index.merge() > 0);
+        assertTrue(index.segmentCount() < 4);
+
+        // 병합 뒤 삭제도 검색에서 빠진다
+        assertTrue(index.delete(1015));
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 15; i >= 0; i--) {
+            if (i != 2 && i != 9 && i != 15) {
+                expected.add(1000L + i);
+            }
+        }
+        SegmentedIndex.SegmentHits hits = index.search("apple", Integer.MAX_VALUE, 100);
+        assertEquals(expected, ids(hits));
+        assertEquals(expected.size(), hits.getTotal());
+
+        List<Long> red = new ArrayList<>();
+        for (long id : expected) {
+            if (id % 2 == 0) {
+                red.add(id);
+            }
+        }
+        assertEquals(red, ids(index.search("red apple", Integer.MAX_VALUE, 100)));
+
+        // 삭제된 문서도 순번은 그대로다
+        assertEquals(9, index.positionOf(1009));
+        assertEquals(16, index.size());
+    }
+
+    @Test
+    void outOfOrderIdsKeepAppendOrder() {
+        SegmentedIndex index = new SegmentedIndex(tokenizer, 2, 2);
+        long[] ids = { 50, 3, 900, 7, 12 };
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i, index.append(ids[i], "kiwi"));
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i, index.positionOf(ids[i]));
+        }
+        assertEquals(-1, index.positionOf(8));
+        assertFalse(index.delete(8));
+
+        // ID 가 아니라 들어온 순서의 역순
+        assertEquals(List.of(12L, 7L, 900L, 3L, 50L), ids(index.search("kiwi", Integer.MAX_VALUE, 10)));
+        assertEquals(List.of(3L, 50L), ids(index.search("kiwi", index.positionOf(900), 10)));
+    }
+
+    @Test
+    void cursorPagingVisitsEveryMatchOnce() {
+        SegmentedIndex index = new SegmentedIndex(tokenizer, 8, 3);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // 중간에 삭제와 병합을 섞어 버퍼와 여러 단계의 세그먼트에 걸치게 한다
+            long id = 10_000 + (i * 7919L) % 3000;
+            index.append(id, i % 3 == 0 ? "kiwi " + i : "melon " + i);
+            if (i % 3 == 0) {
+                expected.add(0, id);
+            }
+            if (i % 45 == 0) {
+                index.delete(id);
+                expected.remove(Long.valueOf(id));
+            }
+            if (i % 50 == 49) {
+                index.merge();
+            }
+        }
+
+        List<Long> paged = new ArrayList<>();
+        int before = Integer.MAX_VALUE;
+        while (true) {
+            SegmentedIndex.SegmentHits page = index.search("kiwi", before, 7);
+            assertEquals(expected.size() - paged.size(), page.getTotal());
+            if (page.getHits().isEmpty()) {
+                break;
+            }
+            List<SegmentedIndex.SegmentHit> hits = page.getHits();
+            hits.forEach(hit -> paged.add(hit.getId()));
+            before = hits.get(hits.size() - 1).getPosition();
+            assertEquals(before, index.positionOf(hits.get(hits.size() - 1).getId()));
+        }
+        assertEquals(expected, paged);
+    }
+
+    private static List<Long> ids(SegmentedIndex.SegmentHits hits) {
+        List<Long> ids = new ArrayList<>();
+        hits.getHits().forEach(hit -> ids.add(hit.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 자동완성 트라이 메모리/조회 시간 측정
+ *
+ * 미팅 제목 20만 개와 카테고리/검색어로 트라이를 만들고, 후보 일부를 1~6 글자까지 입력하는 접두사로 조회한다.
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class SuggestionTrieBenchmarkTest {
+
+    private static final int TITLES = 200_000;
+    private static final int LOOKUPS = 20_000;
+
+    private static final String[] WORDS = {
+        "주말", "등산", "모임", "서울", "보드게임", "독서", "클럽", "러닝", "초보", "환영", "강남", "홍대", "사진", "출사",
+        "요리", "클래스", "기타", "합주", "영어", "회화", "스터디", "코딩", "자전거", "캠핑", "볼링", "테니스", "수영",
+        "weekend", "hiking", "board", "games", "book", "club", "running", "photo", "walk", "coding", "study", "jazz"
+    };
+
+    @Test
+    void memoryAndLatency() {
+        Random random = new Random(43);
+        List<String> titles = new ArrayList<>(TITLES);
+        for (int i = 0; i < TITLES; i++) {
+            StringBuilder title = new StringBuilder();
+            int words = 2 + random.nextInt(3);
+            for (int w = 0; w < words; w++) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            titles.add(title.append(i % 1000).toString());
+        }
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long buildStart = System.nanoTime();
+        SuggestionTrie trie = build(titles, random);
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        System.gc();
+        long retainedMb = (usedHeap() - heapBefore) / (1024 * 1024);
+
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String title = titles.get(random.nextInt(titles.size()));
+            String prefix = title.substring(0, 1 + random.nextInt(Math.min(6, title.length())));
+            long start = System.nanoTime();
+            List<String> completions = trie.complete(prefix, 10);
+            nanos[i] = System.nanoTime() - start;
+            assertFalse(completions.isEmpty(), prefix);
+        }
+        Arrays.sort(nanos);
+
+        double medianUs = nanos[LOOKUPS / 2] / 1e3;
+        double p99Us = nanos[(int) (LOOKUPS * 0.99)] / 1e3;
+        System.out.printf("suggestions=%d nodes=%d estimated=%dKB retained~%dMB build=%dms%n",
+                trie.size(), trie.nodeCount(), trie.estimatedBytes() / 1024, retainedMb, buildMs);
+        System.out.printf("complete median=%.2fus p99=%.2fus%n", medianUs, p99Us);
+        assertTrue(p99Us < 1000, "p99 " + p99Us + "us");
+    }
+
+    private static SuggestionTrie build(List<String> titles, Random random) {
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder(10);
+        for (String title : titles) {
+            builder.add(title, 1 + random.nextInt(50));
+        }
+        for (String word : WORDS) {
+            builder.add(word, 100);
+        }
+        return builder.build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,133 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    @Test
+    void completesByWeightAndRespectsLimit() {
+        SuggestionTrie trie = new SuggestionTrie.Builder(5)
+                .add("독서모임", 5)
+                .add("독서실", 10)
+                .add("독립영화", 1)
+                .build();
+
+        assertEquals(List.of("독서실", "독서모임", "독립영화"), trie.complete("독", 10));
+        assertEquals(List.of("독서실", "독서모임"), trie.complete("독", 2));
+        assertEquals(List.of(), trie.complete("등", 10));
+        assertEquals(List.of(), trie.complete("  ", 10));
+    }
+
+    @Test
+    void singleChildChainsAreMergedIntoOneEdge() {
+        SuggestionTrie trie = new SuggestionTrie.Builder(5)
+                .add("climbing", 2)
+                .add("climb", 1)
+                .build();
+
+        // 루트 → "climb" (끝나는 키가 있어 멈춤) → "ing"
+        assertEquals(3, trie.nodeCount());
+        assertEquals(List.of("climbing", "climb"), trie.complete("cl", 10));
+        assertEquals(List.of("climbing", "climb"), trie.complete("climb", 10));
+        assertEquals(List.of("climbing"), trie.complete("climbi", 10));
+        assertEquals(List.of(), trie.complete("clx", 10));
+        assertEquals(List.of(), trie.complete("climbx", 10));
+        assertEquals(List.of(), trie.complete("climbings", 10));
+    }
+
+    @Test
+    void matchesWhileSyllableIsBeingTyped() {
+        SuggestionTrie trie = new SuggestionTrie.Builder(5)
+                .add("독서모임", 5)
+                .add("독립영화", 1)
+                .build();
+
+        // 독ㅅ → ㄷㅗㄱㅅ 은 독서의 자모 접두사
+        assertEquals(List.of("독서모임"), trie.complete("독ㅅ", 10));
+        assertEquals(List.of("독서모임"), trie.complete("독서ㅁ", 10));
+    }
+
+    @Test
+    void completesFromInitialsAndLaterWords() {
+        SuggestionTrie trie = new SuggestionTrie.Builder(5)
+                .add("강남 독서 모임", 3)
+                .add("등산 동호회", 2)
+                .build();
+
+        assertEquals(List.of("강남 독서 모임"), trie.complete("독서", 10));
+        assertEquals(List.of("강남 독서 모임"), trie.complete("모임", 10));
+        assertEquals(List.of("강남 독서 모임"), trie.complete("ㄱㄴㄷ", 10));
+        assertEquals(List.of("등산 동호회"), trie.complete("ㄷㅅ", 10));
+    }
+
+    @Test
+    void mergesDuplicateSuggestionsAndKeepsFirstDisplay() {
+        SuggestionTrie trie = new SuggestionTrie.Builder(5)
+                .add("Running Club", 1)
+                .add("Reading", 2)
+                .add("  running   club ", 3)
+                .add("Rowing", 0)
+                .build();
+
+        assertEquals(2, trie.size());
+        assertEquals(List.of("Running Club", "Reading"), trie.complete("R", 10));
+        assertEquals(List.of("Running Club"), trie.complete("club", 10));
+    }
+
+    @Test
+    void topSuggestionsMatchBruteForce() {
+        Random random = new Random(42);
+        Map<String, Double> weights = new HashMap<>();
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder(5);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(3)));
+            }
+            double weight = 1 + random.nextInt(1000);
+            weights.merge(word.toString(), weight, Double::sum);
+            builder.add(word.toString(), weight);
+        }
+        SuggestionTrie trie = builder.build();
+
+        Comparator<Map.Entry<String, Double>> byRank = Map.Entry.<String, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        for (String prefix : prefixes("abc", 4)) {
+            List<String> expected = new ArrayList<>();
+            weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(byRank)
+                    .limit(5)
+                    .forEach(entry -> expected.add(entry.getKey()));
+            assertEquals(expected, trie.complete(prefix, 5), "prefix " + prefix);
+        }
+        assertTrue(trie.nodeCount() > 1);
+    }
+
+    private static List<String> prefixes(String alphabet, int maxLength) {
+        List<String> prefixes = new ArrayList<>();
+        List<String> current = List.of("");
+        for (int length = 1; length <= maxLength; length++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : current) {
+                for (char c : alphabet.toCharArray()) {
+                    next.add(prefix + c);
+                }
+            }
+            prefixes.addAll(next);
+            current = next;
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 사용자 100만 명 이름 부분 문자열 검색: 트라이그램 후보 생성 vs 전체 스캔
+ *
+ * 전체 스캔은 정규화된 이름 배열을 String.contains 로 훑는다 (DB 의 %LIKE% 가 하는 일의 메모리 하한).
+ * NameMatchService 와 같이 사용자마다 아이디, 닉네임, "이름 성", "성이름" 네 개를 색인한다.
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class TrigramIndexBenchmarkTest {
+
+    private static final int USERS = 1_000_000;
+    private static final int QUERIES = 200;
+
+    private static final String[] SURNAMES = { "김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권" };
+    private static final String[] SYLLABLES = {
+        "민", "서", "지", "현", "준", "우", "예", "도", "하", "윤", "수", "연", "은", "진", "영", "호", "성", "재", "유", "빈",
+        "태", "경", "희", "혜", "승", "동", "원", "석", "주", "아"
+    };
+    private static final String[] WORDS = {
+        "sunny", "river", "climb", "piano", "chess", "hiker", "baker", "coder", "runner", "tiger", "maple", "cloud"
+    };
+
+    @Test
+    void substringLookupOnMillionUsers() {
+        Random random = new Random(48);
+        TrigramIndex index = new TrigramIndex(6, 50000, 20000);
+        String[] scanned = new String[USERS * 4];
+        List<String> queries = new ArrayList<>();
+
+        long buildStart = System.nanoTime();
+        for (int id = 0; id < USERS; id++) {
+            String username = randomLetters(random, 5 + random.nextInt(6)) + random.nextInt(100);
+            String nickname = WORDS[random.nextInt(WORDS.length)] + "_" + WORDS[random.nextInt(WORDS.length)];
+            String lastName = SURNAMES[random.nextInt(SURNAMES.length)];
+            String firstName = SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)];
+            String[] names = { username, nickname, firstName + " " + lastName, lastName + firstName };
+            index.put(id, names);
+            for (int i = 0; i < names.length; i++) {
+                scanned[id * 4 + i] = TrigramIndex.normalize(names[i]);
+            }
+            if (id % (USERS / QUERIES) == 0) {
+                // 아이디 일부, 이름, 성이름 전체를 번갈아 검색
+                queries.add(switch (queries.size() % 3) {
+                    case 0 -> username.substring(1, 5);
+                    case 1 -> firstName;
+                    default -> lastName + firstName;
+                });
+            }
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        System.gc();
+        long heapMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024);
+
+        long[] indexNanos = new long[QUERIES];
+        long[] scanNanos = new long[QUERIES];
+        long matched = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            String query = queries.get(q);
+
+            long start = System.nanoTime();
+            List<Long> ids = index.containing(query);
+            indexNanos[q] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            String needle = TrigramIndex.normalize(query);
+            int count = 0;
+            int lastId = -1;
+            for (int i = 0; i < scanned.length; i++) {
+                if (i / 4 != lastId && scanned[i].contains(needle)) {
+                    lastId = i / 4;
+                    count++;
+                }
+            }
+            scanNanos[q] = System.nanoTime() - start;
+
+            assertEquals(count, ids.size(), "query " + query);
+            matched += count;
+        }
+
+        double indexMs = median(indexNanos) / 1e6;
+        double scanMs = median(scanNanos) / 1e6;
+        System.out.printf("users=%d build=%dms heap=%dMB avgMatches=%d%n", USERS, buildMs, heapMb, matched / QUERIES);
+        System.out.printf("containing median=%.3fms p99=%.3fms | full scan median=%.3fms p99=%.3fms%n",
+                indexMs, percentile(indexNanos, 0.99) / 1e6, scanMs, percentile(scanNanos, 0.99) / 1e6);
+        assertTrue(indexMs * 10 < scanMs, "index " + indexMs + "ms vs scan " + scanMs + "ms");
+    }
+
+    private static String randomLetters(Random random, int length) {
+        StringBuilder letters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            letters.append((char) ('a' + random.nextInt(26)));
+        }
+        return letters.toString();
+    }
+
+    private static double median(long[] nanos) {
+        return percentile(nanos, 0.5);
+    }
+
+    private static double percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))];
+    }
+}
@@ -0,0 +1,194 @@
+package com.hobbylink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void scoresJaccardSimilarityOfPaddedTrigrams() {
+        assertEquals(Set.of("  a", " ab", "abc", "bc "), TrigramIndex.trigrams("abc"));
+
+        // 편집 거리 경로를 끄고 트라이그램 유사도만 본다
+        TrigramIndex index = new TrigramIndex(0, 1000, 1000);
+        index.put(1, "abc");
+        index.put(2, "abd");
+        index.put(3, "xyz");
+
+        List<TrigramIndex.Match> matches = index.search("ABC", 0.1, 10);
+        assertEquals(2, matches.size());
+        assertEquals(1, matches.get(0).getId());
+        assertEquals(1.0, matches.get(0).getSimilarity(), 1e-9);
+        // 공유 2개 ("  a", " ab") / 합집합 6개
+        assertEquals(2, matches.get(1).getId());
+        assertEquals(1.0 / 3, matches.get(1).getSimilarity(), 1e-9);
+
+        assertEquals(1, index.search("abc", 0.5, 10).size());
+    }
+
+    @Test
+    void findsHangulNameWithOneSyllableTypo() {
+        TrigramIndex index = new TrigramIndex(0, 1000, 1000);
+        index.put(1, "홍길동");
+        index.put(2, "김철수");
+
+        List<TrigramIndex.Match> matches = index.search("홍길돈", 0.5, 10);
+        assertEquals(1, matches.size());
+        assertEquals(1, matches.get(0).getId());
+    }
+
+    @Test
+    void symmetricDeletionFindsShortNamesWithinOneEdit() {
+        // 트라이그램 후보를 막아 편집 거리 경로만 남긴다
+        TrigramIndex index = new TrigramIndex(6, 0, 1000);
+        index.put(1, "kim");
+        index.put(2, "lee");
+
+        for (String typo : List.of("kim", "kin", "kmi", "ki", "kimm", "akim")) {
+            List<TrigramIndex.Match> matches = index.search(typo, 0.5, 10);
+            assertEquals(1, matches.size(), typo);
+            assertEquals(1, matches.get(0).getId(), typo);
+        }
+        assertEquals(1.0, index.search("kim", 0.5, 10).get(0).getSimilarity(), 1e-9);
+        assertEquals(1.0 - 1.0 / 3, index.search("kin", 0.5, 10).get(0).getSimilarity(), 1e-9);
+        assertTrue(index.search("kxx", 0.1, 10).isEmpty());
+        assertTrue(index.search("km", 0.1, 10).stream().anyMatch(match -> match.getId() == 1));
+    }
+
+    @Test
+    void editDistanceCheckCoversEveryOneEditCase() {
+        assertTrue(TrigramIndex.withinOneEdit("kim", "kim"));
+        assertTrue(TrigramIndex.withinOneEdit("kim", "kin"));
+        assertTrue(TrigramIndex.withinOneEdit("kim", "ki"));
+        assertTrue(TrigramIndex.withinOneEdit("ki", "kim"));
+        assertTrue(TrigramIndex.withinOneEdit("kim", "kmi"));
+        assertFalse(TrigramIndex.withinOneEdit("kim", "mik"));
+        assertFalse(TrigramIndex.withinOneEdit("kim", "k"));
+        assertFalse(TrigramIndex.withinOneEdit("kim", "kxx"));
+        assertEquals(Set.of("abc", "bc", "ac", "ab"), TrigramIndex.deletionVariants("abc"));
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsStopMatching() {
+        TrigramIndex index = new TrigramIndex(6, 1000, 1000);
+        index.put(1, "alpha", "alphonse");
+        index.put(2, "omega");
+        assertEquals(2, index.size());
+        assertEquals(1, index.search("alpha", 0.9, 10).get(0).getId());
+
+        index.put(1, "gamma");
+        assertTrue(index.search("alpha", 0.5, 10).isEmpty());
+        assertEquals(1, index.search("gamma", 0.9, 10).get(0).getId());
+
+        index.remove(2);
+        assertTrue(index.search("omega", 0.5, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void trigramSearchMatchesBruteForce() {
+        Random random = new Random(7);
+        Map<Long, String> names = new HashMap<>();
+        TrigramIndex index = new TrigramIndex(0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        for (long id = 1; id <= 500; id++) {
+            String name = randomName(random);
+            names.put(id, name);
+            index.put(id, name);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomName(random);
+            Set<String> queryGrams = TrigramIndex.trigrams(TrigramIndex.normalize(query));
+            Map<Long, Double> expected = new HashMap<>();
+            names.forEach((id, name) -> {
+                Set<String> grams = TrigramIndex.trigrams(TrigramIndex.normalize(name));
+                Set<String> common = new HashSet<>(grams);
+                common.retainAll(queryGrams);
+                double similarity = (double) common.size() / (grams.size() + queryGrams.size() - common.size());
+                if (similarity >= 0.3) {
+                    expected.put(id, similarity);
+                }
+            });
+
+            Map<Long, Double> actual = new HashMap<>();
+            index.search(query, 0.3, Integer.MAX_VALUE).forEach(match -> actual.put(match.getId(), match.getSimilarity()));
+            assertEquals(expected.keySet(), actual.keySet(), "query " + query);
+            expected.forEach((id, similarity) -> assertEquals(similarity, actual.get(id), 1e-9));
+        }
+    }
+
+    @Test
+    void resultsAreOrderedBySimilarityThenIdAndLimited() {
+        TrigramIndex index = new TrigramIndex(0, 1000, 1000);
+        index.put(3, "running");
+        index.put(1, "runner");
+        index.put(2, "runner");
+        List<TrigramIndex.Match> matches = index.search("runner", 0.1, 2);
+        List<Long> ids = new ArrayList<>();
+        matches.forEach(match -> ids.add(match.getId()));
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    void containingMatchesSubstringsLikeBruteForce() {
+        Random random = new Random(48);
+        Map<Long, String> names = new HashMap<>();
+        TrigramIndex index = new TrigramIndex(6, 1000, 1000);
+        for (long id = 1; id <= 500; id++) {
+            String name = randomName(random) + " " + randomName(random);
+            names.put(id, name);
+            index.put(id, name);
+        }
+        index.remove(7);
+        names.remove(7L);
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomName(random).substring(0, 3).toUpperCase();
+            List<Long> expected = new ArrayList<>();
+            names.forEach((id, name) -> {
+                if (name.contains(query.toLowerCase())) {
+                    expected.add(id);
+                }
+            });
+            expected.sort(null);
+            assertEquals(expected, index.containing(query), "query " + query);
+        }
+    }
+
+    @Test
+    void containingHandlesHangulAndShortQueries() {
+        TrigramIndex index = new TrigramIndex(6, 1000, 1000);
+        index.put(1, "홍길동", "gildong");
+        index.put(2, "김길순");
+        index.put(3, "hong gil");
+
+        assertEquals(List.of(1L, 2L), index.containing("길"));
+        assertEquals(List.of(1L), index.containing("길동"));
+        assertEquals(List.of(1L), index.containing("GILDO"));
+        assertEquals(List.of(3L), index.containing("ONG GIL"));
+        assertTrue(index.containing("xyz").isEmpty());
+        // 트라이그램이 없는 검색어는 색인으로 답할 수 없다
+        assertNull(index.containing("gi"));
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 3 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(4)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package com.hobbylink.service;
+
+import com.hobbylink.model.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 채팅 메시지 처리량/지연: 파이프라인 vs 인바운드 스레드에서 바로 처리
+ *
+ * 인바운드 스레드 8개(clientInboundChannel 최대 풀 크기)가 방 50개에 메시지 2만 개를 보낸다.
+ * 저장은 DB 왕복처럼 호출마다 1ms 가 걸린다. 기준선은 파이프라인 이전처럼 인바운드 스레드가 메시지마다
+ * 검증 → 저장 → 방송을 직접 하고, 파이프라인은 운영 설정(버퍼 1024, 배치 32, 레인 2)으로 돌린다.
+ * 지연은 보낸 시각부터 방송 시각까지다. 최대 처리량은 보낼 수 있는 만큼 보내서 재고(이때 지연은 대부분 버퍼 대기),
+ * 지연 비교는 두 방식 모두 감당할 수 있는 초당 3천 개로 보내서 잰다.
+ * mvn -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class ChatMessagePipelineBenchmarkTest {
+
+    private static final int SENDERS = 8;
+    private static final int ROOMS = 50;
+    private static final int MESSAGES = 20_000;
+    private static final long PERSIST_DELAY_MS = 1;
+    private static final int PACED_RATE = 3_000;
+
+    private final ConcurrentHashMap<String, Long> submittedAt = new ConcurrentHashMap<>();
+    private final long[] latencies = new long[MESSAGES];
+    private final AtomicInteger broadcastCount = new AtomicInteger();
+    private final AtomicInteger persistCalls = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void pipelineAgainstInlineProcessing() throws Exception {
+        Result inline = runInline(0);
+        Result pipelined = runPipeline(0);
+        report("inline   saturated", inline);
+        report("pipeline saturated", pipelined);
+        assertTrue(pipelined.throughput > inline.throughput * 2,
+                "pipeline " + pipelined.throughput + " vs inline " + inline.throughput + " msg/s");
+
+        Result inlinePaced = runInline(PACED_RATE);
+        Result pipelinedPaced = runPipeline(PACED_RATE);
+        report("inline   " + PACED_RATE + "/s", inlinePaced);
+        report("pipeline " + PACED_RATE + "/s", pipelinedPaced);
+        // 여유가 있을 때 배치 대기와 단계 사이 전달로 늘어나는 지연은 저장 몇 번 분량을 넘지 않아야 한다
+        assertTrue(pipelinedPaced.p99Ms < 50, "pipeline p99 " + pipelinedPaced.p99Ms + "ms at " + PACED_RATE + "/s");
+    }
+
+    private static void report(String name, Result result) {
+        System.out.printf("%s: %,.0f msg/s, latency median=%.1fms p99=%.1fms, persist calls=%d%n",
+                name, result.throughput, result.medianMs, result.p99Ms, result.persistCalls);
+    }
+
+    private Result runInline(int rate) throws Exception {
+        reset();
+        SimpMessagingTemplate template = template();
+        DelayedChatService chatService = new DelayedChatService();
+        return send(rate, (content, context, clientMessageId) -> {
+            submittedAt.put(clientMessageId, System.nanoTime());
+            ChatMessage message = chatService.prepareMessage(content, context, clientMessageId);
+            message = chatService.saveMessages(List.of(message)).get(0);
+            template.convertAndSend("/topic/meetup/" + message.getMeetupId() + "/messages", message);
+            return true;
+        });
+    }
+
+    private Result runPipeline(int rate) throws Exception {
+        reset();
+        ChatMessagePipeline pipeline = new ChatMessagePipeline(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 32);
+        ReflectionTestUtils.setField(pipeline, "validateLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "persistLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "fanoutLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "chatService", new DelayedChatService());
+        ReflectionTestUtils.setField(pipeline, "typingIndicatorService", new TypingIndicatorService() {
+            @Override
+            public void stopTyping(Long meetupId, Long userId) {
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "hotRoomService", new HotRoomService(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(pipeline, "notificationBroadcastService", new NotificationBroadcastService() {
+            @Override
+            public void broadcastNewMessageNotification(ChatMessage message) {
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "unreadMessageTrackingService", new UnreadMessageTrackingService() {
+            @Override
+            public void handleNewMessage(ChatMessage message) {
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "messagingTemplate", template());
+        pipeline.start();
+        try {
+            return send(rate, (content, context, clientMessageId) -> {
+                submittedAt.put(clientMessageId, System.nanoTime());
+                return pipeline.submit(content, context, clientMessageId);
+            });
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    /**
+     * @param rate 초당 보낼 메시지 수 (0 이면 가능한 만큼)
+     */
+    private Result send(int rate, Sender sender) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < SENDERS; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = next.getAndIncrement(); i < MESSAGES; i = next.getAndIncrement()) {
+                    if (rate > 0) {
+                        LockSupport.parkNanos(start + i * 1_000_000_000L / rate - System.nanoTime());
+                    }
+                    long room = 1 + i % ROOMS;
+                    ChatSessionContextService.ChatSessionContext context = new ChatSessionContextService.ChatSessionContext(
+                            room * 100, room, "user" + room, "User " + room, null, true, true, 0, 0);
+                    // 입구 버퍼가 차면 클라이언트처럼 잠시 뒤 다시 보낸다
+                    while (!sender.send("m" + i, context, String.valueOf(i))) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (broadcastCount.get() < MESSAGES && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(MESSAGES, broadcastCount.get());
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new Result(MESSAGES / (elapsed / 1e9), sorted[MESSAGES / 2] / 1e6,
+                sorted[(int) (MESSAGES * 0.99)] / 1e6, persistCalls.get());
+    }
+
+    private void reset() {
+        submittedAt.clear();
+        Arrays.fill(latencies, 0);
+        broadcastCount.set(0);
+        persistCalls.set(0);
+    }
+
+    private SimpMessagingTemplate template() {
+        return new SimpMessagingTemplate((message, timeout) -> {
+            if (message.getPayload() instanceof ChatMessage chatMessage) {
+                long sent = submittedAt.get(chatMessage.getClientMessageId());
+                latencies[Integer.parseInt(chatMessage.getClientMessageId())] = System.nanoTime() - sent;
+                broadcastCount.incrementAndGet();
+            }
+            return true;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        boolean send(String content, ChatSessionContextService.ChatSessionContext context, String clientMessageId);
+    }
+
+    private static class Result {
+        private final double throughput;
+        private final double medianMs;
+        private final double p99Ms;
+        private final int persistCalls;
+
+        Result(double throughput, double medianMs, double p99Ms, int persistCalls) {
+            this.throughput = throughput;
+            this.medianMs = medianMs;
+            this.p99Ms = p99Ms;
+            this.persistCalls = persistCalls;
+        }
+    }
+
+    /**
+     * 검증은 그대로 하고 저장은 호출마다 지연을 두는 채팅 서비스
+     */
+    private class DelayedChatService extends ChatService {
+        @Override
+        public ChatMessage prepareMessage(String content, ChatSessionContextService.ChatSessionContext context,
+                                          String clientMessageId) {
+            ChatMessage message = new ChatMessage(content, context.getMeetupId(), context.getUserId(), context.getUsername());
+            message.setClientMessageId(clientMessageId);
+            return message;
+        }
+
+        @Override
+        public List<ChatMessage> saveMessages(List<ChatMessage> messages) {
+            persistCalls.incrementAndGet();
+            try {
+                Thread.sleep(PERSIST_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (ChatMessage message : messages) {
+                message.setId(ids.incrementAndGet());
+            }
+            return messages;
+        }
+    }
+}
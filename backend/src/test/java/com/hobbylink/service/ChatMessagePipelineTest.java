@@ -0,0 +1,291 @@
+package com.hobbylink.service;
+
+import com.hobbylink.model.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 채팅 메시지 파이프라인 종단 간 처리 시험
+ *
+ * 저장 단계에 호출마다 고정 지연을 두고 여러 방의 메시지를 동시에 밀어 넣어,
+ * 모든 메시지가 방 안 순서대로 방송되고 저장이 배치로 묶이는지 확인한다.
+ * 저장 단계를 멈춰 두는 시험으로 링 버퍼가 찼을 때의 백프레셔와 입구 거부, 배치 크기 상한,
+ * 배치 저장 실패 시 개별 재시도에서도 순서가 유지되는지 확인한다.
+ * 파이프라인은 시험마다 설정을 바꾼 뒤 시작한다.
+ */
+class ChatMessagePipelineTest {
+
+    private static final int ROOMS = 4;
+    private static final int MESSAGES_PER_ROOM = 5_000;
+    private static final long PERSIST_DELAY_MS = 1;
+
+    private ChatMessagePipeline pipeline;
+    private SimpleMeterRegistry meterRegistry;
+    private final Map<Long, List<ChatMessage>> broadcasts = new ConcurrentHashMap<>();
+    private final AtomicInteger broadcastCount = new AtomicInteger();
+    private final AtomicInteger persistCalls = new AtomicInteger();
+    private final AtomicInteger countedMessages = new AtomicInteger();
+    private final List<Integer> persistBatchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> failedClientMessageIds = Collections.synchronizedList(new ArrayList<>());
+
+    // 열릴 때까지 저장 단계를 멈춰 두는 관문 (null 이면 바로 저장)
+    private volatile CountDownLatch persistGate;
+    // 이 내용이 든 배치는 저장에 실패한다
+    private volatile String unsavableContent;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new ChatMessagePipeline(meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 32);
+        ReflectionTestUtils.setField(pipeline, "validateLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "persistLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "fanoutLanes", 2);
+        ReflectionTestUtils.setField(pipeline, "chatService", new DelayedChatService());
+        ReflectionTestUtils.setField(pipeline, "typingIndicatorService", new TypingIndicatorService() {
+            @Override
+            public void stopTyping(Long meetupId, Long userId) {
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "hotRoomService", new HotRoomService(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(pipeline, "notificationBroadcastService", new NotificationBroadcastService() {
+            @Override
+            public void broadcastNewMessageNotification(ChatMessage message) {
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "unreadMessageTrackingService", new UnreadMessageTrackingService() {
+            @Override
+            public void handleNewMessage(ChatMessage message) {
+                countedMessages.incrementAndGet();
+            }
+        });
+        ReflectionTestUtils.setField(pipeline, "messagingTemplate", new SimpMessagingTemplate((message, timeout) -> {
+            if (message.getPayload() instanceof ChatMessage chatMessage) {
+                broadcasts.computeIfAbsent(chatMessage.getMeetupId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(chatMessage);
+                broadcastCount.incrementAndGet();
+            } else if (message.getPayload() instanceof ChatMessagePipeline.FailedMessageStatus status) {
+                failedClientMessageIds.add(status.getClientMessageId());
+            }
+            return true;
+        }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void deliversEveryMessageInRoomOrderWithBatchedPersists() throws Exception {
+        pipeline.start();
+        int total = ROOMS * MESSAGES_PER_ROOM;
+        List<Thread> senders = new ArrayList<>();
+        for (long room = 1; room <= ROOMS; room++) {
+            ChatSessionContextService.ChatSessionContext context = context(room);
+            Thread sender = new Thread(() -> {
+                for (int i = 0; i < MESSAGES_PER_ROOM; i++) {
+                    // 입구 버퍼가 차면 클라이언트처럼 잠시 뒤 다시 보낸다
+                    while (!pipeline.submit("m" + i, context, context.getMeetupId() + "-" + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            senders.add(sender);
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while ((broadcastCount.get() < total || countedMessages.get() < total) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(total, broadcastCount.get());
+        assertEquals(total, countedMessages.get());
+
+        for (long room = 1; room <= ROOMS; room++) {
+            List<ChatMessage> messages = broadcasts.get(room);
+            assertEquals(MESSAGES_PER_ROOM, messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                assertEquals("m" + i, messages.get(i).getContent());
+                if (i > 0) {
+                    assertTrue(messages.get(i).getSentAt().isAfter(messages.get(i - 1).getSentAt()),
+                            "sentAt must increase within a room");
+                }
+            }
+        }
+
+        // 호출마다 지연이 있는 저장이 메시지 수만큼 불리면 처리량이 그 지연에 묶인다
+        assertTrue(persistCalls.get() < total / 4,
+                "persist should be batched but was called " + persistCalls.get() + " times for " + total + " messages");
+    }
+
+    @Test
+    void fullBuffersPushBackToIngressAndRejectNewMessages() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 4);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 2);
+        ReflectionTestUtils.setField(pipeline, "validateLanes", 1);
+        ReflectionTestUtils.setField(pipeline, "persistLanes", 1);
+        ReflectionTestUtils.setField(pipeline, "fanoutLanes", 1);
+        persistGate = new CountDownLatch(1);
+        pipeline.start();
+
+        // 저장이 멈춰 있으면 저장 → 순서 → 검증 버퍼가 차례로 차고, 상류 스레드는 put 에서 기다린다
+        ChatSessionContextService.ChatSessionContext context = context(1L);
+        // 거부되면 클라이언트처럼 다시 보내되, 200ms 동안 더 받아 주지 않으면 파이프라인 전체가 찬 것으로 본다
+        int accepted = 0;
+        long lastAccepted = System.currentTimeMillis();
+        while (System.currentTimeMillis() - lastAccepted < 200) {
+            if (pipeline.submit("m" + accepted, context, "1-" + accepted)) {
+                accepted++;
+                lastAccepted = System.currentTimeMillis();
+            } else {
+                Thread.sleep(1);
+            }
+        }
+        assertFalse(pipeline.submit("overflow", context, "1-overflow"), "ingress should reject once every buffer is full");
+        assertEquals(1.0, pipeline.getSaturation());
+        assertTrue(meterRegistry.get("chat.pipeline.rejected").counter().count() >= 1);
+        for (String stage : List.of("validate", "sequence", "persist")) {
+            assertEquals(4.0, meterRegistry.get("chat.pipeline.queue.depth").tag("stage", stage).gauge().value(), stage);
+        }
+        // 세 버퍼 4개씩, 그리고 각 단계 스레드가 손에 든 배치만큼만 받는다
+        assertTrue(accepted >= 12 && accepted <= 12 + 3 * 2, "accepted " + accepted);
+
+        persistGate.countDown();
+        int expected = accepted;
+        awaitCondition(() -> broadcastCount.get() == expected);
+        List<ChatMessage> messages = broadcasts.get(1L);
+        for (int i = 0; i < expected; i++) {
+            assertEquals("m" + i, messages.get(i).getContent());
+        }
+        assertTrue(pipeline.submit("after", context, "1-after"), "ingress should accept again after draining");
+    }
+
+    @Test
+    void persistBatchesWhatQueuedWhileThePreviousBatchWasSaving() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "batchSize", 8);
+        ReflectionTestUtils.setField(pipeline, "persistLanes", 1);
+        persistGate = new CountDownLatch(1);
+        pipeline.start();
+
+        ChatSessionContextService.ChatSessionContext context = context(1L);
+        int total = 30;
+        for (int i = 0; i < total; i++) {
+            assertTrue(pipeline.submit("m" + i, context, "1-" + i));
+        }
+        awaitCondition(() -> meterRegistry.get("chat.pipeline.processed").tag("stage", "sequence").counter().count() == total);
+        persistGate.countDown();
+        awaitCondition(() -> broadcastCount.get() == total);
+
+        // 첫 배치가 저장되는 동안 쌓인 메시지는 batch-size 단위로 묶여 저장된다
+        int saved = 0;
+        for (int size : persistBatchSizes) {
+            assertTrue(size >= 1 && size <= 8, "batch of " + size);
+            saved += size;
+        }
+        assertEquals(total, saved);
+        assertTrue(persistBatchSizes.contains(8), "batches " + persistBatchSizes);
+        assertTrue(persistBatchSizes.size() <= 1 + (total + 7) / 8, "batches " + persistBatchSizes);
+    }
+
+    @Test
+    void failedBatchIsRetriedPerMessageWithoutReordering() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "batchSize", 8);
+        unsavableContent = "m13";
+        persistGate = new CountDownLatch(1);
+        pipeline.start();
+
+        ChatSessionContextService.ChatSessionContext context = context(1L);
+        int total = 30;
+        for (int i = 0; i < total; i++) {
+            assertTrue(pipeline.submit("m" + i, context, "1-" + i));
+        }
+        persistGate.countDown();
+        awaitCondition(() -> broadcastCount.get() == total - 1 && failedClientMessageIds.size() == 1);
+
+        assertEquals(List.of("1-13"), failedClientMessageIds);
+        List<ChatMessage> messages = broadcasts.get(1L);
+        int expected = 0;
+        for (ChatMessage message : messages) {
+            if (expected == 13) {
+                expected++;
+            }
+            assertEquals("m" + expected, message.getContent());
+            expected++;
+        }
+        assertEquals(total, expected);
+    }
+
+    private static ChatSessionContextService.ChatSessionContext context(long room) {
+        return new ChatSessionContextService.ChatSessionContext(
+                room * 100, room, "user" + room, "User " + room, null, true, true, 0, 0);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not reached in time");
+    }
+
+    /**
+     * 검증은 그대로 하고 저장은 DB 왕복처럼 호출마다 지연을 두는 채팅 서비스
+     */
+    private class DelayedChatService extends ChatService {
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public ChatMessage prepareMessage(String content, ChatSessionContextService.ChatSessionContext context,
+                                          String clientMessageId) {
+            ChatMessage message = new ChatMessage(content, context.getMeetupId(), context.getUserId(), context.getUsername());
+            message.setClientMessageId(clientMessageId);
+            return message;
+        }
+
+        @Override
+        public List<ChatMessage> saveMessages(List<ChatMessage> messages) {
+            persistCalls.incrementAndGet();
+            persistBatchSizes.add(messages.size());
+            try {
+                CountDownLatch gate = persistGate;
+                if (gate != null) {
+                    gate.await();
+                }
+                Thread.sleep(PERSIST_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String unsavable = unsavableContent;
+            if (unsavable != null && messages.stream().anyMatch(message -> unsavable.equals(message.getContent()))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            for (ChatMessage message : messages) {
+                message.setId(ids.incrementAndGet());
+            }
+            return messages;
+        }
+    }
+}
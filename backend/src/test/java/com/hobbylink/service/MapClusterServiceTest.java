@@ -0,0 +1,112 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.LocationChangedEvent;
+import com.hobbylink.search.GeoIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MapClusterServiceTest {
+
+    private GeoIndex meetups;
+    private GeoIndexService geoIndexService;
+    private MapClusterService mapClusterService;
+
+    @BeforeEach
+    void setUp() {
+        meetups = new GeoIndex(0.5);
+        geoIndexService = new GeoIndexService(new SimpleMeterRegistry());
+        mapClusterService = newClusterService(geoIndexService);
+    }
+
+    @Test
+    void meetupsOnTileEdgesAreCountedOnce() {
+        double[][] edges = {
+                { 0, 0 }, { 0, -180 }, { 0, 180 }, { 90, 10 }, { -90, 10 }, { 85.05112878, -90 }, { 45, 90 },
+                { 66.51326044311186, 0 }, { -40.97989806962013, 45 }
+        };
+        long id = 0;
+        for (double[] edge : edges) {
+            meetups.put(id++, edge[0], edge[1], null, Long.MAX_VALUE);
+        }
+        Random random = new Random(50);
+        for (int i = 0; i < 2000; i++) {
+            meetups.put(id++, -90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360, null, Long.MAX_VALUE);
+        }
+        installIndex();
+
+        for (int zoom = 0; zoom <= 5; zoom++) {
+            MapClusterService.MapClusters world = mapClusterService.clusters(90, -90, 179.999999, -180, zoom, null);
+            assertEquals(id, world.getTotal(), "zoom " + zoom);
+        }
+    }
+
+    @Test
+    void dateLineMeetupLandsInFirstColumn() {
+        meetups.put(1, 10, 180, null, Long.MAX_VALUE);
+        installIndex();
+
+        MapClusterService.MapClusters west = mapClusterService.clusters(20, 0, -170, -180, 3, null);
+        assertEquals(1, west.getTotal());
+        assertEquals(-180, west.getClusters().get(0).getLongitude(), 1e-9);
+        assertEquals(0, mapClusterService.clusters(20, 0, 179.9, 170, 3, null).getTotal());
+    }
+
+    @Test
+    void evictionDuringAggregationIsNotOverwrittenByStaleTile() {
+        meetups.put(1, 37.5, 127.0, null, Long.MAX_VALUE);
+        // 미팅이 든 타일을 처음 집계한 직후 미팅이 옮겨지고 타일이 지워진다
+        geoIndexService = new GeoIndexService(new SimpleMeterRegistry()) {
+            private boolean moved;
+
+            @Override
+            public void forEachInBox(GeoType type, double minLat, double maxLat, double minLng, double maxLng,
+                                     String category, boolean upcomingOnly, GeoIndex.LocationVisitor visitor) {
+                boolean[] seen = new boolean[1];
+                super.forEachInBox(type, minLat, maxLat, minLng, maxLng, category, upcomingOnly,
+                        (id, lat, lng, meetupCategory) -> {
+                            seen[0] = true;
+                            visitor.visit(id, lat, lng, meetupCategory);
+                        });
+                if (seen[0] && !moved) {
+                    moved = true;
+                    meetups.put(1, -33.9, 151.2, null, Long.MAX_VALUE);
+                    mapClusterService.handleLocationChanged(new LocationChangedEvent(GeoType.MEETUP.name(), 1,
+                            new double[] { 37.5, 127.0 }, new double[] { -33.9, 151.2 }));
+                }
+            }
+        };
+        mapClusterService = newClusterService(geoIndexService);
+        installIndex();
+
+        assertEquals(1, mapClusterService.clusters(38, 37, 128, 126, 10, null).getTotal());
+        assertEquals(0, mapClusterService.clusters(38, 37, 128, 126, 10, null).getTotal());
+        assertEquals(1, mapClusterService.clusters(-33, -34, 152, 151, 10, null).getTotal());
+    }
+
+    private void installIndex() {
+        Map<GeoIndexService.GeoType, GeoIndex> indexes = new EnumMap<>(GeoIndexService.GeoType.class);
+        for (GeoIndexService.GeoType type : GeoIndexService.GeoType.values()) {
+            indexes.put(type, type == GeoIndexService.GeoType.MEETUP ? meetups : new GeoIndex(0.5));
+        }
+        ReflectionTestUtils.setField(geoIndexService, "indexes", indexes);
+    }
+
+    private static MapClusterService newClusterService(GeoIndexService geoIndexService) {
+        MapClusterService service = new MapClusterService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "gridSize", 8);
+        ReflectionTestUtils.setField(service, "maxZoom", 18);
+        ReflectionTestUtils.setField(service, "maxTiles", 4096);
+        ReflectionTestUtils.setField(service, "cacheMaxTiles", 5000);
+        ReflectionTestUtils.setField(service, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(service, "geoIndexService", geoIndexService);
+        return service;
+    }
+}
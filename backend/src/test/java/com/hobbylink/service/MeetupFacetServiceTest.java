@@ -0,0 +1,98 @@
+package com.hobbylink.service;
+
+import com.hobbylink.event.EntityChangedEvent;
+import com.hobbylink.model.Meetup;
+import com.hobbylink.search.FacetIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetupFacetServiceTest {
+
+    private final Map<Long, Double> scores = Map.of(1L, 1.0, 2L, 3.0, 3L, 2.0);
+    private final List<String> scoredQueries = new ArrayList<>();
+    private boolean searchIndexReady = true;
+
+    private MeetupFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        // BM25 색인 대신 고정 점수를 돌려준다
+        SearchIndexService searchIndexService = new SearchIndexService(new SimpleMeterRegistry()) {
+            @Override
+            public boolean isReady() {
+                return searchIndexReady;
+            }
+
+            @Override
+            public Map<Long, Double> scoreAll(IndexType type, String query) {
+                scoredQueries.add(query);
+                return scores;
+            }
+        };
+        facetService = new MeetupFacetService();
+        ReflectionTestUtils.setField(facetService, "maxValuesPerFacet", 20);
+        ReflectionTestUtils.setField(facetService, "searchIndexService", searchIndexService);
+        ReflectionTestUtils.setField(facetService, "index", new FacetIndex());
+
+        save(1, "서울특별시 강남구 역삼동 1", "운동");
+        save(2, "서울시 마포구 합정동", "운동");
+        save(3, "부산광역시 해운대구", "운동");
+        save(4, "서울 강남구", "음악");
+    }
+
+    @Test
+    void regionNamesAreNormalizedOnBothSides() {
+        assertEquals(List.of("서울", "서울 강남구"), MeetupFacetService.locationValues("서울특별시 강남구 역삼동 1"));
+        assertEquals(List.of("서울", "서울 마포구"), MeetupFacetService.locationValues("서울시 마포구"));
+
+        for (String region : List.of("서울", "서울특별시", "서울시")) {
+            assertEquals(List.of(1L, 2L, 4L), search(null, region).getIds(), region);
+        }
+        assertEquals(List.of(1L, 4L), search(null, "서울특별시 강남구").getIds());
+        assertEquals(List.of(1L, 4L), search(null, "강남").getIds());
+        assertEquals(List.of(3L), search(null, "부산").getIds());
+        assertTrue(search(null, "대전광역시").getIds().isEmpty());
+    }
+
+    @Test
+    void queryIsScoredOnceAndRankedWithinFacets() {
+        MeetupFacetService.FacetPage page = search("러닝", "서울");
+
+        // 4번은 검색어와 일치하지 않고 3번은 지역이 다르다
+        assertEquals(List.of(2L, 1L), page.getIds());
+        assertEquals(2, page.getTotal());
+        assertEquals(List.of("러닝"), scoredQueries);
+    }
+
+    @Test
+    void queriesWaitForSearchIndex() {
+        assertTrue(facetService.isReady("러닝"));
+        searchIndexReady = false;
+        assertFalse(facetService.isReady("러닝"));
+        // 검색어가 없으면 패싯 색인만으로 답한다
+        assertTrue(facetService.isReady(" "));
+        assertTrue(facetService.isReady(null));
+    }
+
+    private MeetupFacetService.FacetPage search(String query, String region) {
+        return facetService.search(query, Map.of(MeetupFacetService.LOCATION, List.of(region)), 0, 10);
+    }
+
+    private void save(long id, String location, String category) {
+        Meetup meetup = new Meetup();
+        meetup.setId(id);
+        meetup.setLocation(location);
+        meetup.setCategory(category);
+        facetService.handleEntityChanged(new EntityChangedEvent(meetup, EntityChangedEvent.ChangeType.SAVED));
+    }
+}
@@ -13,11 +13,21 @@ class WebSocketManager {
     this.reconnectAttempts = 0;
     this.maxReconnectAttempts = 5;
     this.reconnectDelay = 1000;
+    this.syncBusyRetryDelay = 500;
     this.messageQueue = [];
     this.connected = false;
     this.subscriptions = new Map();
     this.eventHandlers = new Map();
-    this.heartbeatInterval = null;
+    this.lastSeenMessageId = null;
+    this.syncRequestId = null;
+    // 접속자 델타 적용 상태 (버전이 건너뛰면 스냅샷 재요청)
+    this.presenceVersion = null;
+    this.presenceMembers = new Map();
+    // 대규모 방(hot room)에서는 서버가 목록 없이 인원 수만 보낸다
+    this.presenceCountOnly = false;
+    this.presenceCount = 0;
+    // 짧은 연결 끊김 후 서버에 보관된 세션을 이어받기 위한 토큰
+    this.resumeToken = uuidv4();
   }
 
   /**
@@ -53,12 +63,14 @@ class WebSocketManager {
         webSocketFactory: () => socket,
         connectHeaders: {
           userId: this.userId.toString(),
-          meetupId: this.meetupId.toString()
+          meetupId: this.meetupId.toString(),
+          'resume-token': this.resumeToken
         },
         debug: (str) => {
           console.log('STOMP Debug:', str);
         },
         reconnectDelay: this.reconnectDelay,
+        // STOMP 전송 하트비트가 서버의 접속 상태(활동 시간) 판단에 그대로 쓰인다
         heartbeatIncoming: 10000,
         heartbeatOutgoing: 10000,
         onConnect: this.onConnected.bind(this),
@@ -86,20 +98,22 @@ class WebSocketManager {
     // 이벤트 핸들러 호출
     this.triggerEvent('connected');
 
+    // 재연결이면 메시지 구독 헤더의 마지막 메시지 ID 로 서버가 놓친 메시지만 보낸다
+    const firstConnect = !this.lastSeenMessageId;
+
     // 구독 설정
     this.setupSubscriptions();
 
     // 큐에 있는 메시지 전송
     this.flushMessageQueue();
 
-    // 하트비트 시작
-    this.startHeartbeat();
-
-    // 사용자 입장 알림
-    this.sendUserJoin();
+    if (firstConnect) {
+      // 사용자 입장 알림
+      this.sendUserJoin();
 
-    // 메시지 동기화 요청
-    this.requestMessageSync();
+      // 처음 연결할 때만 최근 대화 기록 요청 (재연결 시 전체 기록을 다시 받지 않도록)
+      this.requestMessageSync();
+    }
   }
 
   /**
@@ -108,7 +122,6 @@ class WebSocketManager {
   onDisconnected() {
     console.log('WebSocket disconnected');
     this.connected = false;
-    this.stopHeartbeat();
     this.triggerEvent('disconnected');
     
     // 자동 재연결 시도
@@ -131,11 +144,44 @@ class WebSocketManager {
    * 구독 설정
    */
   setupSubscriptions() {
-    // 메시지 구독
+    // 연결마다 새 동기화 요청 ID (이전 연결이나 다른 방의 늦은 청크를 구분)
+    this.syncRequestId = uuidv4();
+
+    // 메시지 동기화 구독 (메시지 구독 시 서버가 바로 동기화를 보내므로 먼저 구독)
+    this.subscribe(`/user/${this.userId}/queue/message-sync`, (message) => {
+      const syncData = JSON.parse(message.body);
+
+      // 다른 방이나 이전 요청의 청크는 무시 (재개 후 서버가 직접 시작한 동기화는 요청 ID 가 없음)
+      if (!this.isCurrentMeetup(syncData.meetupId)
+          || (syncData.requestId && syncData.requestId !== this.syncRequestId)) {
+        return;
+      }
+
+      // 서버가 같은 방의 청크를 만드는 중이면 같은 커서로 잠시 후 다시 요청
+      if (syncData.busy) {
+        setTimeout(() => this.requestNextSyncChunk(syncData.meetupId, syncData.nextCursor), this.syncBusyRetryDelay);
+        return;
+      }
+
+      (syncData.messages || []).forEach((synced) => this.trackLastSeenMessage(synced));
+      this.triggerEvent('messagesSynced', syncData);
+
+      // 청크 단위 동기화: 처리 후 다음 청크 요청
+      if (syncData.hasMore && syncData.nextCursor) {
+        this.requestNextSyncChunk(syncData.meetupId, syncData.nextCursor);
+      }
+    });
+
+    // 메시지 구독 (재연결 시 마지막으로 본 메시지 이후부터 동기화)
+    const messageHeaders = { 'sync-request-id': this.syncRequestId };
+    if (this.lastSeenMessageId) {
+      messageHeaders['last-seen-message-id'] = this.lastSeenMessageId.toString();
+    }
     this.subscribe(`/topic/meetup/${this.meetupId}/messages`, (message) => {
       const messageData = JSON.parse(message.body);
+      this.trackLastSeenMessage(messageData);
       this.triggerEvent('messageReceived', messageData);
-    });
+    }, messageHeaders);
 
     // 타이핑 상태 구독
     this.subscribe(`/topic/meetup/${this.meetupId}/typing`, (message) => {
@@ -143,11 +189,18 @@ class WebSocketManager {
       this.triggerEvent('typingStatusReceived', typingData);
     });
 
-    // 온라인 사용자 구독
-    this.subscribe(`/topic/meetup/${this.meetupId}/users`, (message) => {
-      const usersData = JSON.parse(message.body);
-      this.triggerEvent('onlineUsersUpdated', usersData);
+    // 접속자 스냅샷 구독 (델타보다 먼저 구독)
+    this.subscribe(`/user/${this.userId}/queue/presence-snapshot`, (message) => {
+      const snapshot = JSON.parse(message.body);
+      this.applyPresenceSnapshot(snapshot);
+    });
+
+    // 접속자 변경분 구독
+    this.subscribe(`/topic/meetup/${this.meetupId}/presence`, (message) => {
+      const delta = JSON.parse(message.body);
+      this.applyPresenceDelta(delta);
     });
+    this.requestPresenceSnapshot();
 
     // 개인 알림 구독
     this.subscribe(`/user/${this.userId}/queue/notifications`, (message) => {
@@ -161,12 +214,6 @@ class WebSocketManager {
       this.triggerEvent('messageStatusUpdated', statusUpdate);
     });
 
-    // 메시지 동기화 구독
-    this.subscribe(`/user/${this.userId}/queue/message-sync`, (message) => {
-      const syncData = JSON.parse(message.body);
-      this.triggerEvent('messagesSynced', syncData);
-    });
-
     // 오류 메시지 구독
     this.subscribe(`/user/${this.userId}/queue/errors`, (message) => {
       const error = JSON.parse(message.body);
@@ -183,9 +230,9 @@ class WebSocketManager {
   /**
    * 토픽 구독
    */
-  subscribe(destination, callback) {
+  subscribe(destination, callback, headers = {}) {
     if (this.stompClient && this.connected) {
-      const subscription = this.stompClient.subscribe(destination, callback);
+      const subscription = this.stompClient.subscribe(destination, callback, headers);
       this.subscriptions.set(destination, subscription);
       return subscription;
     }
@@ -211,9 +258,6 @@ class WebSocketManager {
       // 사용자 퇴장 알림
       this.sendUserLeave();
       
-      // 하트비트 중지
-      this.stopHeartbeat();
-      
       // 모든 구독 해제
       this.subscriptions.forEach((subscription) => {
         subscription.unsubscribe();
@@ -340,6 +384,7 @@ class WebSocketManager {
           destination: `/app/chat/${this.meetupId}/sync`,
           body: JSON.stringify({
             userId: this.userId,
+            requestId: this.syncRequestId,
             lastSyncTime: lastSyncTime
           })
         });
@@ -350,71 +395,154 @@ class WebSocketManager {
   }
 
   /**
-   * 사용자 입장 알림
+   * 마지막으로 본 메시지 ID 갱신
    */
-  sendUserJoin() {
+  trackLastSeenMessage(messageData) {
+    if (messageData && messageData.id && (!this.lastSeenMessageId || messageData.id > this.lastSeenMessageId)) {
+      this.lastSeenMessageId = messageData.id;
+    }
+  }
+
+  /**
+   * 다음 동기화 청크 요청
+   */
+  requestNextSyncChunk(meetupId, cursor) {
     if (this.connected && this.stompClient) {
       try {
         this.stompClient.publish({
-          destination: `/app/chat/${this.meetupId}/join`,
+          destination: `/app/chat/${meetupId}/sync-next`,
           body: JSON.stringify({
-            userId: this.userId,
-            sessionId: this.stompClient.connectedHeaders?.session || 'unknown'
+            requestId: this.syncRequestId,
+            cursor: cursor
           })
         });
       } catch (error) {
-        console.error('Error sending user join:', error);
+        console.error('Error requesting next sync chunk:', error);
       }
     }
   }
 
   /**
-   * 사용자 퇴장 알림
+   * 접속자 스냅샷 요청
    */
-  sendUserLeave() {
+  requestPresenceSnapshot() {
     if (this.connected && this.stompClient) {
       try {
         this.stompClient.publish({
-          destination: `/app/chat/${this.meetupId}/leave`,
-          body: JSON.stringify({
-            userId: this.userId,
-            sessionId: this.stompClient.connectedHeaders?.session || 'unknown'
-          })
+          destination: `/app/chat/${this.meetupId}/presence-snapshot`,
+          body: JSON.stringify({ userId: this.userId })
         });
       } catch (error) {
-        console.error('Error sending user leave:', error);
+        console.error('Error requesting presence snapshot:', error);
       }
     }
   }
 
   /**
-   * 하트비트 시작
+   * 접속자 스냅샷 적용
    */
-  startHeartbeat() {
-    this.heartbeatInterval = setInterval(() => {
-      if (this.connected && this.stompClient) {
-        try {
-          this.stompClient.publish({
-            destination: `/app/chat/${this.meetupId}/heartbeat`,
-            body: JSON.stringify({
-              sessionId: this.stompClient.connectedHeaders?.session || 'unknown',
-              timestamp: Date.now()
-            })
-          });
-        } catch (error) {
-          console.error('Error sending heartbeat:', error);
-        }
+  applyPresenceSnapshot(snapshot) {
+    if (!this.isCurrentMeetup(snapshot.meetupId)) {
+      // 같은 사용자의 다른 방 스냅샷
+      return;
+    }
+    this.presenceMembers = new Map((snapshot.members || []).map((member) => [member.id, member]));
+    this.presenceCountOnly = !!snapshot.countOnly;
+    this.presenceCount = snapshot.count;
+    this.presenceVersion = snapshot.version;
+    this.triggerOnlineUsersUpdated();
+  }
+
+  /**
+   * 접속자 변경분 적용 (버전이 이어지지 않으면 스냅샷 재요청)
+   */
+  applyPresenceDelta(delta) {
+    if (!this.isCurrentMeetup(delta.meetupId)) {
+      return;
+    }
+    if (this.presenceVersion === null) {
+      // 스냅샷을 아직 받지 못함
+      return;
+    }
+    if (delta.version <= this.presenceVersion) {
+      // 스냅샷에 이미 반영된 변경분
+      return;
+    }
+    if (delta.version !== this.presenceVersion + 1) {
+      this.presenceVersion = null;
+      this.requestPresenceSnapshot();
+      return;
+    }
+
+    if (delta.countOnly) {
+      this.presenceMembers.clear();
+    } else if (this.presenceCountOnly) {
+      // 인원 수 모드 해제: 서버가 전체 접속자 ID 를 joined 로 보낸다
+      this.presenceMembers = new Map();
+    }
+    (delta.joined || []).forEach((id) => {
+      if (!this.presenceMembers.has(id)) {
+        this.presenceMembers.set(id, { id });
       }
-    }, 30000); // 30초마다
+    });
+    (delta.left || []).forEach((id) => this.presenceMembers.delete(id));
+    this.presenceCountOnly = !!delta.countOnly;
+    this.presenceCount = delta.count;
+    this.presenceVersion = delta.version;
+    this.triggerOnlineUsersUpdated();
   }
 
   /**
-   * 하트비트 중지
+   * 이 연결이 보고 있는 미팅의 메시지인지 확인
    */
-  stopHeartbeat() {
-    if (this.heartbeatInterval) {
-      clearInterval(this.heartbeatInterval);
-      this.heartbeatInterval = null;
+  isCurrentMeetup(meetupId) {
+    return meetupId !== undefined && meetupId !== null && String(meetupId) === String(this.meetupId);
+  }
+
+  triggerOnlineUsersUpdated() {
+    const onlineUsers = Array.from(this.presenceMembers.values());
+    this.triggerEvent('onlineUsersUpdated', {
+      meetupId: this.meetupId,
+      onlineUsers,
+      count: this.presenceCountOnly ? this.presenceCount : onlineUsers.length,
+      countOnly: this.presenceCountOnly,
+      version: this.presenceVersion
+    });
+  }
+
+  /**
+   * 사용자 입장 알림
+   */
+  sendUserJoin() {
+    if (this.connected && this.stompClient) {
+      try {
+        this.stompClient.publish({
+          destination: `/app/chat/${this.meetupId}/join`,
+          body: JSON.stringify({
+            userId: this.userId
+          })
+        });
+      } catch (error) {
+        console.error('Error sending user join:', error);
+      }
+    }
+  }
+
+  /**
+   * 사용자 퇴장 알림
+   */
+  sendUserLeave() {
+    if (this.connected && this.stompClient) {
+      try {
+        this.stompClient.publish({
+          destination: `/app/chat/${this.meetupId}/leave`,
+          body: JSON.stringify({
+            userId: this.userId
+          })
+        });
+      } catch (error) {
+        console.error('Error sending user leave:', error);
+      }
     }
   }
 